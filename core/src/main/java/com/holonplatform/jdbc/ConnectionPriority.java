@@ -0,0 +1,137 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * Connection request priority.
+ * <p>
+ * The priority is bound to the current thread using the {@link #run(ConnectionPriority, Runnable)} and
+ * {@link #call(ConnectionPriority, Operation)} methods, and it is used by the DataSource priority lanes, when enabled,
+ * to serve the higher priority connection requests first.
+ * </p>
+ * 
+ * @since 6.0.3
+ * @see com.holonplatform.jdbc.resilience.PriorityLanes
+ */
+public enum ConnectionPriority {
+
+	/**
+	 * Critical priority, for example for initialization or interactive latency sensitive operations
+	 */
+	CRITICAL,
+
+	/**
+	 * Default priority
+	 */
+	DEFAULT,
+
+	/**
+	 * Batch priority, for background jobs
+	 */
+	BATCH;
+
+	/**
+	 * Current thread priority
+	 */
+	private static final ThreadLocal<ConnectionPriority> CURRENT = new ThreadLocal<>();
+
+	/**
+	 * Get the connection priority bound to the current thread.
+	 * @return The current thread priority, {@link #DEFAULT} if none
+	 */
+	public static ConnectionPriority getCurrent() {
+		final ConnectionPriority priority = CURRENT.get();
+		return (priority != null) ? priority : DEFAULT;
+	}
+
+	/**
+	 * Execute given operation binding given connection priority to the current thread.
+	 * @param priority The connection priority (not null)
+	 * @param operation The operation to execute (not null)
+	 */
+	public static void run(ConnectionPriority priority, Runnable operation) {
+		ObjectUtils.argumentNotNull(operation, "Operation must be not null");
+		final ConnectionPriority previous = bind(priority);
+		try {
+			operation.run();
+		} finally {
+			restore(previous);
+		}
+	}
+
+	/**
+	 * Execute given operation binding given connection priority to the current thread.
+	 * @param <T> Operation result type
+	 * @param <E> Operation exception type
+	 * @param priority The connection priority (not null)
+	 * @param operation The operation to execute (not null)
+	 * @return The operation result
+	 * @throws E If the operation failed
+	 */
+	public static <T, E extends Exception> T call(ConnectionPriority priority, Operation<T, E> operation) throws E {
+		ObjectUtils.argumentNotNull(operation, "Operation must be not null");
+		final ConnectionPriority previous = bind(priority);
+		try {
+			return operation.execute();
+		} finally {
+			restore(previous);
+		}
+	}
+
+	/**
+	 * Bind given priority to the current thread.
+	 * @param priority The priority to bind (not null)
+	 * @return The previously bound priority, if any
+	 */
+	private static ConnectionPriority bind(ConnectionPriority priority) {
+		ObjectUtils.argumentNotNull(priority, "Connection priority must be not null");
+		final ConnectionPriority previous = CURRENT.get();
+		CURRENT.set(priority);
+		return previous;
+	}
+
+	/**
+	 * Restore the previously bound priority.
+	 * @param previous The previously bound priority, <code>null</code> if none
+	 */
+	private static void restore(ConnectionPriority previous) {
+		if (previous != null) {
+			CURRENT.set(previous);
+		} else {
+			CURRENT.remove();
+		}
+	}
+
+	/**
+	 * An operation to execute with a bound connection priority.
+	 * @param <T> Operation result type
+	 * @param <E> Operation exception type
+	 */
+	@FunctionalInterface
+	public interface Operation<T, E extends Exception> {
+
+		/**
+		 * Execute the operation.
+		 * @return The operation result
+		 * @throws E If the operation failed
+		 */
+		T execute() throws E;
+
+	}
+
+}
@@ -80,6 +80,14 @@ public interface DataSourceBuilder {
 	 */
 	public static final String TYPE_JNDI = "JNDI";
 
+	/**
+	 * Default DataSource type: pooled XA DataSource
+	 * @see DataSourceConfigProperties#TYPE
+	 * @see PooledXADataSource
+	 * @since 6.0.3
+	 */
+	public static final String TYPE_XA_POOLED = "com.holonplatform.jdbc.PooledXADataSource";
+
 	/**
 	 * Default {@link DataSourceBuilder} priority if not specified using {@link Priority} annotation.
 	 */
@@ -265,6 +273,23 @@ public interface DataSourceBuilder {
 		 */
 		Builder validationQuery(String validationQuery);
 
+		/**
+		 * For connection pooling DataSources, set the connection validation strategy.
+		 * @param validationStrategy the connection validation strategy
+		 * @return this
+		 * @since 6.0.3
+		 */
+		Builder validationStrategy(ValidationStrategy validationStrategy);
+
+		/**
+		 * For connection pooling DataSources which support it, set the time window after the last use of a pooled
+		 * connection during which the connection is not validated again.
+		 * @param validationBypassWindow the validation bypass window in milliseconds
+		 * @return this
+		 * @since 6.0.3
+		 */
+		Builder validationBypassWindow(long validationBypassWindow);
+
 		/**
 		 * Add a SQL intitialization script.
 		 * <p>
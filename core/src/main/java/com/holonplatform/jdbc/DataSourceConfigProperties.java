@@ -15,6 +15,8 @@
  */
 package com.holonplatform.jdbc;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import javax.sql.DataSource;
@@ -23,6 +25,9 @@ import com.holonplatform.core.config.ConfigProperty;
 import com.holonplatform.core.config.ConfigPropertySet;
 import com.holonplatform.core.datastore.DataContextBound;
 import com.holonplatform.core.internal.config.DefaultConfigPropertySet;
+import com.holonplatform.jdbc.diagnostics.NestedAcquisitionDetector;
+import com.holonplatform.jdbc.resilience.ConcurrencyLimiter;
+import com.holonplatform.jdbc.resilience.RateLimiter;
 
 /**
  * A {@link ConfigPropertySet} for {@link DataSource} configuration, using {@link #DEFAULT_NAME} as property prefix.
@@ -33,7 +38,7 @@ import com.holonplatform.core.internal.config.DefaultConfigPropertySet;
  * data context id is <code>myid</code>: <br>
  * <code>holon.datasource.myid.url=...</code>
  * </p>
- *
+ * 
  * @since 5.0.0
  */
 public interface DataSourceConfigProperties extends ConfigPropertySet, DataContextBound {
@@ -106,11 +111,509 @@ public interface DataSourceConfigProperties extends ConfigPropertySet, DataConte
 	 */
 	static final ConfigProperty<String> VALIDATION_QUERY = ConfigProperty.create("validation-query", String.class);
 
+	/**
+	 * Connection validation strategy for pooling DataSources. Must be one of the names enumerated in
+	 * {@link ValidationStrategy}.
+	 * <p>
+	 * By default, {@link ValidationStrategy#QUERY} is used if a {@link #VALIDATION_QUERY} is configured, otherwise the
+	 * database platform default strategy is used.
+	 * </p>
+	 * @see DatabasePlatform#getDefaultValidationStrategy()
+	 */
+	static final ConfigProperty<ValidationStrategy> VALIDATION_STRATEGY = ConfigProperty.create("validation-strategy",
+			ValidationStrategy.class);
+
+	/**
+	 * Time window in milliseconds after the last use of a pooled connection during which the connection is considered
+	 * alive and it is not validated again. Applied by the pooling DataSources which support it.
+	 */
+	static final ConfigProperty<Long> VALIDATION_BYPASS_WINDOW = ConfigProperty.create("validation-bypass-window",
+			Long.class);
+
+	/**
+	 * JDBC driver performance profile, used to apply the recommended driver connection properties of the database
+	 * platform. Must be one of the names enumerated in {@link PerformanceProfile}. Default is
+	 * {@link PerformanceProfile#NONE}.
+	 * <p>
+	 * Each driver connection property can be overridden using the {@link #CONNECTION_PROPERTIES_PREFIX} sub-prefix.
+	 * </p>
+	 * @see DatabasePlatform#getDriverProperties(PerformanceProfile)
+	 */
+	static final ConfigProperty<PerformanceProfile> PERFORMANCE_PROFILE = ConfigProperty.create("performance-profile",
+			PerformanceProfile.class);
+
+	/**
+	 * Sub-prefix to use to provide the JDBC driver connection properties, for example
+	 * <code>holon.datasource.connection-properties.useServerPrepStmts=false</code>.
+	 */
+	static final String CONNECTION_PROPERTIES_PREFIX = "connection-properties";
+
+	/**
+	 * DataSource workload profile, which provides the defaults for the pool sizing, the pool timeouts and the statements
+	 * fetch size and timeout, when the corresponding properties are not configured. Must be one of the names enumerated
+	 * in {@link WorkloadProfile}.
+	 */
+	static final ConfigProperty<WorkloadProfile> WORKLOAD_PROFILE = ConfigProperty.create("workload-profile",
+			WorkloadProfile.class);
+
+	/**
+	 * Max time in milliseconds to wait for a connection when the pool is exhausted (for pooling DataSource types)
+	 */
+	static final ConfigProperty<Long> ACQUISITION_TIMEOUT = ConfigProperty.create("acquisition-timeout", Long.class);
+
+	/**
+	 * How long in milliseconds a connection can stay idle before being evicted (for pooling DataSource types)
+	 */
+	static final ConfigProperty<Long> IDLE_TIMEOUT = ConfigProperty.create("idle-timeout", Long.class);
+
+	/**
+	 * Max lifetime in milliseconds of a pooled connection (for pooling DataSource types)
+	 */
+	static final ConfigProperty<Long> MAX_LIFETIME = ConfigProperty.create("max-lifetime", Long.class);
+
+	/**
+	 * Default fetch size of the statements created by the DataSource connections
+	 */
+	static final ConfigProperty<Integer> FETCH_SIZE = ConfigProperty.create("fetch-size", Integer.class);
+
+	/**
+	 * Default query timeout in seconds of the statements created by the DataSource connections
+	 */
+	static final ConfigProperty<Integer> STATEMENT_TIMEOUT = ConfigProperty.create("statement-timeout",
+			Integer.class);
+
 	/**
 	 * JNDI lookup name. If this property is setted, driver class, url, username and password are ignored.
 	 */
 	static final ConfigProperty<String> JNDI_NAME = ConfigProperty.create("jndi-name", String.class);
 
+	// ------- Session state tracking
+
+	/**
+	 * Enable/Disable the connections session state tracking, which avoids the driver round-trips of the redundant
+	 * session state getter and setter calls. Default is <code>false</code>.
+	 * @see com.holonplatform.jdbc.SessionStateTracker
+	 */
+	static final ConfigProperty<Boolean> SESSION_STATE_TRACKING_ENABLED = ConfigProperty
+			.create("session-state-tracking.enabled", Boolean.class);
+
+	// ------- Circuit breaker
+
+	/**
+	 * Enable/Disable the connection acquisition circuit breaker. Default is <code>false</code>.
+	 * @see com.holonplatform.jdbc.resilience.CircuitBreaker
+	 */
+	static final ConfigProperty<Boolean> CIRCUIT_BREAKER_ENABLED = ConfigProperty.create("circuit-breaker.enabled",
+			Boolean.class);
+
+	/**
+	 * The number of consecutive connection acquisition failures after which the circuit is opened. Default is
+	 * {@link #DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD}.
+	 */
+	static final ConfigProperty<Integer> CIRCUIT_BREAKER_FAILURE_THRESHOLD = ConfigProperty
+			.create("circuit-breaker.failure-threshold", Integer.class);
+
+	/**
+	 * The connection acquisition time in milliseconds above which a successful acquisition is counted as a failure.
+	 * Default is <code>0</code>, which means that slow acquisitions are not counted as failures.
+	 */
+	static final ConfigProperty<Long> CIRCUIT_BREAKER_SLOW_ACQUISITION_THRESHOLD = ConfigProperty
+			.create("circuit-breaker.slow-acquisition-threshold", Long.class);
+
+	/**
+	 * How long the circuit stays open before allowing probe acquisitions, in milliseconds. Default is
+	 * {@link #DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION}.
+	 */
+	static final ConfigProperty<Long> CIRCUIT_BREAKER_OPEN_DURATION = ConfigProperty
+			.create("circuit-breaker.open-duration", Long.class);
+
+	/**
+	 * The number of probe acquisitions allowed in the half-open state. The circuit is closed again when all the probes
+	 * succeed. Default is <code>1</code>.
+	 */
+	static final ConfigProperty<Integer> CIRCUIT_BREAKER_HALF_OPEN_PROBES = ConfigProperty
+			.create("circuit-breaker.half-open-probes", Integer.class);
+
+	/**
+	 * Default circuit breaker failure threshold
+	 */
+	static final int DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD = 5;
+
+	/**
+	 * Default circuit breaker open state duration in milliseconds
+	 */
+	static final long DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION = 10000L;
+
+	// ------- Concurrency limit
+
+	/**
+	 * Enable/Disable the adaptive concurrency limiter of the connection leases. Default is <code>false</code>.
+	 * @see com.holonplatform.jdbc.resilience.ConcurrencyLimiter
+	 */
+	static final ConfigProperty<Boolean> CONCURRENCY_LIMIT_ENABLED = ConfigProperty
+			.create("concurrency-limit.enabled", Boolean.class);
+
+	/**
+	 * The concurrency limit adjustment algorithm. Default is
+	 * {@link com.holonplatform.jdbc.resilience.ConcurrencyLimiter.Algorithm#GRADIENT}.
+	 */
+	static final ConfigProperty<ConcurrencyLimiter.Algorithm> CONCURRENCY_LIMIT_ALGORITHM = ConfigProperty
+			.create("concurrency-limit.algorithm", ConcurrencyLimiter.Algorithm.class);
+
+	/**
+	 * The initial concurrency limit. Default is the {@link #MAX_POOL_SIZE} property value, if available, or
+	 * {@link #DEFAULT_MAX_POOL_SIZE}.
+	 */
+	static final ConfigProperty<Integer> CONCURRENCY_LIMIT_INITIAL_LIMIT = ConfigProperty
+			.create("concurrency-limit.initial-limit", Integer.class);
+
+	/**
+	 * The minimum concurrency limit. Default is <code>1</code>.
+	 */
+	static final ConfigProperty<Integer> CONCURRENCY_LIMIT_MIN_LIMIT = ConfigProperty
+			.create("concurrency-limit.min-limit", Integer.class);
+
+	/**
+	 * The maximum concurrency limit. Default is {@link #DEFAULT_CONCURRENCY_LIMIT_MAX_LIMIT}, or the initial limit if
+	 * greater.
+	 */
+	static final ConfigProperty<Integer> CONCURRENCY_LIMIT_MAX_LIMIT = ConfigProperty
+			.create("concurrency-limit.max-limit", Integer.class);
+
+	/**
+	 * Max time in milliseconds a connection request waits for a lease when the concurrency limit is reached, before
+	 * being rejected. Default is <code>0</code>, which means that the requests are rejected immediately.
+	 */
+	static final ConfigProperty<Long> CONCURRENCY_LIMIT_MAX_WAIT = ConfigProperty
+			.create("concurrency-limit.max-wait", Long.class);
+
+	/**
+	 * Default maximum concurrency limit
+	 */
+	static final int DEFAULT_CONCURRENCY_LIMIT_MAX_LIMIT = 200;
+
+	// ------- Priority lanes
+
+	/**
+	 * Enable/Disable the connection request priority lanes. Default is <code>false</code>.
+	 * @see com.holonplatform.jdbc.resilience.PriorityLanes
+	 */
+	static final ConfigProperty<Boolean> PRIORITY_LANES_ENABLED = ConfigProperty.create("priority-lanes.enabled",
+			Boolean.class);
+
+	/**
+	 * The total number of permits, i.e. the maximum number of concurrent connection leases. Default is the
+	 * {@link #MAX_POOL_SIZE} property value, if available, or {@link #DEFAULT_MAX_POOL_SIZE}.
+	 */
+	static final ConfigProperty<Integer> PRIORITY_LANES_PERMITS = ConfigProperty.create("priority-lanes.permits",
+			Integer.class);
+
+	/**
+	 * Max time in milliseconds a connection request waits for a permit before being rejected. Default is
+	 * {@link #DEFAULT_PRIORITY_LANES_MAX_WAIT}.
+	 */
+	static final ConfigProperty<Long> PRIORITY_LANES_MAX_WAIT = ConfigProperty.create("priority-lanes.max-wait",
+			Long.class);
+
+	/**
+	 * The minimum share of the permits, as a percentage, reserved to the
+	 * {@link com.holonplatform.jdbc.ConnectionPriority#DEFAULT} lane. Default is
+	 * {@link #DEFAULT_PRIORITY_LANES_DEFAULT_MIN_SHARE}.
+	 */
+	static final ConfigProperty<Integer> PRIORITY_LANES_DEFAULT_MIN_SHARE = ConfigProperty
+			.create("priority-lanes.default-min-share", Integer.class);
+
+	/**
+	 * The minimum share of the permits, as a percentage, reserved to the
+	 * {@link com.holonplatform.jdbc.ConnectionPriority#BATCH} lane. Default is
+	 * {@link #DEFAULT_PRIORITY_LANES_BATCH_MIN_SHARE}.
+	 */
+	static final ConfigProperty<Integer> PRIORITY_LANES_BATCH_MIN_SHARE = ConfigProperty
+			.create("priority-lanes.batch-min-share", Integer.class);
+
+	/**
+	 * Default priority lanes max wait time in milliseconds
+	 */
+	static final long DEFAULT_PRIORITY_LANES_MAX_WAIT = 30000L;
+
+	/**
+	 * Default minimum share percentage of the default priority lane
+	 */
+	static final int DEFAULT_PRIORITY_LANES_DEFAULT_MIN_SHARE = 20;
+
+	/**
+	 * Default minimum share percentage of the batch priority lane
+	 */
+	static final int DEFAULT_PRIORITY_LANES_BATCH_MIN_SHARE = 10;
+
+	// ------- Deadline
+
+	/**
+	 * Enable/Disable the current {@link com.holonplatform.jdbc.resilience.Deadline} support: when enabled, the
+	 * connection requests made after the deadline expiration are rejected and the remaining time is used to bound the
+	 * connection acquisition waits and as statements query timeout. Default is <code>false</code>.
+	 */
+	static final ConfigProperty<Boolean> DEADLINE_ENABLED = ConfigProperty.create("deadline.enabled", Boolean.class);
+
+	// ------- Rate limit
+
+	/**
+	 * The maximum connection requests rate, in requests per second. When configured, a
+	 * {@link com.holonplatform.jdbc.resilience.RateLimiter} is installed on the DataSource.
+	 */
+	static final ConfigProperty<Double> RATE_LIMIT_CONNECTIONS_PER_SECOND = ConfigProperty
+			.create("rate-limit.connections-per-second", Double.class);
+
+	/**
+	 * The connection requests burst size, i.e. the number of connection requests which can be performed at once after
+	 * an idle period. Default is the {@link #RATE_LIMIT_CONNECTIONS_PER_SECOND} value rounded up.
+	 */
+	static final ConfigProperty<Integer> RATE_LIMIT_CONNECTIONS_BURST = ConfigProperty
+			.create("rate-limit.connections-burst", Integer.class);
+
+	/**
+	 * The maximum statement executions rate, in executions per second. When configured, a
+	 * {@link com.holonplatform.jdbc.resilience.RateLimiter} is installed on the DataSource.
+	 */
+	static final ConfigProperty<Double> RATE_LIMIT_STATEMENTS_PER_SECOND = ConfigProperty
+			.create("rate-limit.statements-per-second", Double.class);
+
+	/**
+	 * The statement executions burst size. Default is the {@link #RATE_LIMIT_STATEMENTS_PER_SECOND} value rounded up.
+	 */
+	static final ConfigProperty<Integer> RATE_LIMIT_STATEMENTS_BURST = ConfigProperty
+			.create("rate-limit.statements-burst", Integer.class);
+
+	/**
+	 * Whether to wait for a token or to fail fast when the rate limit is exceeded. Default is
+	 * {@link com.holonplatform.jdbc.resilience.RateLimiter.Mode#WAIT}.
+	 */
+	static final ConfigProperty<RateLimiter.Mode> RATE_LIMIT_MODE = ConfigProperty.create("rate-limit.mode",
+			RateLimiter.Mode.class);
+
+	/**
+	 * Max time in milliseconds to wait for a token when the rate limit is exceeded, in
+	 * {@link com.holonplatform.jdbc.resilience.RateLimiter.Mode#WAIT} mode. Default is
+	 * {@link #DEFAULT_RATE_LIMIT_MAX_WAIT}.
+	 */
+	static final ConfigProperty<Long> RATE_LIMIT_MAX_WAIT = ConfigProperty.create("rate-limit.max-wait", Long.class);
+
+	/**
+	 * Default rate limit max wait time in milliseconds
+	 */
+	static final long DEFAULT_RATE_LIMIT_MAX_WAIT = 5000L;
+
+	// ------- Pooled XA DataSource
+
+	/**
+	 * The {@link javax.sql.XADataSource} class name to use with the pooled XA DataSource type. Default is the
+	 * {@link DatabasePlatform#getXaDriverClassName()} of the configured or detected platform.
+	 */
+	static final ConfigProperty<String> XA_DATA_SOURCE_CLASS_NAME = ConfigProperty
+			.create("xa.data-source-class-name", String.class);
+
+	/**
+	 * How long a pooled XA connection can stay idle before being evicted, in milliseconds. The {@link #MIN_POOL_SIZE}
+	 * idle connections are never evicted. Default is {@link #DEFAULT_XA_IDLE_TIMEOUT}.
+	 */
+	static final ConfigProperty<Long> XA_IDLE_TIMEOUT = ConfigProperty.create("xa.idle-timeout", Long.class);
+
+	/**
+	 * Max time in milliseconds to wait for a pooled XA connection when the pool is exhausted. Default is
+	 * {@link #DEFAULT_XA_MAX_WAIT}.
+	 */
+	static final ConfigProperty<Long> XA_MAX_WAIT = ConfigProperty.create("xa.max-wait", Long.class);
+
+	/**
+	 * Default pooled XA connection idle timeout in milliseconds
+	 */
+	static final long DEFAULT_XA_IDLE_TIMEOUT = 600000L;
+
+	/**
+	 * Default pooled XA connection max wait time in milliseconds
+	 */
+	static final long DEFAULT_XA_MAX_WAIT = 30000L;
+
+	// ------- Leak detection
+
+	/**
+	 * Enable/Disable the connection lease leak detection. Default is <code>false</code>.
+	 * @see com.holonplatform.jdbc.diagnostics.LeakDetector
+	 */
+	static final ConfigProperty<Boolean> LEAK_DETECTION_ENABLED = ConfigProperty.create("leak-detection.enabled",
+			Boolean.class);
+
+	/**
+	 * The connection lease duration in milliseconds above which the lease is reported as leaked. Default is
+	 * {@link #DEFAULT_LEAK_DETECTION_THRESHOLD}.
+	 */
+	static final ConfigProperty<Long> LEAK_DETECTION_THRESHOLD = ConfigProperty.create("leak-detection.threshold",
+			Long.class);
+
+	/**
+	 * The fraction of the connection leases, between <code>0</code> and <code>1</code>, for which the acquisition
+	 * stack trace is captured. Default is {@link #DEFAULT_LEAK_DETECTION_STACK_SAMPLE_RATE}.
+	 */
+	static final ConfigProperty<Double> LEAK_DETECTION_STACK_SAMPLE_RATE = ConfigProperty
+			.create("leak-detection.stack-sample-rate", Double.class);
+
+	/**
+	 * Whether to forcibly close the leaked connections when detected. Default is <code>false</code>.
+	 */
+	static final ConfigProperty<Boolean> LEAK_DETECTION_RECLAIM = ConfigProperty.create("leak-detection.reclaim",
+			Boolean.class);
+
+	/**
+	 * Default leak detection threshold in milliseconds
+	 */
+	static final long DEFAULT_LEAK_DETECTION_THRESHOLD = 60000L;
+
+	/**
+	 * Default leak detection stack trace sample rate
+	 */
+	static final double DEFAULT_LEAK_DETECTION_STACK_SAMPLE_RATE = 0.05d;
+
+	// ------- Nested acquisition detection
+
+	/**
+	 * Enable/Disable the nested connection acquisition detection. Default is <code>false</code>.
+	 * @see com.holonplatform.jdbc.diagnostics.NestedAcquisitionDetector
+	 */
+	static final ConfigProperty<Boolean> NESTED_ACQUISITION_ENABLED = ConfigProperty
+			.create("nested-acquisition.enabled", Boolean.class);
+
+	/**
+	 * The nested connection acquisition detection mode. Default is
+	 * {@link com.holonplatform.jdbc.diagnostics.NestedAcquisitionDetector.Mode#WARN}.
+	 */
+	static final ConfigProperty<NestedAcquisitionDetector.Mode> NESTED_ACQUISITION_MODE = ConfigProperty
+			.create("nested-acquisition.mode", NestedAcquisitionDetector.Mode.class);
+
+	// ------- Statistics
+
+	/**
+	 * Enable/Disable the DataSource statistics collection. Default is <code>false</code>.
+	 * @see com.holonplatform.jdbc.DataSourceStatistics
+	 */
+	static final ConfigProperty<Boolean> STATISTICS_ENABLED = ConfigProperty.create("statistics.enabled",
+			Boolean.class);
+
+	/**
+	 * Whether to register the DataSource statistics as a JMX MBean, when the statistics collection is enabled. Default
+	 * is <code>true</code>.
+	 */
+	static final ConfigProperty<Boolean> STATISTICS_JMX_ENABLED = ConfigProperty.create("statistics.jmx-enabled",
+			Boolean.class);
+
+	/**
+	 * Enable/Disable the statement executions profiling by SQL fingerprint, when the DataSource statistics collection is
+	 * enabled. Default is <code>false</code>.
+	 * @see com.holonplatform.jdbc.DataSourceStatistics#getTopStatements(int)
+	 */
+	static final ConfigProperty<Boolean> STATISTICS_STATEMENTS_ENABLED = ConfigProperty
+			.create("statistics.statements.enabled", Boolean.class);
+
+	/**
+	 * The max number of SQL fingerprints tracked by the statement executions profiling. Default is <code>100</code>.
+	 */
+	static final ConfigProperty<Integer> STATISTICS_STATEMENTS_CAPACITY = ConfigProperty
+			.create("statistics.statements.capacity", Integer.class);
+
+	/**
+	 * The interval in milliseconds at which the top statements are logged, <code>0</code> to disable. Default is
+	 * <code>0</code>.
+	 */
+	static final ConfigProperty<Long> STATISTICS_STATEMENTS_LOG_INTERVAL = ConfigProperty
+			.create("statistics.statements.log-interval", Long.class);
+
+	// ------- Metrics
+
+	/**
+	 * Enable/Disable the DataSource latency metrics collection. Default is <code>false</code>.
+	 * @see com.holonplatform.jdbc.metrics.DataSourceMetrics
+	 */
+	static final ConfigProperty<Boolean> METRICS_ENABLED = ConfigProperty.create("metrics.enabled", Boolean.class);
+
+	/**
+	 * Whether to record the statement execution times when the DataSource latency metrics collection is enabled.
+	 * Default is <code>true</code>.
+	 */
+	static final ConfigProperty<Boolean> METRICS_STATEMENT_TIMING = ConfigProperty.create("metrics.statement-timing",
+			Boolean.class);
+
+	// ------- Java Flight Recorder
+
+	/**
+	 * Enable/Disable the connection and statement lifecycle Java Flight Recorder events. The events are recorded only
+	 * when enabled in a running recording. Default is <code>false</code>.
+	 */
+	static final ConfigProperty<Boolean> JFR_ENABLED = ConfigProperty.create("jfr.enabled", Boolean.class);
+
+	// ------- Slow query log
+
+	/**
+	 * Enable/Disable the slow query log. Default is <code>false</code>.
+	 */
+	static final ConfigProperty<Boolean> SLOW_QUERY_LOG_ENABLED = ConfigProperty.create("slow-query-log.enabled",
+			Boolean.class);
+
+	/**
+	 * The statement execution time in milliseconds above which the statement is logged. Default is
+	 * {@link #DEFAULT_SLOW_QUERY_LOG_THRESHOLD}.
+	 */
+	static final ConfigProperty<Long> SLOW_QUERY_LOG_THRESHOLD = ConfigProperty.create("slow-query-log.threshold",
+			Long.class);
+
+	/**
+	 * Whether to log the bind parameter values of the slow prepared statements. Default is <code>true</code>.
+	 */
+	static final ConfigProperty<Boolean> SLOW_QUERY_LOG_PARAMETERS = ConfigProperty
+			.create("slow-query-log.parameters", Boolean.class);
+
+	/**
+	 * A regular expression to redact the bind parameter values: any value which contains a match of the expression is
+	 * logged as redacted.
+	 */
+	static final ConfigProperty<String> SLOW_QUERY_LOG_REDACT_PATTERN = ConfigProperty
+			.create("slow-query-log.redact-pattern", String.class);
+
+	/**
+	 * The max number of slow queries logged per second, the exceeding slow queries are only counted. Default is
+	 * {@link #DEFAULT_SLOW_QUERY_LOG_MAX_RATE}.
+	 */
+	static final ConfigProperty<Double> SLOW_QUERY_LOG_MAX_RATE = ConfigProperty.create("slow-query-log.max-rate",
+			Double.class);
+
+	/**
+	 * Default slow query log threshold in milliseconds
+	 */
+	static final long DEFAULT_SLOW_QUERY_LOG_THRESHOLD = 1000L;
+
+	/**
+	 * Default slow query log max rate, in logged queries per second
+	 */
+	static final double DEFAULT_SLOW_QUERY_LOG_MAX_RATE = 10d;
+
+	// ------- Tracing
+
+	/**
+	 * Enable/Disable the JDBC operations tracing. Default is <code>false</code>.
+	 * @see com.holonplatform.jdbc.tracing.JdbcTracing
+	 */
+	static final ConfigProperty<Boolean> TRACING_ENABLED = ConfigProperty.create("tracing.enabled", Boolean.class);
+
+	/**
+	 * The ratio, from <code>0</code> to <code>1</code>, of the JDBC operations performed outside a trace context which
+	 * are sampled. Default is {@link #DEFAULT_TRACING_SAMPLE_RATIO}.
+	 */
+	static final ConfigProperty<Double> TRACING_SAMPLE_RATIO = ConfigProperty.create("tracing.sample-ratio",
+			Double.class);
+
+	/**
+	 * Default tracing sample ratio
+	 */
+	static final double DEFAULT_TRACING_SAMPLE_RATIO = 1d;
+
 	/**
 	 * Gets whether to disable connection auto-commit
 	 * @return True to disable connection auto-commit
@@ -170,6 +673,137 @@ public interface DataSourceConfigProperties extends ConfigPropertySet, DataConte
 		return Optional.ofNullable(validationQuery);
 	}
 
+	/**
+	 * Gets the configured {@link WorkloadProfile}, if available.
+	 * @return Optional workload profile
+	 * @since 6.0.3
+	 */
+	default Optional<WorkloadProfile> getWorkloadProfile() {
+		return Optional.ofNullable(getConfigPropertyValue(DataSourceConfigProperties.WORKLOAD_PROFILE, null));
+	}
+
+	/**
+	 * Gets the min pool size, either from the {@link #MIN_POOL_SIZE} property or from the {@link WorkloadProfile}.
+	 * @return Optional min pool size
+	 * @since 6.0.3
+	 */
+	default Optional<Integer> getMinPoolSize() {
+		final Integer value = getConfigPropertyValue(DataSourceConfigProperties.MIN_POOL_SIZE, null);
+		return (value != null) ? Optional.of(value) : getWorkloadProfile().map(p -> p.getMinPoolSize());
+	}
+
+	/**
+	 * Gets the max pool size, either from the {@link #MAX_POOL_SIZE} property or from the {@link WorkloadProfile}.
+	 * @return The max pool size, {@link #DEFAULT_MAX_POOL_SIZE} if not available
+	 * @since 6.0.3
+	 */
+	default int getMaxPoolSize() {
+		final Integer value = getConfigPropertyValue(DataSourceConfigProperties.MAX_POOL_SIZE, null);
+		return (value != null) ? value
+				: getWorkloadProfile().map(p -> p.getMaxPoolSize()).orElse(DEFAULT_MAX_POOL_SIZE);
+	}
+
+	/**
+	 * Gets the connection acquisition timeout, either from the {@link #ACQUISITION_TIMEOUT} property or from the
+	 * {@link WorkloadProfile}.
+	 * @return Optional acquisition timeout in milliseconds
+	 * @since 6.0.3
+	 */
+	default Optional<Long> getAcquisitionTimeout() {
+		final Long value = getConfigPropertyValue(DataSourceConfigProperties.ACQUISITION_TIMEOUT, null);
+		return (value != null) ? Optional.of(value) : getWorkloadProfile().map(p -> p.getAcquisitionTimeout());
+	}
+
+	/**
+	 * Gets the connection idle timeout, either from the {@link #IDLE_TIMEOUT} property or from the
+	 * {@link WorkloadProfile}.
+	 * @return Optional idle timeout in milliseconds
+	 * @since 6.0.3
+	 */
+	default Optional<Long> getIdleTimeout() {
+		final Long value = getConfigPropertyValue(DataSourceConfigProperties.IDLE_TIMEOUT, null);
+		return (value != null) ? Optional.of(value) : getWorkloadProfile().map(p -> p.getIdleTimeout());
+	}
+
+	/**
+	 * Gets the connection max lifetime, either from the {@link #MAX_LIFETIME} property or from the
+	 * {@link WorkloadProfile}.
+	 * @return Optional max lifetime in milliseconds
+	 * @since 6.0.3
+	 */
+	default Optional<Long> getMaxLifetime() {
+		final Long value = getConfigPropertyValue(DataSourceConfigProperties.MAX_LIFETIME, null);
+		return (value != null) ? Optional.of(value) : getWorkloadProfile().map(p -> p.getMaxLifetime());
+	}
+
+	/**
+	 * Gets the statements default fetch size, either from the {@link #FETCH_SIZE} property or from the
+	 * {@link WorkloadProfile}.
+	 * @return Optional fetch size
+	 * @since 6.0.3
+	 */
+	default Optional<Integer> getFetchSize() {
+		final Integer value = getConfigPropertyValue(DataSourceConfigProperties.FETCH_SIZE, null);
+		return (value != null) ? Optional.of(value) : getWorkloadProfile().map(p -> p.getFetchSize());
+	}
+
+	/**
+	 * Gets the statements default query timeout, either from the {@link #STATEMENT_TIMEOUT} property or from the
+	 * {@link WorkloadProfile}.
+	 * @return Optional statement timeout in seconds
+	 * @since 6.0.3
+	 */
+	default Optional<Integer> getStatementTimeout() {
+		final Integer value = getConfigPropertyValue(DataSourceConfigProperties.STATEMENT_TIMEOUT, null);
+		return (value != null) ? Optional.of(value) : getWorkloadProfile().map(p -> p.getStatementTimeout());
+	}
+
+	/**
+	 * Gets the JDBC driver connection properties, obtained merging the recommended driver properties of the configured
+	 * {@link #PERFORMANCE_PROFILE} for the database platform, if available, with the properties configured using the
+	 * {@link #CONNECTION_PROPERTIES_PREFIX} sub-prefix, which take precedence.
+	 * @return The driver connection properties, an empty map if none
+	 * @since 6.0.3
+	 */
+	default Map<String, String> getConnectionProperties() {
+		final Map<String, String> properties = new LinkedHashMap<>();
+		final PerformanceProfile profile = getConfigPropertyValue(DataSourceConfigProperties.PERFORMANCE_PROFILE,
+				PerformanceProfile.NONE);
+		if (profile != PerformanceProfile.NONE) {
+			DatabasePlatform database = getDatabasePlatform();
+			if (database != null) {
+				properties.putAll(database.getDriverProperties(profile));
+			}
+		}
+		properties.putAll(getSubPropertiesUsingPrefix(CONNECTION_PROPERTIES_PREFIX));
+		return properties;
+	}
+
+	/**
+	 * Gets the connection validation strategy, either from the {@link #VALIDATION_STRATEGY} property or using
+	 * {@link ValidationStrategy#QUERY} if a {@link #VALIDATION_QUERY} is configured, or the default validation
+	 * strategy of the configured database platform, if available.
+	 * @return Connection validation strategy, {@link ValidationStrategy#IS_VALID} if not available
+	 * @since 6.0.3
+	 */
+	default ValidationStrategy getConnectionValidationStrategy() {
+		// from property
+		ValidationStrategy strategy = getConfigPropertyValue(DataSourceConfigProperties.VALIDATION_STRATEGY, null);
+		if (strategy == null) {
+			String validationQuery = getConfigPropertyValue(DataSourceConfigProperties.VALIDATION_QUERY, null);
+			if (validationQuery != null && !validationQuery.trim().equals("")) {
+				strategy = ValidationStrategy.QUERY;
+			} else {
+				// try to detect from platform
+				DatabasePlatform database = getDatabasePlatform();
+				if (database != null) {
+					strategy = database.getDefaultValidationStrategy();
+				}
+			}
+		}
+		return (strategy != null) ? strategy : ValidationStrategy.IS_VALID;
+	}
+
 	/**
 	 * Builder to create property set instances bound to a property data source.
 	 * @param dataContextId Optional data context id to which DataSource is bound
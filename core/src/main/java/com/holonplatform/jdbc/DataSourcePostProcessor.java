@@ -35,6 +35,10 @@ import com.holonplatform.core.config.ConfigPropertySet.ConfigurationException;
  * The {@link Priority} annotation on {@link DataSourcePostProcessor} class (where less priority value means higher
  * priority order) can be used to give a post processors execution order.
  * </p>
+ * <p>
+ * A post processor can also replace the {@link DataSource} instance with a decorated one, for example to wrap it with
+ * additional behaviour, using the {@link #decorateDataSource(DataSource, String, DataSourceConfigProperties)} method.
+ * </p>
  * 
  * @since 5.0.0
  *
@@ -53,4 +57,27 @@ public interface DataSourcePostProcessor extends Serializable {
 	void postProcessDataSource(DataSource dataSource, String typeName,
 			DataSourceConfigProperties configurationProperties) throws ConfigurationException;
 
+	/**
+	 * Decorate a {@link DataSource} instance, returning the {@link DataSource} to use in place of the given one.
+	 * <p>
+	 * This method is invoked after the {@link #postProcessDataSource(DataSource, String, DataSourceConfigProperties)}
+	 * method has been called for all the available post processors, following the post processors order and providing
+	 * the DataSource returned by the previous post processor. So the decorator of the post processor with the higher
+	 * priority is the innermost one.
+	 * </p>
+	 * <p>
+	 * The default implementation returns the given DataSource.
+	 * </p>
+	 * @param dataSource DataSource instance to decorate
+	 * @param typeName DataSource type name
+	 * @param configurationProperties DataSource configuration properties
+	 * @return The DataSource to use (not null)
+	 * @throws ConfigurationException If an error occurred
+	 * @since 6.0.3
+	 */
+	default DataSource decorateDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		return dataSource;
+	}
+
 }
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+/**
+ * Provides the statistics of a {@link DataSource} connection pool in a uniform way, regardless of the concrete
+ * DataSource type.
+ * <p>
+ * The connections count are obtained from the concrete connection pool when supported (HikariCP, DBCP 2, Tomcat JDBC
+ * and {@link PooledXADataSource}), otherwise they are tracked by the statistics decorator itself. The connection
+ * acquisition wait time is always measured by the statistics decorator.
+ * </p>
+ * <p>
+ * The statistics are available for a DataSource built using the default {@link DataSourceBuilder} when the
+ * {@link DataSourceConfigProperties#STATISTICS_ENABLED} configuration property is <code>true</code>, and can be
+ * obtained using the {@link #get(DataSource)} method. Unless the
+ * {@link DataSourceConfigProperties#STATISTICS_JMX_ENABLED} configuration property is <code>false</code>, the
+ * statistics are also registered as a JMX MBean, named <code>com.holonplatform.jdbc:type=DataSource,name=</code>
+ * followed by the data context id.
+ * </p>
+ * <p>
+ * When the {@link DataSourceConfigProperties#STATISTICS_STATEMENTS_ENABLED} configuration property is
+ * <code>true</code>, the statement executions are profiled too, aggregating the execution times by SQL fingerprint:
+ * see {@link #getTopStatements(int)}.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface DataSourceStatistics {
+
+	/**
+	 * Get the statistics name, which by default is the data context id of the DataSource, if available.
+	 * @return The statistics name
+	 */
+	String getName();
+
+	/**
+	 * Get the number of connections currently in use.
+	 * @return The active connections count
+	 */
+	int getActiveConnections();
+
+	/**
+	 * Get the number of idle pooled connections.
+	 * @return The idle connections count, <code>-1</code> if not available for the DataSource type
+	 */
+	int getIdleConnections();
+
+	/**
+	 * Get the number of connection requests currently waiting for a connection.
+	 * @return The pending connection requests count
+	 */
+	int getPendingRequests();
+
+	/**
+	 * Get the total number of connections, i.e. the active and the idle connections.
+	 * @return The total connections count, <code>-1</code> if not available for the DataSource type
+	 */
+	int getTotalConnections();
+
+	/**
+	 * Get the DataSource creation timestamp, in milliseconds since the epoch.
+	 * @return The DataSource creation timestamp
+	 */
+	long getCreationTimestamp();
+
+	/**
+	 * Get the total number of successful connection acquisitions.
+	 * @return The connection acquisitions count
+	 */
+	long getAcquisitionCount();
+
+	/**
+	 * Get the total number of failed connection acquisitions.
+	 * @return The failed connection acquisitions count
+	 */
+	long getFailedAcquisitionCount();
+
+	/**
+	 * Get the connection acquisition wait time at given percentile.
+	 * @param percentile The percentile, between <code>0</code> and <code>100</code>
+	 * @return The wait time in milliseconds, <code>0</code> if no acquisition was recorded
+	 */
+	double getWaitTimePercentile(double percentile);
+
+	/**
+	 * Get the maximum connection acquisition wait time.
+	 * @return The maximum wait time in milliseconds, <code>0</code> if no acquisition was recorded
+	 */
+	double getMaxWaitTime();
+
+	/**
+	 * Get the statistics of the statements which used the most database time, ordered by total execution time.
+	 * <p>
+	 * The statement executions are aggregated by SQL fingerprint, i.e. the SQL text with the literal values replaced by
+	 * a placeholder and the <code>IN</code> lists collapsed. A bounded number of fingerprints is tracked: when a new
+	 * fingerprint is found and the table is full, the fingerprint with the lowest total execution time is replaced, so
+	 * the most time consuming statements are retained, while the least time consuming ones may be under-reported.
+	 * </p>
+	 * @param count The max number of statements to return
+	 * @return The top statements statistics, an empty list if the statement profiling is not enabled
+	 */
+	List<StatementStatistics> getTopStatements(int count);
+
+	/**
+	 * Get the {@link DataSourceStatistics} of given DataSource, if available.
+	 * <p>
+	 * For a {@link MultiTenantDataSource}, the statistics of the current tenant DataSource are returned. See
+	 * {@link MultiTenantDataSource#getTenantStatistics()} to obtain the statistics of all the tenant DataSources.
+	 * </p>
+	 * @param dataSource The DataSource (not null)
+	 * @return Optional DataSource statistics
+	 */
+	static Optional<DataSourceStatistics> get(DataSource dataSource) {
+		try {
+			if (dataSource.isWrapperFor(DataSourceStatistics.class)) {
+				return Optional.of(dataSource.unwrap(DataSourceStatistics.class));
+			}
+		} catch (SQLException e) {
+			// not available
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * The execution statistics of a statement SQL fingerprint.
+	 */
+	public interface StatementStatistics {
+
+		/**
+		 * Get the statement SQL fingerprint.
+		 * @return the SQL fingerprint
+		 */
+		String getFingerprint();
+
+		/**
+		 * Get the number of executions.
+		 * @return the executions count
+		 */
+		long getExecutionCount();
+
+		/**
+		 * Get the total execution time.
+		 * @return The total execution time in milliseconds
+		 */
+		double getTotalTime();
+
+		/**
+		 * Get the mean execution time.
+		 * @return The mean execution time in milliseconds
+		 */
+		double getMeanTime();
+
+		/**
+		 * Get the maximum execution time.
+		 * @return The maximum execution time in milliseconds
+		 */
+		double getMaxTime();
+
+		/**
+		 * Get the execution time at given percentile.
+		 * @param percentile The percentile, between <code>0</code> and <code>100</code>
+		 * @return The execution time in milliseconds
+		 */
+		double getTimePercentile(double percentile);
+
+	}
+
+}
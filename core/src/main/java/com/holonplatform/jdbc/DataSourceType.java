@@ -42,7 +42,13 @@ public enum DataSourceType {
 	/**
 	 * Tomcat pooling DataSource
 	 */
-	TOMCAT(DataSourceBuilder.TYPE_TOMCAT);
+	TOMCAT(DataSourceBuilder.TYPE_TOMCAT),
+
+	/**
+	 * Pooled XA DataSource
+	 * @since 6.0.3
+	 */
+	XA_POOLED(DataSourceBuilder.TYPE_XA_POOLED);
 
 	private final String type;
 
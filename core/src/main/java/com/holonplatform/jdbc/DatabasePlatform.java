@@ -17,6 +17,7 @@ package com.holonplatform.jdbc;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
@@ -149,6 +150,93 @@ public enum DatabasePlatform {
 		return validationQuery;
 	}
 
+	/**
+	 * Get the driver specific ping query, which validates the connection without being parsed and executed as a
+	 * regular statement by the server.
+	 * @return The ping query, or <code>null</code> if not supported by the platform
+	 * @since 6.0.3
+	 */
+	public String getPingQuery() {
+		if (this == DatabasePlatform.MYSQL) {
+			return "/* ping */ SELECT 1";
+		}
+		return null;
+	}
+
+	/**
+	 * Get the cheapest connection {@link ValidationStrategy} which is safe to use for the platform: the
+	 * {@link ValidationStrategy#PING} strategy if a {@link #getPingQuery()} is available, the
+	 * {@link ValidationStrategy#IS_VALID} strategy otherwise.
+	 * @return The default connection validation strategy
+	 * @since 6.0.3
+	 */
+	public ValidationStrategy getDefaultValidationStrategy() {
+		return (getPingQuery() != null) ? ValidationStrategy.PING : ValidationStrategy.IS_VALID;
+	}
+
+	/**
+	 * Get the recommended JDBC driver connection properties for given performance profile.
+	 * <p>
+	 * The properties only use the well-known configuration property names of the platform reference driver, for
+	 * example MySQL Connector/J or the PostgreSQL JDBC driver.
+	 * </p>
+	 * @param profile The performance profile (not null)
+	 * @return The driver connection properties, an empty map if the platform does not provide tuning properties for
+	 *         the profile
+	 * @since 6.0.3
+	 */
+	public Map<String, String> getDriverProperties(PerformanceProfile profile) {
+		ObjectUtils.argumentNotNull(profile, "Performance profile must be not null");
+		if (profile == PerformanceProfile.NONE) {
+			return Collections.emptyMap();
+		}
+		final boolean throughput = (profile == PerformanceProfile.THROUGHPUT);
+		final Map<String, String> properties = new LinkedHashMap<>();
+		switch (this) {
+		case MYSQL:
+			properties.put("cachePrepStmts", "true");
+			properties.put("prepStmtCacheSize", "250");
+			properties.put("prepStmtCacheSqlLimit", "2048");
+			properties.put("useServerPrepStmts", "true");
+			properties.put("useLocalSessionState", "true");
+			properties.put("cacheServerConfiguration", "true");
+			properties.put("maintainTimeStats", "false");
+			if (throughput) {
+				properties.put("rewriteBatchedStatements", "true");
+				properties.put("cacheResultSetMetadata", "true");
+			}
+			break;
+		case MARIADB:
+			properties.put("useServerPrepStmts", "true");
+			properties.put("cachePrepStmts", "true");
+			properties.put("prepStmtCacheSize", "250");
+			if (throughput) {
+				properties.put("useBulkStmts", "true");
+			}
+			break;
+		case POSTGRESQL:
+			if (throughput) {
+				properties.put("reWriteBatchedInserts", "true");
+				properties.put("defaultRowFetchSize", "1000");
+			} else {
+				properties.put("prepareThreshold", "1");
+			}
+			properties.put("preparedStatementCacheQueries", "512");
+			break;
+		case ORACLE:
+			properties.put("defaultRowPrefetch", throughput ? "500" : "50");
+			properties.put("oracle.jdbc.implicitStatementCacheSize", "100");
+			break;
+		case SQL_SERVER:
+			properties.put("disableStatementPooling", "false");
+			properties.put("statementPoolingCacheSize", "250");
+			break;
+		default:
+			break;
+		}
+		return Collections.unmodifiableMap(properties);
+	}
+
 	/**
 	 * Try to guess DatabasePlatform from given JDBC connection url
 	 * @param jdbcUrl JDBC connection url
@@ -21,6 +21,8 @@ import java.sql.SQLException;
 import javax.sql.DataSource;
 
 import com.holonplatform.jdbc.internal.DefaultJdbcConnectionHandler;
+import com.holonplatform.jdbc.internal.MeteredJdbcConnectionHandler;
+import com.holonplatform.jdbc.metrics.DataSourceMetrics;
 
 /**
  * JDBC {@link Connection} handler.
@@ -30,7 +32,8 @@ import com.holonplatform.jdbc.internal.DefaultJdbcConnectionHandler;
  * </p>
  * <p>
  * The {@link ConnectionType} is provided, allowing to discern if the connection will be used for connection consumer
- * initialization ({@link ConnectionType#INIT}) or for the normal JDBC operations.
+ * initialization ({@link ConnectionType#INIT}) or for the normal JDBC operations. The connection type is mapped to a
+ * {@link ConnectionPriority} using {@link ConnectionType#getPriority()}.
  * </p>
  * 
  * @since 5.1.0
@@ -52,6 +55,17 @@ public interface JdbcConnectionHandler {
 	 */
 	DEFAULT;
 
+		/**
+		 * Get the {@link ConnectionPriority} to use to obtain a connection of this type: the initialization connections
+		 * are always obtained using the {@link ConnectionPriority#CRITICAL} priority, while the default connections use
+		 * the priority bound to the current thread, if any.
+		 * @return The connection priority
+		 * @since 6.0.3
+		 */
+		public ConnectionPriority getPriority() {
+			return (this == INIT) ? ConnectionPriority.CRITICAL : ConnectionPriority.getCurrent();
+		}
+
 	}
 
 	/**
@@ -79,10 +93,30 @@ public interface JdbcConnectionHandler {
 	/**
 	 * Create a default {@link JdbcConnectionHandler}, which uses {@link DataSource#getConnection()} to obtain a
 	 * connection and {@link Connection#close()} to release the connection.
+	 * <p>
+	 * If a {@link com.holonplatform.jdbc.transaction.JdbcTransactionManager} transaction is active for the DataSource
+	 * in the current thread, the transaction bound connection is returned.
+	 * </p>
 	 * @return A default {@link JdbcConnectionHandler} implementation
 	 */
 	static JdbcConnectionHandler create() {
 		return new DefaultJdbcConnectionHandler();
 	}
 
+	/**
+	 * Create a {@link JdbcConnectionHandler} which records the connection acquisition and lease times of given
+	 * connection handler into given {@link DataSourceMetrics}.
+	 * <p>
+	 * This handler is meant to be used with DataSources which do not already collect the {@link DataSourceMetrics}
+	 * (see {@link DataSourceConfigProperties#METRICS_ENABLED}), to avoid recording the same events twice.
+	 * </p>
+	 * @param handler The concrete connection handler (not null)
+	 * @param metrics The metrics to use to record the latencies (not null)
+	 * @return A metered {@link JdbcConnectionHandler}
+	 * @since 6.0.3
+	 */
+	static JdbcConnectionHandler metered(JdbcConnectionHandler handler, DataSourceMetrics metrics) {
+		return new MeteredJdbcConnectionHandler(handler, metrics);
+	}
+
 }
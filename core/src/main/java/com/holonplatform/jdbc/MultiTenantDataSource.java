@@ -2,11 +2,16 @@ package com.holonplatform.jdbc;
 
 import java.io.Closeable;
 import java.sql.Connection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
 
 import javax.sql.DataSource;
 
+import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.tenancy.TenantResolver;
 import com.holonplatform.jdbc.internal.DefaultMultiTenantDataSource;
+import com.holonplatform.jdbc.resilience.RateLimiter;
 
 /**
  * {@link DataSource} with multi-tenancy support.
@@ -36,6 +41,33 @@ public interface MultiTenantDataSource extends DataSource, Closeable {
 	 */
 	void reset(String tenantId);
 
+	/**
+	 * Get the {@link DataSourceStatistics} of the tenant DataSources resolved so far, for which the statistics are
+	 * available.
+	 * <p>
+	 * The DataSource used when no tenant id is available is not included.
+	 * </p>
+	 * @return The tenant DataSource statistics, keyed by tenant id. An empty Map if none or if not supported by the
+	 *         implementation
+	 * @since 6.0.3
+	 */
+	default Map<String, DataSourceStatistics> getTenantStatistics() {
+		return Collections.emptyMap();
+	}
+
+	/**
+	 * Get the tenant DataSources resolved so far.
+	 * <p>
+	 * The DataSource used when no tenant id is available is not included.
+	 * </p>
+	 * @return The tenant DataSources, keyed by tenant id. An empty Map if none or if not supported by the
+	 *         implementation
+	 * @since 6.0.3
+	 */
+	default Map<String, DataSource> getTenantDataSources() {
+		return Collections.emptyMap();
+	}
+
 	/**
 	 * Builder to create a MultiTenantDataSource
 	 * @return Builder
@@ -70,6 +102,37 @@ public interface MultiTenantDataSource extends DataSource, Closeable {
 		 */
 		Builder provider(TenantDataSourceProvider provider);
 
+		/**
+		 * Limit the connection requests and/or the statement executions rate of each tenant DataSource, using a
+		 * distinct {@link RateLimiter} for each tenant, named as the tenant id.
+		 * <p>
+		 * The rate limiter of a tenant can be obtained using {@link RateLimiter#get(DataSource)} on this DataSource,
+		 * while the tenant is the current one.
+		 * </p>
+		 * @param configuration The rate limiter configuration to use for each tenant (not null)
+		 * @return this
+		 * @since 6.0.3
+		 */
+		default Builder tenantRateLimit(RateLimiter.Configuration configuration) {
+			ObjectUtils.argumentNotNull(configuration, "Rate limiter configuration must be not null");
+			return tenantRateLimit(tenantId -> configuration);
+		}
+
+		/**
+		 * Limit the connection requests and/or the statement executions rate of the tenant DataSources, using a
+		 * distinct {@link RateLimiter} for each tenant, named as the tenant id.
+		 * @param configurationProvider Function which provides the rate limiter configuration for a tenant id, or
+		 *        <code>null</code> if the tenant DataSource must not be limited. The tenant id is <code>null</code> when
+		 *        no tenant is available. (not null)
+		 * @return this
+		 * @throws UnsupportedOperationException If the tenant rate limiting is not supported by the builder
+		 *         implementation
+		 * @since 6.0.3
+		 */
+		default Builder tenantRateLimit(Function<String, RateLimiter.Configuration> configurationProvider) {
+			throw new UnsupportedOperationException("Tenant rate limiting is not supported by this builder");
+		}
+
 		/**
 		 * Build {@link MultiTenantDataSource}
 		 * @return MultiTenantDataSource
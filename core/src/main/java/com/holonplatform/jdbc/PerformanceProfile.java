@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc;
+
+/**
+ * Driver performance profile, used to select the recommended JDBC driver connection properties provided by a
+ * {@link DatabasePlatform}.
+ * 
+ * @since 6.0.3
+ * @see DatabasePlatform#getDriverProperties(PerformanceProfile)
+ * @see DataSourceConfigProperties#PERFORMANCE_PROFILE
+ */
+public enum PerformanceProfile {
+
+	/**
+	 * No driver properties tuning: the driver defaults are used.
+	 */
+	NONE,
+
+	/**
+	 * Throughput oriented tuning, for example enabling the client or server side prepared statements cache, the batch
+	 * statements rewriting and a larger result set fetch size.
+	 */
+	THROUGHPUT,
+
+	/**
+	 * Latency oriented tuning, which enables the prepared statements cache and avoids redundant round-trips, without
+	 * the tuning which only pays off for bulk operations.
+	 */
+	LATENCY;
+
+}
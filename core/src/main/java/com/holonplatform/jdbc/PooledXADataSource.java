@@ -0,0 +1,174 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc;
+
+import java.io.Closeable;
+import java.sql.SQLException;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+import javax.sql.XADataSource;
+
+import com.holonplatform.jdbc.internal.xa.DefaultPooledXADataSource;
+
+/**
+ * A pooling wrapper of a vendor {@link XADataSource}, which reuses the physical {@link javax.sql.XAConnection}s
+ * instead of creating a new one at each transaction enlistment.
+ * <p>
+ * The {@link #getXAConnection()} method returns a pooled XA connection: its <code>close()</code> method returns the
+ * physical XA connection to the pool, rolling back any pending local transaction and restoring the auto-commit mode.
+ * A physical connection for which a connection error event is notified, or which cannot be reset, is discarded. The
+ * idle connections exceeding the pool minimum size are evicted after the configured idle timeout. Connections with
+ * explicit credentials are not supported.
+ * </p>
+ * <p>
+ * The DataSource {@link #getConnection()} method can be used for non XA operations: it returns the logical connection
+ * of a pooled XA connection, which is returned to the pool when the logical connection is closed.
+ * </p>
+ * <p>
+ * A pooled XA DataSource can be built using the {@link DataSourceBuilder} with the
+ * {@link DataSourceBuilder#TYPE_XA_POOLED} type: the vendor XADataSource class is obtained from the
+ * {@link DatabasePlatform#getXaDriverClassName()} method, if not configured using the
+ * {@link DataSourceConfigProperties#XA_DATA_SOURCE_CLASS_NAME} property.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface PooledXADataSource extends XADataSource, DataSource, Closeable {
+
+	/**
+	 * Get the vendor XADataSource.
+	 * @return the vendor XADataSource
+	 */
+	XADataSource getXADataSource();
+
+	/**
+	 * Get the number of pooled connections currently in use.
+	 * @return the active connections count
+	 */
+	int getActiveCount();
+
+	/**
+	 * Get the number of idle pooled connections.
+	 * @return the idle connections count
+	 */
+	int getIdleCount();
+
+	/**
+	 * Get the total number of physical XA connections created by the pool.
+	 * @return the created connections count
+	 */
+	long getCreatedCount();
+
+	/**
+	 * Close the idle connections which exceeded the idle timeout, keeping at least the pool minimum size idle
+	 * connections.
+	 * <p>
+	 * The eviction is also performed each time a connection is obtained from or returned to the pool.
+	 * </p>
+	 * @return The number of evicted connections
+	 */
+	int evictIdleConnections();
+
+	/**
+	 * Close the pool: the idle physical connections are closed, while the connections currently in use are closed when
+	 * they are returned to the pool.
+	 */
+	@Override
+	void close();
+
+	/**
+	 * Get the {@link PooledXADataSource} which is or is wrapped by given DataSource, if available.
+	 * @param dataSource The DataSource (not null)
+	 * @return Optional pooled XA DataSource
+	 */
+	static Optional<PooledXADataSource> get(DataSource dataSource) {
+		try {
+			if (dataSource.isWrapperFor(PooledXADataSource.class)) {
+				return Optional.of(dataSource.unwrap(PooledXADataSource.class));
+			}
+		} catch (SQLException e) {
+			// not available
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Get a builder to create a {@link PooledXADataSource}.
+	 * @return A new {@link PooledXADataSource} builder
+	 */
+	static Builder builder() {
+		return new DefaultPooledXADataSource.DefaultBuilder();
+	}
+
+	/**
+	 * {@link PooledXADataSource} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Set the vendor XADataSource to pool.
+		 * @param xaDataSource The vendor XADataSource (not null)
+		 * @return this
+		 */
+		Builder xaDataSource(XADataSource xaDataSource);
+
+		/**
+		 * Set the pool name, used in log messages.
+		 * @param name The pool name
+		 * @return this
+		 */
+		Builder name(String name);
+
+		/**
+		 * Set the minimum number of idle connections which are never evicted. Default is <code>0</code>.
+		 * @param minPoolSize The pool min size
+		 * @return this
+		 */
+		Builder minPoolSize(int minPoolSize);
+
+		/**
+		 * Set the maximum number of connections. Default is {@link DataSourceConfigProperties#DEFAULT_MAX_POOL_SIZE}.
+		 * @param maxPoolSize The pool max size, must be greater than 0
+		 * @return this
+		 */
+		Builder maxPoolSize(int maxPoolSize);
+
+		/**
+		 * Set how long a connection can stay idle before being evicted. Default is
+		 * {@link DataSourceConfigProperties#DEFAULT_XA_IDLE_TIMEOUT}.
+		 * @param idleTimeout The idle timeout in milliseconds, <code>0</code> to never evict idle connections
+		 * @return this
+		 */
+		Builder idleTimeout(long idleTimeout);
+
+		/**
+		 * Set the max time to wait for a connection when the pool is exhausted. Default is
+		 * {@link DataSourceConfigProperties#DEFAULT_XA_MAX_WAIT}.
+		 * @param maxWait The max wait time in milliseconds
+		 * @return this
+		 */
+		Builder maxWait(long maxWait);
+
+		/**
+		 * Build the {@link PooledXADataSource}.
+		 * @return A new {@link PooledXADataSource}
+		 */
+		PooledXADataSource build();
+
+	}
+
+}
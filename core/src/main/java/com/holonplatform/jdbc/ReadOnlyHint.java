@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc;
+
+import com.holonplatform.core.Registration;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.ConnectionPriority.Operation;
+
+/**
+ * Read-only connection routing hint.
+ * <p>
+ * The hint is bound to the current thread while obtaining the connection of a read-only transaction, so that a
+ * replica-aware DataSource can check {@link #isReadOnly()} in its <code>getConnection()</code> method and route the
+ * connection request to a read replica. The hint can also be bound explicitly using the {@link #run(Runnable)} and
+ * {@link #call(Operation)} methods.
+ * </p>
+ * 
+ * @since 6.0.3
+ * @see com.holonplatform.jdbc.transaction.JdbcTransactionOptions#isReadOnly()
+ */
+public final class ReadOnlyHint {
+
+	/**
+	 * Current thread hint
+	 */
+	private static final ThreadLocal<Boolean> CURRENT = new ThreadLocal<>();
+
+	private ReadOnlyHint() {
+	}
+
+	/**
+	 * Gets whether the read-only hint is bound to the current thread.
+	 * @return <code>true</code> if the operations performed by the current thread are read-only
+	 */
+	public static boolean isReadOnly() {
+		return CURRENT.get() == Boolean.TRUE;
+	}
+
+	/**
+	 * Bind the read-only hint to the current thread, until the returned registration is removed. The registration
+	 * restores the previously bound hint, if any, and it must be removed by the same thread.
+	 * @param readOnly Whether the operations performed by the current thread are read-only
+	 * @return The hint registration
+	 */
+	public static Registration bind(boolean readOnly) {
+		final Boolean previous = CURRENT.get();
+		CURRENT.set(readOnly);
+		return () -> {
+			if (previous != null) {
+				CURRENT.set(previous);
+			} else {
+				CURRENT.remove();
+			}
+		};
+	}
+
+	/**
+	 * Execute given operation binding the read-only hint to the current thread.
+	 * @param operation The operation to execute (not null)
+	 */
+	public static void run(Runnable operation) {
+		ObjectUtils.argumentNotNull(operation, "Operation must be not null");
+		final Registration registration = bind(true);
+		try {
+			operation.run();
+		} finally {
+			registration.remove();
+		}
+	}
+
+	/**
+	 * Execute given operation binding the read-only hint to the current thread.
+	 * @param <T> Operation result type
+	 * @param <E> Operation exception type
+	 * @param operation The operation to execute (not null)
+	 * @return The operation result
+	 * @throws E If the operation failed
+	 */
+	public static <T, E extends Exception> T call(Operation<T, E> operation) throws E {
+		ObjectUtils.argumentNotNull(operation, "Operation must be not null");
+		final Registration registration = bind(true);
+		try {
+			return operation.execute();
+		} finally {
+			registration.remove();
+		}
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+/**
+ * Tracks the session state of the DataSource connections, i.e. the auto-commit mode, the transaction isolation level,
+ * the read-only flag and the schema, to avoid the driver round-trips of the redundant getter and setter calls.
+ * <p>
+ * The session state is cached for each connection: the getter calls are served from the cache, the setter calls which
+ * do not change the current value are skipped and, when the connection is closed, only the changed attributes are
+ * restored before the connection is returned to the pool. The initial session state is read once, from the first
+ * obtained connection, so the session state of the pooled connections must be changed only through the DataSource
+ * connections and not, for example, using SQL statements.
+ * </p>
+ * <p>
+ * A session state tracker is installed on a DataSource built using the default {@link DataSourceBuilder} when the
+ * {@link DataSourceConfigProperties#SESSION_STATE_TRACKING_ENABLED} configuration property is <code>true</code>, and
+ * can be obtained using the {@link #get(DataSource)} method.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface SessionStateTracker {
+
+	/**
+	 * Get the number of session state getter and setter calls which were served without reaching the driver.
+	 * @return the skipped calls count
+	 */
+	long getSkippedCount();
+
+	/**
+	 * Get the number of session state setter calls which were forwarded to the driver.
+	 * @return the executed calls count
+	 */
+	long getExecutedCount();
+
+	/**
+	 * Get the number of session state attributes restored when the connections were closed.
+	 * @return the restored attributes count
+	 */
+	long getRestoredCount();
+
+	/**
+	 * Get the {@link SessionStateTracker} of given DataSource, if available.
+	 * @param dataSource The DataSource (not null)
+	 * @return Optional DataSource session state tracker
+	 */
+	static Optional<SessionStateTracker> get(DataSource dataSource) {
+		try {
+			if (dataSource.isWrapperFor(SessionStateTracker.class)) {
+				return Optional.of(dataSource.unwrap(SessionStateTracker.class));
+			}
+		} catch (SQLException e) {
+			// not available
+		}
+		return Optional.empty();
+	}
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc;
+
+/**
+ * Strategy used by the connection pooling DataSources to check whether a pooled connection is still alive before
+ * handing it out.
+ * <p>
+ * When not explicitly configured using the {@link DataSourceConfigProperties#VALIDATION_STRATEGY} property, the
+ * {@link #QUERY} strategy is used if a {@link DataSourceConfigProperties#VALIDATION_QUERY} is configured, otherwise
+ * the {@link DatabasePlatform#getDefaultValidationStrategy()} of the database platform is used.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public enum ValidationStrategy {
+
+	/**
+	 * Use the JDBC 4 {@link java.sql.Connection#isValid(int)} method, which most drivers implement with a lightweight
+	 * protocol level check, without executing any statement.
+	 */
+	IS_VALID,
+
+	/**
+	 * Execute the configured validation query, or the database platform default validation query.
+	 */
+	QUERY,
+
+	/**
+	 * Use the driver specific ping query, if supported by the database platform (for example the MySQL Connector/J
+	 * <code>/* ping *&#47;</code> query, which is not parsed by the server). Falls back to {@link #IS_VALID} when the
+	 * platform does not provide a ping query.
+	 */
+	PING,
+
+	/**
+	 * Do not validate the pooled connections.
+	 */
+	NONE;
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc;
+
+/**
+ * DataSource workload profile, which provides coherent defaults for the connection pool sizing, the pool timeouts and
+ * the statements fetch size and timeout.
+ * <p>
+ * The profile values are used when the corresponding DataSource configuration property is not explicitly configured.
+ * </p>
+ * 
+ * @since 6.0.3
+ * @see DataSourceConfigProperties#WORKLOAD_PROFILE
+ */
+public enum WorkloadProfile {
+
+	/**
+	 * Online transaction processing: short transactions and small result sets. Small pool, fail fast acquisition and
+	 * short statement timeout.
+	 */
+	OLTP(2, 10, 2000L, 300000L, 1800000L, 50, 10),
+
+	/**
+	 * Batch processing: few long running connections, long timeouts and large fetch size.
+	 */
+	BATCH(0, 4, 60000L, 600000L, 3600000L, 5000, 3600),
+
+	/**
+	 * Reporting: few connections, long running queries on large result sets.
+	 */
+	REPORTING(0, 5, 30000L, 600000L, 1800000L, 1000, 600);
+
+	private final int minPoolSize;
+	private final int maxPoolSize;
+	private final long acquisitionTimeout;
+	private final long idleTimeout;
+	private final long maxLifetime;
+	private final int fetchSize;
+	private final int statementTimeout;
+
+	private WorkloadProfile(int minPoolSize, int maxPoolSize, long acquisitionTimeout, long idleTimeout,
+			long maxLifetime, int fetchSize, int statementTimeout) {
+		this.minPoolSize = minPoolSize;
+		this.maxPoolSize = maxPoolSize;
+		this.acquisitionTimeout = acquisitionTimeout;
+		this.idleTimeout = idleTimeout;
+		this.maxLifetime = maxLifetime;
+		this.fetchSize = fetchSize;
+		this.statementTimeout = statementTimeout;
+	}
+
+	/**
+	 * Get the min connection pool size.
+	 * @return the min pool size
+	 */
+	public int getMinPoolSize() {
+		return minPoolSize;
+	}
+
+	/**
+	 * Get the max connection pool size.
+	 * @return the max pool size
+	 */
+	public int getMaxPoolSize() {
+		return maxPoolSize;
+	}
+
+	/**
+	 * Get the max time to wait for a connection when the pool is exhausted.
+	 * @return the acquisition timeout in milliseconds
+	 */
+	public long getAcquisitionTimeout() {
+		return acquisitionTimeout;
+	}
+
+	/**
+	 * Get how long a connection can stay idle in the pool before being evicted.
+	 * @return the idle timeout in milliseconds
+	 */
+	public long getIdleTimeout() {
+		return idleTimeout;
+	}
+
+	/**
+	 * Get the max lifetime of a pooled connection.
+	 * @return the max lifetime in milliseconds
+	 */
+	public long getMaxLifetime() {
+		return maxLifetime;
+	}
+
+	/**
+	 * Get the default statements fetch size.
+	 * @return the fetch size
+	 */
+	public int getFetchSize() {
+		return fetchSize;
+	}
+
+	/**
+	 * Get the default statements query timeout.
+	 * @return the statement timeout in seconds
+	 */
+	public int getStatementTimeout() {
+		return statementTimeout;
+	}
+
+}
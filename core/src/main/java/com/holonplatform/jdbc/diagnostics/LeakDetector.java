@@ -0,0 +1,167 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.diagnostics;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.Registration;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+
+/**
+ * Detects the connection leases held longer than a configured threshold, which are likely to be connection leaks.
+ * <p>
+ * The lease time and the acquiring thread are recorded for every connection obtained from the DataSource, while the
+ * acquisition stack trace is captured only for a configurable sample of the leases, to avoid paying the stack walk
+ * cost at each connection acquisition. The leases are checked each time a new connection is requested, at most once
+ * every half threshold, or explicitly using the {@link #checkLeaks()} method. Each leaked lease is reported once,
+ * logging a warning and notifying the registered {@link LeakListener}s, and it can be optionally reclaimed, forcibly
+ * closing the leaked connection.
+ * </p>
+ * <p>
+ * A leak detector is installed on a DataSource built using the default {@link com.holonplatform.jdbc.DataSourceBuilder}
+ * when the {@link DataSourceConfigProperties#LEAK_DETECTION_ENABLED} configuration property is <code>true</code>, and
+ * can be obtained using the {@link #get(DataSource)} method.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface LeakDetector {
+
+	/**
+	 * Get the leak detector name, which by default is the data context id of the DataSource, if available.
+	 * @return The leak detector name
+	 */
+	String getName();
+
+	/**
+	 * Get the lease duration threshold above which a lease is reported as leaked.
+	 * @return The leak threshold in milliseconds
+	 */
+	long getThreshold();
+
+	/**
+	 * Get the currently active connection leases.
+	 * @return The active leases, an empty List if none
+	 */
+	List<ConnectionLease> getActiveLeases();
+
+	/**
+	 * Get the total number of leaked leases detected.
+	 * @return The leaks count
+	 */
+	long getLeakCount();
+
+	/**
+	 * Check the active leases, reporting (and reclaiming, if configured) the ones held longer than the threshold and
+	 * not already reported.
+	 * @return The newly detected leaked leases, an empty List if none
+	 */
+	List<ConnectionLease> checkLeaks();
+
+	/**
+	 * Add a listener to be notified when a leaked lease is detected.
+	 * <p>
+	 * The listeners are invoked synchronously by the thread which performed the leases check.
+	 * </p>
+	 * @param listener The listener to add (not null)
+	 * @return The listener registration, which can be used to remove the listener
+	 */
+	Registration addLeakListener(LeakListener listener);
+
+	/**
+	 * Get the {@link LeakDetector} installed on given DataSource, if available.
+	 * @param dataSource The DataSource (not null)
+	 * @return Optional DataSource leak detector
+	 */
+	static Optional<LeakDetector> get(DataSource dataSource) {
+		try {
+			if (dataSource.isWrapperFor(LeakDetector.class)) {
+				return Optional.of(dataSource.unwrap(LeakDetector.class));
+			}
+		} catch (SQLException e) {
+			// not available
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * A connection lease.
+	 */
+	public interface ConnectionLease {
+
+		/**
+		 * Get the data context id of the DataSource from which the connection was obtained, if available.
+		 * @return Optional data context id
+		 */
+		Optional<String> getDataContextId();
+
+		/**
+		 * Get the lease start timestamp, in milliseconds since the epoch.
+		 * @return the lease timestamp
+		 */
+		long getLeaseTimestamp();
+
+		/**
+		 * Get the time elapsed since the lease start.
+		 * @return the lease duration in milliseconds
+		 */
+		long getLeaseDuration();
+
+		/**
+		 * Get the name of the thread which acquired the connection.
+		 * @return the acquiring thread name
+		 */
+		String getThreadName();
+
+		/**
+		 * Get the id of the thread which acquired the connection.
+		 * @return the acquiring thread id
+		 */
+		long getThreadId();
+
+		/**
+		 * Get the connection acquisition stack trace, available only if the lease was sampled for stack capture.
+		 * @return Optional acquisition stack trace
+		 */
+		Optional<StackTraceElement[]> getAcquisitionStackTrace();
+
+		/**
+		 * Gets whether the leased connection was forcibly closed by the leak detector.
+		 * @return <code>true</code> if the connection was reclaimed
+		 */
+		boolean isReclaimed();
+
+	}
+
+	/**
+	 * Listener for leaked connection leases.
+	 */
+	@FunctionalInterface
+	public interface LeakListener {
+
+		/**
+		 * Invoked when a leaked connection lease is detected.
+		 * @param lease The leaked lease
+		 */
+		void onLeak(ConnectionLease lease);
+
+	}
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.diagnostics;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+
+/**
+ * Detects the nested connection acquisitions, i.e. a thread which already holds a connection obtained from a
+ * DataSource and requests another one from the same DataSource.
+ * <p>
+ * When the pool is saturated, the threads which hold a connection and wait for a second one can exhaust the pool,
+ * waiting for each other until the acquisition timeout (pool self-deadlock). According to the {@link Mode}, a nested
+ * acquisition is reported logging a warning or rejected with a
+ * {@link com.holonplatform.jdbc.exceptions.NestedConnectionAcquisitionException}.
+ * </p>
+ * <p>
+ * The connections held by each thread are tracked by thread identity, so virtual threads are tracked individually.
+ * The connection returned by a {@link com.holonplatform.jdbc.JdbcConnectionHandler} when a transaction bound
+ * connection is available is not obtained from the DataSource, so it is not counted as a nested acquisition.
+ * </p>
+ * <p>
+ * A nested acquisition detector is installed on a DataSource built using the default
+ * {@link com.holonplatform.jdbc.DataSourceBuilder} when the
+ * {@link DataSourceConfigProperties#NESTED_ACQUISITION_ENABLED} configuration property is <code>true</code>, and can
+ * be obtained using the {@link #get(DataSource)} method.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface NestedAcquisitionDetector {
+
+	/**
+	 * Nested acquisition detection mode.
+	 */
+	public enum Mode {
+
+		/**
+		 * Log a warning and allow the nested acquisition.
+		 */
+		WARN,
+
+		/**
+		 * Reject the nested acquisition.
+		 */
+		FAIL;
+
+	}
+
+	/**
+	 * Get the detector name, which by default is the data context id of the DataSource, if available.
+	 * @return The detector name
+	 */
+	String getName();
+
+	/**
+	 * Get the detection mode.
+	 * @return the detection mode
+	 */
+	Mode getMode();
+
+	/**
+	 * Get the number of connections currently held by the current thread.
+	 * @return The current thread held connections count
+	 */
+	default int getHeldCount() {
+		return getHeldCount(Thread.currentThread());
+	}
+
+	/**
+	 * Get the number of connections currently held by given thread.
+	 * @param thread The thread (not null)
+	 * @return The held connections count
+	 */
+	int getHeldCount(Thread thread);
+
+	/**
+	 * Get the number of threads which currently hold at least one connection.
+	 * @return The threads count
+	 */
+	int getHoldingThreadCount();
+
+	/**
+	 * Get the maximum number of connections held at the same time by a single thread.
+	 * @return The max held connections count
+	 */
+	int getMaxHeldCount();
+
+	/**
+	 * Get the total number of nested acquisitions detected, including the rejected ones.
+	 * @return The nested acquisitions count
+	 */
+	long getNestedAcquisitionCount();
+
+	/**
+	 * Get the {@link NestedAcquisitionDetector} installed on given DataSource, if available.
+	 * @param dataSource The DataSource (not null)
+	 * @return Optional DataSource nested acquisition detector
+	 */
+	static Optional<NestedAcquisitionDetector> get(DataSource dataSource) {
+		try {
+			if (dataSource.isWrapperFor(NestedAcquisitionDetector.class)) {
+				return Optional.of(dataSource.unwrap(NestedAcquisitionDetector.class));
+			}
+		} catch (SQLException e) {
+			// not available
+		}
+		return Optional.empty();
+	}
+
+}
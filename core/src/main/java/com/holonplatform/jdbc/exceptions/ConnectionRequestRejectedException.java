@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.exceptions;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Base class of the exceptions thrown when a DataSource connection request is rejected by a connection acquisition
+ * guard (for example a circuit breaker or a concurrency limiter) before reaching the concrete DataSource.
+ * 
+ * @since 6.0.3
+ */
+public abstract class ConnectionRequestRejectedException extends SQLTransientConnectionException {
+
+	private static final long serialVersionUID = 1753271092606003839L;
+
+	/**
+	 * SQL state used for rejected connection requests (connection exception class)
+	 */
+	public static final String SQL_STATE = "08001";
+
+	/**
+	 * Constructor with error message.
+	 * @param message Error message
+	 */
+	public ConnectionRequestRejectedException(String message) {
+		super(message, SQL_STATE);
+	}
+
+}
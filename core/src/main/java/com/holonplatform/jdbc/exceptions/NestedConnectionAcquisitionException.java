@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.exceptions;
+
+import com.holonplatform.jdbc.diagnostics.NestedAcquisitionDetector;
+
+/**
+ * Exception thrown when a connection request is rejected because the requesting thread already holds a connection
+ * obtained from the same DataSource, using the {@link NestedAcquisitionDetector.Mode#FAIL} mode.
+ * 
+ * @since 6.0.3
+ */
+public class NestedConnectionAcquisitionException extends ConnectionRequestRejectedException {
+
+	private static final long serialVersionUID = -6645063829712208945L;
+
+	/**
+	 * Constructor with error message.
+	 * @param message Error message
+	 */
+	public NestedConnectionAcquisitionException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.exceptions;
+
+import com.holonplatform.jdbc.resilience.PriorityLanes;
+
+/**
+ * Exception thrown when a connection request is rejected because no {@link PriorityLanes} permit became available
+ * within the configured max wait time.
+ * 
+ * @since 6.0.3
+ */
+public class PriorityLaneTimeoutException extends ConnectionRequestRejectedException {
+
+	private static final long serialVersionUID = 6120858416004453713L;
+
+	/**
+	 * Constructor with error message.
+	 * @param message Error message
+	 */
+	public PriorityLaneTimeoutException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.exceptions;
+
+import java.sql.SQLTransientException;
+
+import com.holonplatform.jdbc.resilience.RateLimiter;
+
+/**
+ * Exception thrown when a statement execution is rejected because the DataSource {@link RateLimiter} statement
+ * executions rate limit has been exceeded.
+ * <p>
+ * The statement connection is not involved, so this is not a {@link ConnectionRequestRejectedException} and no SQL
+ * state is provided: a connection pool does not consider the connection as broken.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class StatementRateLimitExceededException extends SQLTransientException {
+
+	private static final long serialVersionUID = 6215489350212467583L;
+
+	/**
+	 * Constructor with error message.
+	 * @param message Error message
+	 */
+	public StatementRateLimitExceededException(String message) {
+		super(message);
+	}
+
+}
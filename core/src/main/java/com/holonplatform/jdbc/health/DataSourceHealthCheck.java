@@ -0,0 +1,148 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.health;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.jdbc.internal.health.DefaultDataSourceHealthCheck;
+
+/**
+ * A cached health check of a {@link DataSource}.
+ * <p>
+ * The health is checked by obtaining a connection and validating it, and the check {@link Result} is cached: the
+ * {@link #getResult()} method never blocks and never accesses the database, it returns the last available result and,
+ * if the result is older than the configured refresh interval, triggers an asynchronous refresh. At most one refresh
+ * at a time is performed for each health check, so frequent probes never put load on the database and never block on
+ * a slow or exhausted connection pool.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface DataSourceHealthCheck {
+
+	/**
+	 * Default refresh interval in milliseconds
+	 */
+	public static final long DEFAULT_REFRESH_INTERVAL = 10000L;
+
+	/**
+	 * Default connection validation timeout in seconds
+	 */
+	public static final int DEFAULT_VALIDATION_TIMEOUT = 2;
+
+	/**
+	 * Health status.
+	 */
+	public enum Status {
+
+		/**
+		 * A connection can be obtained and it is valid.
+		 */
+		UP,
+
+		/**
+		 * A connection can not be obtained or it is not valid.
+		 */
+		DOWN,
+
+		/**
+		 * The health was not checked yet.
+		 */
+		UNKNOWN;
+
+	}
+
+	/**
+	 * Health check result.
+	 */
+	public interface Result {
+
+		/**
+		 * Get the health status.
+		 * @return the health status
+		 */
+		Status getStatus();
+
+		/**
+		 * Get the check timestamp.
+		 * @return the check timestamp, in milliseconds since the epoch, <code>0</code> if the health was not checked
+		 *         yet
+		 */
+		long getTimestamp();
+
+		/**
+		 * Get the time spent to obtain and validate a connection.
+		 * @return the check response time in milliseconds
+		 */
+		long getResponseTime();
+
+		/**
+		 * Get the error description, if the status is {@link Status#DOWN}.
+		 * @return Optional error description
+		 */
+		Optional<String> getError();
+
+	}
+
+	/**
+	 * Get the health check name, for example the data context id of the DataSource.
+	 * @return The health check name
+	 */
+	String getName();
+
+	/**
+	 * Get the last available health check result, triggering an asynchronous refresh if the result is older than the
+	 * refresh interval. This method never blocks.
+	 * @return The last available result, with the {@link Status#UNKNOWN} status if no check was completed yet
+	 */
+	Result getResult();
+
+	/**
+	 * Check the DataSource health synchronously, updating the cached result.
+	 * @return The check result
+	 */
+	Result check();
+
+	/**
+	 * Create a new {@link DataSourceHealthCheck} using the default refresh interval and validation timeout, which
+	 * performs the asynchronous refreshes using a shared daemon thread pool.
+	 * @param name The health check name (not null)
+	 * @param dataSource The DataSource to check (not null)
+	 * @return A new {@link DataSourceHealthCheck}
+	 */
+	static DataSourceHealthCheck create(String name, DataSource dataSource) {
+		return create(name, dataSource, DEFAULT_REFRESH_INTERVAL, DEFAULT_VALIDATION_TIMEOUT, null);
+	}
+
+	/**
+	 * Create a new {@link DataSourceHealthCheck}.
+	 * @param name The health check name (not null)
+	 * @param dataSource The DataSource to check (not null)
+	 * @param refreshInterval The refresh interval in milliseconds
+	 * @param validationTimeout The connection validation timeout in seconds
+	 * @param executor The executor to use to perform the asynchronous refreshes, <code>null</code> to use a shared
+	 *        daemon thread pool
+	 * @return A new {@link DataSourceHealthCheck}
+	 */
+	static DataSourceHealthCheck create(String name, DataSource dataSource, long refreshInterval,
+			int validationTimeout, Executor executor) {
+		return new DefaultDataSourceHealthCheck(name, dataSource, refreshInterval, validationTimeout, executor);
+	}
+
+}
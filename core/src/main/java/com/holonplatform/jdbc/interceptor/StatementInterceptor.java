@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.interceptor;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.internal.InterceptingDataSource;
+
+/**
+ * Interceptor for the statement executions of a {@link DataSource}.
+ * <p>
+ * The interceptors are installed on a DataSource using the {@link #install(DataSource, StatementInterceptor...)}
+ * method, which can be used for example by a {@link com.holonplatform.jdbc.DataSourcePostProcessor} to decorate the
+ * DataSource. The interceptors installed on the same DataSource are composed in a single interceptor chain, so that
+ * the connections and the statements are decorated only once regardless of the number of interceptors.
+ * </p>
+ * <p>
+ * Any {@link java.sql.Statement}, {@link java.sql.PreparedStatement} and {@link java.sql.CallableStatement} execution
+ * method is delegated through the interceptor chain. Each interceptor must invoke the
+ * {@link StatementInvocation#proceed()} method to continue the chain, unless the execution must be prevented.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface StatementInterceptor {
+
+	/**
+	 * Intercept a statement execution.
+	 * @param <T> Execution result type
+	 * @param invocation The statement invocation
+	 * @return The execution result, usually the {@link StatementInvocation#proceed()} method result
+	 * @throws SQLException If an execution error occurred
+	 */
+	<T> T intercept(StatementInvocation<T> invocation) throws SQLException;
+
+	/**
+	 * Gets whether the interceptor requires the bind parameter values of the prepared and callable statements, which
+	 * are then available from the {@link StatementInvocation#getParameters()} method.
+	 * <p>
+	 * The parameter values are captured only when at least one of the interceptors installed on the same DataSource
+	 * requires them.
+	 * </p>
+	 * @return <code>true</code> if the bind parameter values are required, <code>false</code> by default
+	 */
+	default boolean isParametersCaptureRequired() {
+		return false;
+	}
+
+	/**
+	 * Gets whether the interceptor requires the statement execution time, which is then available from the
+	 * {@link StatementInvocation#getExecutionTime()} method.
+	 * <p>
+	 * The execution time is measured only once by the interceptor chain, around the actual statement execution, when
+	 * at least one of the interceptors installed on the same DataSource requires it. This way, the interceptors which
+	 * record the execution time do not read the clock on their own.
+	 * </p>
+	 * @return <code>true</code> if the execution time is required, <code>false</code> by default
+	 */
+	default boolean isExecutionTimeRequired() {
+		return false;
+	}
+
+	/**
+	 * Install given interceptors on given DataSource.
+	 * <p>
+	 * The interceptors are invoked in the given order. If the DataSource was returned by a previous call to this
+	 * method, the existing interceptor chain is extended rather than decorating the DataSource again: the new
+	 * interceptors are invoked before the existing ones, consistently with a DataSource decoration.
+	 * </p>
+	 * @param dataSource The DataSource to intercept (not null)
+	 * @param interceptors The interceptors to install (not null)
+	 * @return The intercepted DataSource
+	 */
+	static DataSource install(DataSource dataSource, StatementInterceptor... interceptors) {
+		ObjectUtils.argumentNotNull(dataSource, "DataSource must be not null");
+		ObjectUtils.argumentNotNull(interceptors, "Interceptors must be not null");
+		if (interceptors.length == 0) {
+			return dataSource;
+		}
+		if (dataSource instanceof InterceptingDataSource) {
+			return ((InterceptingDataSource) dataSource).withInterceptors(interceptors);
+		}
+		return new InterceptingDataSource(dataSource, interceptors);
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.interceptor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A statement execution invocation, provided to a {@link StatementInterceptor}.
+ * 
+ * @param <T> Execution result type
+ * 
+ * @since 6.0.3
+ */
+public interface StatementInvocation<T> {
+
+	/**
+	 * Get the Connection which created the statement.
+	 * @return The statement Connection
+	 */
+	Connection getConnection();
+
+	/**
+	 * Get the executed statement.
+	 * @return The statement
+	 */
+	Statement getStatement();
+
+	/**
+	 * Get the executed SQL.
+	 * @return The executed SQL, <code>null</code> if not available (for example for a batch execution of a plain
+	 *         statement)
+	 */
+	String getSql();
+
+	/**
+	 * Get the bind parameter values of the executed prepared or callable statement, ordered by parameter index.
+	 * @return The bind parameter values, <code>null</code> if not available: for plain statements, for batch
+	 *         executions or when no installed interceptor requires them (see
+	 *         {@link StatementInterceptor#isParametersCaptureRequired()})
+	 */
+	default Object[] getParameters() {
+		return null;
+	}
+
+	/**
+	 * Get the time spent by the actual statement execution, excluding the interceptors.
+	 * @return The execution time in nanoseconds, <code>-1</code> if not available: before the
+	 *         {@link #proceed()} method returns or throws, when the execution was prevented by an interceptor or when
+	 *         no installed interceptor requires it (see {@link StatementInterceptor#isExecutionTimeRequired()})
+	 */
+	default long getExecutionTime() {
+		return -1L;
+	}
+
+	/**
+	 * Proceed with the next interceptor in the chain or, if none, with the actual statement execution.
+	 * @return The execution result
+	 * @throws SQLException If an execution error occurred
+	 */
+	T proceed() throws SQLException;
+
+}
@@ -34,6 +34,7 @@ import com.holonplatform.jdbc.DataSourceFactory;
 import com.holonplatform.jdbc.DataSourcePostProcessor;
 import com.holonplatform.jdbc.DataSourceType;
 import com.holonplatform.jdbc.DatabasePlatform;
+import com.holonplatform.jdbc.ValidationStrategy;
 
 /**
  * Default {@link DataSourceBuilder} implementation.
@@ -158,11 +159,23 @@ public class DefaultDataSourceBuilder implements DataSourceBuilder {
 		final DataSource dataSource = factory.build(configurationProperties);
 
 		// post processors
-		getPostProcessors(cl)
-				.forEach(p -> p.postProcessDataSource(dataSource, dataSourceType, configurationProperties));
+		final List<DataSourcePostProcessor> postProcessors = getPostProcessors(cl);
+		postProcessors.forEach(p -> p.postProcessDataSource(dataSource, dataSourceType, configurationProperties));
+
+		// decorators
+		DataSource decorated = dataSource;
+		for (DataSourcePostProcessor postProcessor : postProcessors) {
+			decorated = postProcessor.decorateDataSource(decorated, dataSourceType, configurationProperties);
+			if (decorated == null) {
+				throw new ConfigurationException("The DataSourcePostProcessor [" + postProcessor
+						+ "] returned a null DataSource decorator"
+						+ configurationProperties.getDataContextId().map(d -> " [Data context id: " + d + "]")
+								.orElse(""));
+			}
+		}
 
 		// done
-		return dataSource;
+		return decorated;
 	}
 
 	/**
@@ -317,6 +330,27 @@ public class DefaultDataSourceBuilder implements DataSourceBuilder {
 			return this;
 		}
 
+		/*
+		 * (non-Javadoc)
+		 * @see
+		 * com.holonplatform.jdbc.DataSourceBuilder.Builder#validationStrategy(com.holonplatform.jdbc.ValidationStrategy)
+		 */
+		@Override
+		public Builder validationStrategy(ValidationStrategy validationStrategy) {
+			config.withProperty(DataSourceConfigProperties.VALIDATION_STRATEGY, validationStrategy);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.DataSourceBuilder.Builder#validationBypassWindow(long)
+		 */
+		@Override
+		public Builder validationBypassWindow(long validationBypassWindow) {
+			config.withProperty(DataSourceConfigProperties.VALIDATION_BYPASS_WINDOW, validationBypassWindow);
+			return this;
+		}
+
 		/*
 		 * (non-Javadoc)
 		 * @see com.holonplatform.jdbc.DataSourceBuilder.Builder#withInitScript(java.lang.String)
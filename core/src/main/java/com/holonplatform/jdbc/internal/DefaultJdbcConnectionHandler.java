@@ -17,15 +17,25 @@ package com.holonplatform.jdbc.internal;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Optional;
 
 import javax.sql.DataSource;
 
 import com.holonplatform.core.internal.Logger;
+import com.holonplatform.jdbc.ConnectionPriority;
 import com.holonplatform.jdbc.JdbcConnectionHandler;
+import com.holonplatform.jdbc.transaction.JdbcTransactionManager;
 
 /**
  * Default {@link JdbcConnectionHandler}, which uses {@link DataSource#getConnection()} to obtain a connection and
  * {@link Connection#close()} to release the connection.
+ * <p>
+ * The connection is obtained binding the {@link ConnectionPriority} of the connection type to the current thread.
+ * </p>
+ * <p>
+ * When a {@link JdbcTransactionManager} transaction is active for the DataSource in the current thread, the
+ * transaction bound connection is returned, and it is released when the transaction is completed.
+ * </p>
  *
  * @since 5.1.0
  */
@@ -40,7 +50,13 @@ public class DefaultJdbcConnectionHandler implements JdbcConnectionHandler {
 	 */
 	@Override
 	public Connection getConnection(DataSource dataSource, ConnectionType connectionType) throws SQLException {
-		final Connection connection = dataSource.getConnection();
+		final Optional<Connection> bound = JdbcTransactionManager.getBoundConnection(dataSource);
+		if (bound.isPresent()) {
+			LOGGER.debug(() -> "Using the transaction bound connection: [" + bound.get() + "]");
+			return bound.get();
+		}
+		final Connection connection = ConnectionPriority.call(connectionType.getPriority(),
+				() -> dataSource.getConnection());
 		LOGGER.debug(() -> "Obtained a DataSource connection: [" + connection + "]");
 		return connection;
 	}
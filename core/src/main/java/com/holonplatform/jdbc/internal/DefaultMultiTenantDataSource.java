@@ -21,19 +21,28 @@ import java.io.PrintWriter;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.util.Collections;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 import javax.sql.DataSource;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
 import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.tenancy.TenantResolver;
+import com.holonplatform.jdbc.DataSourceStatistics;
 import com.holonplatform.jdbc.MultiTenantDataSource;
 import com.holonplatform.jdbc.TenantDataSourceProvider;
+import com.holonplatform.jdbc.internal.resilience.DefaultRateLimiter;
+import com.holonplatform.jdbc.internal.resilience.RateLimiterDataSource;
+import com.holonplatform.jdbc.resilience.RateLimiter;
 
 /**
  * Default {@link MultiTenantDataSource} implementation.
@@ -55,6 +64,11 @@ public class DefaultMultiTenantDataSource implements MultiTenantDataSource {
 	 */
 	private static final String NO_TENANT = DefaultMultiTenantDataSource.class.getName() + ".NO_TENANT";
 
+	/**
+	 * Rate limiter name to use when no tenant is available
+	 */
+	private static final String NO_TENANT_RATE_LIMITER_NAME = "default";
+
 	/**
 	 * Tenant resolver
 	 */
@@ -65,6 +79,11 @@ public class DefaultMultiTenantDataSource implements MultiTenantDataSource {
 	 */
 	private TenantDataSourceProvider tenantDataSourceProvider;
 
+	/**
+	 * Tenant rate limiter configuration provider
+	 */
+	private Function<String, RateLimiter.Configuration> tenantRateLimitConfigurationProvider;
+
 	/**
 	 * Tenant DataSources cache
 	 */
@@ -96,6 +115,36 @@ public class DefaultMultiTenantDataSource implements MultiTenantDataSource {
 		tenantDataSources.remove((tenantId == null) ? NO_TENANT : tenantId);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.MultiTenantDataSource#getTenantStatistics()
+	 */
+	@Override
+	public Map<String, DataSourceStatistics> getTenantStatistics() {
+		final Map<String, DataSourceStatistics> statistics = new TreeMap<>();
+		tenantDataSources.forEach((tenantId, dataSource) -> {
+			if (!NO_TENANT.equals(tenantId)) {
+				DataSourceStatistics.get(dataSource).ifPresent(s -> statistics.put(tenantId, s));
+			}
+		});
+		return Collections.unmodifiableMap(statistics);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.MultiTenantDataSource#getTenantDataSources()
+	 */
+	@Override
+	public Map<String, DataSource> getTenantDataSources() {
+		final Map<String, DataSource> dataSources = new TreeMap<>();
+		tenantDataSources.forEach((tenantId, dataSource) -> {
+			if (!NO_TENANT.equals(tenantId)) {
+				dataSources.put(tenantId, dataSource);
+			}
+		});
+		return Collections.unmodifiableMap(dataSources);
+	}
+
 	/**
 	 * Set the {@link TenantResolver} to use to obtain the current tenant id.
 	 * <p>
@@ -119,6 +168,17 @@ public class DefaultMultiTenantDataSource implements MultiTenantDataSource {
 		this.tenantDataSourceProvider = tenantDataSourceProvider;
 	}
 
+	/**
+	 * Set the function to use to obtain the {@link RateLimiter} configuration of a tenant DataSource.
+	 * @param tenantRateLimitConfigurationProvider Function which provides the rate limiter configuration for a tenant
+	 *        id, or <code>null</code> if the tenant DataSource must not be limited
+	 * @since 6.0.3
+	 */
+	public void setTenantRateLimitConfigurationProvider(
+			Function<String, RateLimiter.Configuration> tenantRateLimitConfigurationProvider) {
+		this.tenantRateLimitConfigurationProvider = tenantRateLimitConfigurationProvider;
+	}
+
 	/**
 	 * Gets the {@link TenantResolver} to use to obtain the current tenant id.
 	 * @return the TenantResolver. If not explicitly setted, {@link TenantResolver#getCurrent()} is returned if
@@ -161,7 +221,7 @@ public class DefaultMultiTenantDataSource implements MultiTenantDataSource {
 
 			// obtain the DataSource from cache or from provider
 			DataSource dataSource = tenantDataSources.computeIfAbsent(tenantId,
-					(id) -> provider.getDataSource(NO_TENANT.equals(id) ? null : id));
+					(id) -> rateLimit(id, provider.getDataSource(NO_TENANT.equals(id) ? null : id)));
 			if (dataSource == null) {
 				throw new SQLException("Failed to resolve tenant DataSource - TenantDataSourceProvider returned "
 						+ "a null DataSource for tenant id: " + tenantId);
@@ -177,6 +237,25 @@ public class DefaultMultiTenantDataSource implements MultiTenantDataSource {
 		}
 	}
 
+	/**
+	 * Decorate given tenant DataSource with a {@link RateLimiter}, if a rate limit is configured for the tenant.
+	 * @param tenantId Tenant id
+	 * @param dataSource Tenant DataSource
+	 * @return The tenant DataSource to use
+	 */
+	private DataSource rateLimit(String tenantId, DataSource dataSource) {
+		if (dataSource != null && tenantRateLimitConfigurationProvider != null) {
+			final String id = NO_TENANT.equals(tenantId) ? null : tenantId;
+			final RateLimiter.Configuration configuration = tenantRateLimitConfigurationProvider.apply(id);
+			if (configuration != null) {
+				LOGGER.debug(() -> "Installed rate limiter on DataSource for tenant id: " + tenantId);
+				return RateLimiterDataSource.decorate(dataSource,
+						new DefaultRateLimiter((id != null) ? id : NO_TENANT_RATE_LIMITER_NAME, configuration));
+			}
+		}
+		return dataSource;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see jakarta.sql.DataSource#getConnection()
@@ -327,6 +406,17 @@ public class DefaultMultiTenantDataSource implements MultiTenantDataSource {
 			return this;
 		}
 
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.MultiTenantDataSource.Builder#tenantRateLimit(java.util.function.Function)
+		 */
+		@Override
+		public Builder tenantRateLimit(Function<String, RateLimiter.Configuration> configurationProvider) {
+			ObjectUtils.argumentNotNull(configurationProvider, "Rate limiter configuration provider must be not null");
+			this.instance.setTenantRateLimitConfigurationProvider(configurationProvider);
+			return this;
+		}
+
 		/*
 		 * (non-Javadoc)
 		 * @see com.holonplatform.jdbc.tenancy.MultiTenantDataSource.Builder#build()
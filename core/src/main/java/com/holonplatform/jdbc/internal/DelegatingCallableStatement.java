@@ -0,0 +1,1178 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+
+/**
+ * A {@link CallableStatement} which delegates all the calls to a concrete CallableStatement instance. Can be used
+ * as base class for {@link CallableStatement} decorators.
+ * 
+ * @since 6.0.3
+ */
+public class DelegatingCallableStatement extends DelegatingPreparedStatement implements CallableStatement {
+
+	/**
+	 * Constructor.
+	 * @param connection The Connection which created the statement (not null)
+	 * @param delegate Delegate CallableStatement (not null)
+	 */
+	public DelegatingCallableStatement(Connection connection, CallableStatement delegate) {
+		super(connection, delegate);
+	}
+
+	/**
+	 * Constructor.
+	 * @param connection The Connection which created the statement (not null)
+	 * @param delegate Delegate CallableStatement (not null)
+	 * @param sql The prepared SQL, if available
+	 */
+	public DelegatingCallableStatement(Connection connection, CallableStatement delegate, String sql) {
+		super(connection, delegate, sql);
+	}
+
+	/**
+	 * Constructor.
+	 * @param connection The Connection which created the statement (not null)
+	 * @param delegate Delegate CallableStatement (not null)
+	 * @param sql The prepared SQL, if available
+	 * @param captureParameters Whether to invoke the {@link #onParameter(int, Object)} method for each parameter value
+	 */
+	public DelegatingCallableStatement(Connection connection, CallableStatement delegate, String sql,
+			boolean captureParameters) {
+		super(connection, delegate, sql, captureParameters);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingPreparedStatement#getDelegate()
+	 */
+	@Override
+	public CallableStatement getDelegate() {
+		return (CallableStatement) super.getDelegate();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getBoolean(int)
+	 */
+	@Override
+	public boolean getBoolean(int parameterIndex) throws SQLException {
+		return getDelegate().getBoolean(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getBoolean(java.lang.String)
+	 */
+	@Override
+	public boolean getBoolean(String parameterName) throws SQLException {
+		return getDelegate().getBoolean(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getByte(int)
+	 */
+	@Override
+	public byte getByte(int parameterIndex) throws SQLException {
+		return getDelegate().getByte(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getByte(java.lang.String)
+	 */
+	@Override
+	public byte getByte(String parameterName) throws SQLException {
+		return getDelegate().getByte(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getShort(int)
+	 */
+	@Override
+	public short getShort(int parameterIndex) throws SQLException {
+		return getDelegate().getShort(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getShort(java.lang.String)
+	 */
+	@Override
+	public short getShort(String parameterName) throws SQLException {
+		return getDelegate().getShort(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getInt(int)
+	 */
+	@Override
+	public int getInt(int parameterIndex) throws SQLException {
+		return getDelegate().getInt(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getInt(java.lang.String)
+	 */
+	@Override
+	public int getInt(String parameterName) throws SQLException {
+		return getDelegate().getInt(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getLong(java.lang.String)
+	 */
+	@Override
+	public long getLong(String parameterName) throws SQLException {
+		return getDelegate().getLong(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getLong(int)
+	 */
+	@Override
+	public long getLong(int parameterIndex) throws SQLException {
+		return getDelegate().getLong(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getFloat(java.lang.String)
+	 */
+	@Override
+	public float getFloat(String parameterName) throws SQLException {
+		return getDelegate().getFloat(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getFloat(int)
+	 */
+	@Override
+	public float getFloat(int parameterIndex) throws SQLException {
+		return getDelegate().getFloat(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getDouble(java.lang.String)
+	 */
+	@Override
+	public double getDouble(String parameterName) throws SQLException {
+		return getDelegate().getDouble(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getDouble(int)
+	 */
+	@Override
+	public double getDouble(int parameterIndex) throws SQLException {
+		return getDelegate().getDouble(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getBytes(java.lang.String)
+	 */
+	@Override
+	public byte[] getBytes(String parameterName) throws SQLException {
+		return getDelegate().getBytes(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getBytes(int)
+	 */
+	@Override
+	public byte[] getBytes(int parameterIndex) throws SQLException {
+		return getDelegate().getBytes(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setBoolean(java.lang.String, boolean)
+	 */
+	@Override
+	public void setBoolean(String parameterName, boolean x) throws SQLException {
+		getDelegate().setBoolean(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setByte(java.lang.String, byte)
+	 */
+	@Override
+	public void setByte(String parameterName, byte x) throws SQLException {
+		getDelegate().setByte(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setShort(java.lang.String, short)
+	 */
+	@Override
+	public void setShort(String parameterName, short x) throws SQLException {
+		getDelegate().setShort(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setInt(java.lang.String, int)
+	 */
+	@Override
+	public void setInt(String parameterName, int x) throws SQLException {
+		getDelegate().setInt(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setLong(java.lang.String, long)
+	 */
+	@Override
+	public void setLong(String parameterName, long x) throws SQLException {
+		getDelegate().setLong(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setFloat(java.lang.String, float)
+	 */
+	@Override
+	public void setFloat(String parameterName, float x) throws SQLException {
+		getDelegate().setFloat(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setDouble(java.lang.String, double)
+	 */
+	@Override
+	public void setDouble(String parameterName, double x) throws SQLException {
+		getDelegate().setDouble(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getObject(int)
+	 */
+	@Override
+	public Object getObject(int parameterIndex) throws SQLException {
+		return getDelegate().getObject(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getObject(java.lang.String, java.lang.Class)
+	 */
+	@Override
+	public <T> T getObject(String parameterName, Class<T> type) throws SQLException {
+		return getDelegate().getObject(parameterName, type);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getObject(int, java.util.Map)
+	 */
+	@Override
+	public Object getObject(int parameterIndex, Map<String, Class<?>> map) throws SQLException {
+		return getDelegate().getObject(parameterIndex, map);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getObject(java.lang.String, java.util.Map)
+	 */
+	@Override
+	public Object getObject(String parameterName, Map<String, Class<?>> map) throws SQLException {
+		return getDelegate().getObject(parameterName, map);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getObject(int, java.lang.Class)
+	 */
+	@Override
+	public <T> T getObject(int parameterIndex, Class<T> type) throws SQLException {
+		return getDelegate().getObject(parameterIndex, type);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getObject(java.lang.String)
+	 */
+	@Override
+	public Object getObject(String parameterName) throws SQLException {
+		return getDelegate().getObject(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getRef(int)
+	 */
+	@Override
+	public Ref getRef(int parameterIndex) throws SQLException {
+		return getDelegate().getRef(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getRef(java.lang.String)
+	 */
+	@Override
+	public Ref getRef(String parameterName) throws SQLException {
+		return getDelegate().getRef(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getArray(java.lang.String)
+	 */
+	@Override
+	public Array getArray(String parameterName) throws SQLException {
+		return getDelegate().getArray(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getArray(int)
+	 */
+	@Override
+	public Array getArray(int parameterIndex) throws SQLException {
+		return getDelegate().getArray(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getTime(java.lang.String)
+	 */
+	@Override
+	public Time getTime(String parameterName) throws SQLException {
+		return getDelegate().getTime(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getTime(int)
+	 */
+	@Override
+	public Time getTime(int parameterIndex) throws SQLException {
+		return getDelegate().getTime(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getTime(int, java.util.Calendar)
+	 */
+	@Override
+	public Time getTime(int parameterIndex, Calendar cal) throws SQLException {
+		return getDelegate().getTime(parameterIndex, cal);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getTime(java.lang.String, java.util.Calendar)
+	 */
+	@Override
+	public Time getTime(String parameterName, Calendar cal) throws SQLException {
+		return getDelegate().getTime(parameterName, cal);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setURL(java.lang.String, java.net.URL)
+	 */
+	@Override
+	public void setURL(String parameterName, URL x) throws SQLException {
+		getDelegate().setURL(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getString(int)
+	 */
+	@Override
+	public String getString(int parameterIndex) throws SQLException {
+		return getDelegate().getString(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getString(java.lang.String)
+	 */
+	@Override
+	public String getString(String parameterName) throws SQLException {
+		return getDelegate().getString(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getBigDecimal(java.lang.String)
+	 */
+	@Override
+	public BigDecimal getBigDecimal(String parameterName) throws SQLException {
+		return getDelegate().getBigDecimal(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getBigDecimal(int, int)
+	 */
+	@Override
+	@Deprecated
+	public BigDecimal getBigDecimal(int parameterIndex, int scale) throws SQLException {
+		return getDelegate().getBigDecimal(parameterIndex, scale);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getBigDecimal(int)
+	 */
+	@Override
+	public BigDecimal getBigDecimal(int parameterIndex) throws SQLException {
+		return getDelegate().getBigDecimal(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setTime(java.lang.String, java.sql.Time)
+	 */
+	@Override
+	public void setTime(String parameterName, Time x) throws SQLException {
+		getDelegate().setTime(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setTime(java.lang.String, java.sql.Time, java.util.Calendar)
+	 */
+	@Override
+	public void setTime(String parameterName, Time x, Calendar cal) throws SQLException {
+		getDelegate().setTime(parameterName, x, cal);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setDate(java.lang.String, java.sql.Date, java.util.Calendar)
+	 */
+	@Override
+	public void setDate(String parameterName, Date x, Calendar cal) throws SQLException {
+		getDelegate().setDate(parameterName, x, cal);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setDate(java.lang.String, java.sql.Date)
+	 */
+	@Override
+	public void setDate(String parameterName, Date x) throws SQLException {
+		getDelegate().setDate(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getDate(int)
+	 */
+	@Override
+	public Date getDate(int parameterIndex) throws SQLException {
+		return getDelegate().getDate(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getDate(java.lang.String)
+	 */
+	@Override
+	public Date getDate(String parameterName) throws SQLException {
+		return getDelegate().getDate(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getDate(int, java.util.Calendar)
+	 */
+	@Override
+	public Date getDate(int parameterIndex, Calendar cal) throws SQLException {
+		return getDelegate().getDate(parameterIndex, cal);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getDate(java.lang.String, java.util.Calendar)
+	 */
+	@Override
+	public Date getDate(String parameterName, Calendar cal) throws SQLException {
+		return getDelegate().getDate(parameterName, cal);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getURL(java.lang.String)
+	 */
+	@Override
+	public URL getURL(String parameterName) throws SQLException {
+		return getDelegate().getURL(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getURL(int)
+	 */
+	@Override
+	public URL getURL(int parameterIndex) throws SQLException {
+		return getDelegate().getURL(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getTimestamp(java.lang.String, java.util.Calendar)
+	 */
+	@Override
+	public Timestamp getTimestamp(String parameterName, Calendar cal) throws SQLException {
+		return getDelegate().getTimestamp(parameterName, cal);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getTimestamp(int)
+	 */
+	@Override
+	public Timestamp getTimestamp(int parameterIndex) throws SQLException {
+		return getDelegate().getTimestamp(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getTimestamp(java.lang.String)
+	 */
+	@Override
+	public Timestamp getTimestamp(String parameterName) throws SQLException {
+		return getDelegate().getTimestamp(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getTimestamp(int, java.util.Calendar)
+	 */
+	@Override
+	public Timestamp getTimestamp(int parameterIndex, Calendar cal) throws SQLException {
+		return getDelegate().getTimestamp(parameterIndex, cal);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#wasNull()
+	 */
+	@Override
+	public boolean wasNull() throws SQLException {
+		return getDelegate().wasNull();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setNull(java.lang.String, int, java.lang.String)
+	 */
+	@Override
+	public void setNull(String parameterName, int sqlType, String typeName) throws SQLException {
+		getDelegate().setNull(parameterName, sqlType, typeName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setNull(java.lang.String, int)
+	 */
+	@Override
+	public void setNull(String parameterName, int sqlType) throws SQLException {
+		getDelegate().setNull(parameterName, sqlType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#registerOutParameter(int, java.sql.SQLType, int)
+	 */
+	@Override
+	public void registerOutParameter(int parameterIndex, SQLType sqlType, int scale) throws SQLException {
+		getDelegate().registerOutParameter(parameterIndex, sqlType, scale);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#registerOutParameter(java.lang.String, java.sql.SQLType, java.lang.String)
+	 */
+	@Override
+	public void registerOutParameter(String parameterName, SQLType sqlType, String typeName) throws SQLException {
+		getDelegate().registerOutParameter(parameterName, sqlType, typeName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#registerOutParameter(int, java.sql.SQLType)
+	 */
+	@Override
+	public void registerOutParameter(int parameterIndex, SQLType sqlType) throws SQLException {
+		getDelegate().registerOutParameter(parameterIndex, sqlType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#registerOutParameter(java.lang.String, java.sql.SQLType, int)
+	 */
+	@Override
+	public void registerOutParameter(String parameterName, SQLType sqlType, int scale) throws SQLException {
+		getDelegate().registerOutParameter(parameterName, sqlType, scale);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#registerOutParameter(java.lang.String, java.sql.SQLType)
+	 */
+	@Override
+	public void registerOutParameter(String parameterName, SQLType sqlType) throws SQLException {
+		getDelegate().registerOutParameter(parameterName, sqlType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#registerOutParameter(int, java.sql.SQLType, java.lang.String)
+	 */
+	@Override
+	public void registerOutParameter(int parameterIndex, SQLType sqlType, String typeName) throws SQLException {
+		getDelegate().registerOutParameter(parameterIndex, sqlType, typeName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#registerOutParameter(int, int, int)
+	 */
+	@Override
+	public void registerOutParameter(int parameterIndex, int sqlType, int scale) throws SQLException {
+		getDelegate().registerOutParameter(parameterIndex, sqlType, scale);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#registerOutParameter(java.lang.String, int, java.lang.String)
+	 */
+	@Override
+	public void registerOutParameter(String parameterName, int sqlType, String typeName) throws SQLException {
+		getDelegate().registerOutParameter(parameterName, sqlType, typeName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#registerOutParameter(java.lang.String, int, int)
+	 */
+	@Override
+	public void registerOutParameter(String parameterName, int sqlType, int scale) throws SQLException {
+		getDelegate().registerOutParameter(parameterName, sqlType, scale);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#registerOutParameter(java.lang.String, int)
+	 */
+	@Override
+	public void registerOutParameter(String parameterName, int sqlType) throws SQLException {
+		getDelegate().registerOutParameter(parameterName, sqlType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#registerOutParameter(int, int, java.lang.String)
+	 */
+	@Override
+	public void registerOutParameter(int parameterIndex, int sqlType, String typeName) throws SQLException {
+		getDelegate().registerOutParameter(parameterIndex, sqlType, typeName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#registerOutParameter(int, int)
+	 */
+	@Override
+	public void registerOutParameter(int parameterIndex, int sqlType) throws SQLException {
+		getDelegate().registerOutParameter(parameterIndex, sqlType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setObject(java.lang.String, java.lang.Object, int)
+	 */
+	@Override
+	public void setObject(String parameterName, Object x, int targetSqlType) throws SQLException {
+		getDelegate().setObject(parameterName, x, targetSqlType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setObject(java.lang.String, java.lang.Object)
+	 */
+	@Override
+	public void setObject(String parameterName, Object x) throws SQLException {
+		getDelegate().setObject(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setObject(java.lang.String, java.lang.Object, java.sql.SQLType, int)
+	 */
+	@Override
+	public void setObject(String parameterName, Object x, SQLType targetSqlType, int scaleOrLength)
+			throws SQLException {
+		getDelegate().setObject(parameterName, x, targetSqlType, scaleOrLength);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setObject(java.lang.String, java.lang.Object, java.sql.SQLType)
+	 */
+	@Override
+	public void setObject(String parameterName, Object x, SQLType targetSqlType) throws SQLException {
+		getDelegate().setObject(parameterName, x, targetSqlType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setObject(java.lang.String, java.lang.Object, int, int)
+	 */
+	@Override
+	public void setObject(String parameterName, Object x, int targetSqlType, int scaleOrLength) throws SQLException {
+		getDelegate().setObject(parameterName, x, targetSqlType, scaleOrLength);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getBlob(int)
+	 */
+	@Override
+	public Blob getBlob(int parameterIndex) throws SQLException {
+		return getDelegate().getBlob(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getBlob(java.lang.String)
+	 */
+	@Override
+	public Blob getBlob(String parameterName) throws SQLException {
+		return getDelegate().getBlob(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getClob(int)
+	 */
+	@Override
+	public Clob getClob(int parameterIndex) throws SQLException {
+		return getDelegate().getClob(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getClob(java.lang.String)
+	 */
+	@Override
+	public Clob getClob(String parameterName) throws SQLException {
+		return getDelegate().getClob(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setBigDecimal(java.lang.String, java.math.BigDecimal)
+	 */
+	@Override
+	public void setBigDecimal(String parameterName, BigDecimal x) throws SQLException {
+		getDelegate().setBigDecimal(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setString(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public void setString(String parameterName, String x) throws SQLException {
+		getDelegate().setString(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setBytes(java.lang.String, byte[])
+	 */
+	@Override
+	public void setBytes(String parameterName, byte[] x) throws SQLException {
+		getDelegate().setBytes(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setTimestamp(java.lang.String, java.sql.Timestamp, java.util.Calendar)
+	 */
+	@Override
+	public void setTimestamp(String parameterName, Timestamp x, Calendar cal) throws SQLException {
+		getDelegate().setTimestamp(parameterName, x, cal);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setTimestamp(java.lang.String, java.sql.Timestamp)
+	 */
+	@Override
+	public void setTimestamp(String parameterName, Timestamp x) throws SQLException {
+		getDelegate().setTimestamp(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setAsciiStream(java.lang.String, java.io.InputStream, long)
+	 */
+	@Override
+	public void setAsciiStream(String parameterName, InputStream x, long length) throws SQLException {
+		getDelegate().setAsciiStream(parameterName, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setAsciiStream(java.lang.String, java.io.InputStream)
+	 */
+	@Override
+	public void setAsciiStream(String parameterName, InputStream x) throws SQLException {
+		getDelegate().setAsciiStream(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setAsciiStream(java.lang.String, java.io.InputStream, int)
+	 */
+	@Override
+	public void setAsciiStream(String parameterName, InputStream x, int length) throws SQLException {
+		getDelegate().setAsciiStream(parameterName, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setBinaryStream(java.lang.String, java.io.InputStream, long)
+	 */
+	@Override
+	public void setBinaryStream(String parameterName, InputStream x, long length) throws SQLException {
+		getDelegate().setBinaryStream(parameterName, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setBinaryStream(java.lang.String, java.io.InputStream)
+	 */
+	@Override
+	public void setBinaryStream(String parameterName, InputStream x) throws SQLException {
+		getDelegate().setBinaryStream(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setBinaryStream(java.lang.String, java.io.InputStream, int)
+	 */
+	@Override
+	public void setBinaryStream(String parameterName, InputStream x, int length) throws SQLException {
+		getDelegate().setBinaryStream(parameterName, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setCharacterStream(java.lang.String, java.io.Reader, long)
+	 */
+	@Override
+	public void setCharacterStream(String parameterName, Reader x, long length) throws SQLException {
+		getDelegate().setCharacterStream(parameterName, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setCharacterStream(java.lang.String, java.io.Reader)
+	 */
+	@Override
+	public void setCharacterStream(String parameterName, Reader x) throws SQLException {
+		getDelegate().setCharacterStream(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setCharacterStream(java.lang.String, java.io.Reader, int)
+	 */
+	@Override
+	public void setCharacterStream(String parameterName, Reader x, int length) throws SQLException {
+		getDelegate().setCharacterStream(parameterName, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getRowId(int)
+	 */
+	@Override
+	public RowId getRowId(int parameterIndex) throws SQLException {
+		return getDelegate().getRowId(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getRowId(java.lang.String)
+	 */
+	@Override
+	public RowId getRowId(String parameterName) throws SQLException {
+		return getDelegate().getRowId(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setRowId(java.lang.String, java.sql.RowId)
+	 */
+	@Override
+	public void setRowId(String parameterName, RowId x) throws SQLException {
+		getDelegate().setRowId(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setNString(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public void setNString(String parameterName, String x) throws SQLException {
+		getDelegate().setNString(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setNCharacterStream(java.lang.String, java.io.Reader, long)
+	 */
+	@Override
+	public void setNCharacterStream(String parameterName, Reader x, long length) throws SQLException {
+		getDelegate().setNCharacterStream(parameterName, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setNCharacterStream(java.lang.String, java.io.Reader)
+	 */
+	@Override
+	public void setNCharacterStream(String parameterName, Reader x) throws SQLException {
+		getDelegate().setNCharacterStream(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setNClob(java.lang.String, java.io.Reader)
+	 */
+	@Override
+	public void setNClob(String parameterName, Reader x) throws SQLException {
+		getDelegate().setNClob(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setNClob(java.lang.String, java.io.Reader, long)
+	 */
+	@Override
+	public void setNClob(String parameterName, Reader x, long length) throws SQLException {
+		getDelegate().setNClob(parameterName, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setNClob(java.lang.String, java.sql.NClob)
+	 */
+	@Override
+	public void setNClob(String parameterName, NClob x) throws SQLException {
+		getDelegate().setNClob(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setClob(java.lang.String, java.io.Reader)
+	 */
+	@Override
+	public void setClob(String parameterName, Reader x) throws SQLException {
+		getDelegate().setClob(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setClob(java.lang.String, java.io.Reader, long)
+	 */
+	@Override
+	public void setClob(String parameterName, Reader x, long length) throws SQLException {
+		getDelegate().setClob(parameterName, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setClob(java.lang.String, java.sql.Clob)
+	 */
+	@Override
+	public void setClob(String parameterName, Clob x) throws SQLException {
+		getDelegate().setClob(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setBlob(java.lang.String, java.io.InputStream)
+	 */
+	@Override
+	public void setBlob(String parameterName, InputStream x) throws SQLException {
+		getDelegate().setBlob(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setBlob(java.lang.String, java.io.InputStream, long)
+	 */
+	@Override
+	public void setBlob(String parameterName, InputStream x, long length) throws SQLException {
+		getDelegate().setBlob(parameterName, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setBlob(java.lang.String, java.sql.Blob)
+	 */
+	@Override
+	public void setBlob(String parameterName, Blob x) throws SQLException {
+		getDelegate().setBlob(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getNClob(java.lang.String)
+	 */
+	@Override
+	public NClob getNClob(String parameterName) throws SQLException {
+		return getDelegate().getNClob(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getNClob(int)
+	 */
+	@Override
+	public NClob getNClob(int parameterIndex) throws SQLException {
+		return getDelegate().getNClob(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#setSQLXML(java.lang.String, java.sql.SQLXML)
+	 */
+	@Override
+	public void setSQLXML(String parameterName, SQLXML x) throws SQLException {
+		getDelegate().setSQLXML(parameterName, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getSQLXML(int)
+	 */
+	@Override
+	public SQLXML getSQLXML(int parameterIndex) throws SQLException {
+		return getDelegate().getSQLXML(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getSQLXML(java.lang.String)
+	 */
+	@Override
+	public SQLXML getSQLXML(String parameterName) throws SQLException {
+		return getDelegate().getSQLXML(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getNString(java.lang.String)
+	 */
+	@Override
+	public String getNString(String parameterName) throws SQLException {
+		return getDelegate().getNString(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getNString(int)
+	 */
+	@Override
+	public String getNString(int parameterIndex) throws SQLException {
+		return getDelegate().getNString(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getNCharacterStream(java.lang.String)
+	 */
+	@Override
+	public Reader getNCharacterStream(String parameterName) throws SQLException {
+		return getDelegate().getNCharacterStream(parameterName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getNCharacterStream(int)
+	 */
+	@Override
+	public Reader getNCharacterStream(int parameterIndex) throws SQLException {
+		return getDelegate().getNCharacterStream(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getCharacterStream(int)
+	 */
+	@Override
+	public Reader getCharacterStream(int parameterIndex) throws SQLException {
+		return getDelegate().getCharacterStream(parameterIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.CallableStatement#getCharacterStream(java.lang.String)
+	 */
+	@Override
+	public Reader getCharacterStream(String parameterName) throws SQLException {
+		return getDelegate().getCharacterStream(parameterName);
+	}
+
+}
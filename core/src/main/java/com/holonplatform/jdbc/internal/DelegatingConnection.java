@@ -0,0 +1,597 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal;
+
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * A {@link Connection} which delegates all the calls to a concrete Connection instance. Can be used as base class for
+ * {@link Connection} decorators.
+ * <p>
+ * The {@link #unwrap(Class)} and {@link #isWrapperFor(Class)} methods take into account the delegate Connection.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class DelegatingConnection implements Connection {
+
+	/**
+	 * Delegate Connection
+	 */
+	private final Connection delegate;
+
+	/**
+	 * Constructor.
+	 * @param delegate Delegate Connection (not null)
+	 */
+	public DelegatingConnection(Connection delegate) {
+		super();
+		ObjectUtils.argumentNotNull(delegate, "Delegate Connection must be not null");
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Get the delegate Connection.
+	 * @return the delegate Connection
+	 */
+	public Connection getDelegate() {
+		return delegate;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#close()
+	 */
+	@Override
+	public void close() throws SQLException {
+		getDelegate().close();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#createStatement()
+	 */
+	@Override
+	public Statement createStatement() throws SQLException {
+		return getDelegate().createStatement();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#prepareStatement(java.lang.String)
+	 */
+	@Override
+	public PreparedStatement prepareStatement(String sql) throws SQLException {
+		return getDelegate().prepareStatement(sql);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#prepareCall(java.lang.String)
+	 */
+	@Override
+	public CallableStatement prepareCall(String sql) throws SQLException {
+		return getDelegate().prepareCall(sql);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#nativeSQL(java.lang.String)
+	 */
+	@Override
+	public String nativeSQL(String sql) throws SQLException {
+		return getDelegate().nativeSQL(sql);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#setAutoCommit(boolean)
+	 */
+	@Override
+	public void setAutoCommit(boolean autoCommit) throws SQLException {
+		getDelegate().setAutoCommit(autoCommit);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#getAutoCommit()
+	 */
+	@Override
+	public boolean getAutoCommit() throws SQLException {
+		return getDelegate().getAutoCommit();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#commit()
+	 */
+	@Override
+	public void commit() throws SQLException {
+		getDelegate().commit();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#rollback()
+	 */
+	@Override
+	public void rollback() throws SQLException {
+		getDelegate().rollback();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#isClosed()
+	 */
+	@Override
+	public boolean isClosed() throws SQLException {
+		return getDelegate().isClosed();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#getMetaData()
+	 */
+	@Override
+	public DatabaseMetaData getMetaData() throws SQLException {
+		return getDelegate().getMetaData();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#setReadOnly(boolean)
+	 */
+	@Override
+	public void setReadOnly(boolean readOnly) throws SQLException {
+		getDelegate().setReadOnly(readOnly);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#isReadOnly()
+	 */
+	@Override
+	public boolean isReadOnly() throws SQLException {
+		return getDelegate().isReadOnly();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#setCatalog(java.lang.String)
+	 */
+	@Override
+	public void setCatalog(String catalog) throws SQLException {
+		getDelegate().setCatalog(catalog);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#getCatalog()
+	 */
+	@Override
+	public String getCatalog() throws SQLException {
+		return getDelegate().getCatalog();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#setTransactionIsolation(int)
+	 */
+	@Override
+	public void setTransactionIsolation(int level) throws SQLException {
+		getDelegate().setTransactionIsolation(level);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#getTransactionIsolation()
+	 */
+	@Override
+	public int getTransactionIsolation() throws SQLException {
+		return getDelegate().getTransactionIsolation();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#getWarnings()
+	 */
+	@Override
+	public SQLWarning getWarnings() throws SQLException {
+		return getDelegate().getWarnings();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#clearWarnings()
+	 */
+	@Override
+	public void clearWarnings() throws SQLException {
+		getDelegate().clearWarnings();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#createStatement(int, int)
+	 */
+	@Override
+	public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+		return getDelegate().createStatement(resultSetType, resultSetConcurrency);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#prepareStatement(java.lang.String, int, int)
+	 */
+	@Override
+	public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
+			throws SQLException {
+		return getDelegate().prepareStatement(sql, resultSetType, resultSetConcurrency);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#prepareCall(java.lang.String, int, int)
+	 */
+	@Override
+	public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+		return getDelegate().prepareCall(sql, resultSetType, resultSetConcurrency);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#getTypeMap()
+	 */
+	@Override
+	public Map<String, Class<?>> getTypeMap() throws SQLException {
+		return getDelegate().getTypeMap();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#setTypeMap(Map<String, Class<?>>)
+	 */
+	@Override
+	public void setTypeMap(Map<String, Class<?>> map) throws SQLException {
+		getDelegate().setTypeMap(map);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#setHoldability(int)
+	 */
+	@Override
+	public void setHoldability(int holdability) throws SQLException {
+		getDelegate().setHoldability(holdability);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#getHoldability()
+	 */
+	@Override
+	public int getHoldability() throws SQLException {
+		return getDelegate().getHoldability();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#setSavepoint()
+	 */
+	@Override
+	public Savepoint setSavepoint() throws SQLException {
+		return getDelegate().setSavepoint();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#setSavepoint(java.lang.String)
+	 */
+	@Override
+	public Savepoint setSavepoint(String name) throws SQLException {
+		return getDelegate().setSavepoint(name);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#rollback(java.sql.Savepoint)
+	 */
+	@Override
+	public void rollback(Savepoint savepoint) throws SQLException {
+		getDelegate().rollback(savepoint);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#releaseSavepoint(java.sql.Savepoint)
+	 */
+	@Override
+	public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+		getDelegate().releaseSavepoint(savepoint);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#createStatement(int, int, int)
+	 */
+	@Override
+	public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+			throws SQLException {
+		return getDelegate().createStatement(resultSetType, resultSetConcurrency, resultSetHoldability);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#prepareStatement(java.lang.String, int, int, int)
+	 */
+	@Override
+	public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency,
+			int resultSetHoldability) throws SQLException {
+		return getDelegate().prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#prepareCall(java.lang.String, int, int, int)
+	 */
+	@Override
+	public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency,
+			int resultSetHoldability) throws SQLException {
+		return getDelegate().prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#prepareStatement(java.lang.String, int)
+	 */
+	@Override
+	public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+		return getDelegate().prepareStatement(sql, autoGeneratedKeys);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#prepareStatement(java.lang.String, int[])
+	 */
+	@Override
+	public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+		return getDelegate().prepareStatement(sql, columnIndexes);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#prepareStatement(java.lang.String, java.lang.String[])
+	 */
+	@Override
+	public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+		return getDelegate().prepareStatement(sql, columnNames);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#createClob()
+	 */
+	@Override
+	public Clob createClob() throws SQLException {
+		return getDelegate().createClob();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#createBlob()
+	 */
+	@Override
+	public Blob createBlob() throws SQLException {
+		return getDelegate().createBlob();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#createNClob()
+	 */
+	@Override
+	public NClob createNClob() throws SQLException {
+		return getDelegate().createNClob();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#createSQLXML()
+	 */
+	@Override
+	public SQLXML createSQLXML() throws SQLException {
+		return getDelegate().createSQLXML();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#isValid(int)
+	 */
+	@Override
+	public boolean isValid(int timeout) throws SQLException {
+		return getDelegate().isValid(timeout);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#setClientInfo(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public void setClientInfo(String name, String value) throws SQLClientInfoException {
+		getDelegate().setClientInfo(name, value);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#setClientInfo(java.util.Properties)
+	 */
+	@Override
+	public void setClientInfo(Properties properties) throws SQLClientInfoException {
+		getDelegate().setClientInfo(properties);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#getClientInfo(java.lang.String)
+	 */
+	@Override
+	public String getClientInfo(String name) throws SQLException {
+		return getDelegate().getClientInfo(name);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#getClientInfo()
+	 */
+	@Override
+	public Properties getClientInfo() throws SQLException {
+		return getDelegate().getClientInfo();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#createArrayOf(java.lang.String, java.lang.Object[])
+	 */
+	@Override
+	public Array createArrayOf(String typeName, Object[] elements) throws SQLException {
+		return getDelegate().createArrayOf(typeName, elements);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#createStruct(java.lang.String, java.lang.Object[])
+	 */
+	@Override
+	public Struct createStruct(String typeName, Object[] attributes) throws SQLException {
+		return getDelegate().createStruct(typeName, attributes);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#setSchema(java.lang.String)
+	 */
+	@Override
+	public void setSchema(String schema) throws SQLException {
+		getDelegate().setSchema(schema);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#getSchema()
+	 */
+	@Override
+	public String getSchema() throws SQLException {
+		return getDelegate().getSchema();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#abort(java.util.concurrent.Executor)
+	 */
+	@Override
+	public void abort(Executor executor) throws SQLException {
+		getDelegate().abort(executor);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#setNetworkTimeout(java.util.concurrent.Executor, int)
+	 */
+	@Override
+	public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
+		getDelegate().setNetworkTimeout(executor, milliseconds);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#getNetworkTimeout()
+	 */
+	@Override
+	public int getNetworkTimeout() throws SQLException {
+		return getDelegate().getNetworkTimeout();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#beginRequest()
+	 */
+	@Override
+	public void beginRequest() throws SQLException {
+		getDelegate().beginRequest();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Connection#endRequest()
+	 */
+	@Override
+	public void endRequest() throws SQLException {
+		getDelegate().endRequest();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Wrapper#unwrap(java.lang.Class)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(this)) {
+			return (T) this;
+		}
+		if (iface.isInstance(getDelegate())) {
+			return (T) getDelegate();
+		}
+		return getDelegate().unwrap(iface);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Wrapper#isWrapperFor(java.lang.Class)
+	 */
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(this) || iface.isInstance(getDelegate()) || getDelegate().isWrapperFor(iface);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " [" + getDelegate() + "]";
+	}
+
+}
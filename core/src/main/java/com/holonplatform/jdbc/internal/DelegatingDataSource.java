@@ -0,0 +1,178 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * A {@link DataSource} which delegates all the calls to a concrete DataSource instance. Can be used as base class for
+ * {@link DataSource} decorators.
+ * <p>
+ * The {@link #unwrap(Class)} and {@link #isWrapperFor(Class)} methods take into account the delegate DataSource, and
+ * the {@link #close()} method closes the delegate DataSource if it is {@link AutoCloseable}.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class DelegatingDataSource implements DataSource, Closeable {
+
+	/**
+	 * Delegate DataSource
+	 */
+	private final DataSource delegate;
+
+	/**
+	 * Constructor.
+	 * @param delegate Delegate DataSource (not null)
+	 */
+	public DelegatingDataSource(DataSource delegate) {
+		super();
+		ObjectUtils.argumentNotNull(delegate, "Delegate DataSource must be not null");
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Get the delegate DataSource.
+	 * @return the delegate DataSource
+	 */
+	public DataSource getDelegate() {
+		return delegate;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.sql.DataSource#getConnection()
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		return getDelegate().getConnection();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.sql.DataSource#getConnection(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return getDelegate().getConnection(username, password);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.sql.CommonDataSource#getLogWriter()
+	 */
+	@Override
+	public PrintWriter getLogWriter() throws SQLException {
+		return getDelegate().getLogWriter();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.sql.CommonDataSource#setLogWriter(java.io.PrintWriter)
+	 */
+	@Override
+	public void setLogWriter(PrintWriter out) throws SQLException {
+		getDelegate().setLogWriter(out);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.sql.CommonDataSource#setLoginTimeout(int)
+	 */
+	@Override
+	public void setLoginTimeout(int seconds) throws SQLException {
+		getDelegate().setLoginTimeout(seconds);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.sql.CommonDataSource#getLoginTimeout()
+	 */
+	@Override
+	public int getLoginTimeout() throws SQLException {
+		return getDelegate().getLoginTimeout();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.sql.CommonDataSource#getParentLogger()
+	 */
+	@Override
+	public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+		return getDelegate().getParentLogger();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Wrapper#unwrap(java.lang.Class)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(this)) {
+			return (T) this;
+		}
+		if (iface.isInstance(getDelegate())) {
+			return (T) getDelegate();
+		}
+		return getDelegate().unwrap(iface);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Wrapper#isWrapperFor(java.lang.Class)
+	 */
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(this) || iface.isInstance(getDelegate()) || getDelegate().isWrapperFor(iface);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		if (getDelegate() instanceof AutoCloseable) {
+			try {
+				((AutoCloseable) getDelegate()).close();
+			} catch (IOException | RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new IOException(e);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " [" + getDelegate() + "]";
+	}
+
+}
@@ -0,0 +1,806 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+
+/**
+ * A {@link PreparedStatement} which delegates all the calls to a concrete PreparedStatement instance. Can be used
+ * as base class for {@link PreparedStatement} decorators.
+ * <p>
+ * When the parameters capture is enabled, the {@link #onParameter(int, Object)} method is invoked for each parameter
+ * value set using the parameter index. Otherwise, the parameter values are never boxed nor tracked.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class DelegatingPreparedStatement extends DelegatingStatement implements PreparedStatement {
+
+	/**
+	 * Prepared SQL
+	 */
+	private final String sql;
+
+	/**
+	 * Whether to capture the parameter values
+	 */
+	private final boolean captureParameters;
+
+	/**
+	 * Constructor.
+	 * @param connection The Connection which created the statement (not null)
+	 * @param delegate Delegate PreparedStatement (not null)
+	 */
+	public DelegatingPreparedStatement(Connection connection, PreparedStatement delegate) {
+		this(connection, delegate, null);
+	}
+
+	/**
+	 * Constructor.
+	 * @param connection The Connection which created the statement (not null)
+	 * @param delegate Delegate PreparedStatement (not null)
+	 * @param sql The prepared SQL, if available
+	 */
+	public DelegatingPreparedStatement(Connection connection, PreparedStatement delegate, String sql) {
+		this(connection, delegate, sql, false);
+	}
+
+	/**
+	 * Constructor.
+	 * @param connection The Connection which created the statement (not null)
+	 * @param delegate Delegate PreparedStatement (not null)
+	 * @param sql The prepared SQL, if available
+	 * @param captureParameters Whether to invoke the {@link #onParameter(int, Object)} method for each parameter value
+	 */
+	public DelegatingPreparedStatement(Connection connection, PreparedStatement delegate, String sql,
+			boolean captureParameters) {
+		super(connection, delegate);
+		this.sql = sql;
+		this.captureParameters = captureParameters;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingStatement#getSql()
+	 */
+	@Override
+	protected String getSql() {
+		return sql;
+	}
+
+	/**
+	 * Invoked when a parameter value is set, before delegating the call to the concrete PreparedStatement, if the
+	 * parameters capture is enabled. Can be overridden to capture the parameter values.
+	 * @param parameterIndex The parameter index
+	 * @param value The parameter value, <code>null</code> for SQL <code>NULL</code>. For stream and reader values, the
+	 *        stream or reader instance is provided
+	 */
+	protected void onParameter(int parameterIndex, Object value) {
+		// noop by default
+	}
+
+	/**
+	 * Invoked when the parameter values are cleared, before delegating the call to the concrete PreparedStatement.
+	 */
+	protected void onClearParameters() {
+		// noop by default
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingStatement#getDelegate()
+	 */
+	@Override
+	public PreparedStatement getDelegate() {
+		return (PreparedStatement) super.getDelegate();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#execute()
+	 */
+	@Override
+	public boolean execute() throws SQLException {
+		return intercept(getSql(), () -> getDelegate().execute());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setBoolean(int, boolean)
+	 */
+	@Override
+	public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setBoolean(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setByte(int, byte)
+	 */
+	@Override
+	public void setByte(int parameterIndex, byte x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setByte(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setShort(int, short)
+	 */
+	@Override
+	public void setShort(int parameterIndex, short x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setShort(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setInt(int, int)
+	 */
+	@Override
+	public void setInt(int parameterIndex, int x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setInt(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setLong(int, long)
+	 */
+	@Override
+	public void setLong(int parameterIndex, long x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setLong(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setFloat(int, float)
+	 */
+	@Override
+	public void setFloat(int parameterIndex, float x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setFloat(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setDouble(int, double)
+	 */
+	@Override
+	public void setDouble(int parameterIndex, double x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setDouble(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setURL(int, java.net.URL)
+	 */
+	@Override
+	public void setURL(int parameterIndex, URL x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setURL(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setArray(int, java.sql.Array)
+	 */
+	@Override
+	public void setArray(int parameterIndex, Array x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setArray(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setTime(int, java.sql.Time)
+	 */
+	@Override
+	public void setTime(int parameterIndex, Time x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setTime(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setTime(int, java.sql.Time, java.util.Calendar)
+	 */
+	@Override
+	public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setTime(parameterIndex, x, cal);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setDate(int, java.sql.Date, java.util.Calendar)
+	 */
+	@Override
+	public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setDate(parameterIndex, x, cal);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setDate(int, java.sql.Date)
+	 */
+	@Override
+	public void setDate(int parameterIndex, Date x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setDate(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#addBatch()
+	 */
+	@Override
+	public void addBatch() throws SQLException {
+		getDelegate().addBatch();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setNull(int, int)
+	 */
+	@Override
+	public void setNull(int parameterIndex, int sqlType) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, null);
+		}
+		getDelegate().setNull(parameterIndex, sqlType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setNull(int, int, java.lang.String)
+	 */
+	@Override
+	public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, null);
+		}
+		getDelegate().setNull(parameterIndex, sqlType, typeName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setObject(int, java.lang.Object, int, int)
+	 */
+	@Override
+	public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setObject(int, java.lang.Object, int)
+	 */
+	@Override
+	public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setObject(parameterIndex, x, targetSqlType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setObject(int, java.lang.Object)
+	 */
+	@Override
+	public void setObject(int parameterIndex, Object x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setObject(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setObject(int, java.lang.Object, java.sql.SQLType, int)
+	 */
+	@Override
+	public void setObject(int parameterIndex, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setObject(int, java.lang.Object, java.sql.SQLType)
+	 */
+	@Override
+	public void setObject(int parameterIndex, Object x, SQLType targetSqlType) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setObject(parameterIndex, x, targetSqlType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#executeQuery()
+	 */
+	@Override
+	public ResultSet executeQuery() throws SQLException {
+		return intercept(getSql(), () -> decorate(getDelegate().executeQuery()));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#executeUpdate()
+	 */
+	@Override
+	public int executeUpdate() throws SQLException {
+		return intercept(getSql(), () -> getDelegate().executeUpdate());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setBigDecimal(int, java.math.BigDecimal)
+	 */
+	@Override
+	public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setBigDecimal(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setString(int, java.lang.String)
+	 */
+	@Override
+	public void setString(int parameterIndex, String x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setString(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setBytes(int, byte[])
+	 */
+	@Override
+	public void setBytes(int parameterIndex, byte[] x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setBytes(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setTimestamp(int, java.sql.Timestamp)
+	 */
+	@Override
+	public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setTimestamp(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setTimestamp(int, java.sql.Timestamp, java.util.Calendar)
+	 */
+	@Override
+	public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setTimestamp(parameterIndex, x, cal);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setAsciiStream(int, java.io.InputStream, int)
+	 */
+	@Override
+	public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setAsciiStream(parameterIndex, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setAsciiStream(int, java.io.InputStream, long)
+	 */
+	@Override
+	public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setAsciiStream(parameterIndex, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setAsciiStream(int, java.io.InputStream)
+	 */
+	@Override
+	public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setAsciiStream(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setUnicodeStream(int, java.io.InputStream, int)
+	 */
+	@Override
+	@Deprecated
+	public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setUnicodeStream(parameterIndex, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setBinaryStream(int, java.io.InputStream, long)
+	 */
+	@Override
+	public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setBinaryStream(parameterIndex, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setBinaryStream(int, java.io.InputStream)
+	 */
+	@Override
+	public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setBinaryStream(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setBinaryStream(int, java.io.InputStream, int)
+	 */
+	@Override
+	public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setBinaryStream(parameterIndex, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#clearParameters()
+	 */
+	@Override
+	public void clearParameters() throws SQLException {
+		onClearParameters();
+		getDelegate().clearParameters();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setCharacterStream(int, java.io.Reader, int)
+	 */
+	@Override
+	public void setCharacterStream(int parameterIndex, Reader x, int length) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setCharacterStream(parameterIndex, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setCharacterStream(int, java.io.Reader)
+	 */
+	@Override
+	public void setCharacterStream(int parameterIndex, Reader x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setCharacterStream(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setCharacterStream(int, java.io.Reader, long)
+	 */
+	@Override
+	public void setCharacterStream(int parameterIndex, Reader x, long length) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setCharacterStream(parameterIndex, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setRef(int, java.sql.Ref)
+	 */
+	@Override
+	public void setRef(int parameterIndex, Ref x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setRef(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setBlob(int, java.io.InputStream, long)
+	 */
+	@Override
+	public void setBlob(int parameterIndex, InputStream x, long length) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setBlob(parameterIndex, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setBlob(int, java.io.InputStream)
+	 */
+	@Override
+	public void setBlob(int parameterIndex, InputStream x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setBlob(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setBlob(int, java.sql.Blob)
+	 */
+	@Override
+	public void setBlob(int parameterIndex, Blob x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setBlob(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setClob(int, java.io.Reader)
+	 */
+	@Override
+	public void setClob(int parameterIndex, Reader x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setClob(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setClob(int, java.sql.Clob)
+	 */
+	@Override
+	public void setClob(int parameterIndex, Clob x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setClob(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setClob(int, java.io.Reader, long)
+	 */
+	@Override
+	public void setClob(int parameterIndex, Reader x, long length) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setClob(parameterIndex, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#getMetaData()
+	 */
+	@Override
+	public ResultSetMetaData getMetaData() throws SQLException {
+		return getDelegate().getMetaData();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#getParameterMetaData()
+	 */
+	@Override
+	public ParameterMetaData getParameterMetaData() throws SQLException {
+		return getDelegate().getParameterMetaData();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setRowId(int, java.sql.RowId)
+	 */
+	@Override
+	public void setRowId(int parameterIndex, RowId x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setRowId(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setNString(int, java.lang.String)
+	 */
+	@Override
+	public void setNString(int parameterIndex, String x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setNString(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setNCharacterStream(int, java.io.Reader)
+	 */
+	@Override
+	public void setNCharacterStream(int parameterIndex, Reader x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setNCharacterStream(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setNCharacterStream(int, java.io.Reader, long)
+	 */
+	@Override
+	public void setNCharacterStream(int parameterIndex, Reader x, long length) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setNCharacterStream(parameterIndex, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setNClob(int, java.io.Reader, long)
+	 */
+	@Override
+	public void setNClob(int parameterIndex, Reader x, long length) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setNClob(parameterIndex, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setNClob(int, java.io.Reader)
+	 */
+	@Override
+	public void setNClob(int parameterIndex, Reader x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setNClob(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setNClob(int, java.sql.NClob)
+	 */
+	@Override
+	public void setNClob(int parameterIndex, NClob x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setNClob(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#setSQLXML(int, java.sql.SQLXML)
+	 */
+	@Override
+	public void setSQLXML(int parameterIndex, SQLXML x) throws SQLException {
+		if (captureParameters) {
+			onParameter(parameterIndex, x);
+		}
+		getDelegate().setSQLXML(parameterIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.PreparedStatement#executeLargeUpdate()
+	 */
+	@Override
+	public long executeLargeUpdate() throws SQLException {
+		return intercept(getSql(), () -> getDelegate().executeLargeUpdate());
+	}
+
+}
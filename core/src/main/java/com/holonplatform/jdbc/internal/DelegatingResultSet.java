@@ -0,0 +1,1859 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * A {@link ResultSet} which delegates all the calls to a concrete ResultSet instance, returning the decorated
+ * {@link Statement} which produced it from the {@link #getStatement()} method, so that the statement decorators are
+ * not bypassed navigating back from a ResultSet.
+ * 
+ * @since 6.0.3
+ */
+public class DelegatingResultSet implements ResultSet {
+
+	/**
+	 * Statement which produced the ResultSet
+	 */
+	private final Statement statement;
+
+	/**
+	 * Delegate ResultSet
+	 */
+	private final ResultSet delegate;
+
+	/**
+	 * Constructor.
+	 * @param statement The Statement which produced the ResultSet (not null)
+	 * @param delegate Delegate ResultSet (not null)
+	 */
+	public DelegatingResultSet(Statement statement, ResultSet delegate) {
+		super();
+		ObjectUtils.argumentNotNull(statement, "Statement must be not null");
+		ObjectUtils.argumentNotNull(delegate, "Delegate ResultSet must be not null");
+		this.statement = statement;
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Get the delegate ResultSet.
+	 * @return the delegate ResultSet
+	 */
+	public ResultSet getDelegate() {
+		return delegate;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#next()
+	 */
+	@Override
+	public boolean next() throws SQLException {
+		return getDelegate().next();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#close()
+	 */
+	@Override
+	public void close() throws SQLException {
+		getDelegate().close();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#wasNull()
+	 */
+	@Override
+	public boolean wasNull() throws SQLException {
+		return getDelegate().wasNull();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getString(int)
+	 */
+	@Override
+	public String getString(int columnIndex) throws SQLException {
+		return getDelegate().getString(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getBoolean(int)
+	 */
+	@Override
+	public boolean getBoolean(int columnIndex) throws SQLException {
+		return getDelegate().getBoolean(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getByte(int)
+	 */
+	@Override
+	public byte getByte(int columnIndex) throws SQLException {
+		return getDelegate().getByte(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getShort(int)
+	 */
+	@Override
+	public short getShort(int columnIndex) throws SQLException {
+		return getDelegate().getShort(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getInt(int)
+	 */
+	@Override
+	public int getInt(int columnIndex) throws SQLException {
+		return getDelegate().getInt(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getLong(int)
+	 */
+	@Override
+	public long getLong(int columnIndex) throws SQLException {
+		return getDelegate().getLong(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getFloat(int)
+	 */
+	@Override
+	public float getFloat(int columnIndex) throws SQLException {
+		return getDelegate().getFloat(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getDouble(int)
+	 */
+	@Override
+	public double getDouble(int columnIndex) throws SQLException {
+		return getDelegate().getDouble(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getBigDecimal(int, int)
+	 */
+	@Override
+	@Deprecated
+	public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
+		return getDelegate().getBigDecimal(columnIndex, scale);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getBytes(int)
+	 */
+	@Override
+	public byte[] getBytes(int columnIndex) throws SQLException {
+		return getDelegate().getBytes(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getDate(int)
+	 */
+	@Override
+	public java.sql.Date getDate(int columnIndex) throws SQLException {
+		return getDelegate().getDate(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getTime(int)
+	 */
+	@Override
+	public java.sql.Time getTime(int columnIndex) throws SQLException {
+		return getDelegate().getTime(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getTimestamp(int)
+	 */
+	@Override
+	public java.sql.Timestamp getTimestamp(int columnIndex) throws SQLException {
+		return getDelegate().getTimestamp(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getAsciiStream(int)
+	 */
+	@Override
+	public InputStream getAsciiStream(int columnIndex) throws SQLException {
+		return getDelegate().getAsciiStream(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getUnicodeStream(int)
+	 */
+	@Override
+	@Deprecated
+	public InputStream getUnicodeStream(int columnIndex) throws SQLException {
+		return getDelegate().getUnicodeStream(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getBinaryStream(int)
+	 */
+	@Override
+	public InputStream getBinaryStream(int columnIndex) throws SQLException {
+		return getDelegate().getBinaryStream(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getString(java.lang.String)
+	 */
+	@Override
+	public String getString(String columnLabel) throws SQLException {
+		return getDelegate().getString(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getBoolean(java.lang.String)
+	 */
+	@Override
+	public boolean getBoolean(String columnLabel) throws SQLException {
+		return getDelegate().getBoolean(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getByte(java.lang.String)
+	 */
+	@Override
+	public byte getByte(String columnLabel) throws SQLException {
+		return getDelegate().getByte(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getShort(java.lang.String)
+	 */
+	@Override
+	public short getShort(String columnLabel) throws SQLException {
+		return getDelegate().getShort(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getInt(java.lang.String)
+	 */
+	@Override
+	public int getInt(String columnLabel) throws SQLException {
+		return getDelegate().getInt(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getLong(java.lang.String)
+	 */
+	@Override
+	public long getLong(String columnLabel) throws SQLException {
+		return getDelegate().getLong(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getFloat(java.lang.String)
+	 */
+	@Override
+	public float getFloat(String columnLabel) throws SQLException {
+		return getDelegate().getFloat(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getDouble(java.lang.String)
+	 */
+	@Override
+	public double getDouble(String columnLabel) throws SQLException {
+		return getDelegate().getDouble(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getBigDecimal(java.lang.String, int)
+	 */
+	@Override
+	@Deprecated
+	public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
+		return getDelegate().getBigDecimal(columnLabel, scale);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getBytes(java.lang.String)
+	 */
+	@Override
+	public byte[] getBytes(String columnLabel) throws SQLException {
+		return getDelegate().getBytes(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getDate(java.lang.String)
+	 */
+	@Override
+	public java.sql.Date getDate(String columnLabel) throws SQLException {
+		return getDelegate().getDate(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getTime(java.lang.String)
+	 */
+	@Override
+	public java.sql.Time getTime(String columnLabel) throws SQLException {
+		return getDelegate().getTime(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getTimestamp(java.lang.String)
+	 */
+	@Override
+	public java.sql.Timestamp getTimestamp(String columnLabel) throws SQLException {
+		return getDelegate().getTimestamp(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getAsciiStream(java.lang.String)
+	 */
+	@Override
+	public InputStream getAsciiStream(String columnLabel) throws SQLException {
+		return getDelegate().getAsciiStream(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getUnicodeStream(java.lang.String)
+	 */
+	@Override
+	@Deprecated
+	public InputStream getUnicodeStream(String columnLabel) throws SQLException {
+		return getDelegate().getUnicodeStream(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getBinaryStream(java.lang.String)
+	 */
+	@Override
+	public InputStream getBinaryStream(String columnLabel) throws SQLException {
+		return getDelegate().getBinaryStream(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getWarnings()
+	 */
+	@Override
+	public SQLWarning getWarnings() throws SQLException {
+		return getDelegate().getWarnings();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#clearWarnings()
+	 */
+	@Override
+	public void clearWarnings() throws SQLException {
+		getDelegate().clearWarnings();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getCursorName()
+	 */
+	@Override
+	public String getCursorName() throws SQLException {
+		return getDelegate().getCursorName();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getMetaData()
+	 */
+	@Override
+	public ResultSetMetaData getMetaData() throws SQLException {
+		return getDelegate().getMetaData();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getObject(int)
+	 */
+	@Override
+	public Object getObject(int columnIndex) throws SQLException {
+		return getDelegate().getObject(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getObject(java.lang.String)
+	 */
+	@Override
+	public Object getObject(String columnLabel) throws SQLException {
+		return getDelegate().getObject(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#findColumn(java.lang.String)
+	 */
+	@Override
+	public int findColumn(String columnLabel) throws SQLException {
+		return getDelegate().findColumn(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getCharacterStream(int)
+	 */
+	@Override
+	public Reader getCharacterStream(int columnIndex) throws SQLException {
+		return getDelegate().getCharacterStream(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getCharacterStream(java.lang.String)
+	 */
+	@Override
+	public Reader getCharacterStream(String columnLabel) throws SQLException {
+		return getDelegate().getCharacterStream(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getBigDecimal(int)
+	 */
+	@Override
+	public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+		return getDelegate().getBigDecimal(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getBigDecimal(java.lang.String)
+	 */
+	@Override
+	public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+		return getDelegate().getBigDecimal(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#isBeforeFirst()
+	 */
+	@Override
+	public boolean isBeforeFirst() throws SQLException {
+		return getDelegate().isBeforeFirst();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#isAfterLast()
+	 */
+	@Override
+	public boolean isAfterLast() throws SQLException {
+		return getDelegate().isAfterLast();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#isFirst()
+	 */
+	@Override
+	public boolean isFirst() throws SQLException {
+		return getDelegate().isFirst();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#isLast()
+	 */
+	@Override
+	public boolean isLast() throws SQLException {
+		return getDelegate().isLast();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#beforeFirst()
+	 */
+	@Override
+	public void beforeFirst() throws SQLException {
+		getDelegate().beforeFirst();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#afterLast()
+	 */
+	@Override
+	public void afterLast() throws SQLException {
+		getDelegate().afterLast();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#first()
+	 */
+	@Override
+	public boolean first() throws SQLException {
+		return getDelegate().first();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#last()
+	 */
+	@Override
+	public boolean last() throws SQLException {
+		return getDelegate().last();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getRow()
+	 */
+	@Override
+	public int getRow() throws SQLException {
+		return getDelegate().getRow();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#absolute(int)
+	 */
+	@Override
+	public boolean absolute(int row) throws SQLException {
+		return getDelegate().absolute(row);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#relative(int)
+	 */
+	@Override
+	public boolean relative(int rows) throws SQLException {
+		return getDelegate().relative(rows);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#previous()
+	 */
+	@Override
+	public boolean previous() throws SQLException {
+		return getDelegate().previous();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#setFetchDirection(int)
+	 */
+	@Override
+	public void setFetchDirection(int direction) throws SQLException {
+		getDelegate().setFetchDirection(direction);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getFetchDirection()
+	 */
+	@Override
+	public int getFetchDirection() throws SQLException {
+		return getDelegate().getFetchDirection();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#setFetchSize(int)
+	 */
+	@Override
+	public void setFetchSize(int rows) throws SQLException {
+		getDelegate().setFetchSize(rows);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getFetchSize()
+	 */
+	@Override
+	public int getFetchSize() throws SQLException {
+		return getDelegate().getFetchSize();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getType()
+	 */
+	@Override
+	public int getType() throws SQLException {
+		return getDelegate().getType();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getConcurrency()
+	 */
+	@Override
+	public int getConcurrency() throws SQLException {
+		return getDelegate().getConcurrency();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#rowUpdated()
+	 */
+	@Override
+	public boolean rowUpdated() throws SQLException {
+		return getDelegate().rowUpdated();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#rowInserted()
+	 */
+	@Override
+	public boolean rowInserted() throws SQLException {
+		return getDelegate().rowInserted();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#rowDeleted()
+	 */
+	@Override
+	public boolean rowDeleted() throws SQLException {
+		return getDelegate().rowDeleted();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateNull(int)
+	 */
+	@Override
+	public void updateNull(int columnIndex) throws SQLException {
+		getDelegate().updateNull(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateBoolean(int, boolean)
+	 */
+	@Override
+	public void updateBoolean(int columnIndex, boolean x) throws SQLException {
+		getDelegate().updateBoolean(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateByte(int, byte)
+	 */
+	@Override
+	public void updateByte(int columnIndex, byte x) throws SQLException {
+		getDelegate().updateByte(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateShort(int, short)
+	 */
+	@Override
+	public void updateShort(int columnIndex, short x) throws SQLException {
+		getDelegate().updateShort(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateInt(int, int)
+	 */
+	@Override
+	public void updateInt(int columnIndex, int x) throws SQLException {
+		getDelegate().updateInt(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateLong(int, long)
+	 */
+	@Override
+	public void updateLong(int columnIndex, long x) throws SQLException {
+		getDelegate().updateLong(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateFloat(int, float)
+	 */
+	@Override
+	public void updateFloat(int columnIndex, float x) throws SQLException {
+		getDelegate().updateFloat(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateDouble(int, double)
+	 */
+	@Override
+	public void updateDouble(int columnIndex, double x) throws SQLException {
+		getDelegate().updateDouble(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateBigDecimal(int, java.math.BigDecimal)
+	 */
+	@Override
+	public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException {
+		getDelegate().updateBigDecimal(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateString(int, java.lang.String)
+	 */
+	@Override
+	public void updateString(int columnIndex, String x) throws SQLException {
+		getDelegate().updateString(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateBytes(int, byte[])
+	 */
+	@Override
+	public void updateBytes(int columnIndex, byte[] x) throws SQLException {
+		getDelegate().updateBytes(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateDate(int, java.sql.Date)
+	 */
+	@Override
+	public void updateDate(int columnIndex, java.sql.Date x) throws SQLException {
+		getDelegate().updateDate(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateTime(int, java.sql.Time)
+	 */
+	@Override
+	public void updateTime(int columnIndex, java.sql.Time x) throws SQLException {
+		getDelegate().updateTime(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateTimestamp(int, java.sql.Timestamp)
+	 */
+	@Override
+	public void updateTimestamp(int columnIndex, java.sql.Timestamp x) throws SQLException {
+		getDelegate().updateTimestamp(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateAsciiStream(int, java.io.InputStream, int)
+	 */
+	@Override
+	public void updateAsciiStream(int columnIndex, InputStream x, int length) throws SQLException {
+		getDelegate().updateAsciiStream(columnIndex, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateBinaryStream(int, java.io.InputStream, int)
+	 */
+	@Override
+	public void updateBinaryStream(int columnIndex, InputStream x, int length) throws SQLException {
+		getDelegate().updateBinaryStream(columnIndex, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateCharacterStream(int, java.io.Reader, int)
+	 */
+	@Override
+	public void updateCharacterStream(int columnIndex, Reader x, int length) throws SQLException {
+		getDelegate().updateCharacterStream(columnIndex, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateObject(int, java.lang.Object, int)
+	 */
+	@Override
+	public void updateObject(int columnIndex, Object x, int scaleOrLength) throws SQLException {
+		getDelegate().updateObject(columnIndex, x, scaleOrLength);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateObject(int, java.lang.Object)
+	 */
+	@Override
+	public void updateObject(int columnIndex, Object x) throws SQLException {
+		getDelegate().updateObject(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateNull(java.lang.String)
+	 */
+	@Override
+	public void updateNull(String columnLabel) throws SQLException {
+		getDelegate().updateNull(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateBoolean(java.lang.String, boolean)
+	 */
+	@Override
+	public void updateBoolean(String columnLabel, boolean x) throws SQLException {
+		getDelegate().updateBoolean(columnLabel, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateByte(java.lang.String, byte)
+	 */
+	@Override
+	public void updateByte(String columnLabel, byte x) throws SQLException {
+		getDelegate().updateByte(columnLabel, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateShort(java.lang.String, short)
+	 */
+	@Override
+	public void updateShort(String columnLabel, short x) throws SQLException {
+		getDelegate().updateShort(columnLabel, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateInt(java.lang.String, int)
+	 */
+	@Override
+	public void updateInt(String columnLabel, int x) throws SQLException {
+		getDelegate().updateInt(columnLabel, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateLong(java.lang.String, long)
+	 */
+	@Override
+	public void updateLong(String columnLabel, long x) throws SQLException {
+		getDelegate().updateLong(columnLabel, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateFloat(java.lang.String, float)
+	 */
+	@Override
+	public void updateFloat(String columnLabel, float x) throws SQLException {
+		getDelegate().updateFloat(columnLabel, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateDouble(java.lang.String, double)
+	 */
+	@Override
+	public void updateDouble(String columnLabel, double x) throws SQLException {
+		getDelegate().updateDouble(columnLabel, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateBigDecimal(java.lang.String, java.math.BigDecimal)
+	 */
+	@Override
+	public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException {
+		getDelegate().updateBigDecimal(columnLabel, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateString(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public void updateString(String columnLabel, String x) throws SQLException {
+		getDelegate().updateString(columnLabel, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateBytes(java.lang.String, byte[])
+	 */
+	@Override
+	public void updateBytes(String columnLabel, byte[] x) throws SQLException {
+		getDelegate().updateBytes(columnLabel, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateDate(java.lang.String, java.sql.Date)
+	 */
+	@Override
+	public void updateDate(String columnLabel, java.sql.Date x) throws SQLException {
+		getDelegate().updateDate(columnLabel, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateTime(java.lang.String, java.sql.Time)
+	 */
+	@Override
+	public void updateTime(String columnLabel, java.sql.Time x) throws SQLException {
+		getDelegate().updateTime(columnLabel, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateTimestamp(java.lang.String, java.sql.Timestamp)
+	 */
+	@Override
+	public void updateTimestamp(String columnLabel, java.sql.Timestamp x) throws SQLException {
+		getDelegate().updateTimestamp(columnLabel, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateAsciiStream(java.lang.String, java.io.InputStream, int)
+	 */
+	@Override
+	public void updateAsciiStream(String columnLabel, InputStream x, int length) throws SQLException {
+		getDelegate().updateAsciiStream(columnLabel, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateBinaryStream(java.lang.String, java.io.InputStream, int)
+	 */
+	@Override
+	public void updateBinaryStream(String columnLabel, InputStream x, int length) throws SQLException {
+		getDelegate().updateBinaryStream(columnLabel, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateCharacterStream(java.lang.String, java.io.Reader, int)
+	 */
+	@Override
+	public void updateCharacterStream(String columnLabel, Reader reader, int length) throws SQLException {
+		getDelegate().updateCharacterStream(columnLabel, reader, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateObject(java.lang.String, java.lang.Object, int)
+	 */
+	@Override
+	public void updateObject(String columnLabel, Object x, int scaleOrLength) throws SQLException {
+		getDelegate().updateObject(columnLabel, x, scaleOrLength);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateObject(java.lang.String, java.lang.Object)
+	 */
+	@Override
+	public void updateObject(String columnLabel, Object x) throws SQLException {
+		getDelegate().updateObject(columnLabel, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#insertRow()
+	 */
+	@Override
+	public void insertRow() throws SQLException {
+		getDelegate().insertRow();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateRow()
+	 */
+	@Override
+	public void updateRow() throws SQLException {
+		getDelegate().updateRow();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#deleteRow()
+	 */
+	@Override
+	public void deleteRow() throws SQLException {
+		getDelegate().deleteRow();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#refreshRow()
+	 */
+	@Override
+	public void refreshRow() throws SQLException {
+		getDelegate().refreshRow();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#cancelRowUpdates()
+	 */
+	@Override
+	public void cancelRowUpdates() throws SQLException {
+		getDelegate().cancelRowUpdates();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#moveToInsertRow()
+	 */
+	@Override
+	public void moveToInsertRow() throws SQLException {
+		getDelegate().moveToInsertRow();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#moveToCurrentRow()
+	 */
+	@Override
+	public void moveToCurrentRow() throws SQLException {
+		getDelegate().moveToCurrentRow();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getStatement()
+	 */
+	@Override
+	public Statement getStatement() throws SQLException {
+		return statement;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getObject(int, java.util.Map)
+	 */
+	@Override
+	public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException {
+		return getDelegate().getObject(columnIndex, map);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getRef(int)
+	 */
+	@Override
+	public Ref getRef(int columnIndex) throws SQLException {
+		return getDelegate().getRef(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getBlob(int)
+	 */
+	@Override
+	public Blob getBlob(int columnIndex) throws SQLException {
+		return getDelegate().getBlob(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getClob(int)
+	 */
+	@Override
+	public Clob getClob(int columnIndex) throws SQLException {
+		return getDelegate().getClob(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getArray(int)
+	 */
+	@Override
+	public Array getArray(int columnIndex) throws SQLException {
+		return getDelegate().getArray(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getObject(java.lang.String, java.util.Map)
+	 */
+	@Override
+	public Object getObject(String columnLabel, Map<String, Class<?>> map) throws SQLException {
+		return getDelegate().getObject(columnLabel, map);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getRef(java.lang.String)
+	 */
+	@Override
+	public Ref getRef(String columnLabel) throws SQLException {
+		return getDelegate().getRef(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getBlob(java.lang.String)
+	 */
+	@Override
+	public Blob getBlob(String columnLabel) throws SQLException {
+		return getDelegate().getBlob(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getClob(java.lang.String)
+	 */
+	@Override
+	public Clob getClob(String columnLabel) throws SQLException {
+		return getDelegate().getClob(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getArray(java.lang.String)
+	 */
+	@Override
+	public Array getArray(String columnLabel) throws SQLException {
+		return getDelegate().getArray(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getDate(int, java.util.Calendar)
+	 */
+	@Override
+	public java.sql.Date getDate(int columnIndex, Calendar cal) throws SQLException {
+		return getDelegate().getDate(columnIndex, cal);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getDate(java.lang.String, java.util.Calendar)
+	 */
+	@Override
+	public java.sql.Date getDate(String columnLabel, Calendar cal) throws SQLException {
+		return getDelegate().getDate(columnLabel, cal);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getTime(int, java.util.Calendar)
+	 */
+	@Override
+	public java.sql.Time getTime(int columnIndex, Calendar cal) throws SQLException {
+		return getDelegate().getTime(columnIndex, cal);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getTime(java.lang.String, java.util.Calendar)
+	 */
+	@Override
+	public java.sql.Time getTime(String columnLabel, Calendar cal) throws SQLException {
+		return getDelegate().getTime(columnLabel, cal);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getTimestamp(int, java.util.Calendar)
+	 */
+	@Override
+	public java.sql.Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+		return getDelegate().getTimestamp(columnIndex, cal);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getTimestamp(java.lang.String, java.util.Calendar)
+	 */
+	@Override
+	public java.sql.Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
+		return getDelegate().getTimestamp(columnLabel, cal);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getURL(int)
+	 */
+	@Override
+	public java.net.URL getURL(int columnIndex) throws SQLException {
+		return getDelegate().getURL(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getURL(java.lang.String)
+	 */
+	@Override
+	public java.net.URL getURL(String columnLabel) throws SQLException {
+		return getDelegate().getURL(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateRef(int, java.sql.Ref)
+	 */
+	@Override
+	public void updateRef(int columnIndex, java.sql.Ref x) throws SQLException {
+		getDelegate().updateRef(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateRef(java.lang.String, java.sql.Ref)
+	 */
+	@Override
+	public void updateRef(String columnLabel, java.sql.Ref x) throws SQLException {
+		getDelegate().updateRef(columnLabel, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateBlob(int, java.sql.Blob)
+	 */
+	@Override
+	public void updateBlob(int columnIndex, java.sql.Blob x) throws SQLException {
+		getDelegate().updateBlob(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateBlob(java.lang.String, java.sql.Blob)
+	 */
+	@Override
+	public void updateBlob(String columnLabel, java.sql.Blob x) throws SQLException {
+		getDelegate().updateBlob(columnLabel, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateClob(int, java.sql.Clob)
+	 */
+	@Override
+	public void updateClob(int columnIndex, java.sql.Clob x) throws SQLException {
+		getDelegate().updateClob(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateClob(java.lang.String, java.sql.Clob)
+	 */
+	@Override
+	public void updateClob(String columnLabel, java.sql.Clob x) throws SQLException {
+		getDelegate().updateClob(columnLabel, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateArray(int, java.sql.Array)
+	 */
+	@Override
+	public void updateArray(int columnIndex, java.sql.Array x) throws SQLException {
+		getDelegate().updateArray(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateArray(java.lang.String, java.sql.Array)
+	 */
+	@Override
+	public void updateArray(String columnLabel, java.sql.Array x) throws SQLException {
+		getDelegate().updateArray(columnLabel, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getRowId(int)
+	 */
+	@Override
+	public RowId getRowId(int columnIndex) throws SQLException {
+		return getDelegate().getRowId(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getRowId(java.lang.String)
+	 */
+	@Override
+	public RowId getRowId(String columnLabel) throws SQLException {
+		return getDelegate().getRowId(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateRowId(int, java.sql.RowId)
+	 */
+	@Override
+	public void updateRowId(int columnIndex, RowId x) throws SQLException {
+		getDelegate().updateRowId(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateRowId(java.lang.String, java.sql.RowId)
+	 */
+	@Override
+	public void updateRowId(String columnLabel, RowId x) throws SQLException {
+		getDelegate().updateRowId(columnLabel, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getHoldability()
+	 */
+	@Override
+	public int getHoldability() throws SQLException {
+		return getDelegate().getHoldability();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#isClosed()
+	 */
+	@Override
+	public boolean isClosed() throws SQLException {
+		return getDelegate().isClosed();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateNString(int, java.lang.String)
+	 */
+	@Override
+	public void updateNString(int columnIndex, String nString) throws SQLException {
+		getDelegate().updateNString(columnIndex, nString);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateNString(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public void updateNString(String columnLabel, String nString) throws SQLException {
+		getDelegate().updateNString(columnLabel, nString);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateNClob(int, java.sql.NClob)
+	 */
+	@Override
+	public void updateNClob(int columnIndex, NClob nClob) throws SQLException {
+		getDelegate().updateNClob(columnIndex, nClob);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateNClob(java.lang.String, java.sql.NClob)
+	 */
+	@Override
+	public void updateNClob(String columnLabel, NClob nClob) throws SQLException {
+		getDelegate().updateNClob(columnLabel, nClob);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getNClob(int)
+	 */
+	@Override
+	public NClob getNClob(int columnIndex) throws SQLException {
+		return getDelegate().getNClob(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getNClob(java.lang.String)
+	 */
+	@Override
+	public NClob getNClob(String columnLabel) throws SQLException {
+		return getDelegate().getNClob(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getSQLXML(int)
+	 */
+	@Override
+	public SQLXML getSQLXML(int columnIndex) throws SQLException {
+		return getDelegate().getSQLXML(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getSQLXML(java.lang.String)
+	 */
+	@Override
+	public SQLXML getSQLXML(String columnLabel) throws SQLException {
+		return getDelegate().getSQLXML(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateSQLXML(int, java.sql.SQLXML)
+	 */
+	@Override
+	public void updateSQLXML(int columnIndex, SQLXML xmlObject) throws SQLException {
+		getDelegate().updateSQLXML(columnIndex, xmlObject);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateSQLXML(java.lang.String, java.sql.SQLXML)
+	 */
+	@Override
+	public void updateSQLXML(String columnLabel, SQLXML xmlObject) throws SQLException {
+		getDelegate().updateSQLXML(columnLabel, xmlObject);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getNString(int)
+	 */
+	@Override
+	public String getNString(int columnIndex) throws SQLException {
+		return getDelegate().getNString(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getNString(java.lang.String)
+	 */
+	@Override
+	public String getNString(String columnLabel) throws SQLException {
+		return getDelegate().getNString(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getNCharacterStream(int)
+	 */
+	@Override
+	public Reader getNCharacterStream(int columnIndex) throws SQLException {
+		return getDelegate().getNCharacterStream(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getNCharacterStream(java.lang.String)
+	 */
+	@Override
+	public Reader getNCharacterStream(String columnLabel) throws SQLException {
+		return getDelegate().getNCharacterStream(columnLabel);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateNCharacterStream(int, java.io.Reader, long)
+	 */
+	@Override
+	public void updateNCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+		getDelegate().updateNCharacterStream(columnIndex, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateNCharacterStream(java.lang.String, java.io.Reader, long)
+	 */
+	@Override
+	public void updateNCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
+		getDelegate().updateNCharacterStream(columnLabel, reader, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateAsciiStream(int, java.io.InputStream, long)
+	 */
+	@Override
+	public void updateAsciiStream(int columnIndex, InputStream x, long length) throws SQLException {
+		getDelegate().updateAsciiStream(columnIndex, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateBinaryStream(int, java.io.InputStream, long)
+	 */
+	@Override
+	public void updateBinaryStream(int columnIndex, InputStream x, long length) throws SQLException {
+		getDelegate().updateBinaryStream(columnIndex, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateCharacterStream(int, java.io.Reader, long)
+	 */
+	@Override
+	public void updateCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+		getDelegate().updateCharacterStream(columnIndex, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateAsciiStream(java.lang.String, java.io.InputStream, long)
+	 */
+	@Override
+	public void updateAsciiStream(String columnLabel, InputStream x, long length) throws SQLException {
+		getDelegate().updateAsciiStream(columnLabel, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateBinaryStream(java.lang.String, java.io.InputStream, long)
+	 */
+	@Override
+	public void updateBinaryStream(String columnLabel, InputStream x, long length) throws SQLException {
+		getDelegate().updateBinaryStream(columnLabel, x, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateCharacterStream(java.lang.String, java.io.Reader, long)
+	 */
+	@Override
+	public void updateCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
+		getDelegate().updateCharacterStream(columnLabel, reader, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateBlob(int, java.io.InputStream, long)
+	 */
+	@Override
+	public void updateBlob(int columnIndex, InputStream inputStream, long length) throws SQLException {
+		getDelegate().updateBlob(columnIndex, inputStream, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateBlob(java.lang.String, java.io.InputStream, long)
+	 */
+	@Override
+	public void updateBlob(String columnLabel, InputStream inputStream, long length) throws SQLException {
+		getDelegate().updateBlob(columnLabel, inputStream, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateClob(int, java.io.Reader, long)
+	 */
+	@Override
+	public void updateClob(int columnIndex, Reader reader, long length) throws SQLException {
+		getDelegate().updateClob(columnIndex, reader, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateClob(java.lang.String, java.io.Reader, long)
+	 */
+	@Override
+	public void updateClob(String columnLabel, Reader reader, long length) throws SQLException {
+		getDelegate().updateClob(columnLabel, reader, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateNClob(int, java.io.Reader, long)
+	 */
+	@Override
+	public void updateNClob(int columnIndex, Reader reader, long length) throws SQLException {
+		getDelegate().updateNClob(columnIndex, reader, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateNClob(java.lang.String, java.io.Reader, long)
+	 */
+	@Override
+	public void updateNClob(String columnLabel, Reader reader, long length) throws SQLException {
+		getDelegate().updateNClob(columnLabel, reader, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateNCharacterStream(int, java.io.Reader)
+	 */
+	@Override
+	public void updateNCharacterStream(int columnIndex, Reader x) throws SQLException {
+		getDelegate().updateNCharacterStream(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateNCharacterStream(java.lang.String, java.io.Reader)
+	 */
+	@Override
+	public void updateNCharacterStream(String columnLabel, Reader reader) throws SQLException {
+		getDelegate().updateNCharacterStream(columnLabel, reader);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateAsciiStream(int, java.io.InputStream)
+	 */
+	@Override
+	public void updateAsciiStream(int columnIndex, InputStream x) throws SQLException {
+		getDelegate().updateAsciiStream(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateBinaryStream(int, java.io.InputStream)
+	 */
+	@Override
+	public void updateBinaryStream(int columnIndex, InputStream x) throws SQLException {
+		getDelegate().updateBinaryStream(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateCharacterStream(int, java.io.Reader)
+	 */
+	@Override
+	public void updateCharacterStream(int columnIndex, Reader x) throws SQLException {
+		getDelegate().updateCharacterStream(columnIndex, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateAsciiStream(java.lang.String, java.io.InputStream)
+	 */
+	@Override
+	public void updateAsciiStream(String columnLabel, InputStream x) throws SQLException {
+		getDelegate().updateAsciiStream(columnLabel, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateBinaryStream(java.lang.String, java.io.InputStream)
+	 */
+	@Override
+	public void updateBinaryStream(String columnLabel, InputStream x) throws SQLException {
+		getDelegate().updateBinaryStream(columnLabel, x);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateCharacterStream(java.lang.String, java.io.Reader)
+	 */
+	@Override
+	public void updateCharacterStream(String columnLabel, Reader reader) throws SQLException {
+		getDelegate().updateCharacterStream(columnLabel, reader);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateBlob(int, java.io.InputStream)
+	 */
+	@Override
+	public void updateBlob(int columnIndex, InputStream inputStream) throws SQLException {
+		getDelegate().updateBlob(columnIndex, inputStream);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateBlob(java.lang.String, java.io.InputStream)
+	 */
+	@Override
+	public void updateBlob(String columnLabel, InputStream inputStream) throws SQLException {
+		getDelegate().updateBlob(columnLabel, inputStream);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateClob(int, java.io.Reader)
+	 */
+	@Override
+	public void updateClob(int columnIndex, Reader reader) throws SQLException {
+		getDelegate().updateClob(columnIndex, reader);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateClob(java.lang.String, java.io.Reader)
+	 */
+	@Override
+	public void updateClob(String columnLabel, Reader reader) throws SQLException {
+		getDelegate().updateClob(columnLabel, reader);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateNClob(int, java.io.Reader)
+	 */
+	@Override
+	public void updateNClob(int columnIndex, Reader reader) throws SQLException {
+		getDelegate().updateNClob(columnIndex, reader);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateNClob(java.lang.String, java.io.Reader)
+	 */
+	@Override
+	public void updateNClob(String columnLabel, Reader reader) throws SQLException {
+		getDelegate().updateNClob(columnLabel, reader);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getObject(int, java.lang.Class)
+	 */
+	@Override
+	public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+		return getDelegate().getObject(columnIndex, type);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#getObject(java.lang.String, java.lang.Class)
+	 */
+	@Override
+	public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+		return getDelegate().getObject(columnLabel, type);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateObject(int, java.lang.Object, java.sql.SQLType, int)
+	 */
+	@Override
+	public void updateObject(int columnIndex, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+		getDelegate().updateObject(columnIndex, x, targetSqlType, scaleOrLength);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateObject(java.lang.String, java.lang.Object, java.sql.SQLType, int)
+	 */
+	@Override
+	public void updateObject(String columnLabel, Object x, SQLType targetSqlType, int scaleOrLength)
+			throws SQLException {
+		getDelegate().updateObject(columnLabel, x, targetSqlType, scaleOrLength);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateObject(int, java.lang.Object, java.sql.SQLType)
+	 */
+	@Override
+	public void updateObject(int columnIndex, Object x, SQLType targetSqlType) throws SQLException {
+		getDelegate().updateObject(columnIndex, x, targetSqlType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.ResultSet#updateObject(java.lang.String, java.lang.Object, java.sql.SQLType)
+	 */
+	@Override
+	public void updateObject(String columnLabel, Object x, SQLType targetSqlType) throws SQLException {
+		getDelegate().updateObject(columnLabel, x, targetSqlType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Wrapper#unwrap(java.lang.Class)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(this)) {
+			return (T) this;
+		}
+		if (iface.isInstance(getDelegate())) {
+			return (T) getDelegate();
+		}
+		return getDelegate().unwrap(iface);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Wrapper#isWrapperFor(java.lang.Class)
+	 */
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(this) || iface.isInstance(getDelegate()) || getDelegate().isWrapperFor(iface);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " [" + getDelegate() + "]";
+	}
+
+}
@@ -0,0 +1,653 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * A {@link Statement} which delegates all the calls to a concrete Statement instance. Can be used as base class for
+ * {@link Statement} decorators.
+ * <p>
+ * Any statement execution method is delegated through the {@link #intercept(String, Execution)} method, which by
+ * default invokes the {@link #beforeExecute()} method before performing the execution, and the
+ * {@link #getConnection()} method returns the Connection which created the statement, which can be a decorator too.
+ * Likewise, the returned ResultSets are decorated using {@link #decorate(ResultSet)}, so that their
+ * {@link ResultSet#getStatement()} method returns this statement rather than the delegate one.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class DelegatingStatement implements Statement {
+
+	/**
+	 * Connection which created the statement
+	 */
+	private final Connection connection;
+
+	/**
+	 * Delegate Statement
+	 */
+	private final Statement delegate;
+
+	/**
+	 * Constructor.
+	 * @param connection The Connection which created the statement (not null)
+	 * @param delegate Delegate Statement (not null)
+	 */
+	public DelegatingStatement(Connection connection, Statement delegate) {
+		super();
+		ObjectUtils.argumentNotNull(connection, "Connection must be not null");
+		ObjectUtils.argumentNotNull(delegate, "Delegate Statement must be not null");
+		this.connection = connection;
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Get the delegate Statement.
+	 * @return the delegate Statement
+	 */
+	public Statement getDelegate() {
+		return delegate;
+	}
+
+	/**
+	 * Invoked before any statement execution method is delegated.
+	 * @throws SQLException If the execution must be prevented
+	 */
+	protected void beforeExecute() throws SQLException {
+		// noop by default
+	}
+
+	/**
+	 * Get the SQL statement, if known when the statement is created.
+	 * @return The SQL statement, <code>null</code> if not available (for example for plain statements, for which the
+	 *         SQL is provided at execution time)
+	 */
+	protected String getSql() {
+		return null;
+	}
+
+	/**
+	 * Perform a statement execution, delegated to the concrete Statement. By default, the {@link #beforeExecute()}
+	 * method is invoked and then the execution is performed.
+	 * <p>
+	 * Can be overridden to wrap the statement executions, for example to measure the execution time.
+	 * </p>
+	 * @param <T> Execution result type
+	 * @param sql The executed SQL, <code>null</code> if not available (for example for a batch execution of a plain
+	 *        statement)
+	 * @param execution The statement execution
+	 * @return The execution result
+	 * @throws SQLException If an execution error occurred
+	 */
+	protected <T> T intercept(String sql, Execution<T> execution) throws SQLException {
+		beforeExecute();
+		return execution.execute();
+	}
+
+	/**
+	 * Decorate a ResultSet obtained from the delegate Statement. By default, a {@link DelegatingResultSet} is returned,
+	 * which provides this statement as the ResultSet statement.
+	 * @param resultSet The ResultSet to decorate
+	 * @return The decorated ResultSet, <code>null</code> if given ResultSet is <code>null</code>
+	 */
+	protected ResultSet decorate(ResultSet resultSet) {
+		return (resultSet != null) ? new DelegatingResultSet(this, resultSet) : null;
+	}
+
+	/**
+	 * A statement execution.
+	 * @param <T> Execution result type
+	 */
+	@FunctionalInterface
+	protected interface Execution<T> {
+
+		/**
+		 * Perform the execution.
+		 * @return The execution result
+		 * @throws SQLException If an execution error occurred
+		 */
+		T execute() throws SQLException;
+
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#getConnection()
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		return connection;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#close()
+	 */
+	@Override
+	public void close() throws SQLException {
+		getDelegate().close();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#execute(java.lang.String, int)
+	 */
+	@Override
+	public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+		return intercept(sql, () -> getDelegate().execute(sql, autoGeneratedKeys));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#execute(java.lang.String, int[])
+	 */
+	@Override
+	public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+		return intercept(sql, () -> getDelegate().execute(sql, columnIndexes));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#execute(java.lang.String)
+	 */
+	@Override
+	public boolean execute(String sql) throws SQLException {
+		return intercept(sql, () -> getDelegate().execute(sql));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#execute(java.lang.String, java.lang.String[])
+	 */
+	@Override
+	public boolean execute(String sql, String[] columnNames) throws SQLException {
+		return intercept(sql, () -> getDelegate().execute(sql, columnNames));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#cancel()
+	 */
+	@Override
+	public void cancel() throws SQLException {
+		getDelegate().cancel();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#addBatch(java.lang.String)
+	 */
+	@Override
+	public void addBatch(String sql) throws SQLException {
+		getDelegate().addBatch(sql);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#setMaxFieldSize(int)
+	 */
+	@Override
+	public void setMaxFieldSize(int max) throws SQLException {
+		getDelegate().setMaxFieldSize(max);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#setMaxRows(int)
+	 */
+	@Override
+	public void setMaxRows(int max) throws SQLException {
+		getDelegate().setMaxRows(max);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#setLargeMaxRows(long)
+	 */
+	@Override
+	public void setLargeMaxRows(long max) throws SQLException {
+		getDelegate().setLargeMaxRows(max);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#setEscapeProcessing(boolean)
+	 */
+	@Override
+	public void setEscapeProcessing(boolean enable) throws SQLException {
+		getDelegate().setEscapeProcessing(enable);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#setQueryTimeout(int)
+	 */
+	@Override
+	public void setQueryTimeout(int seconds) throws SQLException {
+		getDelegate().setQueryTimeout(seconds);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#setCursorName(java.lang.String)
+	 */
+	@Override
+	public void setCursorName(String name) throws SQLException {
+		getDelegate().setCursorName(name);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#getMoreResults(int)
+	 */
+	@Override
+	public boolean getMoreResults(int current) throws SQLException {
+		return getDelegate().getMoreResults(current);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#getMoreResults()
+	 */
+	@Override
+	public boolean getMoreResults() throws SQLException {
+		return getDelegate().getMoreResults();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#setFetchDirection(int)
+	 */
+	@Override
+	public void setFetchDirection(int direction) throws SQLException {
+		getDelegate().setFetchDirection(direction);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#setFetchSize(int)
+	 */
+	@Override
+	public void setFetchSize(int rows) throws SQLException {
+		getDelegate().setFetchSize(rows);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#setPoolable(boolean)
+	 */
+	@Override
+	public void setPoolable(boolean poolable) throws SQLException {
+		getDelegate().setPoolable(poolable);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#enquoteIdentifier(java.lang.String, boolean)
+	 */
+	@Override
+	public String enquoteIdentifier(String identifier, boolean alwaysQuote) throws SQLException {
+		return getDelegate().enquoteIdentifier(identifier, alwaysQuote);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#executeQuery(java.lang.String)
+	 */
+	@Override
+	public ResultSet executeQuery(String sql) throws SQLException {
+		return intercept(sql, () -> decorate(getDelegate().executeQuery(sql)));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#executeUpdate(java.lang.String, java.lang.String[])
+	 */
+	@Override
+	public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+		return intercept(sql, () -> getDelegate().executeUpdate(sql, columnNames));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#executeUpdate(java.lang.String, int)
+	 */
+	@Override
+	public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+		return intercept(sql, () -> getDelegate().executeUpdate(sql, autoGeneratedKeys));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#executeUpdate(java.lang.String)
+	 */
+	@Override
+	public int executeUpdate(String sql) throws SQLException {
+		return intercept(sql, () -> getDelegate().executeUpdate(sql));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#executeUpdate(java.lang.String, int[])
+	 */
+	@Override
+	public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+		return intercept(sql, () -> getDelegate().executeUpdate(sql, columnIndexes));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#getMaxFieldSize()
+	 */
+	@Override
+	public int getMaxFieldSize() throws SQLException {
+		return getDelegate().getMaxFieldSize();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#getMaxRows()
+	 */
+	@Override
+	public int getMaxRows() throws SQLException {
+		return getDelegate().getMaxRows();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#getQueryTimeout()
+	 */
+	@Override
+	public int getQueryTimeout() throws SQLException {
+		return getDelegate().getQueryTimeout();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#getWarnings()
+	 */
+	@Override
+	public SQLWarning getWarnings() throws SQLException {
+		return getDelegate().getWarnings();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#clearWarnings()
+	 */
+	@Override
+	public void clearWarnings() throws SQLException {
+		getDelegate().clearWarnings();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#getResultSet()
+	 */
+	@Override
+	public ResultSet getResultSet() throws SQLException {
+		return decorate(getDelegate().getResultSet());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#getUpdateCount()
+	 */
+	@Override
+	public int getUpdateCount() throws SQLException {
+		return getDelegate().getUpdateCount();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#getFetchDirection()
+	 */
+	@Override
+	public int getFetchDirection() throws SQLException {
+		return getDelegate().getFetchDirection();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#getFetchSize()
+	 */
+	@Override
+	public int getFetchSize() throws SQLException {
+		return getDelegate().getFetchSize();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#getResultSetConcurrency()
+	 */
+	@Override
+	public int getResultSetConcurrency() throws SQLException {
+		return getDelegate().getResultSetConcurrency();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#getResultSetType()
+	 */
+	@Override
+	public int getResultSetType() throws SQLException {
+		return getDelegate().getResultSetType();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#clearBatch()
+	 */
+	@Override
+	public void clearBatch() throws SQLException {
+		getDelegate().clearBatch();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#executeBatch()
+	 */
+	@Override
+	public int[] executeBatch() throws SQLException {
+		return intercept(getSql(), () -> getDelegate().executeBatch());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#getGeneratedKeys()
+	 */
+	@Override
+	public ResultSet getGeneratedKeys() throws SQLException {
+		return decorate(getDelegate().getGeneratedKeys());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#getResultSetHoldability()
+	 */
+	@Override
+	public int getResultSetHoldability() throws SQLException {
+		return getDelegate().getResultSetHoldability();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#isClosed()
+	 */
+	@Override
+	public boolean isClosed() throws SQLException {
+		return getDelegate().isClosed();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#isPoolable()
+	 */
+	@Override
+	public boolean isPoolable() throws SQLException {
+		return getDelegate().isPoolable();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#closeOnCompletion()
+	 */
+	@Override
+	public void closeOnCompletion() throws SQLException {
+		getDelegate().closeOnCompletion();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#isCloseOnCompletion()
+	 */
+	@Override
+	public boolean isCloseOnCompletion() throws SQLException {
+		return getDelegate().isCloseOnCompletion();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#getLargeUpdateCount()
+	 */
+	@Override
+	public long getLargeUpdateCount() throws SQLException {
+		return getDelegate().getLargeUpdateCount();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#getLargeMaxRows()
+	 */
+	@Override
+	public long getLargeMaxRows() throws SQLException {
+		return getDelegate().getLargeMaxRows();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#executeLargeBatch()
+	 */
+	@Override
+	public long[] executeLargeBatch() throws SQLException {
+		return intercept(getSql(), () -> getDelegate().executeLargeBatch());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#executeLargeUpdate(java.lang.String)
+	 */
+	@Override
+	public long executeLargeUpdate(String sql) throws SQLException {
+		return intercept(sql, () -> getDelegate().executeLargeUpdate(sql));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#executeLargeUpdate(java.lang.String, java.lang.String[])
+	 */
+	@Override
+	public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+		return intercept(sql, () -> getDelegate().executeLargeUpdate(sql, columnNames));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#executeLargeUpdate(java.lang.String, int[])
+	 */
+	@Override
+	public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+		return intercept(sql, () -> getDelegate().executeLargeUpdate(sql, columnIndexes));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#executeLargeUpdate(java.lang.String, int)
+	 */
+	@Override
+	public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+		return intercept(sql, () -> getDelegate().executeLargeUpdate(sql, autoGeneratedKeys));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#enquoteLiteral(java.lang.String)
+	 */
+	@Override
+	public String enquoteLiteral(String val) throws SQLException {
+		return getDelegate().enquoteLiteral(val);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#isSimpleIdentifier(java.lang.String)
+	 */
+	@Override
+	public boolean isSimpleIdentifier(String identifier) throws SQLException {
+		return getDelegate().isSimpleIdentifier(identifier);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Statement#enquoteNCharLiteral(java.lang.String)
+	 */
+	@Override
+	public String enquoteNCharLiteral(String val) throws SQLException {
+		return getDelegate().enquoteNCharLiteral(val);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Wrapper#unwrap(java.lang.Class)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(this)) {
+			return (T) this;
+		}
+		if (iface.isInstance(getDelegate())) {
+			return (T) getDelegate();
+		}
+		return getDelegate().unwrap(iface);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Wrapper#isWrapperFor(java.lang.Class)
+	 */
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(this) || iface.isInstance(getDelegate()) || getDelegate().isWrapperFor(iface);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " [" + getDelegate() + "]";
+	}
+
+}
@@ -0,0 +1,422 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.interceptor.StatementInterceptor;
+import com.holonplatform.jdbc.interceptor.StatementInvocation;
+
+/**
+ * A {@link DataSource} decorator which delegates the statement executions through a {@link StatementInterceptor}
+ * chain.
+ * <p>
+ * The interceptors are stored in an array and the chain is walked by index using a single invocation object per
+ * execution, without any reflection based proxy.
+ * </p>
+ * <p>
+ * The bind parameter values of the prepared and callable statements are captured, and the execution time is
+ * measured, only if at least one interceptor requires them.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class InterceptingDataSource extends DelegatingDataSource {
+
+	/**
+	 * Interceptors
+	 */
+	private final StatementInterceptor[] interceptors;
+
+	/**
+	 * Whether any interceptor requires the bind parameter values
+	 */
+	private final boolean captureParameters;
+
+	/**
+	 * Whether any interceptor requires the execution time
+	 */
+	private final boolean measureExecutionTime;
+
+	/**
+	 * Constructor.
+	 * @param delegate Delegate DataSource (not null)
+	 * @param interceptors Interceptors, in invocation order (not null)
+	 */
+	public InterceptingDataSource(DataSource delegate, StatementInterceptor... interceptors) {
+		super(delegate);
+		ObjectUtils.argumentNotNull(interceptors, "Interceptors must be not null");
+		for (StatementInterceptor interceptor : interceptors) {
+			ObjectUtils.argumentNotNull(interceptor, "Interceptors must be not null");
+		}
+		this.interceptors = interceptors.clone();
+		this.captureParameters = Arrays.stream(interceptors).anyMatch(i -> i.isParametersCaptureRequired());
+		this.measureExecutionTime = Arrays.stream(interceptors).anyMatch(i -> i.isExecutionTimeRequired());
+	}
+
+	/**
+	 * Decorate given DataSource using given decorator and install given interceptors.
+	 * <p>
+	 * If the DataSource is an {@link InterceptingDataSource}, the decorator is applied to its delegate DataSource and
+	 * the interceptors extend its interceptor chain, so that a DataSource decorator which also intercepts the statement
+	 * executions does not add a further connection and statement decoration layer.
+	 * </p>
+	 * @param dataSource The DataSource to decorate (not null)
+	 * @param decorator The DataSource decorator (not null)
+	 * @param interceptors The interceptors to install, may be empty
+	 * @return The decorated DataSource
+	 */
+	public static DataSource decorate(DataSource dataSource, UnaryOperator<DataSource> decorator,
+			StatementInterceptor... interceptors) {
+		ObjectUtils.argumentNotNull(dataSource, "DataSource must be not null");
+		ObjectUtils.argumentNotNull(decorator, "Decorator must be not null");
+		ObjectUtils.argumentNotNull(interceptors, "Interceptors must be not null");
+		if (dataSource instanceof InterceptingDataSource) {
+			final InterceptingDataSource intercepting = (InterceptingDataSource) dataSource;
+			return new InterceptingDataSource(decorator.apply(intercepting.getDelegate()),
+					intercepting.chain(interceptors));
+		}
+		final DataSource decorated = decorator.apply(dataSource);
+		return (interceptors.length == 0) ? decorated : new InterceptingDataSource(decorated, interceptors);
+	}
+
+	/**
+	 * Get the interceptors.
+	 * @return The interceptors, in invocation order
+	 */
+	public List<StatementInterceptor> getInterceptors() {
+		return Collections.unmodifiableList(Arrays.asList(interceptors));
+	}
+
+	/**
+	 * Build a new {@link InterceptingDataSource} on the same delegate DataSource, which invokes given interceptors
+	 * before the interceptors of this DataSource.
+	 * @param additionalInterceptors The interceptors to add (not null)
+	 * @return A new {@link InterceptingDataSource}
+	 */
+	public InterceptingDataSource withInterceptors(StatementInterceptor... additionalInterceptors) {
+		ObjectUtils.argumentNotNull(additionalInterceptors, "Interceptors must be not null");
+		return new InterceptingDataSource(getDelegate(), chain(additionalInterceptors));
+	}
+
+	/**
+	 * Build an interceptor chain which invokes given interceptors before the interceptors of this DataSource.
+	 * @param additionalInterceptors The interceptors to add
+	 * @return The interceptor chain
+	 */
+	private StatementInterceptor[] chain(StatementInterceptor[] additionalInterceptors) {
+		final StatementInterceptor[] chain = Arrays.copyOf(additionalInterceptors,
+				additionalInterceptors.length + interceptors.length);
+		System.arraycopy(interceptors, 0, chain, additionalInterceptors.length, interceptors.length);
+		return chain;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection()
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		return new InterceptingConnection(super.getConnection());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return new InterceptingConnection(super.getConnection(username, password));
+	}
+
+	/**
+	 * A {@link Connection} which decorates the created statements to delegate their executions through the
+	 * interceptor chain.
+	 */
+	private final class InterceptingConnection extends StatementDecoratingConnection {
+
+		InterceptingConnection(Connection delegate) {
+			super(delegate);
+		}
+
+		@Override
+		protected Statement decorateStatement(Statement statement) {
+			return new InterceptingStatement(this, statement);
+		}
+
+		@Override
+		protected PreparedStatement decoratePreparedStatement(PreparedStatement statement, String sql) {
+			return new InterceptingPreparedStatement(this, statement, sql);
+		}
+
+		@Override
+		protected CallableStatement decorateCallableStatement(CallableStatement statement, String sql) {
+			return new InterceptingCallableStatement(this, statement, sql);
+		}
+
+	}
+
+	/**
+	 * A {@link Statement} which delegates the executions through the interceptor chain.
+	 */
+	private final class InterceptingStatement extends DelegatingStatement {
+
+		InterceptingStatement(Connection connection, Statement delegate) {
+			super(connection, delegate);
+		}
+
+		@Override
+		protected <T> T intercept(String sql, Execution<T> execution) throws SQLException {
+			beforeExecute();
+			return new Invocation<>(getConnection(), this, sql, null, execution).proceed();
+		}
+
+	}
+
+	/**
+	 * A {@link PreparedStatement} which captures the bind parameter values, if required, and delegates the executions
+	 * through the interceptor chain.
+	 */
+	private final class InterceptingPreparedStatement extends DelegatingPreparedStatement {
+
+		private final ParameterCapture parameters;
+
+		InterceptingPreparedStatement(Connection connection, PreparedStatement delegate, String sql) {
+			super(connection, delegate, sql, captureParameters);
+			this.parameters = captureParameters ? new ParameterCapture() : null;
+		}
+
+		@Override
+		protected void onParameter(int parameterIndex, Object value) {
+			parameters.set(parameterIndex, value);
+		}
+
+		@Override
+		protected void onClearParameters() {
+			if (parameters != null) {
+				parameters.clear();
+			}
+		}
+
+		@Override
+		public void addBatch() throws SQLException {
+			super.addBatch();
+			if (parameters != null) {
+				parameters.batched = true;
+			}
+		}
+
+		@Override
+		public void clearBatch() throws SQLException {
+			super.clearBatch();
+			if (parameters != null) {
+				parameters.batched = false;
+			}
+		}
+
+		@Override
+		protected <T> T intercept(String sql, Execution<T> execution) throws SQLException {
+			beforeExecute();
+			try {
+				return new Invocation<>(getConnection(), this, sql, parameters, execution).proceed();
+			} finally {
+				if (parameters != null) {
+					// the batch is cleared by the execution
+					parameters.batched = false;
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * A {@link CallableStatement} which captures the bind parameter values, if required, and delegates the executions
+	 * through the interceptor chain.
+	 */
+	private final class InterceptingCallableStatement extends DelegatingCallableStatement {
+
+		private final ParameterCapture parameters;
+
+		InterceptingCallableStatement(Connection connection, CallableStatement delegate, String sql) {
+			super(connection, delegate, sql, captureParameters);
+			this.parameters = captureParameters ? new ParameterCapture() : null;
+		}
+
+		@Override
+		protected void onParameter(int parameterIndex, Object value) {
+			parameters.set(parameterIndex, value);
+		}
+
+		@Override
+		protected void onClearParameters() {
+			if (parameters != null) {
+				parameters.clear();
+			}
+		}
+
+		@Override
+		public void addBatch() throws SQLException {
+			super.addBatch();
+			if (parameters != null) {
+				parameters.batched = true;
+			}
+		}
+
+		@Override
+		public void clearBatch() throws SQLException {
+			super.clearBatch();
+			if (parameters != null) {
+				parameters.batched = false;
+			}
+		}
+
+		@Override
+		protected <T> T intercept(String sql, Execution<T> execution) throws SQLException {
+			beforeExecute();
+			try {
+				return new Invocation<>(getConnection(), this, sql, parameters, execution).proceed();
+			} finally {
+				if (parameters != null) {
+					// the batch is cleared by the execution
+					parameters.batched = false;
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * The {@link StatementInvocation} of a statement execution, which walks the interceptor chain by index.
+	 * @param <T> Execution result type
+	 */
+	private final class Invocation<T> implements StatementInvocation<T> {
+
+		private final Connection connection;
+		private final Statement statement;
+		private final String sql;
+		private final ParameterCapture parameters;
+		private final DelegatingStatement.Execution<T> execution;
+
+		private int index = 0;
+
+		private long executionTime = -1L;
+
+		Invocation(Connection connection, Statement statement, String sql, ParameterCapture parameters,
+				DelegatingStatement.Execution<T> execution) {
+			super();
+			this.connection = connection;
+			this.statement = statement;
+			this.sql = sql;
+			this.parameters = parameters;
+			this.execution = execution;
+		}
+
+		@Override
+		public Connection getConnection() {
+			return connection;
+		}
+
+		@Override
+		public Statement getStatement() {
+			return statement;
+		}
+
+		@Override
+		public String getSql() {
+			return sql;
+		}
+
+		@Override
+		public Object[] getParameters() {
+			return (parameters != null) ? parameters.get() : null;
+		}
+
+		@Override
+		public long getExecutionTime() {
+			return executionTime;
+		}
+
+		@Override
+		public T proceed() throws SQLException {
+			if (index < interceptors.length) {
+				return interceptors[index++].intercept(this);
+			}
+			if (!measureExecutionTime) {
+				return execution.execute();
+			}
+			final long start = System.nanoTime();
+			try {
+				return execution.execute();
+			} finally {
+				executionTime = System.nanoTime() - start;
+			}
+		}
+
+	}
+
+	/**
+	 * The bind parameter values of a statement, by 1-based parameter index. When the statement has batched parameter
+	 * sets, no parameter value is reported, since the values only refer to the last batch entry.
+	 */
+	private static final class ParameterCapture {
+
+		private static final Object[] EMPTY = new Object[0];
+
+		private Object[] values = EMPTY;
+
+		private int count;
+
+		boolean batched;
+
+		void set(int parameterIndex, Object value) {
+			if (parameterIndex < 1) {
+				return;
+			}
+			if (parameterIndex > values.length) {
+				values = Arrays.copyOf(values, Math.max(parameterIndex, values.length * 2));
+			}
+			values[parameterIndex - 1] = value;
+			count = Math.max(count, parameterIndex);
+		}
+
+		void clear() {
+			if (count > 0) {
+				Arrays.fill(values, 0, count, null);
+				count = 0;
+			}
+		}
+
+		Object[] get() {
+			if (batched) {
+				return null;
+			}
+			return (count > 0) ? Arrays.copyOf(values, count) : null;
+		}
+
+	}
+
+}
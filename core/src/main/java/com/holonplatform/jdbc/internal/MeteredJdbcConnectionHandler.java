@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.JdbcConnectionHandler;
+import com.holonplatform.jdbc.metrics.DataSourceMetrics;
+import com.holonplatform.jdbc.metrics.DataSourceMetrics.Metric;
+import com.holonplatform.jdbc.transaction.JdbcTransactionManager;
+
+/**
+ * A {@link JdbcConnectionHandler} which records the connection acquisition and lease times of a concrete
+ * {@link JdbcConnectionHandler} into a {@link DataSourceMetrics}.
+ * <p>
+ * The {@link JdbcTransactionManager} transaction bound connections are not measured, since they are not obtained from
+ * the DataSource by the connection handler.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class MeteredJdbcConnectionHandler implements JdbcConnectionHandler {
+
+	/**
+	 * Concrete handler
+	 */
+	private final JdbcConnectionHandler delegate;
+
+	/**
+	 * Metrics
+	 */
+	private final DataSourceMetrics metrics;
+
+	/**
+	 * Acquisition times of the leased connections, in nanoseconds
+	 */
+	private final Map<Connection, Long> leases = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor.
+	 * @param delegate Concrete handler (not null)
+	 * @param metrics Metrics (not null)
+	 */
+	public MeteredJdbcConnectionHandler(JdbcConnectionHandler delegate, DataSourceMetrics metrics) {
+		super();
+		ObjectUtils.argumentNotNull(delegate, "Delegate JdbcConnectionHandler must be not null");
+		ObjectUtils.argumentNotNull(metrics, "Metrics must be not null");
+		this.delegate = delegate;
+		this.metrics = metrics;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.JdbcConnectionHandler#getConnection(javax.sql.DataSource,
+	 * com.holonplatform.jdbc.JdbcConnectionHandler.ConnectionType)
+	 */
+	@Override
+	public Connection getConnection(DataSource dataSource, ConnectionType connectionType) throws SQLException {
+		if (JdbcTransactionManager.getBoundConnection(dataSource).isPresent()) {
+			return delegate.getConnection(dataSource, connectionType);
+		}
+		final long start = System.nanoTime();
+		final Connection connection = delegate.getConnection(dataSource, connectionType);
+		final long acquired = System.nanoTime();
+		metrics.record(Metric.ACQUISITION, acquired - start);
+		leases.put(connection, acquired);
+		return connection;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.JdbcConnectionHandler#releaseConnection(java.sql.Connection,
+	 * javax.sql.DataSource, com.holonplatform.jdbc.JdbcConnectionHandler.ConnectionType)
+	 */
+	@Override
+	public void releaseConnection(Connection connection, DataSource dataSource, ConnectionType connectionType)
+			throws SQLException {
+		final Long acquired = leases.remove(connection);
+		try {
+			delegate.releaseConnection(connection, dataSource, connectionType);
+		} finally {
+			if (acquired != null) {
+				metrics.record(Metric.LEASE, System.nanoTime() - acquired);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link Connection} which sets the time remaining before an expiration time, such as a deadline or a transaction
+ * timeout, as query timeout of the created statements.
+ * <p>
+ * The query timeout is recomputed before each statement execution, so that a statement executed long after its
+ * creation does not exceed the expiration time. The statements creation and execution are rejected with a
+ * {@link SQLTimeoutException} after the expiration time. A query timeout set on a statement is honored when it is
+ * lower than the remaining time.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class QueryTimeoutConnection extends StatementDecoratingConnection {
+
+	private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	/**
+	 * Expiration time, as a {@link System#nanoTime()} value
+	 */
+	private final long expiration;
+
+	/**
+	 * Constructor.
+	 * @param delegate Delegate connection (not null)
+	 * @param expiration The expiration time, as a {@link System#nanoTime()} value
+	 */
+	public QueryTimeoutConnection(Connection delegate, long expiration) {
+		super(delegate);
+		this.expiration = expiration;
+	}
+
+	/**
+	 * Get the expiration time.
+	 * @return The expiration time, as a {@link System#nanoTime()} value
+	 */
+	public long getExpiration() {
+		return expiration;
+	}
+
+	/**
+	 * Gets whether the expiration time has passed.
+	 * @return <code>true</code> if expired
+	 */
+	public boolean isExpired() {
+		return expiration - System.nanoTime() <= 0;
+	}
+
+	/**
+	 * Get the time remaining before the expiration time, in seconds.
+	 * @return The remaining time in seconds, at least one second, since 0 means no timeout
+	 */
+	private int getRemainingSeconds() {
+		final long remaining = Math.max(0L, expiration - System.nanoTime());
+		return (int) Math.min(Integer.MAX_VALUE, Math.max(1L, (remaining + ONE_SECOND - 1) / ONE_SECOND));
+	}
+
+	/**
+	 * Check given statement can be created, i.e. the expiration time has not passed.
+	 * @param <S> Statement type
+	 * @param statement The created statement
+	 * @return The statement
+	 * @throws SQLException If expired
+	 */
+	private <S extends Statement> S checkCreation(S statement) throws SQLException {
+		if (isExpired()) {
+			statement.close();
+			throw new SQLTimeoutException("Statement creation rejected: the time limit is expired");
+		}
+		return statement;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.StatementDecoratingConnection#decorateStatement(java.sql.Statement)
+	 */
+	@Override
+	protected Statement decorateStatement(Statement statement) throws SQLException {
+		return new TimeoutStatement(this, checkCreation(statement));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.StatementDecoratingConnection#decoratePreparedStatement(java.sql.
+	 * PreparedStatement, java.lang.String)
+	 */
+	@Override
+	protected PreparedStatement decoratePreparedStatement(PreparedStatement statement, String sql)
+			throws SQLException {
+		return new TimeoutPreparedStatement(this, checkCreation(statement), sql);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.StatementDecoratingConnection#decorateCallableStatement(java.sql.
+	 * CallableStatement, java.lang.String)
+	 */
+	@Override
+	protected CallableStatement decorateCallableStatement(CallableStatement statement, String sql)
+			throws SQLException {
+		return new TimeoutCallableStatement(this, checkCreation(statement), sql);
+	}
+
+	/**
+	 * The query timeout of a statement: the timeout set on the statement, if any, bounded by the time remaining
+	 * before the expiration time.
+	 */
+	private final class StatementTimeout {
+
+		private final Statement statement;
+
+		// the statement query timeout, -1 until read from the statement or set
+		private int queryTimeout = -1;
+
+		// the query timeout applied to the statement
+		private int applied;
+
+		StatementTimeout(Statement statement) {
+			super();
+			this.statement = statement;
+		}
+
+		private int getQueryTimeout() throws SQLException {
+			if (queryTimeout < 0) {
+				queryTimeout = statement.getQueryTimeout();
+				applied = queryTimeout;
+			}
+			return queryTimeout;
+		}
+
+		void set(int seconds) throws SQLException {
+			statement.setQueryTimeout(seconds);
+			queryTimeout = seconds;
+			applied = seconds;
+		}
+
+		int get() throws SQLException {
+			final int current = getQueryTimeout();
+			final int remaining = getRemainingSeconds();
+			return (current == 0 || current > remaining) ? remaining : current;
+		}
+
+		void apply() throws SQLException {
+			if (isExpired()) {
+				throw new SQLTimeoutException("Statement execution rejected: the time limit is expired");
+			}
+			final int timeout = get();
+			if (timeout != applied) {
+				statement.setQueryTimeout(timeout);
+				applied = timeout;
+			}
+		}
+
+	}
+
+	/**
+	 * A {@link Statement} which applies the query timeout before each execution.
+	 */
+	private final class TimeoutStatement extends DelegatingStatement {
+
+		private final StatementTimeout timeout;
+
+		TimeoutStatement(Connection connection, Statement delegate) {
+			super(connection, delegate);
+			this.timeout = new StatementTimeout(delegate);
+		}
+
+		@Override
+		public int getQueryTimeout() throws SQLException {
+			return timeout.get();
+		}
+
+		@Override
+		public void setQueryTimeout(int seconds) throws SQLException {
+			timeout.set(seconds);
+		}
+
+		@Override
+		protected void beforeExecute() throws SQLException {
+			timeout.apply();
+		}
+
+	}
+
+	/**
+	 * A {@link PreparedStatement} which applies the query timeout before each execution.
+	 */
+	private final class TimeoutPreparedStatement extends DelegatingPreparedStatement {
+
+		private final StatementTimeout timeout;
+
+		TimeoutPreparedStatement(Connection connection, PreparedStatement delegate, String sql) {
+			super(connection, delegate, sql);
+			this.timeout = new StatementTimeout(delegate);
+		}
+
+		@Override
+		public int getQueryTimeout() throws SQLException {
+			return timeout.get();
+		}
+
+		@Override
+		public void setQueryTimeout(int seconds) throws SQLException {
+			timeout.set(seconds);
+		}
+
+		@Override
+		protected void beforeExecute() throws SQLException {
+			timeout.apply();
+		}
+
+	}
+
+	/**
+	 * A {@link CallableStatement} which applies the query timeout before each execution.
+	 */
+	private final class TimeoutCallableStatement extends DelegatingCallableStatement {
+
+		private final StatementTimeout timeout;
+
+		TimeoutCallableStatement(Connection connection, CallableStatement delegate, String sql) {
+			super(connection, delegate, sql);
+			this.timeout = new StatementTimeout(delegate);
+		}
+
+		@Override
+		public int getQueryTimeout() throws SQLException {
+			return timeout.get();
+		}
+
+		@Override
+		public void setQueryTimeout(int seconds) throws SQLException {
+			timeout.set(seconds);
+		}
+
+		@Override
+		protected void beforeExecute() throws SQLException {
+			timeout.apply();
+		}
+
+	}
+
+}
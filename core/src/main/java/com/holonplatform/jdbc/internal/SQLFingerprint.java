@@ -0,0 +1,249 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class to obtain the fingerprint of a SQL statement, i.e. the normalized SQL text which is shared by all the
+ * executions of the same statement regardless of the literal values.
+ * <p>
+ * The fingerprint is obtained by replacing the string and numeric literals with a <code>?</code> placeholder,
+ * removing the comments, collapsing the whitespaces and collapsing the <code>IN</code> lists of placeholders to a
+ * single placeholder.
+ * </p>
+ * <p>
+ * A {@link Cache} can be used to avoid normalizing the same SQL text more than once.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public final class SQLFingerprint {
+
+	/**
+	 * Placeholder
+	 */
+	private static final char PLACEHOLDER = '?';
+
+	/**
+	 * IN list of placeholders pattern
+	 */
+	private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN \\(\\?(?: ?, ?\\?)+ ?\\)");
+
+	private SQLFingerprint() {
+	}
+
+	/**
+	 * Get the fingerprint of given SQL statement.
+	 * @param sql The SQL statement
+	 * @return The SQL fingerprint, <code>null</code> if given SQL is <code>null</code>
+	 */
+	public static String of(String sql) {
+		if (sql == null) {
+			return null;
+		}
+		final int length = sql.length();
+		final StringBuilder sb = new StringBuilder(length);
+		boolean space = false;
+		int i = 0;
+		while (i < length) {
+			final char c = sql.charAt(i);
+			if (c == '\'') {
+				// string literal
+				i = skipQuoted(sql, i, '\'');
+				space = append(sb, space, PLACEHOLDER);
+			} else if (c == '"' || c == '`') {
+				// quoted identifier
+				final int end = skipQuoted(sql, i, c);
+				if (space && sb.length() > 0) {
+					sb.append(' ');
+				}
+				space = false;
+				sb.append(sql, i, end);
+				i = end;
+			} else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+				// single-line comment
+				final int end = sql.indexOf('\n', i);
+				i = (end < 0) ? length : end;
+				space = true;
+			} else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+				// block comment
+				final int end = sql.indexOf("*/", i + 2);
+				i = (end < 0) ? length : end + 2;
+				space = true;
+			} else if (Character.isWhitespace(c)) {
+				i++;
+				space = true;
+			} else if (isNumberStart(sql, i) && (space || !isIdentifierPart(sb))) {
+				// numeric literal
+				i = skipNumber(sql, i);
+				space = append(sb, space, PLACEHOLDER);
+			} else {
+				i++;
+				space = append(sb, space, c);
+			}
+		}
+		return IN_LIST.matcher(sb).replaceAll("IN (?)");
+	}
+
+	/**
+	 * Append given char, preceded by a single space if required.
+	 * @param sb Target builder
+	 * @param space Whether a whitespace precedes the char
+	 * @param c The char to append
+	 * @return Always <code>false</code>, i.e. the new pending whitespace state
+	 */
+	private static boolean append(StringBuilder sb, boolean space, char c) {
+		if (space && sb.length() > 0) {
+			sb.append(' ');
+		}
+		sb.append(c);
+		return false;
+	}
+
+	/**
+	 * Skip a quoted text, taking into account the doubled quote escapes.
+	 * @param sql The SQL
+	 * @param start The opening quote index
+	 * @param quote The quote char
+	 * @return The index following the closing quote
+	 */
+	private static int skipQuoted(String sql, int start, char quote) {
+		int i = start + 1;
+		while (i < sql.length()) {
+			if (sql.charAt(i) == quote) {
+				if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+					i += 2;
+					continue;
+				}
+				return i + 1;
+			}
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * Checks whether a numeric literal starts at given index.
+	 * @param sql The SQL
+	 * @param index The index
+	 * @return <code>true</code> if a numeric literal starts at given index
+	 */
+	private static boolean isNumberStart(String sql, int index) {
+		final char c = sql.charAt(index);
+		return Character.isDigit(c)
+				|| (c == '.' && index + 1 < sql.length() && Character.isDigit(sql.charAt(index + 1)));
+	}
+
+	/**
+	 * Skip a numeric literal, including decimals and exponent.
+	 * @param sql The SQL
+	 * @param start The literal start index
+	 * @return The index following the literal
+	 */
+	private static int skipNumber(String sql, int start) {
+		int i = start;
+		while (i < sql.length()) {
+			final char c = sql.charAt(i);
+			if (Character.isDigit(c) || c == '.') {
+				i++;
+			} else if ((c == 'e' || c == 'E') && i + 1 < sql.length()
+					&& (Character.isDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '-'
+							|| sql.charAt(i + 1) == '+')) {
+				i += 2;
+			} else {
+				break;
+			}
+		}
+		return i;
+	}
+
+	/**
+	 * Checks whether the last appended char is part of an identifier, so that a following digit belongs to the
+	 * identifier too.
+	 * @param sb The builder
+	 * @return <code>true</code> if the last appended char is part of an identifier
+	 */
+	private static boolean isIdentifierPart(StringBuilder sb) {
+		if (sb.length() == 0) {
+			return false;
+		}
+		final char c = sb.charAt(sb.length() - 1);
+		return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+	}
+
+	/**
+	 * A bounded cache of SQL fingerprints, keyed by SQL text.
+	 * <p>
+	 * When the cache is full, the fingerprints of the SQL texts which are not already cached are computed at each
+	 * request, so that a flood of distinct SQL texts (for example statements built by concatenating the literal values)
+	 * does not evict the fingerprints of the recurring statements.
+	 * </p>
+	 */
+	public static final class Cache {
+
+		/**
+		 * Fingerprints by SQL
+		 */
+		private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+		/**
+		 * Max cache size
+		 */
+		private final int maxSize;
+
+		/**
+		 * Constructor.
+		 * @param maxSize Max cache size (greater than 0)
+		 */
+		public Cache(int maxSize) {
+			super();
+			if (maxSize < 1) {
+				throw new IllegalArgumentException("Cache max size must be greater than 0");
+			}
+			this.maxSize = maxSize;
+		}
+
+		/**
+		 * Get the fingerprint of given SQL statement, using the cached fingerprint if available.
+		 * @param sql The SQL statement (not null)
+		 * @return The SQL fingerprint
+		 */
+		public String get(String sql) {
+			final String cached = fingerprints.get(sql);
+			if (cached != null) {
+				return cached;
+			}
+			final String fingerprint = of(sql);
+			if (fingerprints.size() < maxSize) {
+				fingerprints.put(sql, fingerprint);
+			}
+			return fingerprint;
+		}
+
+		/**
+		 * Get the number of cached fingerprints.
+		 * @return the cache size
+		 */
+		public int size() {
+			return fingerprints.size();
+		}
+
+	}
+
+}
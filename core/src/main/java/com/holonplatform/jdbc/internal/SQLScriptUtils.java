@@ -23,6 +23,8 @@ import java.util.List;
 
 import com.holonplatform.core.internal.Logger;
 import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.internal.jfr.JdbcEventContext;
+import com.holonplatform.jdbc.internal.jfr.ScriptExecuteEvent;
 
 /**
  * Utility class to execute a SQL script.
@@ -58,6 +60,9 @@ public class SQLScriptUtils {
 
 	/**
 	 * Execute given SQL script using provided {@link Connection}.
+	 * <p>
+	 * A {@link ScriptExecuteEvent} Java Flight Recorder event is emitted for the script execution, when enabled.
+	 * </p>
 	 * @param connection Connection on which to execute the script (not null)
 	 * @param script     SQL script not null
 	 * @throws IOException If an execution error occurred
@@ -67,6 +72,9 @@ public class SQLScriptUtils {
 		ObjectUtils.argumentNotNull(connection, "Connection must be not null");
 		ObjectUtils.argumentNotNull(script, "Script must be not null");
 
+		final ScriptExecuteEvent event = new ScriptExecuteEvent();
+		event.begin();
+
 		try {
 
 			final List<String> statements = splitSql(script);
@@ -85,6 +93,13 @@ public class SQLScriptUtils {
 				}
 			}
 
+			event.end();
+			if (event.shouldCommit()) {
+				event.setContext(JdbcEventContext.of(connection));
+				event.setStatements(statements.size());
+				event.commit();
+			}
+
 			LOGGER.info("SQL script executed");
 
 		} catch (Exception ex) {
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A {@link DelegatingConnection} which decorates any {@link Statement}, {@link PreparedStatement} and
+ * {@link CallableStatement} created by the concrete Connection. Can be used as base class for {@link Connection}
+ * decorators which need to intercept the statement executions.
+ * 
+ * @since 6.0.3
+ */
+public abstract class StatementDecoratingConnection extends DelegatingConnection {
+
+	/**
+	 * Constructor.
+	 * @param delegate Delegate Connection (not null)
+	 */
+	public StatementDecoratingConnection(Connection delegate) {
+		super(delegate);
+	}
+
+	/**
+	 * Decorate a {@link Statement} created by the concrete Connection.
+	 * @param statement The statement to decorate
+	 * @return The decorated statement
+	 * @throws SQLException If the statement cannot be decorated
+	 */
+	protected abstract Statement decorateStatement(Statement statement) throws SQLException;
+
+	/**
+	 * Decorate a {@link PreparedStatement} created by the concrete Connection.
+	 * @param statement The statement to decorate
+	 * @param sql The prepared SQL
+	 * @return The decorated statement
+	 * @throws SQLException If the statement cannot be decorated
+	 */
+	protected abstract PreparedStatement decoratePreparedStatement(PreparedStatement statement, String sql)
+			throws SQLException;
+
+	/**
+	 * Decorate a {@link CallableStatement} created by the concrete Connection.
+	 * @param statement The statement to decorate
+	 * @param sql The prepared SQL
+	 * @return The decorated statement
+	 * @throws SQLException If the statement cannot be decorated
+	 */
+	protected abstract CallableStatement decorateCallableStatement(CallableStatement statement, String sql)
+			throws SQLException;
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingConnection#createStatement()
+	 */
+	@Override
+	public Statement createStatement() throws SQLException {
+		return decorateStatement(super.createStatement());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingConnection#createStatement(int, int)
+	 */
+	@Override
+	public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+		return decorateStatement(super.createStatement(resultSetType, resultSetConcurrency));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingConnection#createStatement(int, int, int)
+	 */
+	@Override
+	public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+			throws SQLException {
+		return decorateStatement(super.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingConnection#prepareStatement(java.lang.String)
+	 */
+	@Override
+	public PreparedStatement prepareStatement(String sql) throws SQLException {
+		return decoratePreparedStatement(super.prepareStatement(sql), sql);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingConnection#prepareStatement(java.lang.String, int, int)
+	 */
+	@Override
+	public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
+			throws SQLException {
+		return decoratePreparedStatement(super.prepareStatement(sql, resultSetType, resultSetConcurrency), sql);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingConnection#prepareStatement(java.lang.String, int, int, int)
+	 */
+	@Override
+	public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency,
+			int resultSetHoldability) throws SQLException {
+		return decoratePreparedStatement(
+				super.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability), sql);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingConnection#prepareStatement(java.lang.String, int)
+	 */
+	@Override
+	public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+		return decoratePreparedStatement(super.prepareStatement(sql, autoGeneratedKeys), sql);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingConnection#prepareStatement(java.lang.String, int[])
+	 */
+	@Override
+	public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+		return decoratePreparedStatement(super.prepareStatement(sql, columnIndexes), sql);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingConnection#prepareStatement(java.lang.String,
+	 * java.lang.String[])
+	 */
+	@Override
+	public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+		return decoratePreparedStatement(super.prepareStatement(sql, columnNames), sql);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingConnection#prepareCall(java.lang.String)
+	 */
+	@Override
+	public CallableStatement prepareCall(String sql) throws SQLException {
+		return decorateCallableStatement(super.prepareCall(sql), sql);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingConnection#prepareCall(java.lang.String, int, int)
+	 */
+	@Override
+	public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+		return decorateCallableStatement(super.prepareCall(sql, resultSetType, resultSetConcurrency), sql);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingConnection#prepareCall(java.lang.String, int, int, int)
+	 */
+	@Override
+	public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency,
+			int resultSetHoldability) throws SQLException {
+		return decorateCallableStatement(
+				super.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability), sql);
+	}
+
+}
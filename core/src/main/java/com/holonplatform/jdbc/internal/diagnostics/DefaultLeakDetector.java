@@ -0,0 +1,403 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.diagnostics;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.holonplatform.core.Registration;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.diagnostics.LeakDetector;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+
+/**
+ * Default {@link LeakDetector} implementation.
+ * <p>
+ * The leases check triggered by the connection requests is performed by a single thread at a time and at most once
+ * every half threshold, so the connection acquisition only pays for the lease registration.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class DefaultLeakDetector implements LeakDetector {
+
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/**
+	 * Name
+	 */
+	private final String name;
+
+	/**
+	 * Data context id
+	 */
+	private final String dataContextId;
+
+	/**
+	 * Leak threshold in milliseconds
+	 */
+	private final long threshold;
+
+	/**
+	 * Leak threshold in nanoseconds
+	 */
+	private final long thresholdNanos;
+
+	/**
+	 * Stack trace capture sample rate
+	 */
+	private final double stackSampleRate;
+
+	/**
+	 * Whether to reclaim the leaked connections
+	 */
+	private final boolean reclaim;
+
+	/**
+	 * Active leases
+	 */
+	private final Set<DefaultConnectionLease> leases = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Detected leaks count
+	 */
+	private final AtomicLong leaks = new AtomicLong();
+
+	/**
+	 * Last leases check time, in nanoseconds
+	 */
+	private final AtomicLong lastCheck = new AtomicLong(System.nanoTime());
+
+	/**
+	 * Leak listeners
+	 */
+	private final List<LeakListener> listeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Constructor.
+	 * @param name Leak detector name (not null)
+	 * @param dataContextId Data context id, may be null
+	 * @param threshold Leak threshold in milliseconds (greater than 0)
+	 * @param stackSampleRate The fraction of the leases for which the acquisition stack trace is captured
+	 * @param reclaim Whether to forcibly close the leaked connections
+	 */
+	public DefaultLeakDetector(String name, String dataContextId, long threshold, double stackSampleRate,
+			boolean reclaim) {
+		super();
+		ObjectUtils.argumentNotNull(name, "Leak detector name must be not null");
+		if (threshold < 1) {
+			throw new IllegalArgumentException("Leak detection threshold must be greater than 0");
+		}
+		if (stackSampleRate < 0d || stackSampleRate > 1d) {
+			throw new IllegalArgumentException("Leak detection stack sample rate must be between 0 and 1");
+		}
+		this.name = name;
+		this.dataContextId = dataContextId;
+		this.threshold = threshold;
+		this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(threshold);
+		this.stackSampleRate = stackSampleRate;
+		this.reclaim = reclaim;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.diagnostics.LeakDetector#getName()
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.diagnostics.LeakDetector#getThreshold()
+	 */
+	@Override
+	public long getThreshold() {
+		return threshold;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.diagnostics.LeakDetector#getActiveLeases()
+	 */
+	@Override
+	public List<ConnectionLease> getActiveLeases() {
+		return Collections.unmodifiableList(new ArrayList<>(leases));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.diagnostics.LeakDetector#getLeakCount()
+	 */
+	@Override
+	public long getLeakCount() {
+		return leaks.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.jdbc.diagnostics.LeakDetector#addLeakListener(com.holonplatform.jdbc.diagnostics.LeakDetector.
+	 * LeakListener)
+	 */
+	@Override
+	public Registration addLeakListener(LeakListener listener) {
+		ObjectUtils.argumentNotNull(listener, "Listener must be not null");
+		listeners.add(listener);
+		return new ListenerRegistration(listeners, listener);
+	}
+
+	/**
+	 * Register a new lease for given connection.
+	 * @param connection The leased connection
+	 * @return The connection lease
+	 */
+	public DefaultConnectionLease lease(Connection connection) {
+		final boolean sampled = stackSampleRate >= 1d
+				|| (stackSampleRate > 0d && ThreadLocalRandom.current().nextDouble() < stackSampleRate);
+		final DefaultConnectionLease lease = new DefaultConnectionLease(this, connection,
+				sampled ? new AcquisitionStackTrace() : null);
+		leases.add(lease);
+		return lease;
+	}
+
+	/**
+	 * Perform the leases check if at least half threshold elapsed since the last check and no other thread is
+	 * performing it.
+	 */
+	public void checkLeaksIfDue() {
+		final long now = System.nanoTime();
+		final long last = lastCheck.get();
+		if (now - last >= (thresholdNanos >> 1) && lastCheck.compareAndSet(last, now)) {
+			checkLeaks();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.diagnostics.LeakDetector#checkLeaks()
+	 */
+	@Override
+	public List<ConnectionLease> checkLeaks() {
+		final long now = System.nanoTime();
+		List<ConnectionLease> leaked = null;
+		for (DefaultConnectionLease lease : leases) {
+			if ((now - lease.startNanos) > thresholdNanos && lease.reported.compareAndSet(false, true)) {
+				if (leaked == null) {
+					leaked = new ArrayList<>(2);
+				}
+				leaked.add(lease);
+				report(lease);
+			}
+		}
+		return (leaked != null) ? leaked : Collections.emptyList();
+	}
+
+	/**
+	 * Report a leaked lease.
+	 * @param lease The leaked lease
+	 */
+	private void report(DefaultConnectionLease lease) {
+		leaks.incrementAndGet();
+		final String message = "Connection leak detected [Data context id: " + dataContextId + "]: connection held for "
+				+ lease.getLeaseDuration() + " ms by thread [" + lease.threadName + "]";
+		if (lease.stackTrace != null) {
+			LOGGER.warn(message, lease.stackTrace);
+		} else {
+			LOGGER.warn(message + " (acquisition stack trace not sampled)");
+		}
+		if (reclaim) {
+			lease.reclaim();
+		}
+		for (LeakListener listener : listeners) {
+			try {
+				listener.onLeak(lease);
+			} catch (Exception e) {
+				LOGGER.warn("Leak detector [" + name + "]: leak listener [" + listener + "] failed", e);
+			}
+		}
+	}
+
+	/**
+	 * Remove an ended lease.
+	 * @param lease The lease
+	 */
+	void release(DefaultConnectionLease lease) {
+		leases.remove(lease);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultLeakDetector [name=" + name + ", threshold=" + threshold + ", stackSampleRate="
+				+ stackSampleRate + ", reclaim=" + reclaim + "]";
+	}
+
+	/**
+	 * Throwable used to capture the connection acquisition stack trace.
+	 */
+	private static final class AcquisitionStackTrace extends Throwable {
+
+		private static final long serialVersionUID = 2745263371385218461L;
+
+		AcquisitionStackTrace() {
+			super("Connection acquisition stack trace");
+		}
+
+	}
+
+	/**
+	 * Default {@link ConnectionLease} implementation.
+	 */
+	public static final class DefaultConnectionLease implements ConnectionLease {
+
+		private final DefaultLeakDetector detector;
+		private final Connection connection;
+		private final Throwable stackTrace;
+		private final long timestamp;
+		private final long startNanos;
+		private final String threadName;
+		private final long threadId;
+
+		private final AtomicBoolean ended = new AtomicBoolean(false);
+		private final AtomicBoolean reported = new AtomicBoolean(false);
+		private volatile boolean reclaimed = false;
+
+		@SuppressWarnings("deprecation")
+		DefaultConnectionLease(DefaultLeakDetector detector, Connection connection, Throwable stackTrace) {
+			super();
+			this.detector = detector;
+			this.connection = connection;
+			this.stackTrace = stackTrace;
+			this.timestamp = System.currentTimeMillis();
+			this.startNanos = System.nanoTime();
+			final Thread thread = Thread.currentThread();
+			this.threadName = thread.getName();
+			this.threadId = thread.getId();
+		}
+
+		/**
+		 * End the lease.
+		 * @return <code>true</code> if the lease was active and it has been ended by this call, <code>false</code>
+		 *         if the lease was already ended or reclaimed
+		 */
+		public boolean end() {
+			if (ended.compareAndSet(false, true)) {
+				detector.release(this);
+				return true;
+			}
+			return false;
+		}
+
+		/**
+		 * Reclaim the leased connection, closing it.
+		 */
+		void reclaim() {
+			if (end()) {
+				reclaimed = true;
+				try {
+					connection.close();
+					LOGGER.warn("Leaked connection reclaimed [Data context id: " + detector.dataContextId + "]");
+				} catch (SQLException e) {
+					LOGGER.warn("Failed to reclaim leaked connection [Data context id: " + detector.dataContextId
+							+ "]", e);
+				}
+			}
+		}
+
+		@Override
+		public Optional<String> getDataContextId() {
+			return Optional.ofNullable(detector.dataContextId);
+		}
+
+		@Override
+		public long getLeaseTimestamp() {
+			return timestamp;
+		}
+
+		@Override
+		public long getLeaseDuration() {
+			return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+		}
+
+		@Override
+		public String getThreadName() {
+			return threadName;
+		}
+
+		@Override
+		public long getThreadId() {
+			return threadId;
+		}
+
+		@Override
+		public Optional<StackTraceElement[]> getAcquisitionStackTrace() {
+			return Optional.ofNullable(stackTrace).map(t -> t.getStackTrace());
+		}
+
+		@Override
+		public boolean isReclaimed() {
+			return reclaimed;
+		}
+
+		@Override
+		public String toString() {
+			return "ConnectionLease [dataContextId=" + detector.dataContextId + ", thread=" + threadName
+					+ ", duration=" + getLeaseDuration() + " ms, reclaimed=" + reclaimed + "]";
+		}
+
+	}
+
+	/**
+	 * Leak listener registration.
+	 */
+	private static final class ListenerRegistration implements Registration {
+
+		private static final long serialVersionUID = 4766017590080195433L;
+
+		private final transient List<LeakListener> listeners;
+		private final transient LeakListener listener;
+
+		ListenerRegistration(List<LeakListener> listeners, LeakListener listener) {
+			super();
+			this.listeners = listeners;
+			this.listener = listener;
+		}
+
+		@Override
+		public void remove() {
+			listeners.remove(listener);
+		}
+
+	}
+
+}
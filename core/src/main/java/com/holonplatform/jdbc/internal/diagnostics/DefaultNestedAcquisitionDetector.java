@@ -0,0 +1,186 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.diagnostics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.diagnostics.NestedAcquisitionDetector;
+import com.holonplatform.jdbc.exceptions.NestedConnectionAcquisitionException;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+
+/**
+ * Default {@link NestedAcquisitionDetector} implementation.
+ * <p>
+ * The held connections count of each thread is updated atomically using the thread as key, so a connection closed
+ * by a thread other than the acquiring one is correctly accounted to the acquiring thread. The threads which do not
+ * hold any connection are not tracked.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class DefaultNestedAcquisitionDetector implements NestedAcquisitionDetector {
+
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/**
+	 * Name
+	 */
+	private final String name;
+
+	/**
+	 * Detection mode
+	 */
+	private final Mode mode;
+
+	/**
+	 * Held connections count by thread
+	 */
+	private final ConcurrentHashMap<Thread, Integer> held = new ConcurrentHashMap<>();
+
+	/**
+	 * Max held connections count
+	 */
+	private final AtomicInteger maxHeld = new AtomicInteger();
+
+	/**
+	 * Nested acquisitions count
+	 */
+	private final AtomicLong nestedAcquisitions = new AtomicLong();
+
+	/**
+	 * Constructor.
+	 * @param name Detector name (not null)
+	 * @param mode Detection mode (not null)
+	 */
+	public DefaultNestedAcquisitionDetector(String name, Mode mode) {
+		super();
+		ObjectUtils.argumentNotNull(name, "Detector name must be not null");
+		ObjectUtils.argumentNotNull(mode, "Detection mode must be not null");
+		this.name = name;
+		this.mode = mode;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.diagnostics.NestedAcquisitionDetector#getName()
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.diagnostics.NestedAcquisitionDetector#getMode()
+	 */
+	@Override
+	public Mode getMode() {
+		return mode;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.diagnostics.NestedAcquisitionDetector#getHeldCount(java.lang.Thread)
+	 */
+	@Override
+	public int getHeldCount(Thread thread) {
+		ObjectUtils.argumentNotNull(thread, "Thread must be not null");
+		return held.getOrDefault(thread, 0);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.diagnostics.NestedAcquisitionDetector#getHoldingThreadCount()
+	 */
+	@Override
+	public int getHoldingThreadCount() {
+		return held.size();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.diagnostics.NestedAcquisitionDetector#getMaxHeldCount()
+	 */
+	@Override
+	public int getMaxHeldCount() {
+		return maxHeld.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.diagnostics.NestedAcquisitionDetector#getNestedAcquisitionCount()
+	 */
+	@Override
+	public long getNestedAcquisitionCount() {
+		return nestedAcquisitions.get();
+	}
+
+	/**
+	 * Check a connection acquisition by the current thread, before the connection is requested to the DataSource.
+	 * @throws NestedConnectionAcquisitionException If the current thread already holds a connection and the detection
+	 *         mode is {@link Mode#FAIL}
+	 */
+	public void checkAcquisition() throws NestedConnectionAcquisitionException {
+		final Thread thread = Thread.currentThread();
+		final int count = held.getOrDefault(thread, 0);
+		if (count > 0) {
+			nestedAcquisitions.incrementAndGet();
+			final String message = "Nested connection acquisition [" + name + "]: thread [" + thread.getName()
+					+ "] requested a connection while holding " + count + " connection(s) of the same DataSource";
+			if (mode == Mode.FAIL) {
+				throw new NestedConnectionAcquisitionException(message);
+			}
+			LOGGER.warn(message);
+			LOGGER.debug(() -> "Nested connection acquisition stack trace", new Throwable(message));
+		}
+	}
+
+	/**
+	 * Record a connection acquired by the current thread.
+	 * @return The thread which acquired the connection, to be provided to {@link #released(Thread)}
+	 */
+	public Thread acquired() {
+		final Thread thread = Thread.currentThread();
+		final int count = held.merge(thread, 1, Integer::sum);
+		// avoid a shared write when not needed
+		if (count > maxHeld.get()) {
+			maxHeld.accumulateAndGet(count, Math::max);
+		}
+		return thread;
+	}
+
+	/**
+	 * Record a connection released, which was acquired by given thread.
+	 * @param thread The thread which acquired the connection
+	 */
+	public void released(Thread thread) {
+		held.computeIfPresent(thread, (t, c) -> (c > 1) ? c - 1 : null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultNestedAcquisitionDetector [name=" + name + ", mode=" + mode + "]";
+	}
+
+}
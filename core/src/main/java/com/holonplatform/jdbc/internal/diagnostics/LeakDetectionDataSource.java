@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.diagnostics;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Executor;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.diagnostics.LeakDetector;
+import com.holonplatform.jdbc.internal.DelegatingConnection;
+import com.holonplatform.jdbc.internal.DelegatingDataSource;
+import com.holonplatform.jdbc.internal.diagnostics.DefaultLeakDetector.DefaultConnectionLease;
+
+/**
+ * A {@link DataSource} decorator which tracks the connection leases using a {@link LeakDetector}.
+ * <p>
+ * The {@link LeakDetector} can be obtained using the {@link #unwrap(Class)} method.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class LeakDetectionDataSource extends DelegatingDataSource {
+
+	/**
+	 * Leak detector
+	 */
+	private final DefaultLeakDetector leakDetector;
+
+	/**
+	 * Constructor.
+	 * @param delegate Delegate DataSource (not null)
+	 * @param leakDetector Leak detector (not null)
+	 */
+	public LeakDetectionDataSource(DataSource delegate, DefaultLeakDetector leakDetector) {
+		super(delegate);
+		ObjectUtils.argumentNotNull(leakDetector, "LeakDetector must be not null");
+		this.leakDetector = leakDetector;
+	}
+
+	/**
+	 * Get the leak detector.
+	 * @return the leak detector
+	 */
+	public LeakDetector getLeakDetector() {
+		return leakDetector;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection()
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		leakDetector.checkLeaksIfDue();
+		return track(super.getConnection());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		leakDetector.checkLeaksIfDue();
+		return track(super.getConnection(username, password));
+	}
+
+	/**
+	 * Register the lease of given connection.
+	 * @param connection The connection
+	 * @return The tracked connection
+	 */
+	private Connection track(Connection connection) {
+		return new TrackedConnection(connection, leakDetector.lease(connection));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#unwrap(java.lang.Class)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(leakDetector)) {
+			return (T) leakDetector;
+		}
+		return super.unwrap(iface);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#isWrapperFor(java.lang.Class)
+	 */
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(leakDetector) || super.isWrapperFor(iface);
+	}
+
+	/**
+	 * A {@link Connection} which ends the lease when closed or aborted. If the connection was reclaimed by the leak
+	 * detector, closing it has no effect.
+	 */
+	private static final class TrackedConnection extends DelegatingConnection {
+
+		private final DefaultConnectionLease lease;
+
+		TrackedConnection(Connection delegate, DefaultConnectionLease lease) {
+			super(delegate);
+			this.lease = lease;
+		}
+
+		@Override
+		public void close() throws SQLException {
+			if (lease.end()) {
+				super.close();
+			}
+		}
+
+		@Override
+		public void abort(Executor executor) throws SQLException {
+			try {
+				super.abort(executor);
+			} finally {
+				lease.end();
+			}
+		}
+
+	}
+
+}
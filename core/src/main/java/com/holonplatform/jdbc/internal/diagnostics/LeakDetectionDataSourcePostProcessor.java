@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.diagnostics;
+
+import jakarta.annotation.Priority;
+import javax.sql.DataSource;
+
+import com.holonplatform.core.config.ConfigPropertySet.ConfigurationException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.DataSourcePostProcessor;
+import com.holonplatform.jdbc.diagnostics.LeakDetector;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+
+/**
+ * A {@link DataSourcePostProcessor} which decorates the DataSource with a {@link LeakDetector} when the
+ * {@link DataSourceConfigProperties#LEAK_DETECTION_ENABLED} configuration property is <code>true</code>.
+ * 
+ * @since 6.0.3
+ */
+@Priority(200)
+public class LeakDetectionDataSourcePostProcessor implements DataSourcePostProcessor {
+
+	private static final long serialVersionUID = 6107462539104578213L;
+
+	/**
+	 * Default leak detector name, used when no data context id is available
+	 */
+	private static final String DEFAULT_NAME = "default";
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#postProcessDataSource(javax.sql.DataSource,
+	 * java.lang.String, com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public void postProcessDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		// nothing to do
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#decorateDataSource(javax.sql.DataSource, java.lang.String,
+	 * com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public DataSource decorateDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		if (!configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.LEAK_DETECTION_ENABLED,
+				Boolean.FALSE)) {
+			return dataSource;
+		}
+		final String dataContextId = configurationProperties.getDataContextId().orElse(null);
+		final String name = (dataContextId != null) ? dataContextId : DEFAULT_NAME;
+		try {
+			final DefaultLeakDetector leakDetector = new DefaultLeakDetector(name, dataContextId,
+					configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.LEAK_DETECTION_THRESHOLD,
+							DataSourceConfigProperties.DEFAULT_LEAK_DETECTION_THRESHOLD),
+					configurationProperties.getConfigPropertyValue(
+							DataSourceConfigProperties.LEAK_DETECTION_STACK_SAMPLE_RATE,
+							DataSourceConfigProperties.DEFAULT_LEAK_DETECTION_STACK_SAMPLE_RATE),
+					configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.LEAK_DETECTION_RECLAIM,
+							Boolean.FALSE));
+
+			LOGGER.debug(() -> "Installed leak detector on DataSource of type [" + typeName + "]: " + leakDetector);
+
+			return new LeakDetectionDataSource(dataSource, leakDetector);
+		} catch (IllegalArgumentException e) {
+			throw new ConfigurationException(
+					"Invalid leak detection configuration for DataSource [Data context id: " + name + "]", e);
+		}
+	}
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.diagnostics;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.diagnostics.NestedAcquisitionDetector;
+import com.holonplatform.jdbc.internal.DelegatingConnection;
+import com.holonplatform.jdbc.internal.DelegatingDataSource;
+
+/**
+ * A {@link DataSource} decorator which tracks the connections held by each thread using a
+ * {@link NestedAcquisitionDetector}.
+ * <p>
+ * The {@link NestedAcquisitionDetector} can be obtained using the {@link #unwrap(Class)} method.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class NestedAcquisitionDataSource extends DelegatingDataSource {
+
+	/**
+	 * Detector
+	 */
+	private final DefaultNestedAcquisitionDetector detector;
+
+	/**
+	 * Constructor.
+	 * @param delegate Delegate DataSource (not null)
+	 * @param detector Nested acquisition detector (not null)
+	 */
+	public NestedAcquisitionDataSource(DataSource delegate, DefaultNestedAcquisitionDetector detector) {
+		super(delegate);
+		ObjectUtils.argumentNotNull(detector, "NestedAcquisitionDetector must be not null");
+		this.detector = detector;
+	}
+
+	/**
+	 * Get the nested acquisition detector.
+	 * @return the detector
+	 */
+	public NestedAcquisitionDetector getDetector() {
+		return detector;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection()
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		detector.checkAcquisition();
+		final Connection connection = super.getConnection();
+		return new HeldConnection(connection, detector.acquired());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		detector.checkAcquisition();
+		final Connection connection = super.getConnection(username, password);
+		return new HeldConnection(connection, detector.acquired());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#unwrap(java.lang.Class)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(detector)) {
+			return (T) detector;
+		}
+		return super.unwrap(iface);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#isWrapperFor(java.lang.Class)
+	 */
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(detector) || super.isWrapperFor(iface);
+	}
+
+	/**
+	 * A {@link Connection} which releases the acquiring thread hold when closed or aborted.
+	 */
+	private final class HeldConnection extends DelegatingConnection {
+
+		private final Thread thread;
+
+		private final AtomicBoolean released = new AtomicBoolean(false);
+
+		HeldConnection(Connection delegate, Thread thread) {
+			super(delegate);
+			this.thread = thread;
+		}
+
+		@Override
+		public void close() throws SQLException {
+			try {
+				super.close();
+			} finally {
+				release();
+			}
+		}
+
+		@Override
+		public void abort(Executor executor) throws SQLException {
+			try {
+				super.abort(executor);
+			} finally {
+				release();
+			}
+		}
+
+		private void release() {
+			if (released.compareAndSet(false, true)) {
+				detector.released(thread);
+			}
+		}
+
+	}
+
+}
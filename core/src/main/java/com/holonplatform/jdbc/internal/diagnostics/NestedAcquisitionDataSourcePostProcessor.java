@@ -0,0 +1,83 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.diagnostics;
+
+import jakarta.annotation.Priority;
+import javax.sql.DataSource;
+
+import com.holonplatform.core.config.ConfigPropertySet.ConfigurationException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.DataSourcePostProcessor;
+import com.holonplatform.jdbc.diagnostics.NestedAcquisitionDetector;
+import com.holonplatform.jdbc.diagnostics.NestedAcquisitionDetector.Mode;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+
+/**
+ * A {@link DataSourcePostProcessor} which decorates the DataSource with a {@link NestedAcquisitionDetector} when the
+ * {@link DataSourceConfigProperties#NESTED_ACQUISITION_ENABLED} configuration property is <code>true</code>.
+ * 
+ * @since 6.0.3
+ */
+@Priority(300)
+public class NestedAcquisitionDataSourcePostProcessor implements DataSourcePostProcessor {
+
+	private static final long serialVersionUID = -1790253306893465327L;
+
+	/**
+	 * Default detector name, used when no data context id is available
+	 */
+	private static final String DEFAULT_NAME = "default";
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#postProcessDataSource(javax.sql.DataSource,
+	 * java.lang.String, com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public void postProcessDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		// nothing to do
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#decorateDataSource(javax.sql.DataSource, java.lang.String,
+	 * com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public DataSource decorateDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		if (!configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.NESTED_ACQUISITION_ENABLED,
+				Boolean.FALSE)) {
+			return dataSource;
+		}
+		final DefaultNestedAcquisitionDetector detector = new DefaultNestedAcquisitionDetector(
+				configurationProperties.getDataContextId().orElse(DEFAULT_NAME), configurationProperties
+						.getConfigPropertyValue(DataSourceConfigProperties.NESTED_ACQUISITION_MODE, Mode.WARN));
+
+		LOGGER.debug(() -> "Installed nested acquisition detector on DataSource of type [" + typeName + "]: "
+				+ detector);
+
+		return new NestedAcquisitionDataSource(dataSource, detector);
+	}
+
+}
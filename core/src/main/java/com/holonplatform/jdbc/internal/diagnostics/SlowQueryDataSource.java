@@ -0,0 +1,144 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.diagnostics;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.interceptor.StatementInterceptor;
+import com.holonplatform.jdbc.interceptor.StatementInvocation;
+import com.holonplatform.jdbc.internal.DelegatingDataSource;
+
+/**
+ * A {@link DataSource} decorator which provides the {@link SlowQueryLog} through the {@link #unwrap(Class)} method.
+ * <p>
+ * The statement executions are timed and the slow ones are logged by the {@link StatementInterceptor} returned by
+ * {@link #createStatementInterceptor(SlowQueryLog, boolean)}. When the parameters capture is enabled, the bind
+ * parameter values of the prepared and callable statements are logged along with the SQL. The values are only
+ * referenced, the formatting cost is paid only when a statement is actually logged.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+	/**
+	 * Slow query log
+	 */
+	private final SlowQueryLog slowQueryLog;
+
+	/**
+	 * Constructor.
+	 * @param delegate Delegate DataSource (not null)
+	 * @param slowQueryLog Slow query log (not null)
+	 */
+	public SlowQueryDataSource(DataSource delegate, SlowQueryLog slowQueryLog) {
+		super(delegate);
+		ObjectUtils.argumentNotNull(slowQueryLog, "Slow query log must be not null");
+		this.slowQueryLog = slowQueryLog;
+	}
+
+	/**
+	 * Create a {@link StatementInterceptor} which times the statement executions and logs the slow ones using given
+	 * slow query log.
+	 * @param slowQueryLog Slow query log (not null)
+	 * @param captureParameters Whether to log the bind parameter values
+	 * @return the slow query interceptor
+	 */
+	public static StatementInterceptor createStatementInterceptor(SlowQueryLog slowQueryLog,
+			boolean captureParameters) {
+		ObjectUtils.argumentNotNull(slowQueryLog, "Slow query log must be not null");
+		return new SlowQueryStatementInterceptor(slowQueryLog, captureParameters);
+	}
+
+	/**
+	 * Get the slow query log.
+	 * @return the slow query log
+	 */
+	public SlowQueryLog getSlowQueryLog() {
+		return slowQueryLog;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#unwrap(java.lang.Class)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(slowQueryLog)) {
+			return (T) slowQueryLog;
+		}
+		return super.unwrap(iface);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#isWrapperFor(java.lang.Class)
+	 */
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(slowQueryLog) || super.isWrapperFor(iface);
+	}
+
+	/**
+	 * A {@link StatementInterceptor} which times the statement executions and logs the slow ones.
+	 */
+	private static final class SlowQueryStatementInterceptor implements StatementInterceptor {
+
+		private final SlowQueryLog slowQueryLog;
+
+		private final boolean captureParameters;
+
+		SlowQueryStatementInterceptor(SlowQueryLog slowQueryLog, boolean captureParameters) {
+			super();
+			this.slowQueryLog = slowQueryLog;
+			this.captureParameters = captureParameters;
+		}
+
+		@Override
+		public boolean isParametersCaptureRequired() {
+			return captureParameters;
+		}
+
+		@Override
+		public boolean isExecutionTimeRequired() {
+			return true;
+		}
+
+		@Override
+		public <T> T intercept(StatementInvocation<T> invocation) throws SQLException {
+			try {
+				return invocation.proceed();
+			} finally {
+				final long elapsed = invocation.getExecutionTime();
+				if (elapsed >= 0 && slowQueryLog.isSlow(elapsed)) {
+					slowQueryLog.log(invocation.getSql(), captureParameters ? invocation.getParameters() : null,
+							elapsed);
+				}
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "SlowQueryStatementInterceptor [" + slowQueryLog + "]";
+		}
+
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.diagnostics;
+
+import java.util.regex.Pattern;
+
+import jakarta.annotation.Priority;
+import javax.sql.DataSource;
+
+import com.holonplatform.core.config.ConfigPropertySet.ConfigurationException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.DataSourcePostProcessor;
+import com.holonplatform.jdbc.internal.InterceptingDataSource;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+
+/**
+ * A {@link DataSourcePostProcessor} which decorates the DataSource with a {@link SlowQueryLog} when the
+ * {@link DataSourceConfigProperties#SLOW_QUERY_LOG_ENABLED} configuration property is <code>true</code>.
+ * 
+ * @since 6.0.3
+ */
+@Priority(700)
+public class SlowQueryDataSourcePostProcessor implements DataSourcePostProcessor {
+
+	private static final long serialVersionUID = -2871309472295610243L;
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#postProcessDataSource(javax.sql.DataSource,
+	 * java.lang.String, com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public void postProcessDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		// nothing to do
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#decorateDataSource(javax.sql.DataSource, java.lang.String,
+	 * com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public DataSource decorateDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		if (!configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.SLOW_QUERY_LOG_ENABLED,
+				Boolean.FALSE)) {
+			return dataSource;
+		}
+		final String dataContextId = configurationProperties.getDataContextId().orElse(null);
+		try {
+			final String redact = configurationProperties
+					.getConfigPropertyValue(DataSourceConfigProperties.SLOW_QUERY_LOG_REDACT_PATTERN, null);
+			final Pattern redactPattern = (redact != null && !redact.trim().isEmpty()) ? Pattern.compile(redact)
+					: null;
+			final SlowQueryLog slowQueryLog = new SlowQueryLog(dataContextId,
+					configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.SLOW_QUERY_LOG_THRESHOLD,
+							DataSourceConfigProperties.DEFAULT_SLOW_QUERY_LOG_THRESHOLD),
+					redactPattern,
+					configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.SLOW_QUERY_LOG_MAX_RATE,
+							DataSourceConfigProperties.DEFAULT_SLOW_QUERY_LOG_MAX_RATE));
+
+			LOGGER.debug(() -> "Installed slow query log on DataSource of type [" + typeName + "]: " + slowQueryLog);
+
+			final boolean captureParameters = configurationProperties
+					.getConfigPropertyValue(DataSourceConfigProperties.SLOW_QUERY_LOG_PARAMETERS, Boolean.TRUE);
+			return InterceptingDataSource.decorate(dataSource, ds -> new SlowQueryDataSource(ds, slowQueryLog),
+					SlowQueryDataSource.createStatementInterceptor(slowQueryLog, captureParameters));
+		} catch (IllegalArgumentException e) {
+			throw new ConfigurationException("Invalid slow query log configuration for DataSource [Data context id: "
+					+ ((dataContextId != null) ? dataContextId : "default") + "]", e);
+		}
+	}
+
+}
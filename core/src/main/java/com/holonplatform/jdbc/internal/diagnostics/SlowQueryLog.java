@@ -0,0 +1,206 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.diagnostics;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.tenancy.TenantResolver;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+import com.holonplatform.jdbc.internal.resilience.GcraTokenBucket;
+
+/**
+ * The slow query log of a DataSource, which logs the statements whose execution time exceeds a threshold.
+ * <p>
+ * The log entries provide the execution time, the data context id, the current tenant id (if a {@link TenantResolver}
+ * is available from context), the SQL and the bind parameter values, if available. The parameter values which match
+ * the redaction pattern, if any, are not logged. The logging rate is limited using a token bucket: the slow queries
+ * exceeding the rate are only counted, and the count is reported by the next log entry.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class SlowQueryLog {
+
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/**
+	 * Max logged length of a parameter value
+	 */
+	private static final int MAX_VALUE_LENGTH = 100;
+
+	/**
+	 * Redacted value
+	 */
+	private static final String REDACTED = "<redacted>";
+
+	/**
+	 * Data context id
+	 */
+	private final String dataContextId;
+
+	/**
+	 * Threshold in nanoseconds
+	 */
+	private final long threshold;
+
+	/**
+	 * Redaction pattern, null if none
+	 */
+	private final Pattern redactPattern;
+
+	/**
+	 * Log rate limiter
+	 */
+	private final GcraTokenBucket rateLimiter;
+
+	/**
+	 * Suppressed log entries
+	 */
+	private final AtomicLong suppressed = new AtomicLong();
+
+	/**
+	 * Logged entries
+	 */
+	private final AtomicLong logged = new AtomicLong();
+
+	/**
+	 * Constructor.
+	 * @param dataContextId Data context id, <code>null</code> if not available
+	 * @param threshold Threshold in milliseconds
+	 * @param redactPattern Parameter values redaction pattern, <code>null</code> for none
+	 * @param maxRate Max logged entries per second (greater than 0)
+	 */
+	public SlowQueryLog(String dataContextId, long threshold, Pattern redactPattern, double maxRate) {
+		super();
+		this.dataContextId = dataContextId;
+		this.threshold = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, threshold));
+		this.redactPattern = redactPattern;
+		this.rateLimiter = new GcraTokenBucket(maxRate, Math.max(1, (int) Math.ceil(maxRate)));
+	}
+
+	/**
+	 * Get the threshold.
+	 * @return the threshold in nanoseconds
+	 */
+	public long getThreshold() {
+		return threshold;
+	}
+
+	/**
+	 * Get the number of logged slow queries.
+	 * @return the logged slow queries count
+	 */
+	public long getLoggedCount() {
+		return logged.get();
+	}
+
+	/**
+	 * Get the number of slow queries which were not logged because of the rate limit, since the last logged entry.
+	 * @return the suppressed slow queries count
+	 */
+	public long getSuppressedCount() {
+		return suppressed.get();
+	}
+
+	/**
+	 * Checks whether given statement execution time exceeds the threshold.
+	 * @param nanos The execution time in nanoseconds
+	 * @return <code>true</code> if the execution must be logged as a slow query
+	 */
+	public boolean isSlow(long nanos) {
+		return nanos >= threshold;
+	}
+
+	/**
+	 * Log a slow query, if allowed by the log rate limit. Otherwise, the query is only counted.
+	 * @param sql The executed SQL, <code>null</code> if not available
+	 * @param parameters The bind parameter values, <code>null</code> if not available
+	 * @param nanos The execution time in nanoseconds
+	 */
+	public void log(String sql, Object[] parameters, long nanos) {
+		if (rateLimiter.reserve(0L) == GcraTokenBucket.REJECTED) {
+			suppressed.incrementAndGet();
+			return;
+		}
+		logged.incrementAndGet();
+		final StringBuilder sb = new StringBuilder();
+		sb.append("Slow query [").append(TimeUnit.NANOSECONDS.toMillis(nanos)).append(" ms]");
+		if (dataContextId != null) {
+			sb.append(" - data context id: [").append(dataContextId).append("]");
+		}
+		TenantResolver.getCurrent().flatMap(r -> r.getTenantId())
+				.ifPresent(t -> sb.append(" - tenant: [").append(t).append("]"));
+		sb.append(" - SQL: ").append((sql != null) ? sql : "<batch>");
+		if (parameters != null && parameters.length > 0) {
+			sb.append(" - parameters: [");
+			for (int i = 0; i < parameters.length; i++) {
+				if (i > 0) {
+					sb.append(", ");
+				}
+				sb.append(format(parameters[i]));
+			}
+			sb.append("]");
+		}
+		final long count = suppressed.getAndSet(0L);
+		if (count > 0) {
+			sb.append(" (").append(count).append(" slow queries not logged because of the log rate limit)");
+		}
+		LOGGER.warn(sb.toString());
+	}
+
+	/**
+	 * Format a parameter value for logging.
+	 * @param value The value
+	 * @return The formatted value
+	 */
+	private String format(Object value) {
+		if (value == null) {
+			return "NULL";
+		}
+		if (value instanceof InputStream || value instanceof Reader || value instanceof Blob
+				|| value instanceof Clob) {
+			return "<" + value.getClass().getSimpleName() + ">";
+		}
+		if (value instanceof byte[]) {
+			return "<byte[" + ((byte[]) value).length + "]>";
+		}
+		final String text = String.valueOf(value);
+		if (redactPattern != null && redactPattern.matcher(text).find()) {
+			return REDACTED;
+		}
+		final String truncated = (text.length() > MAX_VALUE_LENGTH) ? text.substring(0, MAX_VALUE_LENGTH) + "..."
+				: text;
+		return (value instanceof CharSequence) ? "'" + truncated + "'" : truncated;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "SlowQueryLog [dataContextId=" + dataContextId + ", threshold="
+				+ TimeUnit.NANOSECONDS.toMillis(threshold) + " ms, redactPattern=" + redactPattern + "]";
+	}
+
+}
@@ -15,7 +15,9 @@
  */
 package com.holonplatform.jdbc.internal.factory;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.Properties;
 
 import jakarta.annotation.Priority;
 import javax.sql.DataSource;
@@ -89,10 +91,16 @@ public class BasicDataSourceFactory implements DataSourceFactory {
 
 		LOGGER.debug(() -> "Basic DataSource JDBC driver class name: " + driverClassName);
 
+		// driver connection properties
+		final Map<String, String> connectionProperties = configurationProperties.getConnectionProperties();
+		LOGGER.debug(() -> "Basic DataSource driver connection properties: " + connectionProperties);
+		final Properties properties = new Properties();
+		properties.putAll(connectionProperties);
+
 		BasicDataSource ds = BasicDataSource.builder().url(url).driverClassName(driverClassName)
 				.username(configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.USERNAME, null))
 				.password(configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.PASSWORD, null))
-				.build();
+				.connectionProperties(properties).build();
 
 		LOGGER.debug(
 				() -> "(Data context id: " + dataContextId + "): " + "BasicDataSource setted up for jdbc url: " + url);
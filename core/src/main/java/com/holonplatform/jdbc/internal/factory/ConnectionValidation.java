@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.factory;
+
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.DatabasePlatform;
+import com.holonplatform.jdbc.ValidationStrategy;
+
+/**
+ * Resolved connection validation configuration, shared by the pooling {@link com.holonplatform.jdbc.DataSourceFactory}
+ * implementations to apply the {@link ValidationStrategy} consistently.
+ * <p>
+ * The {@link ValidationStrategy#QUERY} and {@link ValidationStrategy#PING} strategies fall back to
+ * {@link ValidationStrategy#IS_VALID} when a validation query is not available.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+final class ConnectionValidation {
+
+	private final ValidationStrategy strategy;
+	private final String query;
+	private final long bypassWindow;
+
+	private ConnectionValidation(ValidationStrategy strategy, String query, long bypassWindow) {
+		super();
+		this.strategy = strategy;
+		this.query = query;
+		this.bypassWindow = bypassWindow;
+	}
+
+	/**
+	 * Get the validation strategy.
+	 * @return the validation strategy
+	 */
+	ValidationStrategy getStrategy() {
+		return strategy;
+	}
+
+	/**
+	 * Get the validation query to use.
+	 * @return the validation query, <code>null</code> if the strategy does not require a query
+	 */
+	String getQuery() {
+		return query;
+	}
+
+	/**
+	 * Get the validation bypass window.
+	 * @return the bypass window in milliseconds, <code>0</code> if not configured
+	 */
+	long getBypassWindow() {
+		return bypassWindow;
+	}
+
+	/**
+	 * Resolve the connection validation configuration from given configuration properties.
+	 * @param configurationProperties DataSource configuration properties
+	 * @return The resolved connection validation configuration
+	 */
+	static ConnectionValidation resolve(DataSourceConfigProperties configurationProperties) {
+		ValidationStrategy strategy = configurationProperties.getConnectionValidationStrategy();
+		String query = null;
+		if (strategy == ValidationStrategy.QUERY) {
+			query = configurationProperties.getConnectionValidationQuery().orElse(null);
+		} else if (strategy == ValidationStrategy.PING) {
+			final DatabasePlatform platform = configurationProperties.getDatabasePlatform();
+			query = (platform != null) ? platform.getPingQuery() : null;
+		}
+		if (query == null && (strategy == ValidationStrategy.QUERY || strategy == ValidationStrategy.PING)) {
+			strategy = ValidationStrategy.IS_VALID;
+		}
+		final Long bypassWindow = configurationProperties
+				.getConfigPropertyValue(DataSourceConfigProperties.VALIDATION_BYPASS_WINDOW, null);
+		return new ConnectionValidation(strategy, query,
+				(bypassWindow != null && bypassWindow > 0) ? bypassWindow : 0L);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ConnectionValidation [strategy=" + strategy + ", query=" + query + ", bypassWindow=" + bypassWindow
+				+ "]";
+	}
+
+}
@@ -15,6 +15,7 @@
  */
 package com.holonplatform.jdbc.internal.factory;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
@@ -30,6 +31,7 @@ import com.holonplatform.jdbc.DataSourceBuilder;
 import com.holonplatform.jdbc.DataSourceConfigProperties;
 import com.holonplatform.jdbc.DataSourceFactory;
 import com.holonplatform.jdbc.DatabasePlatform;
+import com.holonplatform.jdbc.ValidationStrategy;
 import com.holonplatform.jdbc.internal.DefaultDataSourceBuilderConfiguration;
 import com.holonplatform.jdbc.internal.JdbcLogger;
 
@@ -52,6 +54,11 @@ public class DBCP2DataSourceFactory implements DataSourceFactory {
 	 */
 	private static final Logger LOGGER = JdbcLogger.create();
 
+	/**
+	 * Default idle connections eviction runs interval, in milliseconds
+	 */
+	private static final long DEFAULT_EVICTION_RUNS_INTERVAL = 30000L;
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.jdbc.DataSourceFactory#getDataSourceType()
@@ -106,26 +113,34 @@ public class DBCP2DataSourceFactory implements DataSourceFactory {
 			ds.setDriverClassName(driverClass);
 			ds.setUrl(url);
 
-			// validation query
-			platform.map(p -> p.getValidationQuery()).ifPresent(vq -> {
-				ds.setTestOnBorrow(true);
-				ds.setValidationQuery(vq);
-			});
+			// connection validation: DBCP2 uses Connection.isValid() when no validation query is configured
+			final ConnectionValidation validation = ConnectionValidation.resolve(configurationProperties);
+			LOGGER.debug(() -> "DBCP2 DataSource connection validation: " + validation);
+			ds.setTestOnBorrow(validation.getStrategy() != ValidationStrategy.NONE);
+			if (validation.getQuery() != null) {
+				ds.setValidationQuery(validation.getQuery());
+			}
+			if (validation.getBypassWindow() > 0) {
+				LOGGER.warn("DBCP2 DataSource [" + dataContextId + "]: the validation bypass window is not supported");
+			}
+
+			// driver connection properties
+			final Map<String, String> connectionProperties = configurationProperties.getConnectionProperties();
+			LOGGER.debug(() -> "DBCP2 DataSource driver connection properties: " + connectionProperties);
+			connectionProperties.forEach((n, v) -> ds.addConnectionProperty(n, v));
 
 			// credentials
 			ds.setUsername(configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.USERNAME, null));
 			ds.setPassword(configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.PASSWORD, null));
 
 			// pool size
-			Integer minPoolSize = configurationProperties
-					.getConfigPropertyValue(DataSourceConfigProperties.MIN_POOL_SIZE, null);
+			Integer minPoolSize = configurationProperties.getMinPoolSize().orElse(null);
 			if (minPoolSize != null && minPoolSize > 0) {
 				ds.setInitialSize(minPoolSize);
 				ds.setMinIdle(minPoolSize);
 			}
 
-			Integer maxPoolSize = configurationProperties.getConfigPropertyValue(
-					DataSourceConfigProperties.MAX_POOL_SIZE, DataSourceConfigProperties.DEFAULT_MAX_POOL_SIZE);
+			Integer maxPoolSize = configurationProperties.getMaxPoolSize();
 			if (maxPoolSize != null && maxPoolSize > 0) {
 				ds.setMaxTotal(maxPoolSize);
 				if (ds.getMaxIdle() > maxPoolSize) {
@@ -133,6 +148,17 @@ public class DBCP2DataSourceFactory implements DataSourceFactory {
 				}
 			}
 
+			// timeouts
+			configurationProperties.getAcquisitionTimeout().ifPresent(t -> ds.setMaxWait(Duration.ofMillis(t)));
+			configurationProperties.getIdleTimeout().ifPresent(t -> {
+				ds.setMinEvictableIdle(Duration.ofMillis(t));
+				// the idle connections are evicted by the evictor thread only
+				if (ds.getDurationBetweenEvictionRuns().isNegative() || ds.getDurationBetweenEvictionRuns().isZero()) {
+					ds.setDurationBetweenEvictionRuns(Duration.ofMillis(Math.min(t, DEFAULT_EVICTION_RUNS_INTERVAL)));
+				}
+			});
+			configurationProperties.getMaxLifetime().ifPresent(t -> ds.setMaxConn(Duration.ofMillis(t)));
+
 			// autocommit
 			if (configurationProperties.isDisableAutoCommit()) {
 				ds.setDefaultAutoCommit(Boolean.FALSE);
@@ -28,6 +28,7 @@ import com.holonplatform.jdbc.DataSourceBuilder;
 import com.holonplatform.jdbc.DataSourceConfigProperties;
 import com.holonplatform.jdbc.DataSourceFactory;
 import com.holonplatform.jdbc.DatabasePlatform;
+import com.holonplatform.jdbc.ValidationStrategy;
 import com.holonplatform.jdbc.internal.DefaultDataSourceBuilderConfiguration;
 import com.holonplatform.jdbc.internal.JdbcLogger;
 import com.zaxxer.hikari.HikariConfig;
@@ -115,8 +116,25 @@ public class HikariCPDataSourceFactory implements DataSourceFactory {
 				LOGGER.debug(() -> "HikariCP DataSource pool name: " + name);
 			}
 
-			// validation query
-			platform.map(p -> p.getValidationQuery()).ifPresent(vq -> config.setConnectionTestQuery(vq));
+			// connection validation: HikariCP uses Connection.isValid() when no test query is configured, and it
+			// always applies its own global alive bypass window
+			final ConnectionValidation validation = ConnectionValidation.resolve(configurationProperties);
+			LOGGER.debug(() -> "HikariCP DataSource connection validation: " + validation);
+			if (validation.getQuery() != null) {
+				config.setConnectionTestQuery(validation.getQuery());
+			} else if (validation.getStrategy() == ValidationStrategy.NONE) {
+				LOGGER.warn("HikariCP DataSource [" + dataContextId
+						+ "]: connection validation cannot be disabled, Connection.isValid() will be used");
+			}
+			if (validation.getBypassWindow() > 0) {
+				LOGGER.warn("HikariCP DataSource [" + dataContextId
+						+ "]: the validation bypass window is not supported, use the HikariCP global setting");
+			}
+
+			// driver connection properties
+			final Map<String, String> connectionProperties = configurationProperties.getConnectionProperties();
+			LOGGER.debug(() -> "HikariCP DataSource driver connection properties: " + connectionProperties);
+			connectionProperties.forEach((n, v) -> config.addDataSourceProperty(n, v));
 
 			// credentials
 			config.setUsername(
@@ -125,18 +143,21 @@ public class HikariCPDataSourceFactory implements DataSourceFactory {
 					configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.PASSWORD, null));
 
 			// pool size
-			Integer minPoolSize = configurationProperties
-					.getConfigPropertyValue(DataSourceConfigProperties.MIN_POOL_SIZE, null);
+			Integer minPoolSize = configurationProperties.getMinPoolSize().orElse(null);
 			if (minPoolSize != null && minPoolSize > 0) {
 				config.setMinimumIdle(minPoolSize);
 			}
 
-			Integer maxPoolSize = configurationProperties.getConfigPropertyValue(
-					DataSourceConfigProperties.MAX_POOL_SIZE, DataSourceConfigProperties.DEFAULT_MAX_POOL_SIZE);
+			Integer maxPoolSize = configurationProperties.getMaxPoolSize();
 			if (maxPoolSize != null && maxPoolSize > 0) {
 				config.setMaximumPoolSize(maxPoolSize);
 			}
 
+			// timeouts
+			configurationProperties.getAcquisitionTimeout().ifPresent(t -> config.setConnectionTimeout(t));
+			configurationProperties.getIdleTimeout().ifPresent(t -> config.setIdleTimeout(t));
+			configurationProperties.getMaxLifetime().ifPresent(t -> config.setMaxLifetime(t));
+
 			// autocommit
 			if (configurationProperties.isDisableAutoCommit()) {
 				config.setAutoCommit(false);
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.factory;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+import javax.sql.XADataSource;
+
+import com.holonplatform.core.config.ConfigPropertySet.ConfigurationException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ClassUtils;
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.DataSourceFactory;
+import com.holonplatform.jdbc.DatabasePlatform;
+import com.holonplatform.jdbc.PooledXADataSource;
+import com.holonplatform.jdbc.internal.DefaultDataSourceBuilderConfiguration;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+
+/**
+ * A {@link DataSourceFactory} to create {@link PooledXADataSource}s.
+ * <p>
+ * The vendor {@link XADataSource} class is obtained from the
+ * {@link DataSourceConfigProperties#XA_DATA_SOURCE_CLASS_NAME} property or, if not specified, from the
+ * {@link DatabasePlatform#getXaDriverClassName()} of the configured or detected database platform. The JDBC url and
+ * the credentials are configured using the vendor XADataSource setter methods.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class PooledXADataSourceFactory implements DataSourceFactory {
+
+	private static final long serialVersionUID = -4286418962214364016L;
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourceFactory#getDataSourceType()
+	 */
+	@Override
+	public String getDataSourceType() {
+		return DataSourceBuilder.TYPE_XA_POOLED;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourceFactory#build(com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public DataSource build(DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+
+		final String dataContextId = configurationProperties.getDataContextId().orElse(null);
+
+		LOGGER.debug(() -> "Building pooled XA DataSource [dataContextId=" + dataContextId + "]");
+
+		final String url = configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.URL, null);
+		if (url == null) {
+			throw new ConfigurationException(DefaultDataSourceBuilderConfiguration
+					.buildMissingJdbcUrlMessage(getDataSourceType(), dataContextId));
+		}
+
+		final Optional<DatabasePlatform> platform = Optional.ofNullable(configurationProperties
+				.getConfigPropertyValue(DataSourceConfigProperties.PLATFORM, DatabasePlatform.fromUrl(url)));
+
+		final String xaClassName = configurationProperties.getConfigPropertyValue(
+				DataSourceConfigProperties.XA_DATA_SOURCE_CLASS_NAME,
+				platform.map(p -> p.getXaDriverClassName()).orElse(null));
+		if (xaClassName == null) {
+			throw new ConfigurationException("(Data context id: " + dataContextId
+					+ "): Failed to configure DataSource of type [" + getDataSourceType()
+					+ "]: missing XADataSource class name and it cannot be detected from the database platform. "
+					+ "Use the [" + DataSourceConfigProperties.XA_DATA_SOURCE_CLASS_NAME.getKey()
+					+ "] property to specify it.");
+		}
+
+		LOGGER.debug(() -> "Pooled XA DataSource vendor XADataSource class name: " + xaClassName);
+
+		final XADataSource xaDataSource;
+		try {
+			final Class<?> xaClass = ClassUtils.forName(xaClassName, ClassUtils.getDefaultClassLoader());
+			if (!XADataSource.class.isAssignableFrom(xaClass)) {
+				throw new ConfigurationException(
+						"The class [" + xaClassName + "] is not a " + XADataSource.class.getName());
+			}
+			xaDataSource = (XADataSource) xaClass.getDeclaredConstructor().newInstance();
+
+			// url and credentials
+			invokeSetter(xaDataSource, url, "setURL", "setUrl");
+			final String username = configurationProperties
+					.getConfigPropertyValue(DataSourceConfigProperties.USERNAME, null);
+			if (username != null) {
+				invokeSetter(xaDataSource, username, "setUser", "setUsername", "setUserName");
+			}
+			final String password = configurationProperties
+					.getConfigPropertyValue(DataSourceConfigProperties.PASSWORD, null);
+			if (password != null) {
+				invokeSetter(xaDataSource, password, "setPassword");
+			}
+		} catch (ConfigurationException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new ConfigurationException("Failed to configure [" + getDataSourceType() + "] DataSource", e);
+		}
+
+		final int minPoolSize = configurationProperties.getMinPoolSize().orElse(0);
+		final int maxPoolSize = configurationProperties.getMaxPoolSize();
+		final long idleTimeout = configurationProperties.getConfigPropertyValue(
+				DataSourceConfigProperties.XA_IDLE_TIMEOUT,
+				configurationProperties.getIdleTimeout().orElse(DataSourceConfigProperties.DEFAULT_XA_IDLE_TIMEOUT));
+		final long maxWait = configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.XA_MAX_WAIT,
+				configurationProperties.getAcquisitionTimeout().orElse(DataSourceConfigProperties.DEFAULT_XA_MAX_WAIT));
+
+		final PooledXADataSource ds = PooledXADataSource.builder().xaDataSource(xaDataSource)
+				.name(configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.NAME, dataContextId))
+				.minPoolSize(minPoolSize).maxPoolSize((maxPoolSize > 0) ? maxPoolSize : 1).idleTimeout(idleTimeout)
+				.maxWait(maxWait).build();
+
+		LOGGER.debug(() -> "(Data context id: " + dataContextId + "): "
+				+ "Pooled XA DataSource setted up for jdbc url: " + url + " [Max pool size: " + maxPoolSize + "]");
+
+		return ds;
+	}
+
+	/**
+	 * Invoke the first available single <code>String</code> argument setter method among given method names.
+	 * @param target Target object
+	 * @param value Value to set
+	 * @param methodNames Setter method names
+	 * @throws Exception If an error occurred
+	 */
+	private static void invokeSetter(Object target, String value, String... methodNames) throws Exception {
+		for (String methodName : methodNames) {
+			final Method method;
+			try {
+				method = target.getClass().getMethod(methodName, String.class);
+			} catch (NoSuchMethodException e) {
+				continue;
+			}
+			method.invoke(target, value);
+			return;
+		}
+		throw new ConfigurationException("No setter method available in [" + target.getClass().getName() + "] among "
+				+ String.join(", ", methodNames));
+	}
+
+}
@@ -30,6 +30,7 @@ import com.holonplatform.jdbc.DataSourceBuilder;
 import com.holonplatform.jdbc.DataSourceConfigProperties;
 import com.holonplatform.jdbc.DataSourceFactory;
 import com.holonplatform.jdbc.DatabasePlatform;
+import com.holonplatform.jdbc.ValidationStrategy;
 import com.holonplatform.jdbc.internal.DefaultDataSourceBuilderConfiguration;
 import com.holonplatform.jdbc.internal.JdbcLogger;
 
@@ -114,11 +115,28 @@ public class TomcatJdbcDataSourceFactory implements DataSourceFactory {
 				config.setName(name);
 			}
 
-			// validation query
-			platform.map(p -> p.getValidationQuery()).ifPresent(vq -> {
-				config.setTestOnBorrow(true);
-				config.setValidationQuery(vq);
-			});
+			// connection validation: Tomcat jdbc uses Connection.isValid() when no validation query is configured
+			final ConnectionValidation validation = ConnectionValidation.resolve(configurationProperties);
+			LOGGER.debug(() -> "Tomcat DataSource connection validation: " + validation);
+			config.setTestOnBorrow(validation.getStrategy() != ValidationStrategy.NONE);
+			if (validation.getQuery() != null) {
+				config.setValidationQuery(validation.getQuery());
+			}
+			if (validation.getBypassWindow() > 0) {
+				config.setValidationInterval(validation.getBypassWindow());
+			}
+
+			// driver connection properties
+			final Map<String, String> connectionProperties = configurationProperties.getConnectionProperties();
+			LOGGER.debug(() -> "Tomcat DataSource driver connection properties: " + connectionProperties);
+			if (!connectionProperties.isEmpty()) {
+				final Properties dbProperties = new Properties();
+				if (config.getDbProperties() != null) {
+					dbProperties.putAll(config.getDbProperties());
+				}
+				dbProperties.putAll(connectionProperties);
+				config.setDbProperties(dbProperties);
+			}
 
 			// credentials
 			config.setUsername(
@@ -127,15 +145,13 @@ public class TomcatJdbcDataSourceFactory implements DataSourceFactory {
 					configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.PASSWORD, null));
 
 			// pool size
-			Integer minPoolSize = configurationProperties
-					.getConfigPropertyValue(DataSourceConfigProperties.MIN_POOL_SIZE, null);
+			Integer minPoolSize = configurationProperties.getMinPoolSize().orElse(null);
 			if (minPoolSize != null && minPoolSize > 0) {
 				config.setInitialSize(minPoolSize);
 				config.setMinIdle(minPoolSize);
 			}
 
-			Integer maxPoolSize = configurationProperties.getConfigPropertyValue(
-					DataSourceConfigProperties.MAX_POOL_SIZE, DataSourceConfigProperties.DEFAULT_MAX_POOL_SIZE);
+			Integer maxPoolSize = configurationProperties.getMaxPoolSize();
 			if (maxPoolSize != null && maxPoolSize > 0) {
 				config.setMaxActive(maxPoolSize);
 				if (config.getMaxIdle() > maxPoolSize) {
@@ -143,6 +159,13 @@ public class TomcatJdbcDataSourceFactory implements DataSourceFactory {
 				}
 			}
 
+			// timeouts
+			configurationProperties.getAcquisitionTimeout()
+					.ifPresent(t -> config.setMaxWait((int) Math.min(t, Integer.MAX_VALUE)));
+			configurationProperties.getIdleTimeout()
+					.ifPresent(t -> config.setMinEvictableIdleTimeMillis((int) Math.min(t, Integer.MAX_VALUE)));
+			configurationProperties.getMaxLifetime().ifPresent(t -> config.setMaxAge(t));
+
 			// autocommit
 			if (configurationProperties.isDisableAutoCommit()) {
 				config.setDefaultAutoCommit(Boolean.FALSE);
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.health;
+
+import java.sql.Connection;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.health.DataSourceHealthCheck;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+
+/**
+ * Default {@link DataSourceHealthCheck} implementation.
+ * 
+ * @since 6.0.3
+ */
+public class DefaultDataSourceHealthCheck implements DataSourceHealthCheck {
+
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/**
+	 * Result before the first check
+	 */
+	private static final Result UNKNOWN = new DefaultResult(Status.UNKNOWN, 0L, 0L, null);
+
+	/**
+	 * Name
+	 */
+	private final String name;
+
+	/**
+	 * DataSource
+	 */
+	private final DataSource dataSource;
+
+	/**
+	 * Refresh interval in nanoseconds
+	 */
+	private final long refreshInterval;
+
+	/**
+	 * Validation timeout in seconds
+	 */
+	private final int validationTimeout;
+
+	/**
+	 * Refresh executor, null to use the shared one
+	 */
+	private final Executor executor;
+
+	/**
+	 * Whether a refresh is in progress
+	 */
+	private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+	/**
+	 * Last result
+	 */
+	private volatile Result result = UNKNOWN;
+
+	/**
+	 * Last result time, in nanoseconds
+	 */
+	private volatile long resultTime;
+
+	/**
+	 * Constructor.
+	 * @param name Health check name (not null)
+	 * @param dataSource DataSource to check (not null)
+	 * @param refreshInterval Refresh interval in milliseconds
+	 * @param validationTimeout Validation timeout in seconds
+	 * @param executor Refresh executor, <code>null</code> to use a shared daemon thread pool
+	 */
+	public DefaultDataSourceHealthCheck(String name, DataSource dataSource, long refreshInterval,
+			int validationTimeout, Executor executor) {
+		super();
+		ObjectUtils.argumentNotNull(name, "Health check name must be not null");
+		ObjectUtils.argumentNotNull(dataSource, "DataSource must be not null");
+		this.name = name;
+		this.dataSource = dataSource;
+		this.refreshInterval = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, refreshInterval));
+		this.validationTimeout = Math.max(0, validationTimeout);
+		this.executor = executor;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.health.DataSourceHealthCheck#getName()
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.health.DataSourceHealthCheck#getResult()
+	 */
+	@Override
+	public Result getResult() {
+		final Result current = result;
+		if ((current == UNKNOWN || System.nanoTime() - resultTime >= refreshInterval)
+				&& refreshing.compareAndSet(false, true)) {
+			try {
+				getExecutor().execute(() -> {
+					try {
+						check();
+					} finally {
+						refreshing.set(false);
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				refreshing.set(false);
+				LOGGER.warn("Health check [" + name + "]: refresh rejected by the executor", e);
+			}
+		}
+		return current;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.health.DataSourceHealthCheck#check()
+	 */
+	@Override
+	public Result check() {
+		final long start = System.nanoTime();
+		Result checked;
+		try (Connection connection = dataSource.getConnection()) {
+			final boolean valid = connection.isValid(validationTimeout);
+			checked = new DefaultResult(valid ? Status.UP : Status.DOWN, System.currentTimeMillis(),
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+					valid ? null : "Connection validation failed");
+		} catch (Exception e) {
+			LOGGER.debug(() -> "Health check [" + name + "] failed", e);
+			checked = new DefaultResult(Status.DOWN, System.currentTimeMillis(),
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), e.getClass().getName()
+							+ ((e.getMessage() != null) ? ": " + e.getMessage() : ""));
+		}
+		result = checked;
+		resultTime = System.nanoTime();
+		return checked;
+	}
+
+	/**
+	 * Get the refresh executor.
+	 * @return the refresh executor
+	 */
+	private Executor getExecutor() {
+		return (executor != null) ? executor : SharedExecutor.INSTANCE;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultDataSourceHealthCheck [name=" + name + ", refreshInterval="
+				+ TimeUnit.NANOSECONDS.toMillis(refreshInterval) + " ms, validationTimeout=" + validationTimeout
+				+ " s]";
+	}
+
+	/**
+	 * Lazy holder of the shared refresh executor, which uses daemon threads.
+	 */
+	private static final class SharedExecutor {
+
+		private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+		static final ExecutorService INSTANCE = Executors.newCachedThreadPool(r -> {
+			final Thread thread = new Thread(r, "holon-jdbc-health-" + THREAD_COUNT.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+	}
+
+	/**
+	 * Default {@link Result} implementation.
+	 */
+	private static final class DefaultResult implements Result {
+
+		private final Status status;
+		private final long timestamp;
+		private final long responseTime;
+		private final String error;
+
+		DefaultResult(Status status, long timestamp, long responseTime, String error) {
+			super();
+			this.status = status;
+			this.timestamp = timestamp;
+			this.responseTime = responseTime;
+			this.error = error;
+		}
+
+		@Override
+		public Status getStatus() {
+			return status;
+		}
+
+		@Override
+		public long getTimestamp() {
+			return timestamp;
+		}
+
+		@Override
+		public long getResponseTime() {
+			return responseTime;
+		}
+
+		@Override
+		public Optional<String> getError() {
+			return Optional.ofNullable(error);
+		}
+
+		@Override
+		public String toString() {
+			return "Result [status=" + status + ", responseTime=" + responseTime + " ms"
+					+ ((error != null) ? ", error=" + error : "") + "]";
+		}
+
+	}
+
+}
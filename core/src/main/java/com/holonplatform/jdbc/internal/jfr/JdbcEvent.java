@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base class of the JDBC Java Flight Recorder events, which provides the DataSource and tenant attribution.
+ * 
+ * @since 6.0.3
+ */
+@Category({ "Holon Platform", "JDBC" })
+public abstract class JdbcEvent extends Event {
+
+	@Label("Data Context Id")
+	String dataContextId;
+
+	@Label("Tenant Id")
+	String tenantId;
+
+	@Label("DataSource Type")
+	String dataSourceType;
+
+	/**
+	 * Set the DataSource and tenant attribution of the event.
+	 * @param context The event context, if <code>null</code> only the tenant id is set
+	 */
+	public void setContext(JdbcEventContext context) {
+		if (context != null) {
+			this.dataContextId = context.getDataContextId();
+			this.dataSourceType = context.getDataSourceType();
+		}
+		this.tenantId = JdbcEventContext.getCurrentTenantId();
+	}
+
+}
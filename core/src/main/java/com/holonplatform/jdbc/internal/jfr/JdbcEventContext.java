@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.jfr;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import com.holonplatform.core.tenancy.TenantResolver;
+
+/**
+ * The DataSource attribution of the {@link JdbcEvent}s.
+ * 
+ * @since 6.0.3
+ */
+public final class JdbcEventContext {
+
+	/**
+	 * Data context id
+	 */
+	private final String dataContextId;
+
+	/**
+	 * DataSource type
+	 */
+	private final String dataSourceType;
+
+	/**
+	 * Constructor.
+	 * @param dataContextId Data context id, <code>null</code> if not available
+	 * @param dataSourceType DataSource type, <code>null</code> if not available
+	 */
+	public JdbcEventContext(String dataContextId, String dataSourceType) {
+		super();
+		this.dataContextId = dataContextId;
+		this.dataSourceType = dataSourceType;
+	}
+
+	/**
+	 * Get the data context id.
+	 * @return the data context id, <code>null</code> if not available
+	 */
+	public String getDataContextId() {
+		return dataContextId;
+	}
+
+	/**
+	 * Get the DataSource type.
+	 * @return the DataSource type, <code>null</code> if not available
+	 */
+	public String getDataSourceType() {
+		return dataSourceType;
+	}
+
+	/**
+	 * Get the {@link JdbcEventContext} of given connection, if it was obtained from a DataSource which emits the JDBC
+	 * events.
+	 * @param connection The connection
+	 * @return The connection event context, <code>null</code> if not available
+	 */
+	public static JdbcEventContext of(Connection connection) {
+		try {
+			if (connection != null && connection.isWrapperFor(JdbcEventContext.class)) {
+				return connection.unwrap(JdbcEventContext.class);
+			}
+		} catch (SQLException e) {
+			// not available
+		}
+		return null;
+	}
+
+	/**
+	 * Get the current tenant id, using the {@link TenantResolver} available from context, if any.
+	 * @return The current tenant id, <code>null</code> if not available
+	 */
+	static String getCurrentTenantId() {
+		return TenantResolver.getCurrent().flatMap(r -> r.getTenantId()).orElse(null);
+	}
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.jfr;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.interceptor.StatementInterceptor;
+import com.holonplatform.jdbc.interceptor.StatementInvocation;
+import com.holonplatform.jdbc.internal.DelegatingConnection;
+import com.holonplatform.jdbc.internal.DelegatingDataSource;
+import com.holonplatform.jdbc.internal.SQLFingerprint;
+
+/**
+ * A {@link DataSource} decorator which emits the connection lifecycle Java Flight Recorder events.
+ * <p>
+ * The statement execution events are emitted by the {@link StatementInterceptor} returned by
+ * {@link #createStatementInterceptor(JdbcEventContext)}.
+ * </p>
+ * <p>
+ * When the events are not enabled in any running recording, the events are never committed and their attributes
+ * (including the SQL fingerprint) are never computed, so the overhead is limited to the connection decoration and
+ * to the statement interception.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class JfrDataSource extends DelegatingDataSource {
+
+	/**
+	 * Event context
+	 */
+	private final JdbcEventContext context;
+
+	/**
+	 * Constructor.
+	 * @param delegate Delegate DataSource (not null)
+	 * @param context Event context (not null)
+	 */
+	public JfrDataSource(DataSource delegate, JdbcEventContext context) {
+		super(delegate);
+		ObjectUtils.argumentNotNull(context, "Event context must be not null");
+		this.context = context;
+	}
+
+	/**
+	 * Create a {@link StatementInterceptor} which emits the statement execution events.
+	 * @param context Event context (not null)
+	 * @return the statement events interceptor
+	 */
+	public static StatementInterceptor createStatementInterceptor(JdbcEventContext context) {
+		ObjectUtils.argumentNotNull(context, "Event context must be not null");
+		return new JfrStatementInterceptor(context);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection()
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		final ConnectionAcquireEvent event = new ConnectionAcquireEvent();
+		event.begin();
+		final Connection connection = super.getConnection();
+		commitEvent(event);
+		return new JfrConnection(connection);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		final ConnectionAcquireEvent event = new ConnectionAcquireEvent();
+		event.begin();
+		final Connection connection = super.getConnection(username, password);
+		commitEvent(event);
+		return new JfrConnection(connection);
+	}
+
+	/**
+	 * End given event and commit it, if it is enabled and its duration exceeds the configured threshold.
+	 * @param event The event to commit
+	 */
+	private void commitEvent(JdbcEvent event) {
+		event.end();
+		if (event.shouldCommit()) {
+			event.setContext(context);
+			event.commit();
+		}
+	}
+
+	/**
+	 * A {@link Connection} which emits the lease and release events.
+	 */
+	private final class JfrConnection extends DelegatingConnection {
+
+		private final ConnectionLeaseEvent lease;
+
+		private final AtomicBoolean released = new AtomicBoolean(false);
+
+		JfrConnection(Connection delegate) {
+			super(delegate);
+			final ConnectionLeaseEvent event = new ConnectionLeaseEvent();
+			if (event.isEnabled()) {
+				event.begin();
+				this.lease = event;
+			} else {
+				this.lease = null;
+			}
+		}
+
+		@Override
+		public void close() throws SQLException {
+			final ConnectionReleaseEvent event = new ConnectionReleaseEvent();
+			event.begin();
+			try {
+				super.close();
+			} finally {
+				commitEvent(event);
+				release();
+			}
+		}
+
+		@Override
+		public void abort(Executor executor) throws SQLException {
+			try {
+				super.abort(executor);
+			} finally {
+				release();
+			}
+		}
+
+		private void release() {
+			if (released.compareAndSet(false, true) && lease != null) {
+				commitEvent(lease);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T> T unwrap(Class<T> iface) throws SQLException {
+			if (iface.isInstance(context)) {
+				return (T) context;
+			}
+			return super.unwrap(iface);
+		}
+
+		@Override
+		public boolean isWrapperFor(Class<?> iface) throws SQLException {
+			return iface.isInstance(context) || super.isWrapperFor(iface);
+		}
+
+	}
+
+	/**
+	 * A {@link StatementInterceptor} which emits the statement execution events.
+	 */
+	private static final class JfrStatementInterceptor implements StatementInterceptor {
+
+		private final JdbcEventContext context;
+
+		JfrStatementInterceptor(JdbcEventContext context) {
+			super();
+			this.context = context;
+		}
+
+		@Override
+		public <T> T intercept(StatementInvocation<T> invocation) throws SQLException {
+			final StatementExecuteEvent event = new StatementExecuteEvent();
+			event.begin();
+			try {
+				return invocation.proceed();
+			} finally {
+				event.end();
+				if (event.shouldCommit()) {
+					event.setContext(context);
+					event.setSql(SQLFingerprint.of(invocation.getSql()));
+					event.commit();
+				}
+			}
+		}
+
+	}
+
+}
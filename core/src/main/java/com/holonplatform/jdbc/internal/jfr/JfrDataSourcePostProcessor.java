@@ -0,0 +1,77 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.jfr;
+
+import jakarta.annotation.Priority;
+import javax.sql.DataSource;
+
+import com.holonplatform.core.config.ConfigPropertySet.ConfigurationException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.DataSourcePostProcessor;
+import com.holonplatform.jdbc.internal.InterceptingDataSource;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+
+/**
+ * A {@link DataSourcePostProcessor} which decorates the DataSource to emit the connection and statement lifecycle Java
+ * Flight Recorder events when the {@link DataSourceConfigProperties#JFR_ENABLED} configuration property is
+ * <code>true</code>.
+ * 
+ * @since 6.0.3
+ */
+@Priority(600)
+public class JfrDataSourcePostProcessor implements DataSourcePostProcessor {
+
+	private static final long serialVersionUID = 5204918867315524471L;
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#postProcessDataSource(javax.sql.DataSource,
+	 * java.lang.String, com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public void postProcessDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		// nothing to do
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#decorateDataSource(javax.sql.DataSource, java.lang.String,
+	 * com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public DataSource decorateDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		if (!configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.JFR_ENABLED, Boolean.FALSE)) {
+			return dataSource;
+		}
+		final JdbcEventContext context = new JdbcEventContext(
+				configurationProperties.getDataContextId().orElse(null), typeName);
+
+		LOGGER.debug(() -> "Installed JFR events on DataSource of type [" + typeName + "] - data context id: "
+				+ context.getDataContextId());
+
+		return InterceptingDataSource.decorate(dataSource, ds -> new JfrDataSource(ds, context),
+				JfrDataSource.createStatementInterceptor(context));
+	}
+
+}
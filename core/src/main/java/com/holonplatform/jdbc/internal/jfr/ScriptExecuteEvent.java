@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event which records a SQL script execution.
+ * 
+ * @since 6.0.3
+ */
+@Name("com.holonplatform.jdbc.ScriptExecute")
+@Label("Script Execute")
+@Description("SQL script execution")
+public class ScriptExecuteEvent extends JdbcEvent {
+
+	@Label("Statements")
+	int statements;
+
+	/**
+	 * Set the number of statements of the script.
+	 * @param statements The script statements count
+	 */
+	public void setStatements(int statements) {
+		this.statements = statements;
+	}
+
+}
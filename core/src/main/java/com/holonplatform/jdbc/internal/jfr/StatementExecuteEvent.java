@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event which records a statement execution.
+ * 
+ * @since 6.0.3
+ */
+@Name("com.holonplatform.jdbc.StatementExecute")
+@Label("Statement Execute")
+@Description("Statement execution")
+public class StatementExecuteEvent extends JdbcEvent {
+
+	@Label("SQL Fingerprint")
+	String sql;
+
+	/**
+	 * Set the fingerprint of the executed SQL.
+	 * @param sql The SQL fingerprint
+	 */
+	public void setSql(String sql) {
+		this.sql = sql;
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.resilience;
+
+/**
+ * Holds the deadline of the connection acquisition in progress in the current thread, if any, which is used to bound
+ * the connection acquisition waits.
+ * <p>
+ * The acquisition deadline is bound by the {@link DeadlineDataSource} while obtaining a connection, so that the
+ * deadline lookup is performed only once for each connection request.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public final class AcquisitionDeadline {
+
+	private static final ThreadLocal<Long> EXPIRATION = new ThreadLocal<>();
+
+	private AcquisitionDeadline() {
+	}
+
+	/**
+	 * Bind given expiration time to the current thread.
+	 * @param expiration The expiration time, as a {@link System#nanoTime()} value
+	 * @return The previously bound expiration time, <code>null</code> if none
+	 */
+	static Long bind(long expiration) {
+		final Long previous = EXPIRATION.get();
+		EXPIRATION.set(expiration);
+		return previous;
+	}
+
+	/**
+	 * Restore the current thread expiration time which was bound before the last {@link #bind(long)} call.
+	 * @param previous The previously bound expiration time, as returned by {@link #bind(long)}, <code>null</code> to
+	 *        remove the current thread expiration time
+	 */
+	static void unbind(Long previous) {
+		if (previous != null) {
+			EXPIRATION.set(previous);
+		} else {
+			EXPIRATION.remove();
+		}
+	}
+
+	/**
+	 * Bound given wait time to the time remaining before the current acquisition deadline, if any.
+	 * @param waitNanos The wait time, in nanoseconds
+	 * @return The bounded wait time, in nanoseconds
+	 */
+	public static long bound(long waitNanos) {
+		final Long expiration = EXPIRATION.get();
+		if (expiration != null) {
+			return Math.min(waitNanos, Math.max(0L, expiration - System.nanoTime()));
+		}
+		return waitNanos;
+	}
+
+}
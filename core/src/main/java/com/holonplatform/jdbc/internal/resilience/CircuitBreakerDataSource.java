@@ -0,0 +1,142 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.resilience;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.exceptions.CircuitBreakerOpenException;
+import com.holonplatform.jdbc.exceptions.ConnectionRequestRejectedException;
+import com.holonplatform.jdbc.internal.DelegatingDataSource;
+import com.holonplatform.jdbc.resilience.CircuitBreaker;
+
+/**
+ * A {@link DataSource} decorator which guards the connection acquisition using a {@link CircuitBreaker}.
+ * <p>
+ * The {@link CircuitBreaker} can be obtained using the {@link #unwrap(Class)} method.
+ * </p>
+ * <p>
+ * The connection requests rejected by the decorated DataSource with a {@link ConnectionRequestRejectedException} are
+ * not counted as failures.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class CircuitBreakerDataSource extends DelegatingDataSource {
+
+	/**
+	 * Circuit breaker
+	 */
+	private final DefaultCircuitBreaker circuitBreaker;
+
+	/**
+	 * Constructor.
+	 * @param delegate Delegate DataSource (not null)
+	 * @param circuitBreaker Circuit breaker (not null)
+	 */
+	public CircuitBreakerDataSource(DataSource delegate, DefaultCircuitBreaker circuitBreaker) {
+		super(delegate);
+		ObjectUtils.argumentNotNull(circuitBreaker, "CircuitBreaker must be not null");
+		this.circuitBreaker = circuitBreaker;
+	}
+
+	/**
+	 * Get the circuit breaker.
+	 * @return the circuit breaker
+	 */
+	public CircuitBreaker getCircuitBreaker() {
+		return circuitBreaker;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection()
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		checkPermission();
+		final long start = System.nanoTime();
+		try {
+			final Connection connection = super.getConnection();
+			circuitBreaker.onSuccess(System.nanoTime() - start);
+			return connection;
+		} catch (ConnectionRequestRejectedException e) {
+			circuitBreaker.onIgnored();
+			throw e;
+		} catch (SQLException | RuntimeException e) {
+			circuitBreaker.onFailure();
+			throw e;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		checkPermission();
+		final long start = System.nanoTime();
+		try {
+			final Connection connection = super.getConnection(username, password);
+			circuitBreaker.onSuccess(System.nanoTime() - start);
+			return connection;
+		} catch (ConnectionRequestRejectedException e) {
+			circuitBreaker.onIgnored();
+			throw e;
+		} catch (SQLException | RuntimeException e) {
+			circuitBreaker.onFailure();
+			throw e;
+		}
+	}
+
+	/**
+	 * Check whether the connection acquisition is permitted by the circuit breaker.
+	 * @throws CircuitBreakerOpenException If the circuit is open
+	 */
+	private void checkPermission() throws CircuitBreakerOpenException {
+		if (!circuitBreaker.tryAcquirePermission()) {
+			throw new CircuitBreakerOpenException("Connection request rejected: the circuit breaker ["
+					+ circuitBreaker.getName() + "] is " + circuitBreaker.getState());
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#unwrap(java.lang.Class)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(circuitBreaker)) {
+			return (T) circuitBreaker;
+		}
+		return super.unwrap(iface);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#isWrapperFor(java.lang.Class)
+	 */
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(circuitBreaker) || super.isWrapperFor(iface);
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.resilience;
+
+import jakarta.annotation.Priority;
+import javax.sql.DataSource;
+
+import com.holonplatform.core.config.ConfigPropertySet.ConfigurationException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.DataSourcePostProcessor;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+import com.holonplatform.jdbc.resilience.CircuitBreaker;
+
+/**
+ * A {@link DataSourcePostProcessor} which decorates the DataSource with a {@link CircuitBreaker} when the
+ * {@link DataSourceConfigProperties#CIRCUIT_BREAKER_ENABLED} configuration property is <code>true</code>.
+ * 
+ * @since 6.0.3
+ */
+@Priority(1300)
+public class CircuitBreakerDataSourcePostProcessor implements DataSourcePostProcessor {
+
+	private static final long serialVersionUID = -3902146482427130541L;
+
+	/**
+	 * Default circuit breaker name, used when no data context id is available
+	 */
+	private static final String DEFAULT_NAME = "default";
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#postProcessDataSource(javax.sql.DataSource,
+	 * java.lang.String, com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public void postProcessDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		// nothing to do
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#decorateDataSource(javax.sql.DataSource, java.lang.String,
+	 * com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public DataSource decorateDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		if (!configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.CIRCUIT_BREAKER_ENABLED,
+				Boolean.FALSE)) {
+			return dataSource;
+		}
+		final String name = configurationProperties.getDataContextId().orElse(DEFAULT_NAME);
+		try {
+			final DefaultCircuitBreaker circuitBreaker = new DefaultCircuitBreaker(name,
+					configurationProperties.getConfigPropertyValue(
+							DataSourceConfigProperties.CIRCUIT_BREAKER_FAILURE_THRESHOLD,
+							DataSourceConfigProperties.DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD),
+					configurationProperties.getConfigPropertyValue(
+							DataSourceConfigProperties.CIRCUIT_BREAKER_SLOW_ACQUISITION_THRESHOLD, 0L),
+					configurationProperties.getConfigPropertyValue(
+							DataSourceConfigProperties.CIRCUIT_BREAKER_OPEN_DURATION,
+							DataSourceConfigProperties.DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION),
+					configurationProperties
+							.getConfigPropertyValue(DataSourceConfigProperties.CIRCUIT_BREAKER_HALF_OPEN_PROBES, 1));
+
+			LOGGER.debug(() -> "Installed circuit breaker on DataSource of type [" + typeName + "]: " + circuitBreaker);
+
+			return new CircuitBreakerDataSource(dataSource, circuitBreaker);
+		} catch (IllegalArgumentException e) {
+			throw new ConfigurationException(
+					"Invalid circuit breaker configuration for DataSource [Data context id: " + name + "]", e);
+		}
+	}
+
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.resilience;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.SQLTransientException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.exceptions.ConcurrencyLimitExceededException;
+import com.holonplatform.jdbc.internal.DelegatingConnection;
+import com.holonplatform.jdbc.internal.DelegatingDataSource;
+import com.holonplatform.jdbc.resilience.ConcurrencyLimiter;
+
+/**
+ * A {@link DataSource} which limits the concurrent connection leases using a {@link DefaultConcurrencyLimiter}.
+ * <p>
+ * A lease starts when the connection is requested and ends when the connection is closed. A connection request which
+ * fails with a {@link SQLTransientException}, such as a connection pool timeout, is recorded as dropped.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class ConcurrencyLimiterDataSource extends DelegatingDataSource {
+
+	/**
+	 * Concurrency limiter
+	 */
+	private final DefaultConcurrencyLimiter limiter;
+
+	/**
+	 * Constructor.
+	 * @param delegate Delegate DataSource (not null)
+	 * @param limiter Concurrency limiter (not null)
+	 */
+	public ConcurrencyLimiterDataSource(DataSource delegate, DefaultConcurrencyLimiter limiter) {
+		super(delegate);
+		ObjectUtils.argumentNotNull(limiter, "ConcurrencyLimiter must be not null");
+		this.limiter = limiter;
+	}
+
+	/**
+	 * Get the concurrency limiter.
+	 * @return the concurrency limiter
+	 */
+	public ConcurrencyLimiter getConcurrencyLimiter() {
+		return limiter;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection()
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		acquire();
+		final long start = System.nanoTime();
+		try {
+			return new LimitedConnection(super.getConnection(), start);
+		} catch (SQLException | RuntimeException e) {
+			onAcquisitionFailure(e, start);
+			throw e;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		acquire();
+		final long start = System.nanoTime();
+		try {
+			return new LimitedConnection(super.getConnection(username, password), start);
+		} catch (SQLException | RuntimeException e) {
+			onAcquisitionFailure(e, start);
+			throw e;
+		}
+	}
+
+	/**
+	 * Acquire a lease from the concurrency limiter.
+	 * @throws SQLException If the lease cannot be acquired
+	 */
+	private void acquire() throws SQLException {
+		try {
+			if (!limiter.tryAcquire()) {
+				throw new ConcurrencyLimitExceededException("Connection request rejected: the concurrency limiter ["
+						+ limiter.getName() + "] limit of " + limiter.getLimit() + " concurrent leases was reached");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Interrupted while waiting for a connection lease", e);
+		}
+	}
+
+	/**
+	 * Release the lease of a failed connection request.
+	 * @param error The connection request error
+	 * @param start The lease start time
+	 */
+	private void onAcquisitionFailure(Exception error, long start) {
+		if (error instanceof SQLTransientException) {
+			limiter.release(System.nanoTime() - start, true);
+		} else {
+			limiter.release();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#unwrap(java.lang.Class)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(limiter)) {
+			return (T) limiter;
+		}
+		return super.unwrap(iface);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#isWrapperFor(java.lang.Class)
+	 */
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(limiter) || super.isWrapperFor(iface);
+	}
+
+	/**
+	 * A {@link Connection} which releases the limiter lease when closed or aborted.
+	 */
+	private final class LimitedConnection extends DelegatingConnection {
+
+		private final long start;
+
+		private final AtomicBoolean released = new AtomicBoolean(false);
+
+		LimitedConnection(Connection delegate, long start) {
+			super(delegate);
+			this.start = start;
+		}
+
+		@Override
+		public void close() throws SQLException {
+			try {
+				super.close();
+			} finally {
+				release();
+			}
+		}
+
+		@Override
+		public void abort(Executor executor) throws SQLException {
+			try {
+				super.abort(executor);
+			} finally {
+				release();
+			}
+		}
+
+		private void release() {
+			if (released.compareAndSet(false, true)) {
+				limiter.release(System.nanoTime() - start, false);
+			}
+		}
+
+	}
+
+}
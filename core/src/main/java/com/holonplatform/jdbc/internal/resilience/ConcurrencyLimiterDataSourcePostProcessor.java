@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.resilience;
+
+import jakarta.annotation.Priority;
+import javax.sql.DataSource;
+
+import com.holonplatform.core.config.ConfigPropertySet.ConfigurationException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.DataSourcePostProcessor;
+import com.holonplatform.jdbc.internal.InterceptingDataSource;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+import com.holonplatform.jdbc.resilience.ConcurrencyLimiter;
+import com.holonplatform.jdbc.resilience.ConcurrencyLimiter.Algorithm;
+
+/**
+ * A {@link DataSourcePostProcessor} which decorates the DataSource with a {@link ConcurrencyLimiter} when the
+ * {@link DataSourceConfigProperties#CONCURRENCY_LIMIT_ENABLED} property is <code>true</code>.
+ * <p>
+ * The limiter is installed inside the circuit breaker, if any: the requests rejected by the limiter are not counted as
+ * connection acquisition failures by the circuit breaker.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+@Priority(1000)
+public class ConcurrencyLimiterDataSourcePostProcessor implements DataSourcePostProcessor {
+
+	private static final long serialVersionUID = 4428810357722946187L;
+
+	/**
+	 * Default limiter name, used when no data context id is available
+	 */
+	private static final String DEFAULT_NAME = "default";
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#postProcessDataSource(javax.sql.DataSource,
+	 * java.lang.String, com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public void postProcessDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		// nothing to do
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#decorateDataSource(javax.sql.DataSource, java.lang.String,
+	 * com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public DataSource decorateDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		if (!configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.CONCURRENCY_LIMIT_ENABLED,
+				Boolean.FALSE)) {
+			return dataSource;
+		}
+		final String name = configurationProperties.getDataContextId().orElse(DEFAULT_NAME);
+		try {
+			final Algorithm algorithm = configurationProperties
+					.getConfigPropertyValue(DataSourceConfigProperties.CONCURRENCY_LIMIT_ALGORITHM, Algorithm.GRADIENT);
+			final int initialLimit = configurationProperties.getConfigPropertyValue(
+					DataSourceConfigProperties.CONCURRENCY_LIMIT_INITIAL_LIMIT,
+					configurationProperties.getMaxPoolSize());
+			final int minLimit = configurationProperties
+					.getConfigPropertyValue(DataSourceConfigProperties.CONCURRENCY_LIMIT_MIN_LIMIT, 1);
+			final int maxLimit = configurationProperties.getConfigPropertyValue(
+					DataSourceConfigProperties.CONCURRENCY_LIMIT_MAX_LIMIT,
+					Math.max(initialLimit, DataSourceConfigProperties.DEFAULT_CONCURRENCY_LIMIT_MAX_LIMIT));
+
+			final LimitAlgorithm limitAlgorithm = (algorithm == Algorithm.VEGAS)
+					? new VegasLimitAlgorithm(initialLimit, minLimit, maxLimit)
+					: new GradientLimitAlgorithm(initialLimit, minLimit, maxLimit);
+
+			final DefaultConcurrencyLimiter limiter = new DefaultConcurrencyLimiter(name, algorithm, limitAlgorithm,
+					configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.CONCURRENCY_LIMIT_MAX_WAIT,
+							0L));
+
+			LOGGER.debug(() -> "Installed concurrency limiter on DataSource of type [" + typeName + "]: " + limiter);
+
+			return InterceptingDataSource.decorate(dataSource, ds -> new ConcurrencyLimiterDataSource(ds, limiter));
+		} catch (IllegalArgumentException e) {
+			throw new ConfigurationException(
+					"Invalid concurrency limiter configuration for DataSource [Data context id: " + name + "]", e);
+		}
+	}
+
+}
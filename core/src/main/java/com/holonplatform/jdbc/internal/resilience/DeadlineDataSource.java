@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.resilience;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.jdbc.exceptions.DeadlineExceededException;
+import com.holonplatform.jdbc.internal.DelegatingDataSource;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+import com.holonplatform.jdbc.internal.QueryTimeoutConnection;
+import com.holonplatform.jdbc.resilience.Deadline;
+
+/**
+ * A {@link DataSource} which takes into account the current {@link Deadline}, if any.
+ * <p>
+ * The connection requests made after the deadline expiration are rejected with a {@link DeadlineExceededException},
+ * without reaching the concrete DataSource. Otherwise, the deadline is bound to the current thread using
+ * {@link AcquisitionDeadline} while obtaining the connection, so that the connection acquisition guards can bound
+ * their wait time, and the remaining time is used as query timeout of the statements created from the connection.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class DeadlineDataSource extends DelegatingDataSource {
+
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/**
+	 * Rejected requests
+	 */
+	private final LongAdder rejected = new LongAdder();
+
+	/**
+	 * Constructor.
+	 * @param delegate Delegate DataSource (not null)
+	 */
+	public DeadlineDataSource(DataSource delegate) {
+		super(delegate);
+	}
+
+	/**
+	 * Get the number of connection requests rejected because the deadline was expired.
+	 * @return the rejected requests count
+	 */
+	public long getRejectedCount() {
+		return rejected.sum();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection()
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		final Optional<Deadline> deadline = Deadline.getCurrent();
+		if (!deadline.isPresent()) {
+			return super.getConnection();
+		}
+		final long expiration = checkDeadline(deadline.get());
+		final Long previous = AcquisitionDeadline.bind(expiration);
+		try {
+			return new QueryTimeoutConnection(super.getConnection(), expiration);
+		} finally {
+			AcquisitionDeadline.unbind(previous);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		final Optional<Deadline> deadline = Deadline.getCurrent();
+		if (!deadline.isPresent()) {
+			return super.getConnection(username, password);
+		}
+		final long expiration = checkDeadline(deadline.get());
+		final Long previous = AcquisitionDeadline.bind(expiration);
+		try {
+			return new QueryTimeoutConnection(super.getConnection(username, password), expiration);
+		} finally {
+			AcquisitionDeadline.unbind(previous);
+		}
+	}
+
+	/**
+	 * Check whether given deadline is expired.
+	 * @param deadline The deadline to check
+	 * @return The deadline expiration time, as a {@link System#nanoTime()} value
+	 * @throws DeadlineExceededException If the deadline is expired
+	 */
+	private long checkDeadline(Deadline deadline) throws DeadlineExceededException {
+		final long expiration = (deadline instanceof DefaultDeadline) ? ((DefaultDeadline) deadline).getExpiration()
+				: System.nanoTime() + deadline.getRemaining(TimeUnit.NANOSECONDS);
+		if (deadline.isExpired()) {
+			rejected.increment();
+			LOGGER.debug(() -> "Connection request rejected: the deadline is expired");
+			throw new DeadlineExceededException("Connection request rejected: the deadline is expired");
+		}
+		return expiration;
+	}
+
+}
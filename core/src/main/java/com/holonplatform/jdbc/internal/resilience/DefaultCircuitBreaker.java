@@ -0,0 +1,373 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.resilience;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.holonplatform.core.Registration;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+import com.holonplatform.jdbc.resilience.CircuitBreaker;
+
+/**
+ * Default {@link CircuitBreaker} implementation.
+ * <p>
+ * The permission check and the outcome recording do not acquire any lock while the circuit is closed, the state
+ * transitions are serialized.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class DefaultCircuitBreaker implements CircuitBreaker {
+
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/**
+	 * Name
+	 */
+	private final String name;
+
+	/**
+	 * Consecutive failures to open the circuit
+	 */
+	private final int failureThreshold;
+
+	/**
+	 * Slow acquisition threshold in nanoseconds, 0 if disabled
+	 */
+	private final long slowAcquisitionThreshold;
+
+	/**
+	 * Open state duration in nanoseconds
+	 */
+	private final long openDuration;
+
+	/**
+	 * Half-open state probes
+	 */
+	private final int halfOpenProbes;
+
+	/**
+	 * Current state
+	 */
+	private volatile State state = State.CLOSED;
+
+	/**
+	 * Last open state transition time, in nanoseconds
+	 */
+	private volatile long openedAt;
+
+	/**
+	 * Consecutive failures count
+	 */
+	private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+	/**
+	 * Available half-open probes
+	 */
+	private final AtomicInteger availableProbes = new AtomicInteger();
+
+	/**
+	 * Succeeded half-open probes
+	 */
+	private final AtomicInteger succeededProbes = new AtomicInteger();
+
+	/**
+	 * State change listeners
+	 */
+	private final List<StateChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Constructor.
+	 * @param name Circuit breaker name (not null)
+	 * @param failureThreshold Consecutive failures to open the circuit (greater than 0)
+	 * @param slowAcquisitionThreshold Slow acquisition threshold in milliseconds, 0 to disable
+	 * @param openDuration Open state duration in milliseconds
+	 * @param halfOpenProbes Half-open state probes (greater than 0)
+	 */
+	public DefaultCircuitBreaker(String name, int failureThreshold, long slowAcquisitionThreshold, long openDuration,
+			int halfOpenProbes) {
+		super();
+		ObjectUtils.argumentNotNull(name, "Circuit breaker name must be not null");
+		if (failureThreshold < 1) {
+			throw new IllegalArgumentException("Circuit breaker failure threshold must be greater than 0");
+		}
+		if (halfOpenProbes < 1) {
+			throw new IllegalArgumentException("Circuit breaker half-open probes must be greater than 0");
+		}
+		this.name = name;
+		this.failureThreshold = failureThreshold;
+		this.slowAcquisitionThreshold = (slowAcquisitionThreshold > 0)
+				? TimeUnit.MILLISECONDS.toNanos(slowAcquisitionThreshold)
+				: 0L;
+		this.openDuration = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, openDuration));
+		this.halfOpenProbes = halfOpenProbes;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.CircuitBreaker#getName()
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.CircuitBreaker#getState()
+	 */
+	@Override
+	public State getState() {
+		return state;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.CircuitBreaker#reset()
+	 */
+	@Override
+	public void reset() {
+		transition(null, State.CLOSED);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.jdbc.resilience.CircuitBreaker#addStateChangeListener(com.holonplatform.jdbc.resilience.
+	 * CircuitBreaker.StateChangeListener)
+	 */
+	@Override
+	public Registration addStateChangeListener(StateChangeListener listener) {
+		ObjectUtils.argumentNotNull(listener, "Listener must be not null");
+		listeners.add(listener);
+		return new ListenerRegistration(listeners, listener);
+	}
+
+	/**
+	 * Checks whether a connection acquisition is permitted. When <code>true</code> is returned, one of the
+	 * {@link #onSuccess(long)}, {@link #onFailure()} or {@link #onIgnored()} methods must be invoked to record the
+	 * acquisition outcome.
+	 * @return <code>true</code> if the acquisition is permitted, <code>false</code> if it must be rejected
+	 */
+	public boolean tryAcquirePermission() {
+		final State current = state;
+		if (current == State.CLOSED) {
+			return true;
+		}
+		if (current == State.OPEN) {
+			if (System.nanoTime() - openedAt < openDuration) {
+				return false;
+			}
+			transition(State.OPEN, State.HALF_OPEN);
+		}
+		// half open: consume a probe
+		int probes;
+		do {
+			probes = availableProbes.get();
+			if (probes <= 0) {
+				return false;
+			}
+		} while (!availableProbes.compareAndSet(probes, probes - 1));
+		return true;
+	}
+
+	/**
+	 * Record a successful connection acquisition.
+	 * @param elapsedNanos The acquisition time in nanoseconds
+	 */
+	public void onSuccess(long elapsedNanos) {
+		if (slowAcquisitionThreshold > 0 && elapsedNanos > slowAcquisitionThreshold) {
+			LOGGER.debug(() -> "Circuit breaker [" + name + "]: slow connection acquisition ["
+					+ TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms] counted as failure");
+			onFailure();
+			return;
+		}
+		final State current = state;
+		if (current == State.CLOSED) {
+			// avoid a shared write when not needed
+			if (consecutiveFailures.get() != 0) {
+				consecutiveFailures.set(0);
+			}
+		} else if (current == State.HALF_OPEN) {
+			if (succeededProbes.incrementAndGet() >= halfOpenProbes) {
+				transition(State.HALF_OPEN, State.CLOSED);
+			}
+		}
+	}
+
+	/**
+	 * Record a failed connection acquisition.
+	 */
+	public void onFailure() {
+		final State current = state;
+		if (current == State.CLOSED) {
+			if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+				transition(State.CLOSED, State.OPEN);
+			}
+		} else if (current == State.HALF_OPEN) {
+			transition(State.HALF_OPEN, State.OPEN);
+		}
+	}
+
+	/**
+	 * Record a connection acquisition which was rejected by another guard, without affecting the circuit state. If
+	 * the acquisition was a half-open state probe, the probe is made available again.
+	 */
+	public void onIgnored() {
+		if (state == State.HALF_OPEN) {
+			availableProbes.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Perform a state transition.
+	 * @param from Expected current state, <code>null</code> for any
+	 * @param to Target state
+	 */
+	private void transition(State from, State to) {
+		final State previous;
+		synchronized (this) {
+			previous = state;
+			if ((from != null && previous != from) || previous == to) {
+				return;
+			}
+			switch (to) {
+			case OPEN:
+				openedAt = System.nanoTime();
+				break;
+			case HALF_OPEN:
+				succeededProbes.set(0);
+				availableProbes.set(halfOpenProbes);
+				break;
+			case CLOSED:
+			default:
+				consecutiveFailures.set(0);
+				availableProbes.set(0);
+				break;
+			}
+			state = to;
+		}
+		if (to == State.OPEN) {
+			LOGGER.warn("Circuit breaker [" + name + "] opened: connection requests will fail fast for "
+					+ TimeUnit.NANOSECONDS.toMillis(openDuration) + " ms");
+		} else {
+			LOGGER.info("Circuit breaker [" + name + "] state changed from " + previous + " to " + to);
+		}
+		fireStateChange(previous, to);
+	}
+
+	/**
+	 * Notify the listeners about a state change.
+	 * @param from Previous state
+	 * @param to New state
+	 */
+	private void fireStateChange(State from, State to) {
+		if (!listeners.isEmpty()) {
+			final StateChangeEvent event = new DefaultStateChangeEvent(this, from, to, System.currentTimeMillis());
+			for (StateChangeListener listener : listeners) {
+				try {
+					listener.onStateChange(event);
+				} catch (Exception e) {
+					LOGGER.warn("Circuit breaker [" + name + "]: state change listener [" + listener + "] failed", e);
+				}
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultCircuitBreaker [name=" + name + ", state=" + state + "]";
+	}
+
+	/**
+	 * Default {@link StateChangeEvent} implementation.
+	 */
+	private static final class DefaultStateChangeEvent implements StateChangeEvent {
+
+		private final CircuitBreaker circuitBreaker;
+		private final State fromState;
+		private final State toState;
+		private final long timestamp;
+
+		DefaultStateChangeEvent(CircuitBreaker circuitBreaker, State fromState, State toState, long timestamp) {
+			super();
+			this.circuitBreaker = circuitBreaker;
+			this.fromState = fromState;
+			this.toState = toState;
+			this.timestamp = timestamp;
+		}
+
+		@Override
+		public CircuitBreaker getCircuitBreaker() {
+			return circuitBreaker;
+		}
+
+		@Override
+		public State getFromState() {
+			return fromState;
+		}
+
+		@Override
+		public State getToState() {
+			return toState;
+		}
+
+		@Override
+		public long getTimestamp() {
+			return timestamp;
+		}
+
+		@Override
+		public String toString() {
+			return "StateChangeEvent [circuitBreaker=" + circuitBreaker.getName() + ", from=" + fromState + ", to="
+					+ toState + "]";
+		}
+
+	}
+
+	/**
+	 * State change listener registration.
+	 */
+	private static final class ListenerRegistration implements Registration {
+
+		private static final long serialVersionUID = -7681896512016937911L;
+
+		private final transient List<StateChangeListener> listeners;
+		private final transient StateChangeListener listener;
+
+		ListenerRegistration(List<StateChangeListener> listeners, StateChangeListener listener) {
+			super();
+			this.listeners = listeners;
+			this.listener = listener;
+		}
+
+		@Override
+		public void remove() {
+			listeners.remove(listener);
+		}
+
+	}
+
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+import com.holonplatform.jdbc.resilience.ConcurrencyLimiter;
+
+/**
+ * Default {@link ConcurrencyLimiter} implementation.
+ * <p>
+ * The lease admission is lock-free while the limit is not reached. When it is reached, the request is rejected
+ * immediately or, if a max wait time is configured, waits for a lease release. The limit updates are serialized and a
+ * latency sample is discarded if another thread is already updating the limit, so the lease release never blocks.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class DefaultConcurrencyLimiter implements ConcurrencyLimiter {
+
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/**
+	 * Name
+	 */
+	private final String name;
+
+	/**
+	 * Algorithm type
+	 */
+	private final Algorithm algorithm;
+
+	/**
+	 * Limit algorithm
+	 */
+	private final LimitAlgorithm limitAlgorithm;
+
+	/**
+	 * Max wait time in nanoseconds, 0 to reject immediately
+	 */
+	private final long maxWait;
+
+	/**
+	 * Current limit
+	 */
+	private volatile int limit;
+
+	/**
+	 * Active leases
+	 */
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	/**
+	 * Rejected requests
+	 */
+	private final LongAdder rejected = new LongAdder();
+
+	/**
+	 * Limit update lock
+	 */
+	private final ReentrantLock updateLock = new ReentrantLock();
+
+	/**
+	 * Waiting requests lock
+	 */
+	private final ReentrantLock waitLock = new ReentrantLock();
+
+	/**
+	 * Lease availability condition
+	 */
+	private final Condition available = waitLock.newCondition();
+
+	/**
+	 * Waiting requests count
+	 */
+	private final AtomicInteger waiters = new AtomicInteger();
+
+	/**
+	 * Constructor.
+	 * @param name Limiter name (not null)
+	 * @param algorithm Algorithm type (not null)
+	 * @param limitAlgorithm Limit algorithm (not null)
+	 * @param maxWait Max time to wait for a lease when the limit is reached, in milliseconds. <code>0</code> to reject
+	 *        the requests immediately
+	 */
+	public DefaultConcurrencyLimiter(String name, Algorithm algorithm, LimitAlgorithm limitAlgorithm, long maxWait) {
+		super();
+		ObjectUtils.argumentNotNull(name, "Concurrency limiter name must be not null");
+		ObjectUtils.argumentNotNull(algorithm, "Concurrency limiter algorithm must be not null");
+		ObjectUtils.argumentNotNull(limitAlgorithm, "Limit algorithm must be not null");
+		this.name = name;
+		this.algorithm = algorithm;
+		this.limitAlgorithm = limitAlgorithm;
+		this.maxWait = (maxWait > 0) ? TimeUnit.MILLISECONDS.toNanos(maxWait) : 0L;
+		this.limit = limitAlgorithm.getLimit();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.ConcurrencyLimiter#getName()
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.ConcurrencyLimiter#getAlgorithm()
+	 */
+	@Override
+	public Algorithm getAlgorithm() {
+		return algorithm;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.ConcurrencyLimiter#getLimit()
+	 */
+	@Override
+	public int getLimit() {
+		return limit;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.ConcurrencyLimiter#getInFlight()
+	 */
+	@Override
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.ConcurrencyLimiter#getRejectedCount()
+	 */
+	@Override
+	public long getRejectedCount() {
+		return rejected.sum();
+	}
+
+	/**
+	 * Try to acquire a lease. When <code>true</code> is returned, the {@link #release(long, boolean)} or the
+	 * {@link #release()} method must be invoked when the lease ends.
+	 * @return <code>true</code> if the lease was acquired, <code>false</code> if the request must be rejected
+	 * @throws InterruptedException If the current thread was interrupted while waiting for a lease
+	 */
+	public boolean tryAcquire() throws InterruptedException {
+		if (tryIncrement()) {
+			return true;
+		}
+		if (maxWait > 0 && awaitLease()) {
+			return true;
+		}
+		rejected.increment();
+		return false;
+	}
+
+	/**
+	 * Release a lease, using its latency to update the limit.
+	 * @param rtt The lease latency, in nanoseconds
+	 * @param dropped Whether the lease request failed because of an overload condition
+	 */
+	public void release(long rtt, boolean dropped) {
+		final int current = inFlight.getAndDecrement();
+		if (updateLock.tryLock()) {
+			try {
+				final int newLimit = limitAlgorithm.update(rtt, current, dropped);
+				if (newLimit != limit) {
+					final int previous = limit;
+					limit = newLimit;
+					LOGGER.debug(() -> "Concurrency limiter [" + name + "]: limit changed from " + previous + " to "
+							+ newLimit);
+				}
+			} finally {
+				updateLock.unlock();
+			}
+		}
+		signalWaiters();
+	}
+
+	/**
+	 * Release a lease without updating the limit.
+	 */
+	public void release() {
+		inFlight.decrementAndGet();
+		signalWaiters();
+	}
+
+	/**
+	 * Increment the active leases if the limit is not reached.
+	 * @return Whether the active leases were incremented
+	 */
+	private boolean tryIncrement() {
+		int current;
+		do {
+			current = inFlight.get();
+			if (current >= limit) {
+				return false;
+			}
+		} while (!inFlight.compareAndSet(current, current + 1));
+		return true;
+	}
+
+	/**
+	 * Wait for a lease, up to the max wait time or the current acquisition deadline.
+	 * @return Whether the lease was acquired
+	 * @throws InterruptedException If the current thread was interrupted while waiting
+	 */
+	private boolean awaitLease() throws InterruptedException {
+		long remaining = AcquisitionDeadline.bound(maxWait);
+		waiters.incrementAndGet();
+		try {
+			waitLock.lockInterruptibly();
+			try {
+				while (!tryIncrement()) {
+					if (remaining <= 0) {
+						return false;
+					}
+					remaining = available.awaitNanos(remaining);
+				}
+				return true;
+			} finally {
+				waitLock.unlock();
+			}
+		} finally {
+			waiters.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Signal the waiting requests, if any, that a lease may be available.
+	 */
+	private void signalWaiters() {
+		if (waiters.get() > 0) {
+			waitLock.lock();
+			try {
+				available.signalAll();
+			} finally {
+				waitLock.unlock();
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultConcurrencyLimiter [name=" + name + ", algorithm=" + algorithm + ", limit=" + limit
+				+ ", inFlight=" + inFlight.get() + "]";
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.resilience;
+
+import java.util.concurrent.TimeUnit;
+
+import com.holonplatform.jdbc.resilience.Deadline;
+
+/**
+ * Default {@link Deadline} implementation, using the {@link System#nanoTime()} time source.
+ * 
+ * @since 6.0.3
+ */
+public class DefaultDeadline implements Deadline {
+
+	/**
+	 * Expiration time, in nanoseconds
+	 */
+	private final long expiration;
+
+	/**
+	 * Constructor.
+	 * @param expiration Expiration time, as a {@link System#nanoTime()} value
+	 */
+	public DefaultDeadline(long expiration) {
+		super();
+		this.expiration = expiration;
+	}
+
+	/**
+	 * Get the expiration time.
+	 * @return the expiration time, as a {@link System#nanoTime()} value
+	 */
+	public long getExpiration() {
+		return expiration;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.Deadline#getRemaining(java.util.concurrent.TimeUnit)
+	 */
+	@Override
+	public long getRemaining(TimeUnit unit) {
+		return unit.convert(Math.max(0L, expiration - System.nanoTime()), TimeUnit.NANOSECONDS);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.Deadline#isExpired()
+	 */
+	@Override
+	public boolean isExpired() {
+		return expiration - System.nanoTime() <= 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "Deadline [remaining=" + getRemaining(TimeUnit.MILLISECONDS) + " ms]";
+	}
+
+}
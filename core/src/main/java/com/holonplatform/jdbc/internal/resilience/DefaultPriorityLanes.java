@@ -0,0 +1,430 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.resilience;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.ConnectionPriority;
+import com.holonplatform.jdbc.resilience.PriorityLanes;
+
+/**
+ * Default {@link PriorityLanes} implementation.
+ * <p>
+ * The reserved permits of each lane are kept in a dedicated pool, which only the requests of that lane can use, while
+ * the remaining permits are shared by all the lanes. A request takes a permit from the reserved pool of its lane
+ * first, then from the shared pool, and a released permit refills the reserved pool of its lane before being returned
+ * to the shared pool. This way, the reserved share of a lane cannot be used by the other lanes, even when the permits
+ * are acquired without waiting.
+ * </p>
+ * <p>
+ * While no request is waiting, the permits are acquired and released without locking. Otherwise, the released permits
+ * are handed off to the waiting requests under the lock, serving the lanes in priority order.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class DefaultPriorityLanes implements PriorityLanes {
+
+	private static final ConnectionPriority[] PRIORITIES = ConnectionPriority.values();
+
+	/**
+	 * Name
+	 */
+	private final String name;
+
+	/**
+	 * Total permits
+	 */
+	private final int permits;
+
+	/**
+	 * Max wait time in nanoseconds
+	 */
+	private final long maxWait;
+
+	/**
+	 * Lanes, by priority ordinal
+	 */
+	private final Lane[] lanes;
+
+	/**
+	 * Available shared permits
+	 */
+	private final AtomicInteger shared;
+
+	/**
+	 * Total waiting requests
+	 */
+	private final AtomicInteger waiting = new AtomicInteger();
+
+	/**
+	 * Wait queues lock
+	 */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/**
+	 * Constructor.
+	 * @param name Name (not null)
+	 * @param permits Total permits (greater than 0)
+	 * @param maxWait Max time to wait for a permit, in milliseconds
+	 * @param reservedPermits Reserved permits by priority (not null)
+	 */
+	public DefaultPriorityLanes(String name, int permits, long maxWait, Map<ConnectionPriority, Integer> reservedPermits) {
+		super();
+		ObjectUtils.argumentNotNull(name, "Priority lanes name must be not null");
+		ObjectUtils.argumentNotNull(reservedPermits, "Reserved permits must be not null");
+		if (permits < 1) {
+			throw new IllegalArgumentException("Priority lanes permits must be greater than 0");
+		}
+		int totalReserved = 0;
+		this.lanes = new Lane[PRIORITIES.length];
+		for (ConnectionPriority priority : PRIORITIES) {
+			final int reserved = Math.max(0, reservedPermits.getOrDefault(priority, 0));
+			totalReserved += reserved;
+			lanes[priority.ordinal()] = new Lane(priority, reserved);
+		}
+		if (totalReserved > permits) {
+			throw new IllegalArgumentException(
+					"Priority lanes reserved permits [" + totalReserved + "] exceed the total permits [" + permits + "]");
+		}
+		this.name = name;
+		this.permits = permits;
+		this.maxWait = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, maxWait));
+		this.shared = new AtomicInteger(permits - totalReserved);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.PriorityLanes#getName()
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.PriorityLanes#getPermits()
+	 */
+	@Override
+	public int getPermits() {
+		return permits;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.PriorityLanes#getStatistics(com.holonplatform.jdbc.ConnectionPriority)
+	 */
+	@Override
+	public LaneStatistics getStatistics(ConnectionPriority priority) {
+		ObjectUtils.argumentNotNull(priority, "Priority must be not null");
+		return lanes[priority.ordinal()];
+	}
+
+	/**
+	 * Acquire a permit using the lane of given priority. When <code>true</code> is returned, the
+	 * {@link #release(ConnectionPriority)} method must be invoked with the same priority when the lease ends.
+	 * @param priority The request priority (not null)
+	 * @return <code>true</code> if the permit was acquired, <code>false</code> if the max wait time or the current
+	 *         acquisition deadline elapsed
+	 * @throws InterruptedException If the current thread was interrupted while waiting for a permit
+	 */
+	public boolean acquire(ConnectionPriority priority) throws InterruptedException {
+		final Lane lane = lanes[priority.ordinal()];
+		if (waiting.get() == 0 && tryTake(lane)) {
+			lane.onAcquired(0L);
+			return true;
+		}
+		final long start = System.nanoTime();
+		lock.lockInterruptibly();
+		try {
+			// increment the waiting count before checking the available permits, see release()
+			waiting.incrementAndGet();
+			if (tryTake(lane)) {
+				waiting.decrementAndGet();
+				lane.onAcquired(System.nanoTime() - start);
+				return true;
+			}
+			final Waiter waiter = new Waiter(lock.newCondition());
+			lane.enqueue(waiter);
+			long remaining = AcquisitionDeadline.bound(maxWait);
+			try {
+				while (!waiter.granted) {
+					if (remaining <= 0) {
+						lane.remove(waiter);
+						waiting.decrementAndGet();
+						lane.rejected.increment();
+						return false;
+					}
+					remaining = waiter.condition.awaitNanos(remaining);
+				}
+			} catch (InterruptedException e) {
+				if (waiter.granted) {
+					lane.active.decrementAndGet();
+					giveBack(lane);
+					handOff();
+				} else {
+					lane.remove(waiter);
+					waiting.decrementAndGet();
+				}
+				throw e;
+			}
+			// the granting thread already counted the active permit
+			lane.recordWait(System.nanoTime() - start);
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Release a permit acquired using the lane of given priority.
+	 * @param priority The priority used to acquire the permit (not null)
+	 */
+	public void release(ConnectionPriority priority) {
+		final Lane lane = lanes[priority.ordinal()];
+		lane.active.decrementAndGet();
+		if (waiting.get() == 0) {
+			giveBack(lane);
+			// a request may have started waiting in the meantime
+			if (waiting.get() == 0) {
+				return;
+			}
+			lock.lock();
+			try {
+				handOff();
+			} finally {
+				lock.unlock();
+			}
+			return;
+		}
+		lock.lock();
+		try {
+			giveBack(lane);
+			handOff();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Hand off the available permits to the waiting requests, serving the lanes in priority order. Must be invoked
+	 * holding the lock.
+	 */
+	private void handOff() {
+		for (Lane lane : lanes) {
+			while (!lane.queue.isEmpty() && tryTake(lane)) {
+				grant(lane);
+			}
+		}
+	}
+
+	/**
+	 * Grant a permit, already taken, to the first waiting request of given lane. Must be invoked holding the lock.
+	 * @param lane The lane to serve
+	 */
+	private void grant(Lane lane) {
+		final Waiter waiter = lane.dequeue();
+		waiting.decrementAndGet();
+		lane.active.incrementAndGet();
+		waiter.granted = true;
+		waiter.condition.signal();
+	}
+
+	/**
+	 * Try to take an available permit for given lane, from the lane reserved permits first, then from the shared
+	 * permits.
+	 * @param lane The requesting lane
+	 * @return Whether a permit was taken
+	 */
+	private boolean tryTake(Lane lane) {
+		return tryDecrement(lane.unused) || tryDecrement(shared);
+	}
+
+	/**
+	 * Return a permit released by given lane, refilling the lane reserved permits first.
+	 * @param lane The releasing lane
+	 */
+	private void giveBack(Lane lane) {
+		int current;
+		do {
+			current = lane.unused.get();
+			if (current >= lane.reserved) {
+				shared.incrementAndGet();
+				return;
+			}
+		} while (!lane.unused.compareAndSet(current, current + 1));
+	}
+
+	/**
+	 * Decrement given permits counter, if greater than 0.
+	 * @param counter The permits counter
+	 * @return Whether the counter was decremented
+	 */
+	private static boolean tryDecrement(AtomicInteger counter) {
+		int current;
+		do {
+			current = counter.get();
+			if (current <= 0) {
+				return false;
+			}
+		} while (!counter.compareAndSet(current, current - 1));
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultPriorityLanes [name=" + name + ", permits=" + permits + ", shared=" + shared.get()
+				+ ", waiting=" + waiting.get() + "]";
+	}
+
+	/**
+	 * A waiting request.
+	 */
+	private static final class Waiter {
+
+		final Condition condition;
+
+		boolean granted;
+
+		Waiter(Condition condition) {
+			super();
+			this.condition = condition;
+		}
+
+	}
+
+	/**
+	 * A priority lane. The wait queue is guarded by the lanes lock.
+	 */
+	private static final class Lane implements LaneStatistics {
+
+		final ConnectionPriority priority;
+		final int reserved;
+
+		final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+
+		final AtomicInteger unused;
+
+		volatile int waitingCount;
+
+		final AtomicInteger active = new AtomicInteger();
+		final LongAdder acquired = new LongAdder();
+		final LongAdder rejected = new LongAdder();
+		final LongAdder totalWait = new LongAdder();
+		final AtomicLong maxWait = new AtomicLong();
+
+		Lane(ConnectionPriority priority, int reserved) {
+			super();
+			this.priority = priority;
+			this.reserved = reserved;
+			this.unused = new AtomicInteger(reserved);
+		}
+
+		void enqueue(Waiter waiter) {
+			queue.add(waiter);
+			waitingCount = queue.size();
+		}
+
+		Waiter dequeue() {
+			final Waiter waiter = queue.poll();
+			waitingCount = queue.size();
+			return waiter;
+		}
+
+		void remove(Waiter waiter) {
+			queue.remove(waiter);
+			waitingCount = queue.size();
+		}
+
+		void onAcquired(long waitNanos) {
+			active.incrementAndGet();
+			recordWait(waitNanos);
+		}
+
+		void recordWait(long waitNanos) {
+			acquired.increment();
+			if (waitNanos > 0) {
+				totalWait.add(waitNanos);
+				if (waitNanos > maxWait.get()) {
+					maxWait.accumulateAndGet(waitNanos, Math::max);
+				}
+			}
+		}
+
+		@Override
+		public ConnectionPriority getPriority() {
+			return priority;
+		}
+
+		@Override
+		public int getReservedPermits() {
+			return reserved;
+		}
+
+		@Override
+		public int getActive() {
+			return active.get();
+		}
+
+		@Override
+		public int getWaiting() {
+			return waitingCount;
+		}
+
+		@Override
+		public long getAcquiredCount() {
+			return acquired.sum();
+		}
+
+		@Override
+		public long getRejectedCount() {
+			return rejected.sum();
+		}
+
+		@Override
+		public double getAverageWaitTime() {
+			final long count = acquired.sum();
+			return (count > 0) ? (totalWait.sum() / (double) count) / TimeUnit.MILLISECONDS.toNanos(1) : 0d;
+		}
+
+		@Override
+		public long getMaxWaitTime() {
+			return TimeUnit.NANOSECONDS.toMillis(maxWait.get());
+		}
+
+		@Override
+		public String toString() {
+			return "LaneStatistics [priority=" + priority + ", reserved=" + reserved + ", active=" + getActive()
+					+ ", waiting=" + getWaiting() + ", acquired=" + getAcquiredCount() + ", rejected="
+					+ getRejectedCount() + "]";
+		}
+
+	}
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.resilience;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.SQLTransientException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.exceptions.RateLimitExceededException;
+import com.holonplatform.jdbc.exceptions.StatementRateLimitExceededException;
+import com.holonplatform.jdbc.resilience.RateLimiter;
+
+/**
+ * Default {@link RateLimiter} implementation, which uses a {@link GcraTokenBucket} for the connection requests and
+ * one for the statement executions.
+ * 
+ * @since 6.0.3
+ */
+public class DefaultRateLimiter implements RateLimiter {
+
+	/**
+	 * Name
+	 */
+	private final String name;
+
+	/**
+	 * Configuration
+	 */
+	private final Configuration configuration;
+
+	/**
+	 * Connection requests bucket, null if not limited
+	 */
+	private final GcraTokenBucket connectionBucket;
+
+	/**
+	 * Statement executions bucket, null if not limited
+	 */
+	private final GcraTokenBucket statementBucket;
+
+	/**
+	 * Max wait time in nanoseconds
+	 */
+	private final long maxWait;
+
+	/**
+	 * Constructor.
+	 * @param name Rate limiter name (not null)
+	 * @param configuration Rate limiter configuration (not null)
+	 */
+	public DefaultRateLimiter(String name, Configuration configuration) {
+		super();
+		ObjectUtils.argumentNotNull(name, "Rate limiter name must be not null");
+		ObjectUtils.argumentNotNull(configuration, "Rate limiter configuration must be not null");
+		this.name = name;
+		this.configuration = configuration;
+		this.connectionBucket = (configuration.getConnectionsPerSecond() > 0)
+				? new GcraTokenBucket(configuration.getConnectionsPerSecond(), configuration.getConnectionsBurst())
+				: null;
+		this.statementBucket = (configuration.getStatementsPerSecond() > 0)
+				? new GcraTokenBucket(configuration.getStatementsPerSecond(), configuration.getStatementsBurst())
+				: null;
+		this.maxWait = (configuration.getMode() == Mode.WAIT)
+				? TimeUnit.MILLISECONDS.toNanos(configuration.getMaxWait())
+				: 0L;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.RateLimiter#getName()
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.RateLimiter#getConfiguration()
+	 */
+	@Override
+	public Configuration getConfiguration() {
+		return configuration;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.RateLimiter#getConnectionBucket()
+	 */
+	@Override
+	public Optional<TokenBucket> getConnectionBucket() {
+		return Optional.ofNullable(connectionBucket);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.RateLimiter#getStatementBucket()
+	 */
+	@Override
+	public Optional<TokenBucket> getStatementBucket() {
+		return Optional.ofNullable(statementBucket);
+	}
+
+	/**
+	 * Gets whether the statement executions are limited.
+	 * @return <code>true</code> if the statement executions are limited
+	 */
+	public boolean isStatementLimited() {
+		return statementBucket != null;
+	}
+
+	/**
+	 * Obtain a connection request token, waiting for it if required.
+	 * @throws SQLException If the connection request rate limit was exceeded
+	 */
+	public void acquireConnection() throws SQLException {
+		if (connectionBucket != null) {
+			final long wait = connectionBucket.reserve(AcquisitionDeadline.bound(maxWait));
+			if (wait == GcraTokenBucket.REJECTED) {
+				throw new RateLimitExceededException("Connection request rejected: the rate limiter [" + name
+						+ "] limit of " + connectionBucket.getRate() + " connection requests per second was exceeded");
+			}
+			if (wait > 0 && !await(wait)) {
+				throw new SQLTransientConnectionException(
+						"Interrupted while waiting for the rate limiter [" + name + "] connection request token");
+			}
+		}
+	}
+
+	/**
+	 * Obtain a statement execution token, waiting for it if required.
+	 * @throws SQLException If the statement execution rate limit was exceeded
+	 */
+	public void acquireStatement() throws SQLException {
+		if (statementBucket != null) {
+			final long wait = statementBucket.reserve(maxWait);
+			if (wait == GcraTokenBucket.REJECTED) {
+				throw new StatementRateLimitExceededException("Statement execution rejected: the rate limiter [" + name
+						+ "] limit of " + statementBucket.getRate() + " statement executions per second was exceeded");
+			}
+			if (wait > 0 && !await(wait)) {
+				throw new SQLTransientException(
+						"Interrupted while waiting for the rate limiter [" + name + "] statement execution token");
+			}
+		}
+	}
+
+	/**
+	 * Wait for given time.
+	 * @param nanos Time to wait in nanoseconds
+	 * @return <code>true</code> if the wait completed, <code>false</code> if the thread was interrupted
+	 */
+	private static boolean await(long nanos) {
+		final long deadline = System.nanoTime() + nanos;
+		long remaining = nanos;
+		while (remaining > 0) {
+			LockSupport.parkNanos(remaining);
+			if (Thread.currentThread().isInterrupted()) {
+				return false;
+			}
+			remaining = deadline - System.nanoTime();
+		}
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultRateLimiter [name=" + name + ", configuration=" + configuration + "]";
+	}
+
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.resilience;
+
+import java.util.Optional;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.resilience.RateLimiter.Configuration;
+import com.holonplatform.jdbc.resilience.RateLimiter.Mode;
+
+/**
+ * Default {@link Configuration} implementation.
+ * 
+ * @since 6.0.3
+ */
+public class DefaultRateLimiterConfiguration implements Configuration {
+
+	private final double connectionsPerSecond;
+	private final int connectionsBurst;
+	private final double statementsPerSecond;
+	private final int statementsBurst;
+	private final Mode mode;
+	private final long maxWait;
+
+	/**
+	 * Constructor.
+	 * @param connectionsPerSecond Connection requests rate, <code>0</code> for no limit
+	 * @param connectionsBurst Connection requests burst size, <code>0</code> to use the rate rounded up
+	 * @param statementsPerSecond Statement executions rate, <code>0</code> for no limit
+	 * @param statementsBurst Statement executions burst size, <code>0</code> to use the rate rounded up
+	 * @param mode Rate limiter mode (not null)
+	 * @param maxWait Max wait time in milliseconds
+	 */
+	public DefaultRateLimiterConfiguration(double connectionsPerSecond, int connectionsBurst,
+			double statementsPerSecond, int statementsBurst, Mode mode, long maxWait) {
+		super();
+		ObjectUtils.argumentNotNull(mode, "Rate limiter mode must be not null");
+		if (connectionsPerSecond < 0 || statementsPerSecond < 0) {
+			throw new IllegalArgumentException("Rate limiter rate must be greater or equal to 0");
+		}
+		if (connectionsBurst < 0 || statementsBurst < 0) {
+			throw new IllegalArgumentException("Rate limiter burst size must be greater or equal to 0");
+		}
+		if (connectionsPerSecond == 0 && statementsPerSecond == 0) {
+			throw new IllegalArgumentException(
+					"Rate limiter requires at least one of the connection requests and statement executions rates");
+		}
+		this.connectionsPerSecond = connectionsPerSecond;
+		this.connectionsBurst = defaultBurst(connectionsPerSecond, connectionsBurst);
+		this.statementsPerSecond = statementsPerSecond;
+		this.statementsBurst = defaultBurst(statementsPerSecond, statementsBurst);
+		this.mode = mode;
+		this.maxWait = Math.max(0L, maxWait);
+	}
+
+	/**
+	 * Get the burst size to use.
+	 * @param rate Rate
+	 * @param burst Configured burst size, <code>0</code> if not configured
+	 * @return The burst size
+	 */
+	private static int defaultBurst(double rate, int burst) {
+		if (rate == 0) {
+			return 0;
+		}
+		return (burst > 0) ? burst : (int) Math.max(1L, (long) Math.ceil(rate));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.RateLimiter.Configuration#getConnectionsPerSecond()
+	 */
+	@Override
+	public double getConnectionsPerSecond() {
+		return connectionsPerSecond;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.RateLimiter.Configuration#getConnectionsBurst()
+	 */
+	@Override
+	public int getConnectionsBurst() {
+		return connectionsBurst;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.RateLimiter.Configuration#getStatementsPerSecond()
+	 */
+	@Override
+	public double getStatementsPerSecond() {
+		return statementsPerSecond;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.RateLimiter.Configuration#getStatementsBurst()
+	 */
+	@Override
+	public int getStatementsBurst() {
+		return statementsBurst;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.RateLimiter.Configuration#getMode()
+	 */
+	@Override
+	public Mode getMode() {
+		return mode;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.RateLimiter.Configuration#getMaxWait()
+	 */
+	@Override
+	public long getMaxWait() {
+		return maxWait;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "RateLimiterConfiguration [connectionsPerSecond=" + connectionsPerSecond + ", connectionsBurst="
+				+ connectionsBurst + ", statementsPerSecond=" + statementsPerSecond + ", statementsBurst="
+				+ statementsBurst + ", mode=" + mode + ", maxWait=" + maxWait + "]";
+	}
+
+	/**
+	 * Create a {@link Configuration} using given DataSource configuration properties.
+	 * @param configurationProperties DataSource configuration properties (not null)
+	 * @return The rate limiter configuration, empty if no rate is configured
+	 */
+	public static Optional<Configuration> create(DataSourceConfigProperties configurationProperties) {
+		ObjectUtils.argumentNotNull(configurationProperties, "DataSource configuration properties must be not null");
+		final double connectionsPerSecond = configurationProperties
+				.getConfigPropertyValue(DataSourceConfigProperties.RATE_LIMIT_CONNECTIONS_PER_SECOND, 0d);
+		final double statementsPerSecond = configurationProperties
+				.getConfigPropertyValue(DataSourceConfigProperties.RATE_LIMIT_STATEMENTS_PER_SECOND, 0d);
+		if (connectionsPerSecond <= 0 && statementsPerSecond <= 0) {
+			return Optional.empty();
+		}
+		return Optional.of(new DefaultRateLimiterConfiguration(connectionsPerSecond,
+				configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.RATE_LIMIT_CONNECTIONS_BURST,
+						0),
+				statementsPerSecond,
+				configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.RATE_LIMIT_STATEMENTS_BURST,
+						0),
+				configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.RATE_LIMIT_MODE, Mode.WAIT),
+				configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.RATE_LIMIT_MAX_WAIT,
+						DataSourceConfigProperties.DEFAULT_RATE_LIMIT_MAX_WAIT)));
+	}
+
+	/**
+	 * Default {@link Builder} implementation.
+	 */
+	public static class DefaultBuilder implements Builder {
+
+		private double connectionsPerSecond;
+		private int connectionsBurst;
+		private double statementsPerSecond;
+		private int statementsBurst;
+		private Mode mode = Mode.WAIT;
+		private long maxWait = DataSourceConfigProperties.DEFAULT_RATE_LIMIT_MAX_WAIT;
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.resilience.RateLimiter.Configuration.Builder#connectionsPerSecond(double)
+		 */
+		@Override
+		public Builder connectionsPerSecond(double permitsPerSecond) {
+			this.connectionsPerSecond = permitsPerSecond;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.resilience.RateLimiter.Configuration.Builder#connectionsBurst(int)
+		 */
+		@Override
+		public Builder connectionsBurst(int burst) {
+			this.connectionsBurst = burst;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.resilience.RateLimiter.Configuration.Builder#statementsPerSecond(double)
+		 */
+		@Override
+		public Builder statementsPerSecond(double permitsPerSecond) {
+			this.statementsPerSecond = permitsPerSecond;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.resilience.RateLimiter.Configuration.Builder#statementsBurst(int)
+		 */
+		@Override
+		public Builder statementsBurst(int burst) {
+			this.statementsBurst = burst;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see
+		 * com.holonplatform.jdbc.resilience.RateLimiter.Configuration.Builder#mode(com.holonplatform.jdbc.resilience.
+		 * RateLimiter.Mode)
+		 */
+		@Override
+		public Builder mode(Mode mode) {
+			ObjectUtils.argumentNotNull(mode, "Rate limiter mode must be not null");
+			this.mode = mode;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.resilience.RateLimiter.Configuration.Builder#maxWait(long)
+		 */
+		@Override
+		public Builder maxWait(long maxWait) {
+			this.maxWait = maxWait;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.resilience.RateLimiter.Configuration.Builder#build()
+		 */
+		@Override
+		public Configuration build() {
+			return new DefaultRateLimiterConfiguration(connectionsPerSecond, connectionsBurst, statementsPerSecond,
+					statementsBurst, mode, maxWait);
+		}
+
+	}
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.holonplatform.jdbc.resilience.RateLimiter.TokenBucket;
+
+/**
+ * A lock-free {@link TokenBucket} implementation based on the Generic Cell Rate Algorithm.
+ * <p>
+ * Instead of a tokens counter refilled by a timer, the bucket state is a single <em>theoretical arrival time</em>,
+ * advanced by one emission interval for each permitted operation: the refill is computed lazily from the elapsed time
+ * and a token is obtained with a single compare-and-set.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class GcraTokenBucket implements TokenBucket {
+
+	/**
+	 * Result of {@link #reserve(long)} when no token can be obtained within the allowed wait time
+	 */
+	public static final long REJECTED = -1L;
+
+	private final double rate;
+	private final int burst;
+
+	/**
+	 * Emission interval, in nanoseconds
+	 */
+	private final long interval;
+
+	/**
+	 * Burst tolerance, in nanoseconds
+	 */
+	private final long tolerance;
+
+	/**
+	 * Theoretical arrival time of the next operation, relative to {@link #origin}
+	 */
+	private final AtomicLong tat = new AtomicLong();
+
+	/**
+	 * Time origin, to keep the theoretical arrival time positive
+	 */
+	private final long origin;
+
+	private final LongAdder permitted = new LongAdder();
+	private final LongAdder delayed = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+
+	/**
+	 * Constructor.
+	 * @param rate Refill rate in tokens per second (greater than 0)
+	 * @param burst Bucket capacity (greater than 0)
+	 */
+	public GcraTokenBucket(double rate, int burst) {
+		super();
+		if (!(rate > 0)) {
+			throw new IllegalArgumentException("Token bucket rate must be greater than 0");
+		}
+		if (burst < 1) {
+			throw new IllegalArgumentException("Token bucket burst size must be greater than 0");
+		}
+		this.rate = rate;
+		this.burst = burst;
+		this.interval = Math.max(1L, (long) (1_000_000_000d / rate));
+		this.tolerance = interval * (burst - 1);
+		this.origin = System.nanoTime() - interval - tolerance;
+	}
+
+	/**
+	 * Try to obtain a token, reserving a future one if the bucket is empty and the wait time does not exceed given
+	 * max wait time. A reserved token is consumed anyway, the caller is expected to wait for the returned time before
+	 * performing the operation.
+	 * @param maxWaitNanos Max wait time in nanoseconds, <code>0</code> to not wait
+	 * @return <code>0</code> if a token is immediately available, the time to wait in nanoseconds if a future token was
+	 *         reserved or {@link #REJECTED} if no token can be obtained within the max wait time
+	 */
+	public long reserve(long maxWaitNanos) {
+		final long now = System.nanoTime() - origin;
+		long current;
+		long next;
+		long wait;
+		do {
+			current = tat.get();
+			next = Math.max(current, now);
+			wait = next - tolerance - now;
+			if (wait > maxWaitNanos) {
+				rejected.increment();
+				return REJECTED;
+			}
+		} while (!tat.compareAndSet(current, next + interval));
+		if (wait > 0) {
+			delayed.increment();
+			return wait;
+		}
+		permitted.increment();
+		return 0L;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.RateLimiter.TokenBucket#getRate()
+	 */
+	@Override
+	public double getRate() {
+		return rate;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.RateLimiter.TokenBucket#getBurst()
+	 */
+	@Override
+	public int getBurst() {
+		return burst;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.RateLimiter.TokenBucket#getPermittedCount()
+	 */
+	@Override
+	public long getPermittedCount() {
+		return permitted.sum();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.RateLimiter.TokenBucket#getDelayedCount()
+	 */
+	@Override
+	public long getDelayedCount() {
+		return delayed.sum();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.resilience.RateLimiter.TokenBucket#getRejectedCount()
+	 */
+	@Override
+	public long getRejectedCount() {
+		return rejected.sum();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "TokenBucket [rate=" + rate + ", burst=" + burst + "]";
+	}
+
+}
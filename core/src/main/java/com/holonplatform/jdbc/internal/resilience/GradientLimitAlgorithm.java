@@ -0,0 +1,159 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.resilience;
+
+/**
+ * A {@link LimitAlgorithm} which adjusts the limit using the gradient between a long term exponential average of the
+ * lease latency and the latest lease latency.
+ * <p>
+ * When the current latency exceeds the long term average by more than the tolerance, the limit is reduced
+ * proportionally (down to half the current limit for each sample), otherwise it is increased by a queue allowance
+ * equal to the square root of the current limit. The long term average decays quickly when the latency drops, so that
+ * the limit can recover after a load peak.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class GradientLimitAlgorithm implements LimitAlgorithm {
+
+	/**
+	 * Long term latency average window
+	 */
+	private static final int LONG_WINDOW = 600;
+
+	/**
+	 * Samples used to compute the initial long term latency average
+	 */
+	private static final int WARMUP_WINDOW = 10;
+
+	/**
+	 * Latency tolerance before decreasing the limit
+	 */
+	private static final double TOLERANCE = 1.5d;
+
+	/**
+	 * Limit smoothing factor
+	 */
+	private static final double SMOOTHING = 0.2d;
+
+	/**
+	 * Limit decrease factor when a lease request is dropped
+	 */
+	private static final double BACKOFF_RATIO = 0.9d;
+
+	private final int minLimit;
+	private final int maxLimit;
+
+	private double estimatedLimit;
+
+	private double longRtt;
+	private int samples;
+
+	/**
+	 * Constructor.
+	 * @param initialLimit Initial limit
+	 * @param minLimit Minimum limit (greater than 0)
+	 * @param maxLimit Maximum limit (not less than the minimum limit)
+	 */
+	public GradientLimitAlgorithm(int initialLimit, int minLimit, int maxLimit) {
+		super();
+		if (minLimit < 1) {
+			throw new IllegalArgumentException("Minimum limit must be greater than 0");
+		}
+		if (maxLimit < minLimit) {
+			throw new IllegalArgumentException("Maximum limit must be greater or equal to the minimum limit");
+		}
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.resilience.LimitAlgorithm#getLimit()
+	 */
+	@Override
+	public int getLimit() {
+		return (int) estimatedLimit;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.resilience.LimitAlgorithm#update(long, int, boolean)
+	 */
+	@Override
+	public int update(long rtt, int inFlight, boolean dropped) {
+		if (dropped) {
+			return setLimit(estimatedLimit * BACKOFF_RATIO);
+		}
+		if (rtt <= 0) {
+			return getLimit();
+		}
+		final double shortRtt = rtt;
+		final double longRtt = updateLongRtt(shortRtt);
+
+		// when the latency drops, decay the long term average faster to be able to recover
+		if (longRtt / shortRtt > 2) {
+			this.longRtt = longRtt * 0.95d;
+		}
+
+		// don't grow the limit when it is not actually used
+		if (inFlight < estimatedLimit / 2) {
+			return getLimit();
+		}
+
+		final double gradient = Math.max(0.5d, Math.min(1.0d, TOLERANCE * longRtt / shortRtt));
+		final double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+		return setLimit(estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING);
+	}
+
+	/**
+	 * Add a sample to the long term latency average.
+	 * @param rtt Latency sample
+	 * @return The updated average
+	 */
+	private double updateLongRtt(double rtt) {
+		if (samples < WARMUP_WINDOW) {
+			samples++;
+			longRtt = longRtt + (rtt - longRtt) / samples;
+		} else {
+			final double factor = 2.0d / (LONG_WINDOW + 1);
+			longRtt = longRtt * (1 - factor) + rtt * factor;
+		}
+		return longRtt;
+	}
+
+	/**
+	 * Set the estimated limit, bounded by the minimum and maximum limits.
+	 * @param limit The new limit
+	 * @return The new limit, as an integer
+	 */
+	private int setLimit(double limit) {
+		estimatedLimit = Math.max(minLimit, Math.min(maxLimit, limit));
+		return getLimit();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "GradientLimitAlgorithm [limit=" + getLimit() + ", minLimit=" + minLimit + ", maxLimit=" + maxLimit
+				+ "]";
+	}
+
+}
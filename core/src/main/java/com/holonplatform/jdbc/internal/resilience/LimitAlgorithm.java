@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.resilience;
+
+/**
+ * Concurrency limit adjustment algorithm.
+ * <p>
+ * Implementations are not required to be thread safe: the {@link DefaultConcurrencyLimiter} serializes the
+ * {@link #update(long, int, boolean)} invocations.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface LimitAlgorithm {
+
+	/**
+	 * Get the current limit.
+	 * @return the current limit
+	 */
+	int getLimit();
+
+	/**
+	 * Update the limit using a lease latency sample.
+	 * @param rtt The lease latency, in nanoseconds
+	 * @param inFlight The number of active leases when the sample was taken
+	 * @param dropped Whether the lease request failed because of an overload condition (for example a connection pool
+	 *        timeout)
+	 * @return The new limit
+	 */
+	int update(long rtt, int inFlight, boolean dropped);
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.resilience;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.ConnectionPriority;
+import com.holonplatform.jdbc.exceptions.PriorityLaneTimeoutException;
+import com.holonplatform.jdbc.internal.DelegatingConnection;
+import com.holonplatform.jdbc.internal.DelegatingDataSource;
+import com.holonplatform.jdbc.resilience.PriorityLanes;
+
+/**
+ * A {@link DataSource} which serves the connection requests using {@link DefaultPriorityLanes}, according to the
+ * {@link ConnectionPriority} bound to the requesting thread.
+ * <p>
+ * The lane permit is held from the connection request to the connection close.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class PriorityLanesDataSource extends DelegatingDataSource {
+
+	/**
+	 * Priority lanes
+	 */
+	private final DefaultPriorityLanes lanes;
+
+	/**
+	 * Constructor.
+	 * @param delegate Delegate DataSource (not null)
+	 * @param lanes Priority lanes (not null)
+	 */
+	public PriorityLanesDataSource(DataSource delegate, DefaultPriorityLanes lanes) {
+		super(delegate);
+		ObjectUtils.argumentNotNull(lanes, "PriorityLanes must be not null");
+		this.lanes = lanes;
+	}
+
+	/**
+	 * Get the priority lanes.
+	 * @return the priority lanes
+	 */
+	public PriorityLanes getPriorityLanes() {
+		return lanes;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection()
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		final ConnectionPriority priority = acquire();
+		try {
+			return new LaneConnection(super.getConnection(), priority);
+		} catch (SQLException | RuntimeException e) {
+			lanes.release(priority);
+			throw e;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		final ConnectionPriority priority = acquire();
+		try {
+			return new LaneConnection(super.getConnection(username, password), priority);
+		} catch (SQLException | RuntimeException e) {
+			lanes.release(priority);
+			throw e;
+		}
+	}
+
+	/**
+	 * Acquire a permit using the lane of the current thread priority.
+	 * @return The priority used to acquire the permit
+	 * @throws SQLException If the permit cannot be acquired
+	 */
+	private ConnectionPriority acquire() throws SQLException {
+		final ConnectionPriority priority = ConnectionPriority.getCurrent();
+		try {
+			if (!lanes.acquire(priority)) {
+				throw new PriorityLaneTimeoutException("Connection request rejected: no permit available in the ["
+						+ priority + "] lane of [" + lanes.getName() + "] within the max wait time");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Interrupted while waiting for a connection lane permit", e);
+		}
+		return priority;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#unwrap(java.lang.Class)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(lanes)) {
+			return (T) lanes;
+		}
+		return super.unwrap(iface);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#isWrapperFor(java.lang.Class)
+	 */
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(lanes) || super.isWrapperFor(iface);
+	}
+
+	/**
+	 * A {@link Connection} which releases the lane permit when closed or aborted.
+	 */
+	private final class LaneConnection extends DelegatingConnection {
+
+		private final ConnectionPriority priority;
+
+		private final AtomicBoolean released = new AtomicBoolean(false);
+
+		LaneConnection(Connection delegate, ConnectionPriority priority) {
+			super(delegate);
+			this.priority = priority;
+		}
+
+		@Override
+		public void close() throws SQLException {
+			try {
+				super.close();
+			} finally {
+				release();
+			}
+		}
+
+		@Override
+		public void abort(Executor executor) throws SQLException {
+			try {
+				super.abort(executor);
+			} finally {
+				release();
+			}
+		}
+
+		private void release() {
+			if (released.compareAndSet(false, true)) {
+				lanes.release(priority);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.resilience;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import jakarta.annotation.Priority;
+import javax.sql.DataSource;
+
+import com.holonplatform.core.config.ConfigPropertySet.ConfigurationException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.jdbc.ConnectionPriority;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.DataSourcePostProcessor;
+import com.holonplatform.jdbc.internal.InterceptingDataSource;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+import com.holonplatform.jdbc.resilience.PriorityLanes;
+
+/**
+ * A {@link DataSourcePostProcessor} which decorates the DataSource with {@link PriorityLanes} when the
+ * {@link DataSourceConfigProperties#PRIORITY_LANES_ENABLED} property is <code>true</code>.
+ * 
+ * @since 6.0.3
+ */
+@Priority(1100)
+public class PriorityLanesDataSourcePostProcessor implements DataSourcePostProcessor {
+
+	private static final long serialVersionUID = -1268350447413766590L;
+
+	/**
+	 * Default name, used when no data context id is available
+	 */
+	private static final String DEFAULT_NAME = "default";
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#postProcessDataSource(javax.sql.DataSource,
+	 * java.lang.String, com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public void postProcessDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		// nothing to do
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#decorateDataSource(javax.sql.DataSource, java.lang.String,
+	 * com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public DataSource decorateDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		if (!configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.PRIORITY_LANES_ENABLED,
+				Boolean.FALSE)) {
+			return dataSource;
+		}
+		final String name = configurationProperties.getDataContextId().orElse(DEFAULT_NAME);
+		try {
+			final int permits = configurationProperties.getConfigPropertyValue(
+					DataSourceConfigProperties.PRIORITY_LANES_PERMITS,
+					configurationProperties.getMaxPoolSize());
+
+			final Map<ConnectionPriority, Integer> reserved = new EnumMap<>(ConnectionPriority.class);
+			reserved.put(ConnectionPriority.DEFAULT,
+					getReservedPermits(permits,
+							configurationProperties.getConfigPropertyValue(
+									DataSourceConfigProperties.PRIORITY_LANES_DEFAULT_MIN_SHARE,
+									DataSourceConfigProperties.DEFAULT_PRIORITY_LANES_DEFAULT_MIN_SHARE)));
+			reserved.put(ConnectionPriority.BATCH,
+					getReservedPermits(permits,
+							configurationProperties.getConfigPropertyValue(
+									DataSourceConfigProperties.PRIORITY_LANES_BATCH_MIN_SHARE,
+									DataSourceConfigProperties.DEFAULT_PRIORITY_LANES_BATCH_MIN_SHARE)));
+
+			final DefaultPriorityLanes lanes = new DefaultPriorityLanes(name, permits,
+					configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.PRIORITY_LANES_MAX_WAIT,
+							DataSourceConfigProperties.DEFAULT_PRIORITY_LANES_MAX_WAIT),
+					reserved);
+
+			LOGGER.debug(() -> "Installed priority lanes on DataSource of type [" + typeName + "]: " + lanes);
+
+			return InterceptingDataSource.decorate(dataSource, ds -> new PriorityLanesDataSource(ds, lanes));
+		} catch (IllegalArgumentException e) {
+			throw new ConfigurationException(
+					"Invalid priority lanes configuration for DataSource [Data context id: " + name + "]", e);
+		}
+	}
+
+	/**
+	 * Get the number of permits which corresponds to given share percentage, rounded down.
+	 * @param permits Total permits
+	 * @param share Share percentage
+	 * @return The reserved permits
+	 */
+	private static int getReservedPermits(int permits, int share) {
+		if (share < 0 || share > 100) {
+			throw new IllegalArgumentException("Invalid lane minimum share [" + share + "]: must be between 0 and 100");
+		}
+		return (permits * share) / 100;
+	}
+
+}
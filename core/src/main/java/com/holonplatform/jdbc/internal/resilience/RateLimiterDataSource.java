@@ -0,0 +1,160 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.resilience;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.interceptor.StatementInterceptor;
+import com.holonplatform.jdbc.interceptor.StatementInvocation;
+import com.holonplatform.jdbc.internal.DelegatingDataSource;
+import com.holonplatform.jdbc.internal.InterceptingDataSource;
+import com.holonplatform.jdbc.resilience.RateLimiter;
+
+/**
+ * A {@link DataSource} which limits the connection requests rate using a {@link DefaultRateLimiter}.
+ * <p>
+ * The statement executions rate is limited by the {@link StatementInterceptor} returned by
+ * {@link #createStatementInterceptor(DefaultRateLimiter)}, which obtains a token before each statement execution,
+ * including batch executions. Use the {@link #decorate(DataSource, DefaultRateLimiter)} method to install both.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class RateLimiterDataSource extends DelegatingDataSource {
+
+	/**
+	 * Rate limiter
+	 */
+	private final DefaultRateLimiter limiter;
+
+	/**
+	 * Constructor.
+	 * @param delegate Delegate DataSource (not null)
+	 * @param limiter Rate limiter (not null)
+	 */
+	public RateLimiterDataSource(DataSource delegate, DefaultRateLimiter limiter) {
+		super(delegate);
+		ObjectUtils.argumentNotNull(limiter, "RateLimiter must be not null");
+		this.limiter = limiter;
+	}
+
+	/**
+	 * Decorate given DataSource to limit the connection requests rate and, if configured, the statement executions
+	 * rate using given rate limiter.
+	 * @param dataSource The DataSource to decorate (not null)
+	 * @param limiter Rate limiter (not null)
+	 * @return The decorated DataSource
+	 */
+	public static DataSource decorate(DataSource dataSource, DefaultRateLimiter limiter) {
+		ObjectUtils.argumentNotNull(limiter, "RateLimiter must be not null");
+		if (limiter.isStatementLimited()) {
+			return InterceptingDataSource.decorate(dataSource, ds -> new RateLimiterDataSource(ds, limiter),
+					createStatementInterceptor(limiter));
+		}
+		return InterceptingDataSource.decorate(dataSource, ds -> new RateLimiterDataSource(ds, limiter));
+	}
+
+	/**
+	 * Create a {@link StatementInterceptor} which obtains a statement execution token from given rate limiter before
+	 * each execution.
+	 * @param limiter Rate limiter (not null)
+	 * @return the statement rate limiting interceptor
+	 */
+	public static StatementInterceptor createStatementInterceptor(DefaultRateLimiter limiter) {
+		ObjectUtils.argumentNotNull(limiter, "RateLimiter must be not null");
+		return new RateLimiterStatementInterceptor(limiter);
+	}
+
+	/**
+	 * Get the rate limiter.
+	 * @return the rate limiter
+	 */
+	public RateLimiter getRateLimiter() {
+		return limiter;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection()
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		limiter.acquireConnection();
+		return super.getConnection();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		limiter.acquireConnection();
+		return super.getConnection(username, password);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#unwrap(java.lang.Class)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(limiter)) {
+			return (T) limiter;
+		}
+		return super.unwrap(iface);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#isWrapperFor(java.lang.Class)
+	 */
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(limiter) || super.isWrapperFor(iface);
+	}
+
+	/**
+	 * A {@link StatementInterceptor} which obtains a token before each statement execution.
+	 */
+	private static final class RateLimiterStatementInterceptor implements StatementInterceptor {
+
+		private final DefaultRateLimiter limiter;
+
+		RateLimiterStatementInterceptor(DefaultRateLimiter limiter) {
+			super();
+			this.limiter = limiter;
+		}
+
+		@Override
+		public <T> T intercept(StatementInvocation<T> invocation) throws SQLException {
+			limiter.acquireStatement();
+			return invocation.proceed();
+		}
+
+		@Override
+		public String toString() {
+			return "RateLimiterStatementInterceptor [" + limiter + "]";
+		}
+
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.resilience;
+
+import jakarta.annotation.Priority;
+import javax.sql.DataSource;
+
+import com.holonplatform.core.config.ConfigPropertySet.ConfigurationException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.DataSourcePostProcessor;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+import com.holonplatform.jdbc.resilience.RateLimiter;
+import com.holonplatform.jdbc.resilience.RateLimiter.Configuration;
+
+/**
+ * A {@link DataSourcePostProcessor} which decorates the DataSource with a {@link RateLimiter} when the
+ * {@link DataSourceConfigProperties#RATE_LIMIT_CONNECTIONS_PER_SECOND} and/or the
+ * {@link DataSourceConfigProperties#RATE_LIMIT_STATEMENTS_PER_SECOND} properties are configured.
+ * <p>
+ * The rate limiter is installed inside the circuit breaker, if any, and outside the concurrency guards, so that a
+ * connection request waiting for a token does not hold a concurrency lease.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+@Priority(1200)
+public class RateLimiterDataSourcePostProcessor implements DataSourcePostProcessor {
+
+	private static final long serialVersionUID = -2651447310877419035L;
+
+	/**
+	 * Default rate limiter name, used when no data context id is available
+	 */
+	private static final String DEFAULT_NAME = "default";
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#postProcessDataSource(javax.sql.DataSource,
+	 * java.lang.String, com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public void postProcessDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		// nothing to do
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#decorateDataSource(javax.sql.DataSource, java.lang.String,
+	 * com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public DataSource decorateDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		final String name = configurationProperties.getDataContextId().orElse(DEFAULT_NAME);
+		try {
+			final Configuration configuration = Configuration.create(configurationProperties).orElse(null);
+			if (configuration == null) {
+				return dataSource;
+			}
+			final DefaultRateLimiter limiter = new DefaultRateLimiter(name, configuration);
+
+			LOGGER.debug(() -> "Installed rate limiter on DataSource of type [" + typeName + "]: " + limiter);
+
+			return RateLimiterDataSource.decorate(dataSource, limiter);
+		} catch (IllegalArgumentException e) {
+			throw new ConfigurationException(
+					"Invalid rate limiter configuration for DataSource [Data context id: " + name + "]", e);
+		}
+	}
+
+}
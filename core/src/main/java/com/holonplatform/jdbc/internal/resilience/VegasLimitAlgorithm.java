@@ -0,0 +1,151 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.resilience;
+
+/**
+ * A {@link LimitAlgorithm} based on the TCP Vegas congestion control algorithm.
+ * <p>
+ * The queue size is estimated as <code>limit * (1 - minRtt / rtt)</code>, where <code>minRtt</code> is the minimum
+ * observed lease latency, i.e. the latency without queueing. The limit is increased when the estimated queue is small
+ * and decreased when it exceeds a threshold, both logarithmic in the current limit. The minimum latency is periodically
+ * reset to detect changes of the no-load latency.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class VegasLimitAlgorithm implements LimitAlgorithm {
+
+	/**
+	 * Number of samples, as a multiple of the current limit, after which the minimum latency is reset
+	 */
+	private static final int PROBE_MULTIPLIER = 30;
+
+	private final int minLimit;
+	private final int maxLimit;
+
+	private int limit;
+
+	private long minRtt;
+	private int probeCountdown;
+
+	/**
+	 * Constructor.
+	 * @param initialLimit Initial limit
+	 * @param minLimit Minimum limit (greater than 0)
+	 * @param maxLimit Maximum limit (not less than the minimum limit)
+	 */
+	public VegasLimitAlgorithm(int initialLimit, int minLimit, int maxLimit) {
+		super();
+		if (minLimit < 1) {
+			throw new IllegalArgumentException("Minimum limit must be greater than 0");
+		}
+		if (maxLimit < minLimit) {
+			throw new IllegalArgumentException("Maximum limit must be greater or equal to the minimum limit");
+		}
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+		this.probeCountdown = nextProbeCountdown();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.resilience.LimitAlgorithm#getLimit()
+	 */
+	@Override
+	public int getLimit() {
+		return limit;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.resilience.LimitAlgorithm#update(long, int, boolean)
+	 */
+	@Override
+	public int update(long rtt, int inFlight, boolean dropped) {
+		final int log = log10(limit);
+		if (dropped) {
+			return setLimit(limit - log);
+		}
+		if (rtt <= 0) {
+			return limit;
+		}
+
+		// periodically reset the no-load latency
+		if (--probeCountdown <= 0) {
+			probeCountdown = nextProbeCountdown();
+			minRtt = rtt;
+			return limit;
+		}
+		if (minRtt == 0 || rtt < minRtt) {
+			minRtt = rtt;
+			return limit;
+		}
+
+		final int queueSize = (int) Math.ceil(limit * (1 - (double) minRtt / rtt));
+		if (queueSize > 6 * log) {
+			return setLimit(limit - log);
+		}
+		// don't grow the limit when it is not actually used
+		if (inFlight * 2 < limit) {
+			return limit;
+		}
+		if (queueSize <= log) {
+			return setLimit(limit + 6 * log);
+		}
+		if (queueSize < 3 * log) {
+			return setLimit(limit + log);
+		}
+		return limit;
+	}
+
+	/**
+	 * Set the limit, bounded by the minimum and maximum limits.
+	 * @param newLimit The new limit
+	 * @return The new limit
+	 */
+	private int setLimit(int newLimit) {
+		limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+		return limit;
+	}
+
+	/**
+	 * Get the number of samples before the next minimum latency reset.
+	 * @return The samples count
+	 */
+	private int nextProbeCountdown() {
+		return PROBE_MULTIPLIER * limit;
+	}
+
+	/**
+	 * Integer base 10 logarithm of given value, at least 1.
+	 * @param value The value
+	 * @return The logarithm
+	 */
+	private static int log10(int value) {
+		return Math.max(1, (int) Math.log10(value));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "VegasLimitAlgorithm [limit=" + limit + ", minLimit=" + minLimit + ", maxLimit=" + maxLimit + "]";
+	}
+
+}
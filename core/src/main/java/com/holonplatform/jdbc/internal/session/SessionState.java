@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.session;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * Immutable connection session state snapshot.
+ * 
+ * @since 6.0.3
+ */
+public final class SessionState {
+
+	private final boolean autoCommit;
+	private final int transactionIsolation;
+	private final boolean readOnly;
+	private final boolean schemaSupported;
+	private final String schema;
+
+	/**
+	 * Constructor.
+	 * @param autoCommit Auto-commit mode
+	 * @param transactionIsolation Transaction isolation level
+	 * @param readOnly Read-only flag
+	 * @param schemaSupported Whether the schema is supported by the driver
+	 * @param schema Schema name
+	 */
+	public SessionState(boolean autoCommit, int transactionIsolation, boolean readOnly, boolean schemaSupported,
+			String schema) {
+		super();
+		this.autoCommit = autoCommit;
+		this.transactionIsolation = transactionIsolation;
+		this.readOnly = readOnly;
+		this.schemaSupported = schemaSupported;
+		this.schema = schema;
+	}
+
+	/**
+	 * Read the session state of given connection.
+	 * @param connection The connection
+	 * @return The connection session state
+	 * @throws SQLException If an error occurred
+	 */
+	public static SessionState read(Connection connection) throws SQLException {
+		boolean schemaSupported = true;
+		String schema = null;
+		try {
+			schema = connection.getSchema();
+		} catch (SQLFeatureNotSupportedException | AbstractMethodError e) {
+			schemaSupported = false;
+		}
+		return new SessionState(connection.getAutoCommit(), connection.getTransactionIsolation(),
+				connection.isReadOnly(), schemaSupported, schema);
+	}
+
+	/**
+	 * Get the auto-commit mode.
+	 * @return the auto-commit mode
+	 */
+	public boolean isAutoCommit() {
+		return autoCommit;
+	}
+
+	/**
+	 * Get the transaction isolation level.
+	 * @return the transaction isolation level
+	 */
+	public int getTransactionIsolation() {
+		return transactionIsolation;
+	}
+
+	/**
+	 * Get the read-only flag.
+	 * @return the read-only flag
+	 */
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+
+	/**
+	 * Gets whether the schema is supported by the driver.
+	 * @return <code>true</code> if the schema is supported
+	 */
+	public boolean isSchemaSupported() {
+		return schemaSupported;
+	}
+
+	/**
+	 * Get the schema name.
+	 * @return the schema name
+	 */
+	public String getSchema() {
+		return schema;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "SessionState [autoCommit=" + autoCommit + ", transactionIsolation=" + transactionIsolation
+				+ ", readOnly=" + readOnly + ", schema=" + (schemaSupported ? schema : "<not supported>") + "]";
+	}
+
+}
@@ -0,0 +1,343 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.session;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.jdbc.SessionStateTracker;
+import com.holonplatform.jdbc.internal.DelegatingConnection;
+import com.holonplatform.jdbc.internal.DelegatingDataSource;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+
+/**
+ * A {@link DataSource} which tracks the connections session state to avoid the redundant driver round-trips.
+ * <p>
+ * The baseline session state, i.e. the state of the connections provided by the delegate DataSource, is read from the
+ * first obtained connection. Each connection starts from the baseline state and, when closed, restores the attributes
+ * which differ from it.
+ * </p>
+ * 
+ * @since 6.0.3
+ * @see SessionStateTracker
+ */
+public class SessionStateDataSource extends DelegatingDataSource implements SessionStateTracker {
+
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/**
+	 * Baseline session state, read from the first connection
+	 */
+	private volatile SessionState baseline;
+
+	private final LongAdder skipped = new LongAdder();
+	private final LongAdder executed = new LongAdder();
+	private final LongAdder restored = new LongAdder();
+
+	/**
+	 * Constructor.
+	 * @param delegate Delegate DataSource (not null)
+	 */
+	public SessionStateDataSource(DataSource delegate) {
+		super(delegate);
+	}
+
+	/**
+	 * Get the baseline session state, if it was already read.
+	 * @return The baseline session state, <code>null</code> if no connection was obtained yet
+	 */
+	public SessionState getBaseline() {
+		return baseline;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.SessionStateTracker#getSkippedCount()
+	 */
+	@Override
+	public long getSkippedCount() {
+		return skipped.sum();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.SessionStateTracker#getExecutedCount()
+	 */
+	@Override
+	public long getExecutedCount() {
+		return executed.sum();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.SessionStateTracker#getRestoredCount()
+	 */
+	@Override
+	public long getRestoredCount() {
+		return restored.sum();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection()
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		return track(super.getConnection());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		// the session state may depend on the user
+		return super.getConnection(username, password);
+	}
+
+	/**
+	 * Decorate given connection to track its session state.
+	 * @param connection The connection
+	 * @return The decorated connection
+	 * @throws SQLException If the baseline session state cannot be read
+	 */
+	private Connection track(Connection connection) throws SQLException {
+		SessionState state = baseline;
+		if (state == null) {
+			try {
+				state = SessionState.read(connection);
+			} catch (SQLException | RuntimeException e) {
+				connection.close();
+				throw e;
+			}
+			baseline = state;
+			final SessionState read = state;
+			LOGGER.debug(() -> "Session state tracking baseline: " + read);
+		}
+		return new SessionStateConnection(connection, state);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "SessionStateDataSource [baseline=" + baseline + ", delegate=" + getDelegate() + "]";
+	}
+
+	/**
+	 * A {@link Connection} which caches its session state.
+	 */
+	private final class SessionStateConnection extends DelegatingConnection {
+
+		private final SessionState initial;
+
+		private boolean autoCommit;
+		private int transactionIsolation;
+		private boolean readOnly;
+		private String schema;
+
+		private boolean closed = false;
+
+		SessionStateConnection(Connection delegate, SessionState initial) {
+			super(delegate);
+			this.initial = initial;
+			this.autoCommit = initial.isAutoCommit();
+			this.transactionIsolation = initial.getTransactionIsolation();
+			this.readOnly = initial.isReadOnly();
+			this.schema = initial.getSchema();
+		}
+
+		@Override
+		public boolean getAutoCommit() throws SQLException {
+			checkOpen();
+			skipped.increment();
+			return autoCommit;
+		}
+
+		@Override
+		public void setAutoCommit(boolean autoCommit) throws SQLException {
+			if (this.autoCommit == autoCommit) {
+				checkOpen();
+				skipped.increment();
+				return;
+			}
+			super.setAutoCommit(autoCommit);
+			executed.increment();
+			this.autoCommit = autoCommit;
+		}
+
+		@Override
+		public int getTransactionIsolation() throws SQLException {
+			checkOpen();
+			skipped.increment();
+			return transactionIsolation;
+		}
+
+		@Override
+		public void setTransactionIsolation(int level) throws SQLException {
+			if (this.transactionIsolation == level) {
+				checkOpen();
+				skipped.increment();
+				return;
+			}
+			super.setTransactionIsolation(level);
+			executed.increment();
+			this.transactionIsolation = level;
+		}
+
+		@Override
+		public boolean isReadOnly() throws SQLException {
+			checkOpen();
+			skipped.increment();
+			return readOnly;
+		}
+
+		@Override
+		public void setReadOnly(boolean readOnly) throws SQLException {
+			if (this.readOnly == readOnly) {
+				checkOpen();
+				skipped.increment();
+				return;
+			}
+			super.setReadOnly(readOnly);
+			executed.increment();
+			this.readOnly = readOnly;
+		}
+
+		@Override
+		public String getSchema() throws SQLException {
+			if (!initial.isSchemaSupported()) {
+				return super.getSchema();
+			}
+			checkOpen();
+			skipped.increment();
+			return schema;
+		}
+
+		@Override
+		public void setSchema(String schema) throws SQLException {
+			if (!initial.isSchemaSupported()) {
+				super.setSchema(schema);
+				return;
+			}
+			if (Objects.equals(this.schema, schema)) {
+				checkOpen();
+				skipped.increment();
+				return;
+			}
+			super.setSchema(schema);
+			executed.increment();
+			// the driver may normalize the schema name
+			this.schema = super.getSchema();
+		}
+
+		@Override
+		public void close() throws SQLException {
+			if (!closed) {
+				closed = true;
+				try {
+					restore();
+				} catch (SQLException | RuntimeException e) {
+					LOGGER.warn("Failed to restore the connection session state " + initial
+							+ ": the physical connection is aborted", e);
+					invalidate();
+					return;
+				}
+			}
+			super.close();
+		}
+
+		@Override
+		public void abort(Executor executor) throws SQLException {
+			closed = true;
+			super.abort(executor);
+		}
+
+		/**
+		 * Restore the session state attributes which differ from the initial state.
+		 * @throws SQLException If an error occurred
+		 */
+		private void restore() throws SQLException {
+			final boolean restoreAutoCommit = autoCommit != initial.isAutoCommit();
+			final boolean restoreIsolation = transactionIsolation != initial.getTransactionIsolation();
+			final boolean restoreReadOnly = readOnly != initial.isReadOnly();
+			final boolean restoreSchema = initial.isSchemaSupported() && !Objects.equals(schema, initial.getSchema());
+			if (!(restoreAutoCommit || restoreIsolation || restoreReadOnly || restoreSchema)) {
+				return;
+			}
+			final Connection connection = getDelegate();
+			if (!autoCommit) {
+				// never commit pending work implicitly and allow the attributes change
+				connection.rollback();
+			}
+			if (restoreAutoCommit) {
+				connection.setAutoCommit(initial.isAutoCommit());
+				restored.increment();
+			}
+			if (restoreReadOnly) {
+				connection.setReadOnly(initial.isReadOnly());
+				restored.increment();
+			}
+			if (restoreIsolation) {
+				connection.setTransactionIsolation(initial.getTransactionIsolation());
+				restored.increment();
+			}
+			if (restoreSchema) {
+				connection.setSchema(initial.getSchema());
+				restored.increment();
+			}
+		}
+
+		/**
+		 * Abort the delegate connection, so that a connection pool discards it instead of handing out a connection with
+		 * a dirty session state, then release it.
+		 */
+		private void invalidate() {
+			final Connection connection = getDelegate();
+			try {
+				connection.abort(Runnable::run);
+			} catch (SQLException | RuntimeException e) {
+				LOGGER.debug(() -> "Failed to abort the connection", e);
+			}
+			try {
+				connection.close();
+			} catch (SQLException | RuntimeException e) {
+				LOGGER.debug(() -> "Failed to close the aborted connection", e);
+			}
+		}
+
+		/**
+		 * Check the connection is not closed.
+		 * @throws SQLException If the connection is closed
+		 */
+		private void checkOpen() throws SQLException {
+			if (closed) {
+				throw new SQLException("The connection is closed", "08003");
+			}
+		}
+
+	}
+
+}
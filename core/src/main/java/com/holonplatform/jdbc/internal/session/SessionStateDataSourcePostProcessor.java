@@ -0,0 +1,75 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.session;
+
+import jakarta.annotation.Priority;
+import javax.sql.DataSource;
+
+import com.holonplatform.core.config.ConfigPropertySet.ConfigurationException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.DataSourcePostProcessor;
+import com.holonplatform.jdbc.SessionStateTracker;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+
+/**
+ * A {@link DataSourcePostProcessor} which decorates the DataSource with a {@link SessionStateTracker} when the
+ * {@link DataSourceConfigProperties#SESSION_STATE_TRACKING_ENABLED} property is <code>true</code>.
+ * <p>
+ * The session state tracker is the innermost decorator, since it must restore the connection state before the
+ * connection is returned to the concrete DataSource.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+@Priority(100)
+public class SessionStateDataSourcePostProcessor implements DataSourcePostProcessor {
+
+	private static final long serialVersionUID = 6904918373320870412L;
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#postProcessDataSource(javax.sql.DataSource,
+	 * java.lang.String, com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public void postProcessDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		// nothing to do
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#decorateDataSource(javax.sql.DataSource, java.lang.String,
+	 * com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public DataSource decorateDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		if (!configurationProperties
+				.getConfigPropertyValue(DataSourceConfigProperties.SESSION_STATE_TRACKING_ENABLED, Boolean.FALSE)) {
+			return dataSource;
+		}
+		LOGGER.debug(() -> "Installed session state tracker on DataSource of type [" + typeName + "]");
+		return new SessionStateDataSource(dataSource);
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.statistics;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+
+/**
+ * Apache commons DBCP 2 {@link PoolMetrics}.
+ * <p>
+ * The pending requests count is not provided by the DBCP 2 DataSource.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class DBCP2PoolMetrics implements PoolMetrics {
+
+	private final BasicDataSource dataSource;
+
+	/**
+	 * Constructor.
+	 * @param dataSource The DBCP 2 DataSource
+	 */
+	public DBCP2PoolMetrics(BasicDataSource dataSource) {
+		super();
+		this.dataSource = dataSource;
+	}
+
+	/**
+	 * Create a {@link PoolMetrics} for given DataSource, which is or wraps a DBCP 2 DataSource.
+	 * @param dataSource The DataSource
+	 * @return The pool metrics, {@link PoolMetrics#UNKNOWN} if the DataSource is not a DBCP 2 DataSource
+	 * @throws SQLException If an unwrap error occurred
+	 */
+	static PoolMetrics of(DataSource dataSource) throws SQLException {
+		if (dataSource.isWrapperFor(BasicDataSource.class)) {
+			return new DBCP2PoolMetrics(dataSource.unwrap(BasicDataSource.class));
+		}
+		return PoolMetrics.UNKNOWN;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.statistics.PoolMetrics#getActive()
+	 */
+	@Override
+	public int getActive() {
+		return dataSource.getNumActive();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.statistics.PoolMetrics#getIdle()
+	 */
+	@Override
+	public int getIdle() {
+		return dataSource.getNumIdle();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.statistics.PoolMetrics#getPending()
+	 */
+	@Override
+	public int getPending() {
+		return -1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.statistics.PoolMetrics#getTotal()
+	 */
+	@Override
+	public int getTotal() {
+		return dataSource.getNumActive() + dataSource.getNumIdle();
+	}
+
+}
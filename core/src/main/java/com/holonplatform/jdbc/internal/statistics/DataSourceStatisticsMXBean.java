@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.statistics;
+
+/**
+ * JMX management interface of the {@link com.holonplatform.jdbc.DataSourceStatistics}.
+ * <p>
+ * The connection counts are <code>-1</code> when not available for the DataSource type, while the wait times are
+ * expressed in milliseconds.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface DataSourceStatisticsMXBean {
+
+	/**
+	 * Get the statistics name.
+	 * @return the statistics name
+	 */
+	String getName();
+
+	/**
+	 * Get the active connections count.
+	 * @return the active connections count
+	 */
+	int getActiveConnections();
+
+	/**
+	 * Get the idle connections count.
+	 * @return the idle connections count
+	 */
+	int getIdleConnections();
+
+	/**
+	 * Get the pending connection requests count.
+	 * @return the pending connection requests count
+	 */
+	int getPendingRequests();
+
+	/**
+	 * Get the total connections count.
+	 * @return the total connections count
+	 */
+	int getTotalConnections();
+
+	/**
+	 * Get the DataSource creation timestamp.
+	 * @return the DataSource creation timestamp, in milliseconds since the epoch
+	 */
+	long getCreationTimestamp();
+
+	/**
+	 * Get the successful connection acquisitions count.
+	 * @return the connection acquisitions count
+	 */
+	long getAcquisitionCount();
+
+	/**
+	 * Get the failed connection acquisitions count.
+	 * @return the failed connection acquisitions count
+	 */
+	long getFailedAcquisitionCount();
+
+	/**
+	 * Get the median connection acquisition wait time.
+	 * @return the median wait time
+	 */
+	double getWaitTimeMedian();
+
+	/**
+	 * Get the 95th percentile connection acquisition wait time.
+	 * @return the 95th percentile wait time
+	 */
+	double getWaitTime95thPercentile();
+
+	/**
+	 * Get the 99th percentile connection acquisition wait time.
+	 * @return the 99th percentile wait time
+	 */
+	double getWaitTime99thPercentile();
+
+	/**
+	 * Get the max connection acquisition wait time.
+	 * @return the max wait time
+	 */
+	double getMaxWaitTime();
+
+	/**
+	 * Get the top 10 statements by total execution time, if the statement profiling is enabled.
+	 * @return the top statements, one description line for each statement
+	 */
+	String[] getTopStatements();
+
+}
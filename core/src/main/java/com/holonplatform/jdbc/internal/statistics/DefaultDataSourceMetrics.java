@@ -0,0 +1,191 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.statistics;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.holonplatform.core.Registration;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+import com.holonplatform.jdbc.metrics.DataSourceMetrics;
+import com.holonplatform.jdbc.metrics.LatencySnapshot;
+import com.holonplatform.jdbc.metrics.MetricsRecorder;
+
+/**
+ * Default {@link DataSourceMetrics} implementation, which uses a {@link LatencyHistogram} for each metric.
+ * <p>
+ * The registered {@link MetricsRecorder}s are held in a copy-on-write array, so the event recording does not allocate
+ * any object.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class DefaultDataSourceMetrics implements DataSourceMetrics {
+
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/**
+	 * No recorders
+	 */
+	private static final MetricsRecorder[] NO_RECORDERS = new MetricsRecorder[0];
+
+	/**
+	 * Name
+	 */
+	private final String name;
+
+	/**
+	 * Histograms by metric
+	 */
+	private final Map<Metric, LatencyHistogram> histograms = new EnumMap<>(Metric.class);
+
+	/**
+	 * Recorders
+	 */
+	private volatile MetricsRecorder[] recorders = NO_RECORDERS;
+
+	/**
+	 * Constructor.
+	 * @param name Metrics name (not null)
+	 */
+	public DefaultDataSourceMetrics(String name) {
+		super();
+		ObjectUtils.argumentNotNull(name, "Metrics name must be not null");
+		this.name = name;
+		for (Metric metric : Metric.values()) {
+			histograms.put(metric, new LatencyHistogram());
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.metrics.DataSourceMetrics#getName()
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.metrics.DataSourceMetrics#record(com.holonplatform.jdbc.metrics.DataSourceMetrics.
+	 * Metric, long)
+	 */
+	@Override
+	public void record(Metric metric, long nanos) {
+		histograms.get(metric).record(nanos);
+		final MetricsRecorder[] current = recorders;
+		for (MetricsRecorder recorder : current) {
+			try {
+				recorder.record(name, metric, nanos);
+			} catch (RuntimeException e) {
+				LOGGER.warn("Metrics [" + name + "]: recorder [" + recorder + "] failed", e);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.jdbc.metrics.DataSourceMetrics#getSnapshot(com.holonplatform.jdbc.metrics.DataSourceMetrics.
+	 * Metric)
+	 */
+	@Override
+	public LatencySnapshot getSnapshot(Metric metric) {
+		ObjectUtils.argumentNotNull(metric, "Metric must be not null");
+		return histograms.get(metric).snapshot();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.metrics.DataSourceMetrics#getIntervalSnapshot(com.holonplatform.jdbc.metrics.
+	 * DataSourceMetrics.Metric)
+	 */
+	@Override
+	public LatencySnapshot getIntervalSnapshot(Metric metric) {
+		ObjectUtils.argumentNotNull(metric, "Metric must be not null");
+		return histograms.get(metric).intervalSnapshot();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.metrics.DataSourceMetrics#addRecorder(com.holonplatform.jdbc.metrics.MetricsRecorder)
+	 */
+	@Override
+	public Registration addRecorder(MetricsRecorder recorder) {
+		ObjectUtils.argumentNotNull(recorder, "Recorder must be not null");
+		synchronized (this) {
+			final MetricsRecorder[] current = recorders;
+			final MetricsRecorder[] updated = Arrays.copyOf(current, current.length + 1);
+			updated[current.length] = recorder;
+			recorders = updated;
+		}
+		return new RecorderRegistration(this, recorder);
+	}
+
+	/**
+	 * Remove given recorder, if registered.
+	 * @param recorder The recorder to remove
+	 */
+	private synchronized void removeRecorder(MetricsRecorder recorder) {
+		final MetricsRecorder[] current = recorders;
+		for (int i = 0; i < current.length; i++) {
+			if (current[i] == recorder) {
+				final MetricsRecorder[] updated = new MetricsRecorder[current.length - 1];
+				System.arraycopy(current, 0, updated, 0, i);
+				System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+				recorders = updated;
+				return;
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultDataSourceMetrics [name=" + name + "]";
+	}
+
+	/**
+	 * Metrics recorder registration.
+	 */
+	private static final class RecorderRegistration implements Registration {
+
+		private static final long serialVersionUID = 645545788998522321L;
+
+		private final transient DefaultDataSourceMetrics metrics;
+		private final transient MetricsRecorder recorder;
+
+		RecorderRegistration(DefaultDataSourceMetrics metrics, MetricsRecorder recorder) {
+			super();
+			this.metrics = metrics;
+			this.recorder = recorder;
+		}
+
+		@Override
+		public void remove() {
+			metrics.removeRecorder(recorder);
+		}
+
+	}
+
+}
@@ -0,0 +1,371 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.statistics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.DataSourceStatistics;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+
+/**
+ * Default {@link DataSourceStatistics} implementation, which can be registered as a JMX MBean.
+ * <p>
+ * The connections count provided by the concrete pool {@link PoolMetrics} are preferred, falling back to the counts
+ * tracked by the statistics decorator when not available. The statement executions are profiled when a
+ * {@link StatementProfiler} is provided.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class DefaultDataSourceStatistics implements DataSourceStatistics, DataSourceStatisticsMXBean {
+
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/**
+	 * JMX domain
+	 */
+	private static final String JMX_DOMAIN = "com.holonplatform.jdbc";
+
+	/**
+	 * Number of top statements provided by the MBean
+	 */
+	private static final int TOP_STATEMENTS_MBEAN_COUNT = 10;
+
+	/**
+	 * Name
+	 */
+	private final String name;
+
+	/**
+	 * Concrete pool metrics
+	 */
+	private final PoolMetrics poolMetrics;
+
+	/**
+	 * Creation timestamp
+	 */
+	private final long creationTimestamp = System.currentTimeMillis();
+
+	/**
+	 * Tracked active connections
+	 */
+	private final AtomicInteger active = new AtomicInteger();
+
+	/**
+	 * Tracked pending requests
+	 */
+	private final AtomicInteger pending = new AtomicInteger();
+
+	/**
+	 * Failed acquisitions
+	 */
+	private final AtomicLong failures = new AtomicLong();
+
+	/**
+	 * Wait time histogram
+	 */
+	private final LatencyHistogram waitTime = new LatencyHistogram();
+
+	/**
+	 * Statement profiler, null if disabled
+	 */
+	private final StatementProfiler statementProfiler;
+
+	/**
+	 * Registered MBean name
+	 */
+	private volatile ObjectName objectName;
+
+	/**
+	 * Constructor.
+	 * @param name Statistics name (not null)
+	 * @param poolMetrics Concrete pool metrics (not null)
+	 */
+	public DefaultDataSourceStatistics(String name, PoolMetrics poolMetrics) {
+		this(name, poolMetrics, null);
+	}
+
+	/**
+	 * Constructor.
+	 * @param name Statistics name (not null)
+	 * @param poolMetrics Concrete pool metrics (not null)
+	 * @param statementProfiler Statement profiler, <code>null</code> to disable the statement profiling
+	 */
+	public DefaultDataSourceStatistics(String name, PoolMetrics poolMetrics, StatementProfiler statementProfiler) {
+		super();
+		ObjectUtils.argumentNotNull(name, "Statistics name must be not null");
+		ObjectUtils.argumentNotNull(poolMetrics, "Pool metrics must be not null");
+		this.name = name;
+		this.poolMetrics = poolMetrics;
+		this.statementProfiler = statementProfiler;
+	}
+
+	/**
+	 * Get the statement profiler, if the statement profiling is enabled.
+	 * @return Optional statement profiler
+	 */
+	public Optional<StatementProfiler> getStatementProfiler() {
+		return Optional.ofNullable(statementProfiler);
+	}
+
+	/**
+	 * Record the start of a connection request.
+	 * @return The request start time in nanoseconds
+	 */
+	public long onRequest() {
+		pending.incrementAndGet();
+		return System.nanoTime();
+	}
+
+	/**
+	 * Record a successful connection acquisition.
+	 * @param start The request start time in nanoseconds
+	 */
+	public void onAcquired(long start) {
+		final long elapsed = System.nanoTime() - start;
+		pending.decrementAndGet();
+		active.incrementAndGet();
+		waitTime.record(elapsed);
+	}
+
+	/**
+	 * Record a failed connection acquisition.
+	 */
+	public void onFailed() {
+		pending.decrementAndGet();
+		failures.incrementAndGet();
+	}
+
+	/**
+	 * Record a connection release.
+	 */
+	public void onReleased() {
+		active.decrementAndGet();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourceStatistics#getName()
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourceStatistics#getActiveConnections()
+	 */
+	@Override
+	public int getActiveConnections() {
+		final int value = poolMetrics.getActive();
+		return (value >= 0) ? value : active.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourceStatistics#getIdleConnections()
+	 */
+	@Override
+	public int getIdleConnections() {
+		return poolMetrics.getIdle();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourceStatistics#getPendingRequests()
+	 */
+	@Override
+	public int getPendingRequests() {
+		final int value = poolMetrics.getPending();
+		return (value >= 0) ? value : pending.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourceStatistics#getTotalConnections()
+	 */
+	@Override
+	public int getTotalConnections() {
+		final int value = poolMetrics.getTotal();
+		if (value >= 0) {
+			return value;
+		}
+		final int idle = getIdleConnections();
+		return (idle >= 0) ? getActiveConnections() + idle : -1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourceStatistics#getCreationTimestamp()
+	 */
+	@Override
+	public long getCreationTimestamp() {
+		return creationTimestamp;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourceStatistics#getAcquisitionCount()
+	 */
+	@Override
+	public long getAcquisitionCount() {
+		return waitTime.getCount();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourceStatistics#getFailedAcquisitionCount()
+	 */
+	@Override
+	public long getFailedAcquisitionCount() {
+		return failures.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourceStatistics#getWaitTimePercentile(double)
+	 */
+	@Override
+	public double getWaitTimePercentile(double percentile) {
+		return waitTime.getPercentileMillis(percentile);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourceStatistics#getMaxWaitTime()
+	 */
+	@Override
+	public double getMaxWaitTime() {
+		return LatencyHistogram.toMillis(waitTime.getMax());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourceStatistics#getTopStatements(int)
+	 */
+	@Override
+	public List<StatementStatistics> getTopStatements(int count) {
+		return (statementProfiler != null) ? statementProfiler.getTopStatements(count) : Collections.emptyList();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.statistics.DataSourceStatisticsMXBean#getTopStatements()
+	 */
+	@Override
+	public String[] getTopStatements() {
+		return getTopStatements(TOP_STATEMENTS_MBEAN_COUNT).stream()
+				.map(s -> String.format("count: %d, total: %.3f ms, mean: %.3f ms, max: %.3f ms - %s",
+						s.getExecutionCount(), s.getTotalTime(), s.getMeanTime(), s.getMaxTime(), s.getFingerprint()))
+				.toArray(String[]::new);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.statistics.DataSourceStatisticsMXBean#getWaitTimeMedian()
+	 */
+	@Override
+	public double getWaitTimeMedian() {
+		return getWaitTimePercentile(50d);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.statistics.DataSourceStatisticsMXBean#getWaitTime95thPercentile()
+	 */
+	@Override
+	public double getWaitTime95thPercentile() {
+		return getWaitTimePercentile(95d);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.statistics.DataSourceStatisticsMXBean#getWaitTime99thPercentile()
+	 */
+	@Override
+	public double getWaitTime99thPercentile() {
+		return getWaitTimePercentile(99d);
+	}
+
+	/**
+	 * Get the JMX MBean name of the statistics with given name.
+	 * @param name The statistics name
+	 * @return The MBean name
+	 * @throws JMException If the name is not valid
+	 */
+	public static ObjectName getObjectName(String name) throws JMException {
+		return new ObjectName(JMX_DOMAIN + ":type=DataSource,name=" + ObjectName.quote(name));
+	}
+
+	/**
+	 * Register the statistics as a JMX MBean in the platform MBean server. If a MBean with the same name is already
+	 * registered, a warning is logged and the statistics are not registered.
+	 */
+	public void registerMBean() {
+		try {
+			final ObjectName on = getObjectName(name);
+			final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			if (server.isRegistered(on)) {
+				LOGGER.warn("DataSource statistics MBean [" + on + "] is already registered, skipping registration");
+				return;
+			}
+			server.registerMBean(this, on);
+			objectName = on;
+			LOGGER.debug(() -> "Registered DataSource statistics MBean [" + on + "]");
+		} catch (JMException | RuntimeException e) {
+			LOGGER.warn("Failed to register DataSource statistics MBean [" + name + "]", e);
+		}
+	}
+
+	/**
+	 * Unregister the statistics JMX MBean, if registered.
+	 */
+	public void unregisterMBean() {
+		final ObjectName on = objectName;
+		if (on != null) {
+			objectName = null;
+			try {
+				ManagementFactory.getPlatformMBeanServer().unregisterMBean(on);
+				LOGGER.debug(() -> "Unregistered DataSource statistics MBean [" + on + "]");
+			} catch (JMException | RuntimeException e) {
+				LOGGER.warn("Failed to unregister DataSource statistics MBean [" + on + "]", e);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultDataSourceStatistics [name=" + name + ", active=" + getActiveConnections() + ", idle="
+				+ getIdleConnections() + ", pending=" + getPendingRequests() + "]";
+	}
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.statistics;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * HikariCP {@link PoolMetrics}.
+ * 
+ * @since 6.0.3
+ */
+public class HikariPoolMetrics implements PoolMetrics {
+
+	private final HikariDataSource dataSource;
+
+	/**
+	 * Constructor.
+	 * @param dataSource The Hikari DataSource
+	 */
+	public HikariPoolMetrics(HikariDataSource dataSource) {
+		super();
+		this.dataSource = dataSource;
+	}
+
+	/**
+	 * Create a {@link PoolMetrics} for given DataSource, which is or wraps a Hikari DataSource.
+	 * @param dataSource The DataSource
+	 * @return The pool metrics, {@link PoolMetrics#UNKNOWN} if the DataSource is not a Hikari DataSource
+	 * @throws SQLException If an unwrap error occurred
+	 */
+	static PoolMetrics of(DataSource dataSource) throws SQLException {
+		if (dataSource.isWrapperFor(HikariDataSource.class)) {
+			return new HikariPoolMetrics(dataSource.unwrap(HikariDataSource.class));
+		}
+		return PoolMetrics.UNKNOWN;
+	}
+
+	/**
+	 * Get the pool MBean, available only when the pool has been started.
+	 * @return the pool MBean, or <code>null</code>
+	 */
+	private HikariPoolMXBean getPool() {
+		return dataSource.getHikariPoolMXBean();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.statistics.PoolMetrics#getActive()
+	 */
+	@Override
+	public int getActive() {
+		final HikariPoolMXBean pool = getPool();
+		return (pool != null) ? pool.getActiveConnections() : 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.statistics.PoolMetrics#getIdle()
+	 */
+	@Override
+	public int getIdle() {
+		final HikariPoolMXBean pool = getPool();
+		return (pool != null) ? pool.getIdleConnections() : 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.statistics.PoolMetrics#getPending()
+	 */
+	@Override
+	public int getPending() {
+		final HikariPoolMXBean pool = getPool();
+		return (pool != null) ? pool.getThreadsAwaitingConnection() : -1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.statistics.PoolMetrics#getTotal()
+	 */
+	@Override
+	public int getTotal() {
+		final HikariPoolMXBean pool = getPool();
+		return (pool != null) ? pool.getTotalConnections() : 0;
+	}
+
+}
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.statistics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.holonplatform.jdbc.metrics.LatencySnapshot;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds, using log-linear buckets: each power of two range is split into 8
+ * linear sub-buckets, so the recorded values are approximated with a relative error lower than 12.5%.
+ * <p>
+ * The values are recorded in a set of stripes selected by the recording thread, to reduce the contention on the
+ * shared counters under concurrent load. The recording does not allocate any object and does not acquire any lock: the
+ * stripes are merged only when a {@link #snapshot()} or an {@link #intervalSnapshot()} is taken.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class LatencyHistogram {
+
+	/**
+	 * Linear sub-buckets bits
+	 */
+	private static final int SUB_BUCKET_BITS = 3;
+
+	/**
+	 * Linear sub-buckets count
+	 */
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/**
+	 * Buckets count, enough for any positive long value
+	 */
+	static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	/**
+	 * Stripe slot of the values count
+	 */
+	private static final int COUNT_SLOT = BUCKETS;
+
+	/**
+	 * Stripe slot of the values sum
+	 */
+	private static final int SUM_SLOT = BUCKETS + 1;
+
+	/**
+	 * Stripe slot of the max value
+	 */
+	private static final int MAX_SLOT = BUCKETS + 2;
+
+	/**
+	 * Stripe slot of the max value since the last interval snapshot
+	 */
+	private static final int INTERVAL_MAX_SLOT = BUCKETS + 3;
+
+	/**
+	 * Stripe slots count
+	 */
+	private static final int SLOTS = BUCKETS + 4;
+
+	/**
+	 * Max stripes count
+	 */
+	private static final int MAX_STRIPES = 16;
+
+	/**
+	 * Stripes
+	 */
+	private final AtomicLongArray[] stripes;
+
+	/**
+	 * Stripe selection mask
+	 */
+	private final int mask;
+
+	/**
+	 * Bucket counts, count and sum at the last interval snapshot
+	 */
+	private long[] intervalBase = new long[SUM_SLOT + 1];
+
+	/**
+	 * Constructor, using a stripes count according to the available processors.
+	 */
+	public LatencyHistogram() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Constructor.
+	 * @param concurrency Expected recording concurrency, used to select the stripes count
+	 */
+	public LatencyHistogram(int concurrency) {
+		super();
+		int count = 1;
+		while (count < concurrency && count < MAX_STRIPES) {
+			count <<= 1;
+		}
+		this.stripes = new AtomicLongArray[count];
+		for (int i = 0; i < count; i++) {
+			this.stripes[i] = new AtomicLongArray(SLOTS);
+		}
+		this.mask = count - 1;
+	}
+
+	/**
+	 * Record a value.
+	 * @param nanos The value in nanoseconds, negative values are recorded as <code>0</code>
+	 */
+	public void record(long nanos) {
+		final long value = Math.max(0L, nanos);
+		final AtomicLongArray stripe = stripe();
+		stripe.incrementAndGet(bucketIndex(value));
+		stripe.incrementAndGet(COUNT_SLOT);
+		stripe.addAndGet(SUM_SLOT, value);
+		// avoid a shared write when not needed
+		if (value > stripe.get(INTERVAL_MAX_SLOT)) {
+			stripe.accumulateAndGet(INTERVAL_MAX_SLOT, value, Math::max);
+			if (value > stripe.get(MAX_SLOT)) {
+				stripe.accumulateAndGet(MAX_SLOT, value, Math::max);
+			}
+		}
+	}
+
+	/**
+	 * Get the recorded values count.
+	 * @return the values count
+	 */
+	public long getCount() {
+		long count = 0;
+		for (AtomicLongArray stripe : stripes) {
+			count += stripe.get(COUNT_SLOT);
+		}
+		return count;
+	}
+
+	/**
+	 * Get the max recorded value.
+	 * @return The max value in nanoseconds
+	 */
+	public long getMax() {
+		long max = 0;
+		for (AtomicLongArray stripe : stripes) {
+			max = Math.max(max, stripe.get(MAX_SLOT));
+		}
+		return max;
+	}
+
+	/**
+	 * Get the value at given percentile.
+	 * @param percentile The percentile, between <code>0</code> and <code>100</code>
+	 * @return The value in nanoseconds, <code>0</code> if no value was recorded
+	 */
+	public long getPercentile(double percentile) {
+		return snapshot().getValueAtPercentile(percentile);
+	}
+
+	/**
+	 * Get the value at given percentile in milliseconds.
+	 * @param percentile The percentile, between <code>0</code> and <code>100</code>
+	 * @return The value in milliseconds, <code>0</code> if no value was recorded
+	 */
+	public double getPercentileMillis(double percentile) {
+		return toMillis(getPercentile(percentile));
+	}
+
+	/**
+	 * Take a snapshot of all the values recorded so far.
+	 * @return The histogram snapshot
+	 */
+	public LatencySnapshot snapshot() {
+		final long[] merged = merge();
+		long max = 0;
+		for (AtomicLongArray stripe : stripes) {
+			max = Math.max(max, stripe.get(MAX_SLOT));
+		}
+		return new HistogramSnapshot(merged, max);
+	}
+
+	/**
+	 * Take a snapshot of the values recorded since the previous interval snapshot, or since the histogram creation for
+	 * the first interval snapshot.
+	 * @return The interval histogram snapshot
+	 */
+	public synchronized LatencySnapshot intervalSnapshot() {
+		long max = 0;
+		for (AtomicLongArray stripe : stripes) {
+			max = Math.max(max, stripe.getAndSet(INTERVAL_MAX_SLOT, 0L));
+		}
+		final long[] merged = merge();
+		final long[] interval = new long[merged.length];
+		for (int i = 0; i < merged.length; i++) {
+			interval[i] = merged[i] - intervalBase[i];
+		}
+		intervalBase = merged;
+		return new HistogramSnapshot(interval, max);
+	}
+
+	/**
+	 * Convert given nanoseconds value to milliseconds.
+	 * @param nanos The value in nanoseconds
+	 * @return The value in milliseconds
+	 */
+	public static double toMillis(long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	/**
+	 * Get the stripe to use for the current thread.
+	 * @return The current thread stripe
+	 */
+	private AtomicLongArray stripe() {
+		if (mask == 0) {
+			return stripes[0];
+		}
+		final int hash = System.identityHashCode(Thread.currentThread());
+		return stripes[(hash ^ (hash >>> 16)) & mask];
+	}
+
+	/**
+	 * Merge the stripes bucket counts, count and sum.
+	 * @return The merged bucket counts, followed by the values count and sum
+	 */
+	private long[] merge() {
+		final long[] merged = new long[SUM_SLOT + 1];
+		for (AtomicLongArray stripe : stripes) {
+			for (int i = 0; i < merged.length; i++) {
+				merged[i] += stripe.get(i);
+			}
+		}
+		return merged;
+	}
+
+	/**
+	 * Get the bucket index of given value.
+	 * @param value The value (not negative)
+	 * @return The bucket index
+	 */
+	static int bucketIndex(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		final int msb = 63 - Long.numberOfLeadingZeros(value);
+		final int sub = (int) (value >>> (msb - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (msb - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * Get the lowest value of given bucket.
+	 * @param index The bucket index
+	 * @return The bucket lowest value
+	 */
+	static long bucketLowerBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		final int msb = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		final long sub = index % SUB_BUCKETS;
+		return (SUB_BUCKETS + sub) << (msb - SUB_BUCKET_BITS);
+	}
+
+	/**
+	 * Get the midpoint value of given bucket.
+	 * @param index The bucket index
+	 * @return The bucket midpoint value
+	 */
+	private static long bucketMidpoint(int index) {
+		final long lower = bucketLowerBound(index);
+		if (index < SUB_BUCKETS) {
+			return lower;
+		}
+		final long width = bucketLowerBound(index + 1 < BUCKETS ? index + 1 : index) - lower;
+		return lower + (width >> 1);
+	}
+
+	/**
+	 * An immutable {@link LatencySnapshot} of the histogram values.
+	 */
+	private static final class HistogramSnapshot implements LatencySnapshot {
+
+		private final long[] counts;
+		private final long max;
+
+		/**
+		 * Constructor.
+		 * @param counts Bucket counts, followed by the values count and sum
+		 * @param max Max value
+		 */
+		HistogramSnapshot(long[] counts, long max) {
+			super();
+			this.counts = counts;
+			this.max = max;
+		}
+
+		@Override
+		public long getCount() {
+			return counts[COUNT_SLOT];
+		}
+
+		@Override
+		public long getMax() {
+			return max;
+		}
+
+		@Override
+		public double getMean() {
+			final long count = getCount();
+			return (count > 0) ? counts[SUM_SLOT] / (double) count : 0d;
+		}
+
+		@Override
+		public long getValueAtPercentile(double percentile) {
+			if (percentile < 0d || percentile > 100d) {
+				throw new IllegalArgumentException("Percentile must be between 0 and 100");
+			}
+			long total = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				total += counts[i];
+			}
+			if (total == 0) {
+				return 0L;
+			}
+			final long rank = Math.max(1L, (long) Math.ceil((percentile / 100d) * total));
+			long cumulated = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				cumulated += counts[i];
+				if (cumulated >= rank) {
+					return Math.min(bucketMidpoint(i), max);
+				}
+			}
+			return max;
+		}
+
+		@Override
+		public String toString() {
+			return "LatencySnapshot [count=" + getCount() + ", mean=" + getMean() + ", max=" + max + "]";
+		}
+
+	}
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.statistics;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.interceptor.StatementInterceptor;
+import com.holonplatform.jdbc.interceptor.StatementInvocation;
+import com.holonplatform.jdbc.internal.DelegatingConnection;
+import com.holonplatform.jdbc.internal.DelegatingDataSource;
+import com.holonplatform.jdbc.metrics.DataSourceMetrics;
+import com.holonplatform.jdbc.metrics.DataSourceMetrics.Metric;
+
+/**
+ * A {@link DataSource} decorator which records the {@link DataSourceMetrics} connection acquisition and lease times.
+ * <p>
+ * The statement execution times are recorded by the {@link StatementInterceptor} returned by
+ * {@link #createStatementInterceptor(DataSourceMetrics)}. The {@link DataSourceMetrics} can be obtained using the
+ * {@link #unwrap(Class)} method.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class MetricsDataSource extends DelegatingDataSource {
+
+	/**
+	 * Metrics
+	 */
+	private final DataSourceMetrics metrics;
+
+	/**
+	 * Constructor.
+	 * @param delegate Delegate DataSource (not null)
+	 * @param metrics Metrics (not null)
+	 */
+	public MetricsDataSource(DataSource delegate, DataSourceMetrics metrics) {
+		super(delegate);
+		ObjectUtils.argumentNotNull(metrics, "Metrics must be not null");
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Create a {@link StatementInterceptor} which records the statement execution times in given metrics.
+	 * @param metrics Metrics (not null)
+	 * @return the statement timing interceptor
+	 */
+	public static StatementInterceptor createStatementInterceptor(DataSourceMetrics metrics) {
+		ObjectUtils.argumentNotNull(metrics, "Metrics must be not null");
+		return new MetricsStatementInterceptor(metrics);
+	}
+
+	/**
+	 * Get the DataSource metrics.
+	 * @return the metrics
+	 */
+	public DataSourceMetrics getMetrics() {
+		return metrics;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection()
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		final long start = System.nanoTime();
+		final Connection connection = super.getConnection();
+		final long acquired = System.nanoTime();
+		metrics.record(Metric.ACQUISITION, acquired - start);
+		return new MeteredConnection(connection, acquired);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		final long start = System.nanoTime();
+		final Connection connection = super.getConnection(username, password);
+		final long acquired = System.nanoTime();
+		metrics.record(Metric.ACQUISITION, acquired - start);
+		return new MeteredConnection(connection, acquired);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#unwrap(java.lang.Class)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(metrics)) {
+			return (T) metrics;
+		}
+		return super.unwrap(iface);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#isWrapperFor(java.lang.Class)
+	 */
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(metrics) || super.isWrapperFor(iface);
+	}
+
+	/**
+	 * A {@link Connection} which records the lease time when closed or aborted.
+	 */
+	private final class MeteredConnection extends DelegatingConnection {
+
+		private final long acquired;
+
+		private final AtomicBoolean released = new AtomicBoolean(false);
+
+		MeteredConnection(Connection delegate, long acquired) {
+			super(delegate);
+			this.acquired = acquired;
+		}
+
+		@Override
+		public void close() throws SQLException {
+			try {
+				super.close();
+			} finally {
+				release();
+			}
+		}
+
+		@Override
+		public void abort(Executor executor) throws SQLException {
+			try {
+				super.abort(executor);
+			} finally {
+				release();
+			}
+		}
+
+		private void release() {
+			if (released.compareAndSet(false, true)) {
+				metrics.record(Metric.LEASE, System.nanoTime() - acquired);
+			}
+		}
+
+	}
+
+	/**
+	 * A {@link StatementInterceptor} which records the statement execution times.
+	 */
+	private static final class MetricsStatementInterceptor implements StatementInterceptor {
+
+		private final DataSourceMetrics metrics;
+
+		MetricsStatementInterceptor(DataSourceMetrics metrics) {
+			super();
+			this.metrics = metrics;
+		}
+
+		@Override
+		public boolean isExecutionTimeRequired() {
+			return true;
+		}
+
+		@Override
+		public <T> T intercept(StatementInvocation<T> invocation) throws SQLException {
+			try {
+				return invocation.proceed();
+			} finally {
+				final long elapsed = invocation.getExecutionTime();
+				if (elapsed >= 0) {
+					metrics.record(Metric.STATEMENT, elapsed);
+				}
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "MetricsStatementInterceptor [" + metrics + "]";
+		}
+
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.statistics;
+
+import java.util.ServiceLoader;
+
+import jakarta.annotation.Priority;
+import javax.sql.DataSource;
+
+import com.holonplatform.core.config.ConfigPropertySet.ConfigurationException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ClassUtils;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.DataSourcePostProcessor;
+import com.holonplatform.jdbc.internal.InterceptingDataSource;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+import com.holonplatform.jdbc.metrics.DataSourceMetrics;
+import com.holonplatform.jdbc.metrics.MetricsRecorder;
+
+/**
+ * A {@link DataSourcePostProcessor} which decorates the DataSource to collect the {@link DataSourceMetrics} when the
+ * {@link DataSourceConfigProperties#METRICS_ENABLED} configuration property is <code>true</code>.
+ * <p>
+ * The {@link MetricsRecorder}s available as default Java {@link ServiceLoader} extensions are registered in the
+ * DataSource metrics.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+@Priority(500)
+public class MetricsDataSourcePostProcessor implements DataSourcePostProcessor {
+
+	private static final long serialVersionUID = -3066419201457238715L;
+
+	/**
+	 * Default metrics name, used when no data context id is available
+	 */
+	private static final String DEFAULT_NAME = "default";
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#postProcessDataSource(javax.sql.DataSource,
+	 * java.lang.String, com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public void postProcessDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		// nothing to do
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#decorateDataSource(javax.sql.DataSource, java.lang.String,
+	 * com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public DataSource decorateDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		if (!configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.METRICS_ENABLED,
+				Boolean.FALSE)) {
+			return dataSource;
+		}
+		final String name = configurationProperties.getDataContextId().orElse(DEFAULT_NAME);
+		final boolean statementTiming = configurationProperties
+				.getConfigPropertyValue(DataSourceConfigProperties.METRICS_STATEMENT_TIMING, Boolean.TRUE);
+
+		final DataSourceMetrics metrics = DataSourceMetrics.create(name);
+		for (MetricsRecorder recorder : ServiceLoader.load(MetricsRecorder.class,
+				ClassUtils.getDefaultClassLoader())) {
+			metrics.addRecorder(recorder);
+			LOGGER.debug(() -> "Registered metrics recorder [" + recorder + "] for DataSource [" + name + "]");
+		}
+
+		LOGGER.debug(() -> "Installed metrics on DataSource of type [" + typeName + "]: " + metrics
+				+ " - statement timing: " + statementTiming);
+
+		if (statementTiming) {
+			return InterceptingDataSource.decorate(dataSource, ds -> new MetricsDataSource(ds, metrics),
+					MetricsDataSource.createStatementInterceptor(metrics));
+		}
+		return InterceptingDataSource.decorate(dataSource, ds -> new MetricsDataSource(ds, metrics));
+	}
+
+}
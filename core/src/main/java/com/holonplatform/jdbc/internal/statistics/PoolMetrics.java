@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.statistics;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.PooledXADataSource;
+
+/**
+ * Adapter to obtain the connections count from a concrete connection pool.
+ * <p>
+ * Each method returns <code>-1</code> if the value is not available from the concrete pool.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface PoolMetrics {
+
+	/**
+	 * Get the number of connections currently in use.
+	 * @return The active connections count, <code>-1</code> if not available
+	 */
+	int getActive();
+
+	/**
+	 * Get the number of idle connections.
+	 * @return The idle connections count, <code>-1</code> if not available
+	 */
+	int getIdle();
+
+	/**
+	 * Get the number of threads waiting for a connection.
+	 * @return The pending requests count, <code>-1</code> if not available
+	 */
+	int getPending();
+
+	/**
+	 * Get the total number of connections.
+	 * @return The total connections count, <code>-1</code> if not available
+	 */
+	int getTotal();
+
+	/**
+	 * A {@link PoolMetrics} for DataSources which do not pool the connections: the idle connections count is always
+	 * <code>0</code>.
+	 */
+	static final PoolMetrics NOT_POOLED = new PoolMetrics() {
+
+		@Override
+		public int getActive() {
+			return -1;
+		}
+
+		@Override
+		public int getIdle() {
+			return 0;
+		}
+
+		@Override
+		public int getPending() {
+			return -1;
+		}
+
+		@Override
+		public int getTotal() {
+			return -1;
+		}
+
+	};
+
+	/**
+	 * A {@link PoolMetrics} for unknown DataSource types.
+	 */
+	static final PoolMetrics UNKNOWN = new PoolMetrics() {
+
+		@Override
+		public int getActive() {
+			return -1;
+		}
+
+		@Override
+		public int getIdle() {
+			return -1;
+		}
+
+		@Override
+		public int getPending() {
+			return -1;
+		}
+
+		@Override
+		public int getTotal() {
+			return -1;
+		}
+
+	};
+
+	/**
+	 * Get the {@link PoolMetrics} for given DataSource.
+	 * <p>
+	 * The DataSource type name is used to select the pool adapter, so that the optional pool classes are loaded only
+	 * when the DataSource is of the corresponding type.
+	 * </p>
+	 * @param dataSource The DataSource
+	 * @param typeName The DataSource type name
+	 * @return The pool metrics adapter
+	 * @throws SQLException If the concrete pool cannot be unwrapped
+	 */
+	static PoolMetrics of(DataSource dataSource, String typeName) throws SQLException {
+		if (typeName != null) {
+			switch (typeName) {
+			case DataSourceBuilder.TYPE_HIKARICP:
+				return HikariPoolMetrics.of(dataSource);
+			case DataSourceBuilder.TYPE_DBCP:
+				return DBCP2PoolMetrics.of(dataSource);
+			case DataSourceBuilder.TYPE_TOMCAT:
+				return TomcatJdbcPoolMetrics.of(dataSource);
+			case DataSourceBuilder.TYPE_BASIC:
+				return NOT_POOLED;
+			default:
+				break;
+			}
+		}
+		if (dataSource.isWrapperFor(PooledXADataSource.class)) {
+			return new PooledXAPoolMetrics(dataSource.unwrap(PooledXADataSource.class));
+		}
+		return UNKNOWN;
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.statistics;
+
+import com.holonplatform.jdbc.PooledXADataSource;
+
+/**
+ * {@link PooledXADataSource} {@link PoolMetrics}.
+ * <p>
+ * The pending requests count is not provided by the pooled XA DataSource.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class PooledXAPoolMetrics implements PoolMetrics {
+
+	private final PooledXADataSource dataSource;
+
+	/**
+	 * Constructor.
+	 * @param dataSource The pooled XA DataSource
+	 */
+	public PooledXAPoolMetrics(PooledXADataSource dataSource) {
+		super();
+		this.dataSource = dataSource;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.statistics.PoolMetrics#getActive()
+	 */
+	@Override
+	public int getActive() {
+		return dataSource.getActiveCount();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.statistics.PoolMetrics#getIdle()
+	 */
+	@Override
+	public int getIdle() {
+		return dataSource.getIdleCount();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.statistics.PoolMetrics#getPending()
+	 */
+	@Override
+	public int getPending() {
+		return -1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.statistics.PoolMetrics#getTotal()
+	 */
+	@Override
+	public int getTotal() {
+		return dataSource.getActiveCount() + dataSource.getIdleCount();
+	}
+
+}
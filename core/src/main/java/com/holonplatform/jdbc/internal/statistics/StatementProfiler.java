@@ -0,0 +1,277 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.statistics;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.DataSourceStatistics.StatementStatistics;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+import com.holonplatform.jdbc.internal.SQLFingerprint;
+
+/**
+ * Profiles the statement executions, aggregating the execution times by SQL fingerprint in a bounded table.
+ * <p>
+ * The table uses the <em>space-saving</em> algorithm: when a new fingerprint is found and the table is full, the entry
+ * with the lowest weight (the total execution time) is replaced by the new fingerprint, which inherits the evicted
+ * entry weight. This way, the most time consuming statements are retained even under a continuous flow of distinct
+ * fingerprints, while the statistics of the new fingerprint only include its own executions.
+ * </p>
+ * <p>
+ * The executions of already tracked fingerprints are recorded without acquiring any lock, while the table updates
+ * are serialized. When a log interval is configured, the top statements are logged by the first recording thread
+ * which finds the interval elapsed.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class StatementProfiler {
+
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/**
+	 * Number of statements to log
+	 */
+	private static final int LOG_COUNT = 10;
+
+	/**
+	 * Name
+	 */
+	private final String name;
+
+	/**
+	 * Max tracked fingerprints
+	 */
+	private final int capacity;
+
+	/**
+	 * Log interval in nanoseconds, 0 if disabled
+	 */
+	private final long logInterval;
+
+	/**
+	 * Fingerprints cache
+	 */
+	private final SQLFingerprint.Cache fingerprints;
+
+	/**
+	 * Entries by fingerprint
+	 */
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * Next log time in nanoseconds
+	 */
+	private final AtomicLong nextLog;
+
+	/**
+	 * Constructor.
+	 * @param name Profiler name (not null)
+	 * @param capacity Max tracked fingerprints (greater than 0)
+	 * @param logInterval Top statements log interval in milliseconds, 0 to disable
+	 */
+	public StatementProfiler(String name, int capacity, long logInterval) {
+		super();
+		ObjectUtils.argumentNotNull(name, "Profiler name must be not null");
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Statement profiler capacity must be greater than 0");
+		}
+		this.name = name;
+		this.capacity = capacity;
+		this.logInterval = (logInterval > 0) ? TimeUnit.MILLISECONDS.toNanos(logInterval) : 0L;
+		this.fingerprints = new SQLFingerprint.Cache(capacity * 10);
+		this.nextLog = new AtomicLong(System.nanoTime() + this.logInterval);
+	}
+
+	/**
+	 * Record a statement execution.
+	 * @param sql The executed SQL, if <code>null</code> the execution is ignored
+	 * @param nanos The execution time in nanoseconds
+	 */
+	public void record(String sql, long nanos) {
+		if (sql == null) {
+			return;
+		}
+		final String fingerprint = fingerprints.get(sql);
+		Entry entry = entries.get(fingerprint);
+		if (entry == null) {
+			entry = admit(fingerprint);
+		}
+		entry.record(nanos);
+		if (logInterval > 0) {
+			logIfDue();
+		}
+	}
+
+	/**
+	 * Get the statistics of the top statements, ordered by total execution time.
+	 * @param count The max number of statements to return
+	 * @return The top statements statistics
+	 */
+	public List<StatementStatistics> getTopStatements(int count) {
+		if (count < 1) {
+			return Collections.emptyList();
+		}
+		return entries.values().stream().sorted(Comparator.comparingLong(Entry::getWeight).reversed()).limit(count)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Get the number of tracked fingerprints.
+	 * @return the tracked fingerprints count
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Get the entry of given fingerprint, adding it to the table and evicting the lowest weight entry if the table is
+	 * full.
+	 * @param fingerprint The SQL fingerprint
+	 * @return The fingerprint entry
+	 */
+	private synchronized Entry admit(String fingerprint) {
+		final Entry existing = entries.get(fingerprint);
+		if (existing != null) {
+			return existing;
+		}
+		long inherited = 0L;
+		if (entries.size() >= capacity) {
+			Entry min = null;
+			for (Entry candidate : entries.values()) {
+				if (min == null || candidate.getWeight() < min.getWeight()) {
+					min = candidate;
+				}
+			}
+			if (min != null) {
+				entries.remove(min.getFingerprint());
+				inherited = min.getWeight();
+			}
+		}
+		final Entry entry = new Entry(fingerprint, inherited);
+		entries.put(fingerprint, entry);
+		return entry;
+	}
+
+	/**
+	 * Log the top statements if the log interval is elapsed.
+	 */
+	private void logIfDue() {
+		final long now = System.nanoTime();
+		final long next = nextLog.get();
+		if (now - next >= 0 && nextLog.compareAndSet(next, now + logInterval)) {
+			LOGGER.info(format(getTopStatements(LOG_COUNT)));
+		}
+	}
+
+	/**
+	 * Format given statements statistics for logging.
+	 * @param statements The statements statistics
+	 * @return The formatted statistics
+	 */
+	private String format(List<StatementStatistics> statements) {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("Top statements of DataSource [").append(name).append("]:");
+		int index = 1;
+		for (StatementStatistics s : statements) {
+			sb.append("\n").append(index++).append(". count: ").append(s.getExecutionCount());
+			sb.append(", total: ").append(String.format("%.3f", s.getTotalTime())).append(" ms");
+			sb.append(", mean: ").append(String.format("%.3f", s.getMeanTime())).append(" ms");
+			sb.append(", p99: ").append(String.format("%.3f", s.getTimePercentile(99d))).append(" ms");
+			sb.append(", max: ").append(String.format("%.3f", s.getMaxTime())).append(" ms");
+			sb.append(" - ").append(s.getFingerprint());
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * A fingerprint entry.
+	 */
+	private static final class Entry implements StatementStatistics {
+
+		private final String fingerprint;
+
+		private final long inherited;
+
+		private final AtomicLong weight;
+
+		private final LatencyHistogram histogram = new LatencyHistogram(1);
+
+		Entry(String fingerprint, long inherited) {
+			super();
+			this.fingerprint = fingerprint;
+			this.inherited = inherited;
+			this.weight = new AtomicLong(inherited);
+		}
+
+		void record(long nanos) {
+			final long value = Math.max(0L, nanos);
+			histogram.record(value);
+			weight.addAndGet(value);
+		}
+
+		long getWeight() {
+			return weight.get();
+		}
+
+		@Override
+		public String getFingerprint() {
+			return fingerprint;
+		}
+
+		@Override
+		public long getExecutionCount() {
+			return histogram.getCount();
+		}
+
+		@Override
+		public double getTotalTime() {
+			return LatencyHistogram.toMillis(weight.get() - inherited);
+		}
+
+		@Override
+		public double getMeanTime() {
+			final long count = getExecutionCount();
+			return (count > 0) ? getTotalTime() / count : 0d;
+		}
+
+		@Override
+		public double getMaxTime() {
+			return LatencyHistogram.toMillis(histogram.getMax());
+		}
+
+		@Override
+		public double getTimePercentile(double percentile) {
+			return histogram.getPercentileMillis(percentile);
+		}
+
+		@Override
+		public String toString() {
+			return "StatementStatistics [fingerprint=" + fingerprint + ", count=" + getExecutionCount() + ", total="
+					+ getTotalTime() + " ms]";
+		}
+
+	}
+
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.statistics;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.DataSourceStatistics;
+import com.holonplatform.jdbc.interceptor.StatementInterceptor;
+import com.holonplatform.jdbc.interceptor.StatementInvocation;
+import com.holonplatform.jdbc.internal.DelegatingConnection;
+import com.holonplatform.jdbc.internal.DelegatingDataSource;
+
+/**
+ * A {@link DataSource} decorator which collects the {@link DataSourceStatistics}.
+ * <p>
+ * The {@link DataSourceStatistics} can be obtained using the {@link #unwrap(Class)} method. When the DataSource is
+ * closed, the statistics JMX MBean is unregistered, if registered.
+ * </p>
+ * <p>
+ * When the statement profiling is enabled, the statement execution times are recorded in the statistics
+ * {@link StatementProfiler} by the {@link StatementInterceptor} returned by
+ * {@link #createStatementInterceptor(StatementProfiler)}.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class StatisticsDataSource extends DelegatingDataSource {
+
+	/**
+	 * Statistics
+	 */
+	private final DefaultDataSourceStatistics statistics;
+
+	/**
+	 * Constructor.
+	 * @param delegate Delegate DataSource (not null)
+	 * @param statistics Statistics (not null)
+	 */
+	public StatisticsDataSource(DataSource delegate, DefaultDataSourceStatistics statistics) {
+		super(delegate);
+		ObjectUtils.argumentNotNull(statistics, "Statistics must be not null");
+		this.statistics = statistics;
+	}
+
+	/**
+	 * Create a {@link StatementInterceptor} which records the statement execution times in given statement profiler.
+	 * @param statementProfiler Statement profiler (not null)
+	 * @return the statement profiling interceptor
+	 */
+	public static StatementInterceptor createStatementInterceptor(StatementProfiler statementProfiler) {
+		ObjectUtils.argumentNotNull(statementProfiler, "Statement profiler must be not null");
+		return new ProfilingStatementInterceptor(statementProfiler);
+	}
+
+	/**
+	 * Get the DataSource statistics.
+	 * @return the statistics
+	 */
+	public DataSourceStatistics getStatistics() {
+		return statistics;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection()
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		final long start = statistics.onRequest();
+		final Connection connection;
+		try {
+			connection = super.getConnection();
+		} catch (SQLException | RuntimeException e) {
+			statistics.onFailed();
+			throw e;
+		}
+		statistics.onAcquired(start);
+		return new MeasuredConnection(connection);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		final long start = statistics.onRequest();
+		final Connection connection;
+		try {
+			connection = super.getConnection(username, password);
+		} catch (SQLException | RuntimeException e) {
+			statistics.onFailed();
+			throw e;
+		}
+		statistics.onAcquired(start);
+		return new MeasuredConnection(connection);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#unwrap(java.lang.Class)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(statistics)) {
+			return (T) statistics;
+		}
+		return super.unwrap(iface);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#isWrapperFor(java.lang.Class)
+	 */
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(statistics) || super.isWrapperFor(iface);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			statistics.unregisterMBean();
+		} finally {
+			super.close();
+		}
+	}
+
+	/**
+	 * A {@link Connection} which records the connection release when closed or aborted.
+	 */
+	private final class MeasuredConnection extends DelegatingConnection {
+
+		private final AtomicBoolean released = new AtomicBoolean(false);
+
+		MeasuredConnection(Connection delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public void close() throws SQLException {
+			try {
+				super.close();
+			} finally {
+				release();
+			}
+		}
+
+		@Override
+		public void abort(Executor executor) throws SQLException {
+			try {
+				super.abort(executor);
+			} finally {
+				release();
+			}
+		}
+
+		private void release() {
+			if (released.compareAndSet(false, true)) {
+				statistics.onReleased();
+			}
+		}
+
+	}
+
+	/**
+	 * A {@link StatementInterceptor} which records the statement execution times in a {@link StatementProfiler}.
+	 */
+	private static final class ProfilingStatementInterceptor implements StatementInterceptor {
+
+		private final StatementProfiler statementProfiler;
+
+		ProfilingStatementInterceptor(StatementProfiler statementProfiler) {
+			super();
+			this.statementProfiler = statementProfiler;
+		}
+
+		@Override
+		public boolean isExecutionTimeRequired() {
+			return true;
+		}
+
+		@Override
+		public <T> T intercept(StatementInvocation<T> invocation) throws SQLException {
+			try {
+				return invocation.proceed();
+			} finally {
+				final long elapsed = invocation.getExecutionTime();
+				if (elapsed >= 0) {
+					statementProfiler.record(invocation.getSql(), elapsed);
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.statistics;
+
+import java.sql.SQLException;
+
+import jakarta.annotation.Priority;
+import javax.sql.DataSource;
+
+import com.holonplatform.core.config.ConfigPropertySet.ConfigurationException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.DataSourcePostProcessor;
+import com.holonplatform.jdbc.DataSourceStatistics;
+import com.holonplatform.jdbc.internal.InterceptingDataSource;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+
+/**
+ * A {@link DataSourcePostProcessor} which decorates the DataSource to collect the {@link DataSourceStatistics} when the
+ * {@link DataSourceConfigProperties#STATISTICS_ENABLED} configuration property is <code>true</code>, registering the
+ * statistics as a JMX MBean unless the {@link DataSourceConfigProperties#STATISTICS_JMX_ENABLED} configuration
+ * property is <code>false</code>.
+ * <p>
+ * The statement executions are profiled when the {@link DataSourceConfigProperties#STATISTICS_STATEMENTS_ENABLED}
+ * configuration property is <code>true</code>.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+@Priority(400)
+public class StatisticsDataSourcePostProcessor implements DataSourcePostProcessor {
+
+	private static final long serialVersionUID = 4419875366152309281L;
+
+	/**
+	 * Default statistics name, used when no data context id is available
+	 */
+	private static final String DEFAULT_NAME = "default";
+
+	/**
+	 * Default statement profiler capacity
+	 */
+	private static final int DEFAULT_STATEMENTS_CAPACITY = 100;
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#postProcessDataSource(javax.sql.DataSource,
+	 * java.lang.String, com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public void postProcessDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		// nothing to do
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#decorateDataSource(javax.sql.DataSource, java.lang.String,
+	 * com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public DataSource decorateDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		if (!configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.STATISTICS_ENABLED,
+				Boolean.FALSE)) {
+			return dataSource;
+		}
+		final String name = configurationProperties.getDataContextId().orElse(DEFAULT_NAME);
+		final PoolMetrics poolMetrics;
+		try {
+			poolMetrics = PoolMetrics.of(dataSource, typeName);
+		} catch (SQLException e) {
+			throw new ConfigurationException(
+					"Failed to obtain the connection pool of DataSource [Data context id: " + name + "]", e);
+		}
+		StatementProfiler statementProfiler = null;
+		if (configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.STATISTICS_STATEMENTS_ENABLED,
+				Boolean.FALSE)) {
+			final int capacity = configurationProperties.getConfigPropertyValue(
+					DataSourceConfigProperties.STATISTICS_STATEMENTS_CAPACITY, DEFAULT_STATEMENTS_CAPACITY);
+			if (capacity < 1) {
+				throw new ConfigurationException("Invalid statement profiling capacity: " + capacity
+						+ " - the capacity must be greater than 0");
+			}
+			statementProfiler = new StatementProfiler(name, capacity, configurationProperties
+					.getConfigPropertyValue(DataSourceConfigProperties.STATISTICS_STATEMENTS_LOG_INTERVAL, 0L));
+		}
+		final DefaultDataSourceStatistics statistics = new DefaultDataSourceStatistics(name, poolMetrics,
+				statementProfiler);
+		if (configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.STATISTICS_JMX_ENABLED,
+				Boolean.TRUE)) {
+			statistics.registerMBean();
+		}
+
+		LOGGER.debug(() -> "Installed statistics on DataSource of type [" + typeName + "]: " + statistics);
+
+		if (statementProfiler != null) {
+			return InterceptingDataSource.decorate(dataSource, ds -> new StatisticsDataSource(ds, statistics),
+					StatisticsDataSource.createStatementInterceptor(statementProfiler));
+		}
+		return InterceptingDataSource.decorate(dataSource, ds -> new StatisticsDataSource(ds, statistics));
+	}
+
+}
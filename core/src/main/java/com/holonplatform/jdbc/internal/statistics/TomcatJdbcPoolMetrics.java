@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.statistics;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+/**
+ * Tomcat JDBC {@link PoolMetrics}.
+ * 
+ * @since 6.0.3
+ */
+public class TomcatJdbcPoolMetrics implements PoolMetrics {
+
+	private final org.apache.tomcat.jdbc.pool.DataSource dataSource;
+
+	/**
+	 * Constructor.
+	 * @param dataSource The Tomcat JDBC DataSource
+	 */
+	public TomcatJdbcPoolMetrics(org.apache.tomcat.jdbc.pool.DataSource dataSource) {
+		super();
+		this.dataSource = dataSource;
+	}
+
+	/**
+	 * Create a {@link PoolMetrics} for given DataSource, which is or wraps a Tomcat JDBC DataSource.
+	 * @param dataSource The DataSource
+	 * @return The pool metrics, {@link PoolMetrics#UNKNOWN} if the DataSource is not a Tomcat JDBC DataSource
+	 * @throws SQLException If an unwrap error occurred
+	 */
+	static PoolMetrics of(DataSource dataSource) throws SQLException {
+		if (dataSource.isWrapperFor(org.apache.tomcat.jdbc.pool.DataSource.class)) {
+			return new TomcatJdbcPoolMetrics(dataSource.unwrap(org.apache.tomcat.jdbc.pool.DataSource.class));
+		}
+		return PoolMetrics.UNKNOWN;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.statistics.PoolMetrics#getActive()
+	 */
+	@Override
+	public int getActive() {
+		return dataSource.getActive();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.statistics.PoolMetrics#getIdle()
+	 */
+	@Override
+	public int getIdle() {
+		return dataSource.getIdle();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.statistics.PoolMetrics#getPending()
+	 */
+	@Override
+	public int getPending() {
+		return dataSource.getWaitCount();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.statistics.PoolMetrics#getTotal()
+	 */
+	@Override
+	public int getTotal() {
+		return dataSource.getSize();
+	}
+
+}
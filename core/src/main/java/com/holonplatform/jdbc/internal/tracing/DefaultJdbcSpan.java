@@ -0,0 +1,171 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.tracing;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.holonplatform.jdbc.tracing.JdbcSpan;
+
+/**
+ * Default {@link JdbcSpan} implementation.
+ * 
+ * @since 6.0.3
+ */
+public class DefaultJdbcSpan implements JdbcSpan {
+
+	private final Kind kind;
+	private final String traceId;
+	private final String spanId;
+	private final String parentSpanId;
+	private final long startTimestamp;
+	private final long start;
+	private final Map<String, String> attributes = new HashMap<>(8);
+
+	private long duration;
+	private Throwable error;
+
+	/**
+	 * Constructor.
+	 * @param kind Span kind
+	 * @param traceId Trace id
+	 * @param spanId Span id
+	 * @param parentSpanId Parent span id, <code>null</code> if none
+	 */
+	public DefaultJdbcSpan(Kind kind, String traceId, String spanId, String parentSpanId) {
+		super();
+		this.kind = kind;
+		this.traceId = traceId;
+		this.spanId = spanId;
+		this.parentSpanId = parentSpanId;
+		this.startTimestamp = System.currentTimeMillis() * 1000L;
+		this.start = System.nanoTime();
+	}
+
+	/**
+	 * Set a span attribute.
+	 * @param name Attribute name
+	 * @param value Attribute value, ignored if <code>null</code>
+	 */
+	public void setAttribute(String name, String value) {
+		if (value != null) {
+			attributes.put(name, value);
+		}
+	}
+
+	/**
+	 * End the span.
+	 * @param failure The error which made the operation fail, <code>null</code> if none
+	 */
+	public void end(Throwable failure) {
+		this.duration = System.nanoTime() - start;
+		this.error = failure;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.tracing.JdbcSpan#getKind()
+	 */
+	@Override
+	public Kind getKind() {
+		return kind;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.tracing.JdbcSpan#getName()
+	 */
+	@Override
+	public String getName() {
+		return kind.getSpanName();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.tracing.JdbcSpan#getTraceId()
+	 */
+	@Override
+	public String getTraceId() {
+		return traceId;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.tracing.JdbcSpan#getSpanId()
+	 */
+	@Override
+	public String getSpanId() {
+		return spanId;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.tracing.JdbcSpan#getParentSpanId()
+	 */
+	@Override
+	public Optional<String> getParentSpanId() {
+		return Optional.ofNullable(parentSpanId);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.tracing.JdbcSpan#getStartTimestamp()
+	 */
+	@Override
+	public long getStartTimestamp() {
+		return startTimestamp;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.tracing.JdbcSpan#getDuration()
+	 */
+	@Override
+	public long getDuration() {
+		return duration;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.tracing.JdbcSpan#getAttributes()
+	 */
+	@Override
+	public Map<String, String> getAttributes() {
+		return Collections.unmodifiableMap(attributes);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.tracing.JdbcSpan#getError()
+	 */
+	@Override
+	public Optional<Throwable> getError() {
+		return Optional.ofNullable(error);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "JdbcSpan [name=" + getName() + ", traceId=" + traceId + ", spanId=" + spanId + ", parentSpanId="
+				+ parentSpanId + ", duration=" + duration + ", attributes=" + attributes + "]";
+	}
+
+}
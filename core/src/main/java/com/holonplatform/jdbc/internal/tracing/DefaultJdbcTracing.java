@@ -0,0 +1,300 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.tracing;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.holonplatform.core.Registration;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.tenancy.TenantResolver;
+import com.holonplatform.jdbc.DatabasePlatform;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+import com.holonplatform.jdbc.internal.SQLFingerprint;
+import com.holonplatform.jdbc.tracing.JdbcSpan;
+import com.holonplatform.jdbc.tracing.JdbcSpan.Kind;
+import com.holonplatform.jdbc.tracing.JdbcTracing;
+import com.holonplatform.jdbc.tracing.SpanExporter;
+import com.holonplatform.jdbc.tracing.TraceContext;
+
+/**
+ * Default {@link JdbcTracing} implementation.
+ * <p>
+ * The registered {@link SpanExporter}s are held in a copy-on-write array: when no exporter is registered, no span is
+ * created at all.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class DefaultJdbcTracing implements JdbcTracing {
+
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/**
+	 * No exporters
+	 */
+	private static final SpanExporter[] NO_EXPORTERS = new SpanExporter[0];
+
+	/**
+	 * Max cached SQL fingerprints
+	 */
+	private static final int FINGERPRINT_CACHE_SIZE = 1000;
+
+	/**
+	 * Name
+	 */
+	private final String name;
+
+	/**
+	 * Data context id
+	 */
+	private final String dataContextId;
+
+	/**
+	 * Database system
+	 */
+	private final String dbSystem;
+
+	/**
+	 * Sample ratio
+	 */
+	private final double sampleRatio;
+
+	/**
+	 * SQL fingerprints
+	 */
+	private final SQLFingerprint.Cache fingerprints = new SQLFingerprint.Cache(FINGERPRINT_CACHE_SIZE);
+
+	/**
+	 * Exporters
+	 */
+	private volatile SpanExporter[] exporters = NO_EXPORTERS;
+
+	/**
+	 * Constructor.
+	 * @param name Tracing name (not null)
+	 * @param dataContextId Data context id, <code>null</code> if not available
+	 * @param platform Database platform, <code>null</code> if not available
+	 * @param sampleRatio Sample ratio, from <code>0</code> to <code>1</code>
+	 */
+	public DefaultJdbcTracing(String name, String dataContextId, DatabasePlatform platform, double sampleRatio) {
+		super();
+		ObjectUtils.argumentNotNull(name, "Tracing name must be not null");
+		if (!(sampleRatio >= 0d && sampleRatio <= 1d)) {
+			throw new IllegalArgumentException("Tracing sample ratio must be between 0 and 1");
+		}
+		this.name = name;
+		this.dataContextId = dataContextId;
+		this.dbSystem = getDbSystem(platform);
+		this.sampleRatio = sampleRatio;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.tracing.JdbcTracing#getName()
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.tracing.JdbcTracing#getSampleRatio()
+	 */
+	@Override
+	public double getSampleRatio() {
+		return sampleRatio;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.tracing.JdbcTracing#addExporter(com.holonplatform.jdbc.tracing.SpanExporter)
+	 */
+	@Override
+	public Registration addExporter(SpanExporter exporter) {
+		ObjectUtils.argumentNotNull(exporter, "Exporter must be not null");
+		synchronized (this) {
+			final SpanExporter[] current = exporters;
+			final SpanExporter[] updated = Arrays.copyOf(current, current.length + 1);
+			updated[current.length] = exporter;
+			exporters = updated;
+		}
+		return new ExporterRegistration(this, exporter);
+	}
+
+	/**
+	 * Remove given exporter, if registered.
+	 * @param exporter The exporter to remove
+	 */
+	private synchronized void removeExporter(SpanExporter exporter) {
+		final SpanExporter[] current = exporters;
+		for (int i = 0; i < current.length; i++) {
+			if (current[i] == exporter) {
+				final SpanExporter[] updated = new SpanExporter[current.length - 1];
+				System.arraycopy(current, 0, updated, 0, i);
+				System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+				exporters = updated;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Start a span, if the operation is sampled.
+	 * @param kind Span kind
+	 * @return The started span, <code>null</code> if the operation is not sampled
+	 */
+	public DefaultJdbcSpan start(Kind kind) {
+		if (exporters.length == 0) {
+			return null;
+		}
+		final TraceContext parent = TraceContext.getCurrent().orElse(null);
+		if (parent != null) {
+			if (!parent.isSampled()) {
+				return null;
+			}
+		} else if (sampleRatio < 1d
+				&& (sampleRatio <= 0d || ThreadLocalRandom.current().nextDouble() >= sampleRatio)) {
+			return null;
+		}
+		final DefaultJdbcSpan span = (parent != null)
+				? new DefaultJdbcSpan(kind, parent.getTraceId(), generateId(1), parent.getSpanId())
+				: new DefaultJdbcSpan(kind, generateId(2), generateId(1), null);
+		span.setAttribute(JdbcSpan.ATTRIBUTE_DB_SYSTEM, dbSystem);
+		span.setAttribute(JdbcSpan.ATTRIBUTE_DATA_CONTEXT_ID, dataContextId);
+		TenantResolver.getCurrent().flatMap(r -> r.getTenantId())
+				.ifPresent(t -> span.setAttribute(JdbcSpan.ATTRIBUTE_TENANT_ID, t));
+		return span;
+	}
+
+	/**
+	 * End given span and export it.
+	 * @param span The span to end
+	 * @param sql The executed SQL, <code>null</code> if none or not available
+	 * @param error The error which made the operation fail, <code>null</code> if none
+	 */
+	public void end(DefaultJdbcSpan span, String sql, Throwable error) {
+		span.end(error);
+		if (sql != null) {
+			span.setAttribute(JdbcSpan.ATTRIBUTE_DB_STATEMENT, fingerprints.get(sql));
+		}
+		for (SpanExporter exporter : exporters) {
+			try {
+				exporter.export(span);
+			} catch (RuntimeException e) {
+				LOGGER.warn("Tracing [" + name + "]: span exporter [" + exporter + "] failed", e);
+			}
+		}
+	}
+
+	/**
+	 * Generate a random id, as a lowercase hex string.
+	 * @param longs The id size, in 64-bit blocks
+	 * @return The id
+	 */
+	private static String generateId(int longs) {
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		final StringBuilder sb = new StringBuilder(longs * 16);
+		for (int i = 0; i < longs; i++) {
+			long value;
+			do {
+				value = random.nextLong();
+			} while (value == 0L);
+			final String hex = Long.toHexString(value);
+			for (int p = hex.length(); p < 16; p++) {
+				sb.append('0');
+			}
+			sb.append(hex);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Get the OpenTelemetry <code>db.system</code> attribute value of given platform.
+	 * @param platform The database platform
+	 * @return The database system name, <code>null</code> if not available
+	 */
+	private static String getDbSystem(DatabasePlatform platform) {
+		if (platform == null) {
+			return null;
+		}
+		switch (platform) {
+		case DB2:
+		case DB2_AS400:
+			return "db2";
+		case DERBY:
+			return "derby";
+		case H2:
+			return "h2";
+		case HSQL:
+			return "hsqldb";
+		case INFORMIX:
+			return "informix";
+		case MYSQL:
+			return "mysql";
+		case MARIADB:
+			return "mariadb";
+		case HANA:
+			return "hanadb";
+		case ORACLE:
+			return "oracle";
+		case POSTGRESQL:
+			return "postgresql";
+		case SQL_SERVER:
+			return "mssql";
+		case SQLITE:
+			return "sqlite";
+		case NONE:
+		default:
+			return "other_sql";
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultJdbcTracing [name=" + name + ", dbSystem=" + dbSystem + ", sampleRatio=" + sampleRatio + "]";
+	}
+
+	/**
+	 * Span exporter registration.
+	 */
+	private static final class ExporterRegistration implements Registration {
+
+		private static final long serialVersionUID = -1788440600780181566L;
+
+		private final transient DefaultJdbcTracing tracing;
+		private final transient SpanExporter exporter;
+
+		ExporterRegistration(DefaultJdbcTracing tracing, SpanExporter exporter) {
+			super();
+			this.tracing = tracing;
+			this.exporter = exporter;
+		}
+
+		@Override
+		public void remove() {
+			tracing.removeExporter(exporter);
+		}
+
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.tracing;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.tracing.TraceContext;
+
+/**
+ * Default {@link TraceContext} implementation.
+ * 
+ * @since 6.0.3
+ */
+public class DefaultTraceContext implements TraceContext {
+
+	private final String traceId;
+	private final String spanId;
+	private final boolean sampled;
+
+	/**
+	 * Constructor.
+	 * @param traceId Trace id (not null)
+	 * @param spanId Span id (not null)
+	 * @param sampled Whether the trace is sampled
+	 */
+	public DefaultTraceContext(String traceId, String spanId, boolean sampled) {
+		super();
+		ObjectUtils.argumentNotNull(traceId, "Trace id must be not null");
+		ObjectUtils.argumentNotNull(spanId, "Span id must be not null");
+		this.traceId = traceId;
+		this.spanId = spanId;
+		this.sampled = sampled;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.tracing.TraceContext#getTraceId()
+	 */
+	@Override
+	public String getTraceId() {
+		return traceId;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.tracing.TraceContext#getSpanId()
+	 */
+	@Override
+	public String getSpanId() {
+		return spanId;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.tracing.TraceContext#isSampled()
+	 */
+	@Override
+	public boolean isSampled() {
+		return sampled;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultTraceContext [traceId=" + traceId + ", spanId=" + spanId + ", sampled=" + sampled + "]";
+	}
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.tracing;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.interceptor.StatementInterceptor;
+import com.holonplatform.jdbc.interceptor.StatementInvocation;
+import com.holonplatform.jdbc.internal.DelegatingDataSource;
+import com.holonplatform.jdbc.tracing.JdbcSpan.Kind;
+import com.holonplatform.jdbc.tracing.JdbcTracing;
+
+/**
+ * A {@link DataSource} decorator which traces the connection acquisitions using a {@link DefaultJdbcTracing}.
+ * <p>
+ * The statement executions are traced by the {@link StatementInterceptor} returned by
+ * {@link #createStatementInterceptor(DefaultJdbcTracing)}. The {@link JdbcTracing} can be obtained using the
+ * {@link #unwrap(Class)} method.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class TracingDataSource extends DelegatingDataSource {
+
+	/**
+	 * Tracing
+	 */
+	private final DefaultJdbcTracing tracing;
+
+	/**
+	 * Constructor.
+	 * @param delegate Delegate DataSource (not null)
+	 * @param tracing Tracing (not null)
+	 */
+	public TracingDataSource(DataSource delegate, DefaultJdbcTracing tracing) {
+		super(delegate);
+		ObjectUtils.argumentNotNull(tracing, "Tracing must be not null");
+		this.tracing = tracing;
+	}
+
+	/**
+	 * Create a {@link StatementInterceptor} which traces the statement executions using given tracing.
+	 * @param tracing Tracing (not null)
+	 * @return the statement tracing interceptor
+	 */
+	public static StatementInterceptor createStatementInterceptor(DefaultJdbcTracing tracing) {
+		ObjectUtils.argumentNotNull(tracing, "Tracing must be not null");
+		return new TracingStatementInterceptor(tracing);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection()
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		final DefaultJdbcSpan span = tracing.start(Kind.CONNECTION_ACQUISITION);
+		if (span == null) {
+			return super.getConnection();
+		}
+		try {
+			final Connection connection = super.getConnection();
+			tracing.end(span, null, null);
+			return connection;
+		} catch (SQLException | RuntimeException e) {
+			tracing.end(span, null, e);
+			throw e;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		final DefaultJdbcSpan span = tracing.start(Kind.CONNECTION_ACQUISITION);
+		if (span == null) {
+			return super.getConnection(username, password);
+		}
+		try {
+			final Connection connection = super.getConnection(username, password);
+			tracing.end(span, null, null);
+			return connection;
+		} catch (SQLException | RuntimeException e) {
+			tracing.end(span, null, e);
+			throw e;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#unwrap(java.lang.Class)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(tracing)) {
+			return (T) tracing;
+		}
+		return super.unwrap(iface);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#isWrapperFor(java.lang.Class)
+	 */
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(tracing) || super.isWrapperFor(iface);
+	}
+
+	/**
+	 * A {@link StatementInterceptor} which traces the statement executions.
+	 */
+	private static final class TracingStatementInterceptor implements StatementInterceptor {
+
+		private final DefaultJdbcTracing tracing;
+
+		TracingStatementInterceptor(DefaultJdbcTracing tracing) {
+			super();
+			this.tracing = tracing;
+		}
+
+		@Override
+		public <T> T intercept(StatementInvocation<T> invocation) throws SQLException {
+			final DefaultJdbcSpan span = tracing.start(Kind.STATEMENT);
+			if (span == null) {
+				return invocation.proceed();
+			}
+			try {
+				final T result = invocation.proceed();
+				tracing.end(span, invocation.getSql(), null);
+				return result;
+			} catch (SQLException | RuntimeException e) {
+				tracing.end(span, invocation.getSql(), e);
+				throw e;
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "TracingStatementInterceptor [" + tracing + "]";
+		}
+
+	}
+
+}
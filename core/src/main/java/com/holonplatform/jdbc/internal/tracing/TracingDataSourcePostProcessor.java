@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.tracing;
+
+import java.util.ServiceLoader;
+
+import jakarta.annotation.Priority;
+import javax.sql.DataSource;
+
+import com.holonplatform.core.config.ConfigPropertySet.ConfigurationException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ClassUtils;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.DataSourcePostProcessor;
+import com.holonplatform.jdbc.internal.InterceptingDataSource;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+import com.holonplatform.jdbc.tracing.JdbcTracing;
+import com.holonplatform.jdbc.tracing.SpanExporter;
+
+/**
+ * A {@link DataSourcePostProcessor} which decorates the DataSource to enable the {@link JdbcTracing} when the
+ * {@link DataSourceConfigProperties#TRACING_ENABLED} configuration property is <code>true</code>.
+ * <p>
+ * The {@link SpanExporter}s available as default Java {@link ServiceLoader} extensions are registered in the
+ * DataSource tracing.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+@Priority(800)
+public class TracingDataSourcePostProcessor implements DataSourcePostProcessor {
+
+	private static final long serialVersionUID = 5548104923857720311L;
+
+	/**
+	 * Default tracing name, used when no data context id is available
+	 */
+	private static final String DEFAULT_NAME = "default";
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#postProcessDataSource(javax.sql.DataSource,
+	 * java.lang.String, com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public void postProcessDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		// nothing to do
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#decorateDataSource(javax.sql.DataSource, java.lang.String,
+	 * com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public DataSource decorateDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		if (!configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.TRACING_ENABLED,
+				Boolean.FALSE)) {
+			return dataSource;
+		}
+		final String dataContextId = configurationProperties.getDataContextId().orElse(null);
+		final String name = (dataContextId != null) ? dataContextId : DEFAULT_NAME;
+		final DefaultJdbcTracing tracing;
+		try {
+			tracing = new DefaultJdbcTracing(name, dataContextId, configurationProperties.getDatabasePlatform(),
+					configurationProperties.getConfigPropertyValue(DataSourceConfigProperties.TRACING_SAMPLE_RATIO,
+							DataSourceConfigProperties.DEFAULT_TRACING_SAMPLE_RATIO));
+		} catch (IllegalArgumentException e) {
+			throw new ConfigurationException(
+					"Invalid tracing configuration for DataSource [Data context id: " + name + "]", e);
+		}
+		for (SpanExporter exporter : ServiceLoader.load(SpanExporter.class, ClassUtils.getDefaultClassLoader())) {
+			tracing.addExporter(exporter);
+			LOGGER.debug(() -> "Registered span exporter [" + exporter + "] for DataSource [" + name + "]");
+		}
+
+		LOGGER.debug(() -> "Installed tracing on DataSource of type [" + typeName + "]: " + tracing);
+
+		return InterceptingDataSource.decorate(dataSource, ds -> new TracingDataSource(ds, tracing),
+				TracingDataSource.createStatementInterceptor(tracing));
+	}
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.transaction;
+
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Savepoint;
+
+import com.holonplatform.core.datastore.transaction.Transaction;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.datastore.transaction.AbstractTransaction;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+
+/**
+ * Default {@link Transaction} implementation bound to a {@link TransactionBoundConnection}.
+ * <p>
+ * A transaction can be:
+ * <ul>
+ * <li>A <em>new</em> transaction, which owns the bound connection and commits or rolls back the JDBC transaction.</li>
+ * <li>A <em>nested</em> transaction, backed by a JDBC {@link Savepoint}.</li>
+ * <li>A <em>participating</em> transaction, which takes part in the active transaction: the commit has no effect and
+ * the rollback marks the active transaction as rollback-only.</li>
+ * </ul>
+ * 
+ * @since 6.0.3
+ */
+public class DefaultJdbcTransaction extends AbstractTransaction implements Transaction {
+
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	private final TransactionBoundConnection connection;
+
+	private final Savepoint savepoint;
+
+	private final boolean autoCommit;
+
+	private final boolean rollbackOnError;
+
+	/**
+	 * Constructor.
+	 * @param connection The bound connection
+	 * @param newTransaction Whether the transaction owns the bound connection
+	 * @param savepoint The savepoint of a nested transaction, <code>null</code> if not nested
+	 * @param autoCommit Whether to commit the transaction at the end of a transactional operation
+	 * @param rollbackOnError Whether to rollback the transaction when a transactional operation fails
+	 */
+	DefaultJdbcTransaction(TransactionBoundConnection connection, boolean newTransaction, Savepoint savepoint,
+			boolean autoCommit, boolean rollbackOnError) {
+		super(newTransaction);
+		this.connection = connection;
+		this.savepoint = savepoint;
+		this.autoCommit = autoCommit;
+		this.rollbackOnError = rollbackOnError;
+	}
+
+	/**
+	 * Gets whether this is a nested transaction backed by a savepoint.
+	 * @return <code>true</code> if nested
+	 */
+	public boolean isNested() {
+		return savepoint != null;
+	}
+
+	/**
+	 * Gets whether to commit the transaction at the end of a transactional operation.
+	 * @return whether to commit the transaction at the end of a transactional operation
+	 */
+	boolean isAutoCommit() {
+		return autoCommit;
+	}
+
+	/**
+	 * Gets whether to rollback the transaction when a transactional operation fails.
+	 * @return whether to rollback the transaction when a transactional operation fails
+	 */
+	boolean isRollbackOnError() {
+		return rollbackOnError;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.transaction.TransactionStatus#isActive()
+	 */
+	@Override
+	public boolean isActive() {
+		return !isCompleted();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.transaction.Transaction#commit()
+	 */
+	@Override
+	public boolean commit() throws TransactionException {
+		checkCompletable("commit");
+		// participating
+		if (!isNew() && !isNested()) {
+			if (isRollbackOnly()) {
+				connection.setRollbackOnly();
+			}
+			complete();
+			return !isRollbackOnly();
+		}
+		if (isRollbackOnly() || (isNew() && connection.isRollbackOnly())) {
+			rollback();
+			return false;
+		}
+		if (connection.isExpired()) {
+			rollback();
+			throw new TransactionException("Transaction rolled back: the transaction timeout is expired");
+		}
+		try {
+			if (isNested()) {
+				try {
+					connection.getConnection().releaseSavepoint(savepoint);
+				} catch (SQLFeatureNotSupportedException e) {
+					// released with the transaction
+				}
+			} else {
+				connection.getConnection().commit();
+			}
+		} catch (SQLException e) {
+			rollback();
+			throw new TransactionException("Failed to commit the transaction", e);
+		}
+		complete();
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.transaction.Transaction#rollback()
+	 */
+	@Override
+	public void rollback() throws TransactionException {
+		checkCompletable("rollback");
+		try {
+			if (isNested()) {
+				connection.getConnection().rollback(savepoint);
+			} else if (isNew()) {
+				connection.getConnection().rollback();
+			} else {
+				connection.setRollbackOnly();
+			}
+		} catch (SQLException e) {
+			throw new TransactionException("Failed to rollback the transaction", e);
+		} finally {
+			complete();
+		}
+	}
+
+	/**
+	 * Check the transaction can be completed.
+	 * @param operation The completion operation name
+	 * @throws IllegalTransactionStatusException If the transaction is completed or it is not the innermost active
+	 *         transaction
+	 */
+	private void checkCompletable(String operation) {
+		if (isCompleted()) {
+			throw new IllegalTransactionStatusException(
+					"Cannot " + operation + " the transaction: the transaction is already completed");
+		}
+		if (!connection.isCurrent(this)) {
+			throw new IllegalTransactionStatusException("Cannot " + operation
+					+ " the transaction: the transaction is not the innermost active transaction");
+		}
+	}
+
+	/**
+	 * Mark the transaction as completed and release the bound connection if the transaction owns it.
+	 */
+	private void complete() {
+		if (!isCompleted()) {
+			setCompleted();
+			connection.pop(this);
+			if (isNew()) {
+				connection.release();
+			}
+			LOGGER.debug(() -> "Completed JDBC transaction [" + this + "]");
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultJdbcTransaction [new=" + isNew() + ", nested=" + isNested() + ", completed=" + isCompleted()
+				+ ", rollbackOnly=" + isRollbackOnly() + "]";
+	}
+
+}
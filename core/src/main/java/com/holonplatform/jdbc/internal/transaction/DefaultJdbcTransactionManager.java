@@ -0,0 +1,275 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.transaction;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.datastore.transaction.Transaction;
+import com.holonplatform.core.datastore.transaction.TransactionConfiguration;
+import com.holonplatform.core.datastore.transaction.TransactionStatus.TransactionException;
+import com.holonplatform.core.datastore.transaction.TransactionalOperation;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.DatabasePlatform;
+import com.holonplatform.jdbc.ReadOnlyHint;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+import com.holonplatform.jdbc.transaction.JdbcTransactionManager;
+import com.holonplatform.jdbc.transaction.JdbcTransactionOptions;
+import com.holonplatform.jdbc.transaction.TransactionRetryPolicy;
+
+/**
+ * Default {@link JdbcTransactionManager} implementation.
+ * 
+ * @since 6.0.3
+ */
+public class DefaultJdbcTransactionManager implements JdbcTransactionManager {
+
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	private final DataSource dataSource;
+
+	/**
+	 * Database platform, resolved from the first transaction connection
+	 */
+	private volatile DatabasePlatform platform;
+
+	/**
+	 * Constructor.
+	 * @param dataSource The DataSource (not null)
+	 */
+	public DefaultJdbcTransactionManager(DataSource dataSource) {
+		super();
+		ObjectUtils.argumentNotNull(dataSource, "DataSource must be not null");
+		this.dataSource = dataSource;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.transaction.JdbcTransactionManager#getDataSource()
+	 */
+	@Override
+	public DataSource getDataSource() {
+		return dataSource;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.transaction.JdbcTransactionManager#isTransactionActive()
+	 */
+	@Override
+	public boolean isTransactionActive() {
+		return TransactionBoundConnection.get(dataSource) != null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.jdbc.transaction.JdbcTransactionManager#begin(com.holonplatform.core.datastore.transaction.
+	 * TransactionConfiguration)
+	 */
+	@Override
+	public Transaction begin(TransactionConfiguration configuration) {
+		ObjectUtils.argumentNotNull(configuration, "Transaction configuration must be not null");
+		return startTransaction(configuration);
+	}
+
+	/**
+	 * Start a new transaction, or a transaction participating in the current one if active.
+	 * @param configuration The transaction configuration
+	 * @return The transaction
+	 */
+	private DefaultJdbcTransaction startTransaction(TransactionConfiguration configuration) {
+		final JdbcTransactionOptions options = getJdbcTransactionOptions(configuration).orElse(null);
+
+		final TransactionBoundConnection bound = TransactionBoundConnection.get(dataSource);
+		final DefaultJdbcTransaction transaction;
+		if (bound != null) {
+			if (options != null && options.isNested()) {
+				final Savepoint savepoint;
+				try {
+					savepoint = bound.getConnection().setSavepoint();
+				} catch (SQLException e) {
+					throw new TransactionException("Failed to create the nested transaction savepoint", e);
+				}
+				transaction = new DefaultJdbcTransaction(bound, false, savepoint, configuration.isAutoCommit(),
+						configuration.isRollbackOnError());
+			} else {
+				transaction = new DefaultJdbcTransaction(bound, false, null, configuration.isAutoCommit(),
+						configuration.isRollbackOnError());
+			}
+			bound.push(transaction);
+		} else {
+			final TransactionBoundConnection connection = bind(options);
+			transaction = new DefaultJdbcTransaction(connection, true, null, configuration.isAutoCommit(),
+					configuration.isRollbackOnError());
+			connection.push(transaction);
+		}
+		LOGGER.debug(() -> "Started JDBC transaction [" + transaction + "]");
+		return transaction;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.datastore.transaction.Transactional#withTransaction(com.holonplatform.core.datastore.
+	 * transaction.TransactionalOperation, com.holonplatform.core.datastore.transaction.TransactionConfiguration)
+	 */
+	@Override
+	public <R> R withTransaction(TransactionalOperation<R> operation, TransactionConfiguration transactionConfiguration) {
+		ObjectUtils.argumentNotNull(operation, "TransactionalOperation must be not null");
+		final TransactionConfiguration configuration = (transactionConfiguration != null) ? transactionConfiguration
+				: TransactionConfiguration.getDefault();
+		// the retry policy is applied only to the outermost transaction
+		final TransactionRetryPolicy retryPolicy = isTransactionActive() ? null
+				: getJdbcTransactionOptions(configuration).flatMap(o -> o.getRetryPolicy()).orElse(null);
+		if (retryPolicy != null) {
+			return DefaultTransactionRetryPolicy.execute(retryPolicy, () -> platform,
+					() -> execute(operation, configuration));
+		}
+		return execute(operation, configuration);
+	}
+
+	/**
+	 * Execute given operation in a transaction.
+	 * @param <R> Operation result type
+	 * @param operation The operation to execute
+	 * @param configuration The transaction configuration
+	 * @return The operation result
+	 */
+	private <R> R execute(TransactionalOperation<R> operation, TransactionConfiguration configuration) {
+		final DefaultJdbcTransaction tx = startTransaction(configuration);
+		final R result;
+		try {
+			result = operation.execute(tx);
+		} catch (RuntimeException e) {
+			if (!tx.isCompleted()) {
+				try {
+					if (tx.isRollbackOnError()) {
+						tx.rollback();
+					} else {
+						complete(tx);
+					}
+				} catch (RuntimeException te) {
+					e.addSuppressed(te);
+				}
+			}
+			throw e;
+		}
+		if (!tx.isCompleted()) {
+			complete(tx);
+		}
+		return result;
+	}
+
+	/**
+	 * Complete given transaction when the operation did not complete it: the transaction is committed if auto-commit
+	 * is enabled or if it participates in an outer transaction, leaving the outer transaction outcome unchanged, and
+	 * rolled back otherwise.
+	 * @param tx The transaction to complete
+	 */
+	private static void complete(DefaultJdbcTransaction tx) {
+		if (tx.isAutoCommit() || (!tx.isNew() && !tx.isNested())) {
+			tx.commit();
+		} else {
+			tx.rollback();
+		}
+	}
+
+	/**
+	 * Get the {@link JdbcTransactionOptions} of given transaction configuration, if available.
+	 * @param configuration The transaction configuration
+	 * @return Optional JDBC transaction options
+	 */
+	private static Optional<JdbcTransactionOptions> getJdbcTransactionOptions(TransactionConfiguration configuration) {
+		return configuration.getTransactionOptions().filter(JdbcTransactionOptions.class::isInstance)
+				.map(JdbcTransactionOptions.class::cast);
+	}
+
+	/**
+	 * Resolve the database platform from given connection, if not already resolved.
+	 * @param connection The connection
+	 */
+	private void resolvePlatform(Connection connection) {
+		if (platform == null) {
+			DatabasePlatform resolved = null;
+			try {
+				resolved = DatabasePlatform.fromUrl(connection.getMetaData().getURL());
+			} catch (SQLException | RuntimeException e) {
+				LOGGER.debug(() -> "Failed to resolve the database platform from the connection metadata", e);
+			}
+			platform = (resolved != null) ? resolved : DatabasePlatform.NONE;
+		}
+	}
+
+	/**
+	 * Obtain a connection from the DataSource, prepare it for a transaction and bind it to the current thread.
+	 * @param options The transaction options, may be null
+	 * @return The bound connection
+	 */
+	private TransactionBoundConnection bind(JdbcTransactionOptions options) {
+		final boolean readOnly = options != null && options.isReadOnly();
+		final Connection connection;
+		try {
+			connection = readOnly ? ReadOnlyHint.call(() -> dataSource.getConnection()) : dataSource.getConnection();
+		} catch (SQLException e) {
+			throw new TransactionException("Failed to obtain a transaction connection", e);
+		}
+		resolvePlatform(connection);
+		try {
+			final JdbcTransactionUtils.ConnectionState state = JdbcTransactionUtils.prepareConnection(connection,
+					options);
+			final boolean resetAutoCommit = connection.getAutoCommit();
+			if (resetAutoCommit) {
+				connection.setAutoCommit(false);
+			}
+			final long timeout = (options != null)
+					? options.getTimeout().map(t -> TimeUnit.SECONDS.toNanos(t)).orElse(0L)
+					: 0L;
+			final TransactionBoundConnection bound = new TransactionBoundConnection(dataSource, connection, state,
+					resetAutoCommit, timeout);
+			bound.bind();
+			LOGGER.debug(() -> "Bound transaction connection [" + connection + "] to thread ["
+					+ Thread.currentThread().getName() + "]");
+			return bound;
+		} catch (SQLException | RuntimeException e) {
+			try {
+				connection.close();
+			} catch (SQLException ce) {
+				e.addSuppressed(ce);
+			}
+			if (e instanceof RuntimeException) {
+				throw (RuntimeException) e;
+			}
+			throw new TransactionException("Failed to prepare the transaction connection", e);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultJdbcTransactionManager [dataSource=" + dataSource + "]";
+	}
+
+}
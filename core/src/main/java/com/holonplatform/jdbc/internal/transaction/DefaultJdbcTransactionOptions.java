@@ -18,7 +18,9 @@ package com.holonplatform.jdbc.internal.transaction;
 import java.util.Optional;
 
 import com.holonplatform.jdbc.transaction.JdbcTransactionOptions;
+import com.holonplatform.jdbc.transaction.JdbcTransactionOptions.Builder;
 import com.holonplatform.jdbc.transaction.TransactionIsolation;
+import com.holonplatform.jdbc.transaction.TransactionRetryPolicy;
 
 /**
  * Default {@link JdbcTransactionOptions} implementation.
@@ -29,6 +31,14 @@ public class DefaultJdbcTransactionOptions implements JdbcTransactionOptions {
 
 	private TransactionIsolation transactionIsolation;
 
+	private boolean readOnly;
+
+	private Integer timeout;
+
+	private boolean nested;
+
+	private TransactionRetryPolicy retryPolicy;
+
 	/**
 	 * Default constructor.
 	 */
@@ -53,6 +63,45 @@ public class DefaultJdbcTransactionOptions implements JdbcTransactionOptions {
 		this.transactionIsolation = transactionIsolation;
 	}
 
+	/**
+	 * Set whether the transaction is read-only.
+	 * @param readOnly <code>true</code> for a read-only transaction
+	 * @since 6.0.3
+	 */
+	public void setReadOnly(boolean readOnly) {
+		this.readOnly = readOnly;
+	}
+
+	/**
+	 * Set whether the transaction is a nested transaction.
+	 * @param nested <code>true</code> for a nested transaction
+	 * @since 6.0.3
+	 */
+	public void setNested(boolean nested) {
+		this.nested = nested;
+	}
+
+	/**
+	 * Set the transaction timeout.
+	 * @param timeout the transaction timeout in seconds, <code>null</code> for none
+	 * @since 6.0.3
+	 */
+	public void setTimeout(Integer timeout) {
+		if (timeout != null && timeout < 1) {
+			throw new IllegalArgumentException("Transaction timeout must be greater than 0");
+		}
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Set the transaction retry policy.
+	 * @param retryPolicy the transaction retry policy, <code>null</code> for none
+	 * @since 6.0.3
+	 */
+	public void setRetryPolicy(TransactionRetryPolicy retryPolicy) {
+		this.retryPolicy = retryPolicy;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.jdbc.transaction.JdbcTransactionOptions#getTransactionIsolation()
@@ -62,4 +111,123 @@ public class DefaultJdbcTransactionOptions implements JdbcTransactionOptions {
 		return Optional.ofNullable(transactionIsolation);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.transaction.JdbcTransactionOptions#isReadOnly()
+	 */
+	@Override
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.transaction.JdbcTransactionOptions#getTimeout()
+	 */
+	@Override
+	public Optional<Integer> getTimeout() {
+		return Optional.ofNullable(timeout);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.transaction.JdbcTransactionOptions#isNested()
+	 */
+	@Override
+	public boolean isNested() {
+		return nested;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.transaction.JdbcTransactionOptions#getRetryPolicy()
+	 */
+	@Override
+	public Optional<TransactionRetryPolicy> getRetryPolicy() {
+		return Optional.ofNullable(retryPolicy);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "JdbcTransactionOptions [transactionIsolation=" + transactionIsolation + ", readOnly=" + readOnly
+				+ ", timeout=" + timeout + ", nested=" + nested + ", retryPolicy=" + retryPolicy + "]";
+	}
+
+	// Builder
+
+	/**
+	 * Default {@link JdbcTransactionOptions} builder.
+	 * @since 6.0.3
+	 */
+	public static class DefaultBuilder implements Builder {
+
+		private final DefaultJdbcTransactionOptions instance = new DefaultJdbcTransactionOptions();
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.transaction.JdbcTransactionOptions.Builder#isolation(com.holonplatform.jdbc.
+		 * transaction.TransactionIsolation)
+		 */
+		@Override
+		public Builder isolation(TransactionIsolation isolation) {
+			this.instance.setTransactionIsolation(isolation);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.transaction.JdbcTransactionOptions.Builder#readOnly(boolean)
+		 */
+		@Override
+		public Builder readOnly(boolean readOnly) {
+			this.instance.setReadOnly(readOnly);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.transaction.JdbcTransactionOptions.Builder#nested(boolean)
+		 */
+		@Override
+		public Builder nested(boolean nested) {
+			this.instance.setNested(nested);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.transaction.JdbcTransactionOptions.Builder#timeout(int)
+		 */
+		@Override
+		public Builder timeout(int timeout) {
+			this.instance.setTimeout(timeout);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.transaction.JdbcTransactionOptions.Builder#retryPolicy(com.holonplatform.jdbc.
+		 * transaction.TransactionRetryPolicy)
+		 */
+		@Override
+		public Builder retryPolicy(TransactionRetryPolicy retryPolicy) {
+			this.instance.setRetryPolicy(retryPolicy);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.transaction.JdbcTransactionOptions.Builder#build()
+		 */
+		@Override
+		public JdbcTransactionOptions build() {
+			return instance;
+		}
+
+	}
+
 }
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.transaction;
+
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.DatabasePlatform;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+import com.holonplatform.jdbc.transaction.TransactionRetryPolicy;
+
+/**
+ * Default {@link TransactionRetryPolicy} implementation.
+ * 
+ * @since 6.0.3
+ */
+public class DefaultTransactionRetryPolicy implements TransactionRetryPolicy {
+
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/**
+	 * Max error causes to inspect
+	 */
+	private static final int MAX_CAUSE_DEPTH = 16;
+
+	/**
+	 * Default retryable SQLStates, by platform. {@link DatabasePlatform#NONE} for any platform.
+	 */
+	private static final Map<DatabasePlatform, Set<String>> DEFAULT_SQL_STATES = new EnumMap<>(DatabasePlatform.class);
+
+	/**
+	 * Default retryable vendor error codes, by platform
+	 */
+	private static final Map<DatabasePlatform, Set<Integer>> DEFAULT_ERROR_CODES = new EnumMap<>(
+			DatabasePlatform.class);
+
+	/**
+	 * Serialization failure and deadlock SQLStates which are retryable for a {@link SQLTransactionRollbackException}
+	 * regardless of the platform, when the defaults are included
+	 */
+	private static final Set<String> DEFAULT_ROLLBACK_SQL_STATES = Collections
+			.unmodifiableSet(new HashSet<>(Arrays.asList("40001", "40P01")));
+
+	static {
+		// serialization failure
+		addDefault(DatabasePlatform.NONE, "40001");
+		// deadlock detected
+		addDefault(DatabasePlatform.POSTGRESQL, "40P01");
+		// lock timeout and deadlock
+		addDefault(DatabasePlatform.DERBY, "40XL1", "40XL2");
+		// deadlock and lock wait timeout
+		addDefault(DatabasePlatform.MYSQL, 1213, 1205);
+		addDefault(DatabasePlatform.MARIADB, 1213, 1205);
+		// deadlock and serialization failure
+		addDefault(DatabasePlatform.ORACLE, 60, 8177);
+		// deadlock victim
+		addDefault(DatabasePlatform.SQL_SERVER, 1205);
+		// deadlock and timeout rollback
+		addDefault(DatabasePlatform.DB2, -911, -913);
+		addDefault(DatabasePlatform.DB2_AS400, -911, -913);
+		// deadlock
+		addDefault(DatabasePlatform.HANA, 133);
+		addDefault(DatabasePlatform.INFORMIX, -143);
+		// lock timeout
+		addDefault(DatabasePlatform.H2, 50200);
+		// database busy and locked
+		addDefault(DatabasePlatform.SQLITE, 5, 6);
+	}
+
+	private static void addDefault(DatabasePlatform platform, String... sqlStates) {
+		DEFAULT_SQL_STATES.computeIfAbsent(platform, p -> new HashSet<>()).addAll(Arrays.asList(sqlStates));
+	}
+
+	private static void addDefault(DatabasePlatform platform, int... errorCodes) {
+		final Set<Integer> codes = DEFAULT_ERROR_CODES.computeIfAbsent(platform, p -> new HashSet<>());
+		for (int code : errorCodes) {
+			codes.add(code);
+		}
+	}
+
+	private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+	private long initialBackoff = DEFAULT_INITIAL_BACKOFF;
+
+	private long maxBackoff = DEFAULT_MAX_BACKOFF;
+
+	private boolean includeDefaults = true;
+
+	private final Map<DatabasePlatform, Set<String>> sqlStates = new EnumMap<>(DatabasePlatform.class);
+
+	private final Map<DatabasePlatform, Set<Integer>> errorCodes = new EnumMap<>(DatabasePlatform.class);
+
+	/**
+	 * Constructor.
+	 */
+	public DefaultTransactionRetryPolicy() {
+		super();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.transaction.TransactionRetryPolicy#getMaxAttempts()
+	 */
+	@Override
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.transaction.TransactionRetryPolicy#getBackoff(int)
+	 */
+	@Override
+	public long getBackoff(int attempt) {
+		if (initialBackoff <= 0 || attempt < 2) {
+			return 0L;
+		}
+		// exponential, bounded
+		final int exponent = Math.min(attempt - 2, 30);
+		final long backoff = Math.min(maxBackoff, initialBackoff * (1L << exponent));
+		// equal jitter: half fixed, half random
+		final long half = backoff / 2;
+		return half + ThreadLocalRandom.current().nextLong(backoff - half + 1);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.transaction.TransactionRetryPolicy#isRetryable(java.lang.Throwable,
+	 * com.holonplatform.jdbc.DatabasePlatform)
+	 */
+	@Override
+	public boolean isRetryable(Throwable error, DatabasePlatform platform) {
+		ObjectUtils.argumentNotNull(error, "Error must be not null");
+		Throwable cause = error;
+		int depth = 0;
+		while (cause != null && depth++ < MAX_CAUSE_DEPTH) {
+			if (cause instanceof SQLException) {
+				SQLException se = (SQLException) cause;
+				int next = 0;
+				while (se != null && next++ < MAX_CAUSE_DEPTH) {
+					if (isRetryable(se, platform)) {
+						return true;
+					}
+					se = se.getNextException();
+				}
+			}
+			if (cause.getCause() == cause) {
+				break;
+			}
+			cause = cause.getCause();
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether given SQL exception is retryable.
+	 * @param exception The exception
+	 * @param platform The database platform, may be null
+	 * @return <code>true</code> if retryable
+	 */
+	private boolean isRetryable(SQLException exception, DatabasePlatform platform) {
+		final String sqlState = exception.getSQLState();
+		if (includeDefaults && sqlState != null && exception instanceof SQLTransactionRollbackException
+				&& DEFAULT_ROLLBACK_SQL_STATES.contains(sqlState)) {
+			return true;
+		}
+		if (sqlState != null && (matches(sqlStates, platform, sqlState)
+				|| (includeDefaults && matches(DEFAULT_SQL_STATES, platform, sqlState)))) {
+			return true;
+		}
+		final int errorCode = exception.getErrorCode();
+		return errorCode != 0 && (matches(errorCodes, platform, errorCode)
+				|| (includeDefaults && matches(DEFAULT_ERROR_CODES, platform, errorCode)));
+	}
+
+	/**
+	 * Checks whether given code is registered for given platform or for any platform.
+	 * @param <T> Code type
+	 * @param codes The registered codes
+	 * @param platform The database platform, may be null
+	 * @param code The code
+	 * @return <code>true</code> if the code is registered
+	 */
+	private static <T> boolean matches(Map<DatabasePlatform, Set<T>> codes, DatabasePlatform platform, T code) {
+		return codes.getOrDefault(DatabasePlatform.NONE, Collections.emptySet()).contains(code)
+				|| (platform != null && codes.getOrDefault(platform, Collections.emptySet()).contains(code));
+	}
+
+	/**
+	 * Execute given unit of work using given retry policy.
+	 * @param <R> Result type
+	 * @param policy The retry policy (not null)
+	 * @param platform Supplier of the database platform, invoked only when a unit of work execution fails (not null)
+	 * @param unitOfWork The unit of work (not null)
+	 * @return The unit of work result
+	 */
+	public static <R> R execute(TransactionRetryPolicy policy, Supplier<DatabasePlatform> platform,
+			Supplier<R> unitOfWork) {
+		ObjectUtils.argumentNotNull(policy, "Retry policy must be not null");
+		ObjectUtils.argumentNotNull(platform, "Database platform supplier must be not null");
+		ObjectUtils.argumentNotNull(unitOfWork, "Unit of work must be not null");
+		int attempt = 1;
+		while (true) {
+			try {
+				return unitOfWork.get();
+			} catch (RuntimeException e) {
+				if (attempt >= policy.getMaxAttempts() || !policy.isRetryable(e, platform.get())) {
+					throw e;
+				}
+				final long backoff = policy.getBackoff(++attempt);
+				final int current = attempt;
+				LOGGER.debug(() -> "Retryable transaction failure, attempt " + current + " of "
+						+ policy.getMaxAttempts() + " in " + backoff + " ms", e);
+				if (backoff > 0) {
+					try {
+						Thread.sleep(backoff);
+					} catch (InterruptedException ie) {
+						Thread.currentThread().interrupt();
+						throw e;
+					}
+				}
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "TransactionRetryPolicy [maxAttempts=" + maxAttempts + ", initialBackoff=" + initialBackoff
+				+ ", maxBackoff=" + maxBackoff + ", includeDefaults=" + includeDefaults + "]";
+	}
+
+	// Builder
+
+	/**
+	 * Default {@link TransactionRetryPolicy} builder.
+	 */
+	public static class DefaultBuilder implements Builder {
+
+		private final DefaultTransactionRetryPolicy instance = new DefaultTransactionRetryPolicy();
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.transaction.TransactionRetryPolicy.Builder#maxAttempts(int)
+		 */
+		@Override
+		public Builder maxAttempts(int maxAttempts) {
+			if (maxAttempts < 1) {
+				throw new IllegalArgumentException("Max attempts must be greater than 0");
+			}
+			instance.maxAttempts = maxAttempts;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.transaction.TransactionRetryPolicy.Builder#backoff(long, long)
+		 */
+		@Override
+		public Builder backoff(long initialBackoff, long maxBackoff) {
+			if (initialBackoff < 0 || maxBackoff < initialBackoff) {
+				throw new IllegalArgumentException(
+						"Initial backoff must be not negative and not greater than the max backoff");
+			}
+			instance.initialBackoff = initialBackoff;
+			instance.maxBackoff = maxBackoff;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see
+		 * com.holonplatform.jdbc.transaction.TransactionRetryPolicy.Builder#retryableSqlStates(com.holonplatform.jdbc.
+		 * DatabasePlatform, java.lang.String[])
+		 */
+		@Override
+		public Builder retryableSqlStates(DatabasePlatform platform, String... sqlStates) {
+			ObjectUtils.argumentNotNull(platform, "Database platform must be not null");
+			if (sqlStates != null) {
+				final Set<String> states = instance.sqlStates.computeIfAbsent(platform, p -> new HashSet<>());
+				for (String sqlState : sqlStates) {
+					if (sqlState != null) {
+						states.add(sqlState);
+					}
+				}
+			}
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see
+		 * com.holonplatform.jdbc.transaction.TransactionRetryPolicy.Builder#retryableErrorCodes(com.holonplatform.jdbc
+		 * .DatabasePlatform, int[])
+		 */
+		@Override
+		public Builder retryableErrorCodes(DatabasePlatform platform, int... errorCodes) {
+			ObjectUtils.argumentNotNull(platform, "Database platform must be not null");
+			if (errorCodes != null) {
+				final Set<Integer> codes = instance.errorCodes.computeIfAbsent(platform, p -> new HashSet<>());
+				for (int errorCode : errorCodes) {
+					codes.add(errorCode);
+				}
+			}
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.transaction.TransactionRetryPolicy.Builder#includeDefaults(boolean)
+		 */
+		@Override
+		public Builder includeDefaults(boolean includeDefaults) {
+			instance.includeDefaults = includeDefaults;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.transaction.TransactionRetryPolicy.Builder#build()
+		 */
+		@Override
+		public TransactionRetryPolicy build() {
+			return instance;
+		}
+
+	}
+
+}
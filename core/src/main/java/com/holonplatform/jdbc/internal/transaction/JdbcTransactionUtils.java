@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.transaction;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+import com.holonplatform.jdbc.transaction.JdbcTransactionOptions;
+import com.holonplatform.jdbc.transaction.TransactionIsolation;
+
+/**
+ * Utility class to prepare a {@link Connection} for a transaction according to the {@link JdbcTransactionOptions} and
+ * to reset it after the transaction.
+ * 
+ * @since 6.0.3
+ */
+public final class JdbcTransactionUtils {
+
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	private JdbcTransactionUtils() {
+	}
+
+	/**
+	 * Prepare given connection for a transaction, setting the transaction isolation level and the read-only flag
+	 * according to given transaction options, if required.
+	 * <p>
+	 * If the preparation fails, the connection read-only flag is restored before the exception is thrown.
+	 * </p>
+	 * @param connection The connection (not null)
+	 * @param options The transaction options, may be null
+	 * @return The connection state to restore after the transaction using
+	 *         {@link #resetConnection(Connection, ConnectionState)}
+	 * @throws SQLException If an error occurred
+	 */
+	public static ConnectionState prepareConnection(Connection connection, JdbcTransactionOptions options)
+			throws SQLException {
+		ObjectUtils.argumentNotNull(connection, "Connection must be not null");
+		Integer previousIsolation = null;
+		boolean resetReadOnly = false;
+		if (options != null) {
+			if (options.isReadOnly() && !connection.isReadOnly()) {
+				try {
+					connection.setReadOnly(true);
+					resetReadOnly = true;
+				} catch (SQLException | RuntimeException e) {
+					// the read-only flag is only a hint
+					LOGGER.debug(() -> "Could not set the connection read-only flag", e);
+				}
+			}
+			final TransactionIsolation isolation = options.getTransactionIsolation()
+					.filter(i -> i != TransactionIsolation.NONE).orElse(null);
+			if (isolation != null) {
+				try {
+					final int current = connection.getTransactionIsolation();
+					if (current != isolation.getLevel()) {
+						connection.setTransactionIsolation(isolation.getLevel());
+						previousIsolation = current;
+					}
+				} catch (SQLException | RuntimeException e) {
+					// undo the read-only flag, since the connection state will not be reset
+					if (resetReadOnly) {
+						try {
+							connection.setReadOnly(false);
+						} catch (SQLException | RuntimeException re) {
+							e.addSuppressed(re);
+						}
+					}
+					throw e;
+				}
+			}
+		}
+		return new ConnectionState(previousIsolation, resetReadOnly);
+	}
+
+	/**
+	 * Reset given connection after a transaction.
+	 * @param connection The connection (not null)
+	 * @param state The connection state returned by {@link #prepareConnection(Connection, JdbcTransactionOptions)}
+	 */
+	public static void resetConnection(Connection connection, ConnectionState state) {
+		ObjectUtils.argumentNotNull(connection, "Connection must be not null");
+		if (state != null) {
+			try {
+				if (state.previousIsolation != null) {
+					connection.setTransactionIsolation(state.previousIsolation);
+				}
+				if (state.resetReadOnly) {
+					connection.setReadOnly(false);
+				}
+			} catch (SQLException | RuntimeException e) {
+				LOGGER.warn("Could not reset the connection after the transaction", e);
+			}
+		}
+	}
+
+	/**
+	 * The connection state to restore after a transaction.
+	 */
+	public static final class ConnectionState {
+
+		private final Integer previousIsolation;
+		private final boolean resetReadOnly;
+
+		ConnectionState(Integer previousIsolation, boolean resetReadOnly) {
+			super();
+			this.previousIsolation = previousIsolation;
+			this.resetReadOnly = resetReadOnly;
+		}
+
+	}
+
+}
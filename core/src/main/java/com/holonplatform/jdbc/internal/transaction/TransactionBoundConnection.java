@@ -0,0 +1,230 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.transaction;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.internal.DelegatingConnection;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+import com.holonplatform.jdbc.internal.QueryTimeoutConnection;
+import com.holonplatform.jdbc.internal.transaction.JdbcTransactionUtils.ConnectionState;
+
+/**
+ * A transaction connection bound to the current thread, together with the stack of its active transactions.
+ * 
+ * @since 6.0.3
+ */
+public final class TransactionBoundConnection {
+
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/**
+	 * Current thread bound connections, by DataSource
+	 */
+	private static final ThreadLocal<Map<DataSource, TransactionBoundConnection>> BOUND = ThreadLocal
+			.withInitial(IdentityHashMap::new);
+
+	private final DataSource dataSource;
+
+	/**
+	 * Connection obtained from the DataSource
+	 */
+	private final Connection connection;
+
+	/**
+	 * Connection exposed to the transaction operations
+	 */
+	private final Connection boundConnection;
+
+	private final ConnectionState state;
+
+	private final boolean resetAutoCommit;
+
+	/**
+	 * Active transactions, the innermost first
+	 */
+	private final Deque<DefaultJdbcTransaction> transactions = new ArrayDeque<>(4);
+
+	private boolean rollbackOnly = false;
+
+	/**
+	 * Constructor.
+	 * @param dataSource The DataSource (not null)
+	 * @param connection The connection obtained from the DataSource (not null)
+	 * @param state The connection state to restore when the transaction is completed
+	 * @param resetAutoCommit Whether to reset the connection auto-commit mode when the transaction is completed
+	 * @param timeout The transaction timeout in nanoseconds, <code>0</code> for none
+	 */
+	TransactionBoundConnection(DataSource dataSource, Connection connection, ConnectionState state,
+			boolean resetAutoCommit, long timeout) {
+		super();
+		ObjectUtils.argumentNotNull(dataSource, "DataSource must be not null");
+		ObjectUtils.argumentNotNull(connection, "Connection must be not null");
+		this.dataSource = dataSource;
+		this.connection = connection;
+		this.state = state;
+		this.resetAutoCommit = resetAutoCommit;
+		this.boundConnection = new BoundConnection(
+				(timeout > 0) ? new QueryTimeoutConnection(connection, System.nanoTime() + timeout) : connection);
+	}
+
+	/**
+	 * Get the connection bound to the current thread for given DataSource, if any.
+	 * @param dataSource The DataSource (not null)
+	 * @return Optional bound connection
+	 */
+	public static Optional<Connection> getConnection(DataSource dataSource) {
+		ObjectUtils.argumentNotNull(dataSource, "DataSource must be not null");
+		return Optional.ofNullable(get(dataSource)).map(b -> b.boundConnection);
+	}
+
+	/**
+	 * Get the bound connection of given DataSource, if any.
+	 * @param dataSource The DataSource
+	 * @return The bound connection, <code>null</code> if none
+	 */
+	static TransactionBoundConnection get(DataSource dataSource) {
+		final Map<DataSource, TransactionBoundConnection> bound = BOUND.get();
+		return bound.isEmpty() ? null : bound.get(dataSource);
+	}
+
+	/**
+	 * Bind this connection to the current thread.
+	 */
+	void bind() {
+		BOUND.get().put(dataSource, this);
+	}
+
+	/**
+	 * Get the connection exposed to the transaction operations.
+	 * @return the bound connection
+	 */
+	Connection getConnection() {
+		return boundConnection;
+	}
+
+	/**
+	 * Push a new active transaction.
+	 * @param transaction The transaction
+	 */
+	void push(DefaultJdbcTransaction transaction) {
+		transactions.push(transaction);
+	}
+
+	/**
+	 * Remove given transaction from the active transactions.
+	 * @param transaction The transaction, which must be the innermost active transaction
+	 */
+	void pop(DefaultJdbcTransaction transaction) {
+		if (transactions.peek() == transaction) {
+			transactions.pop();
+		}
+	}
+
+	/**
+	 * Gets whether given transaction is the innermost active transaction.
+	 * @param transaction The transaction
+	 * @return <code>true</code> if the transaction is the innermost active transaction
+	 */
+	boolean isCurrent(DefaultJdbcTransaction transaction) {
+		return transactions.peek() == transaction;
+	}
+
+	/**
+	 * Gets whether the transaction was marked as rollback-only by a participating transaction.
+	 * @return whether the transaction is rollback-only
+	 */
+	boolean isRollbackOnly() {
+		return rollbackOnly;
+	}
+
+	/**
+	 * Mark the transaction as rollback-only.
+	 */
+	void setRollbackOnly() {
+		this.rollbackOnly = true;
+	}
+
+	/**
+	 * Gets whether the transaction timeout expired.
+	 * @return <code>true</code> if the transaction timeout expired
+	 */
+	boolean isExpired() {
+		return ((BoundConnection) boundConnection).isExpired();
+	}
+
+	/**
+	 * Unbind the connection from the current thread, restore its state and close it.
+	 */
+	void release() {
+		final Map<DataSource, TransactionBoundConnection> bound = BOUND.get();
+		bound.remove(dataSource);
+		if (bound.isEmpty()) {
+			BOUND.remove();
+		}
+		try {
+			if (resetAutoCommit) {
+				connection.setAutoCommit(true);
+			}
+		} catch (SQLException | RuntimeException e) {
+			LOGGER.warn("Failed to reset the transaction connection auto-commit mode", e);
+		}
+		JdbcTransactionUtils.resetConnection(connection, state);
+		try {
+			connection.close();
+		} catch (SQLException | RuntimeException e) {
+			LOGGER.warn("Failed to close the transaction connection", e);
+		}
+		LOGGER.debug(() -> "Released transaction connection: [" + connection + "]");
+	}
+
+	/**
+	 * The connection exposed to the transaction operations, which cannot be closed.
+	 */
+	private static final class BoundConnection extends DelegatingConnection {
+
+		BoundConnection(Connection delegate) {
+			super(delegate);
+		}
+
+		boolean isExpired() {
+			return (getDelegate() instanceof QueryTimeoutConnection)
+					&& ((QueryTimeoutConnection) getDelegate()).isExpired();
+		}
+
+		@Override
+		public void close() throws SQLException {
+			// released when the transaction is completed
+		}
+
+		@Override
+		public boolean isClosed() throws SQLException {
+			return getDelegate().isClosed();
+		}
+
+	}
+
+}
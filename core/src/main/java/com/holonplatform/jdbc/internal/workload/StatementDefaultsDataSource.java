@@ -0,0 +1,201 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.workload;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.jdbc.internal.DelegatingConnection;
+import com.holonplatform.jdbc.internal.DelegatingDataSource;
+
+/**
+ * A {@link DataSource} decorator which applies a default fetch size and a default query timeout to the statements
+ * created by the DataSource connections.
+ * <p>
+ * The defaults are applied to each statement when it is created, so they take precedence over the driver defaults
+ * and can be overridden by the statement users.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class StatementDefaultsDataSource extends DelegatingDataSource {
+
+	/**
+	 * Default fetch size, 0 if none
+	 */
+	private final int fetchSize;
+
+	/**
+	 * Default query timeout in seconds, 0 if none
+	 */
+	private final int statementTimeout;
+
+	/**
+	 * Constructor.
+	 * @param delegate Delegate DataSource (not null)
+	 * @param fetchSize Default fetch size, <code>0</code> if none
+	 * @param statementTimeout Default query timeout in seconds, <code>0</code> if none
+	 */
+	public StatementDefaultsDataSource(DataSource delegate, int fetchSize, int statementTimeout) {
+		super(delegate);
+		this.fetchSize = Math.max(0, fetchSize);
+		this.statementTimeout = Math.max(0, statementTimeout);
+	}
+
+	/**
+	 * Get the default fetch size.
+	 * @return the default fetch size, <code>0</code> if none
+	 */
+	public int getFetchSize() {
+		return fetchSize;
+	}
+
+	/**
+	 * Get the default query timeout.
+	 * @return the default query timeout in seconds, <code>0</code> if none
+	 */
+	public int getStatementTimeout() {
+		return statementTimeout;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection()
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		return new StatementDefaultsConnection(super.getConnection());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#getConnection(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return new StatementDefaultsConnection(super.getConnection(username, password));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.internal.DelegatingDataSource#toString()
+	 */
+	@Override
+	public String toString() {
+		return "StatementDefaultsDataSource [fetchSize=" + fetchSize + ", statementTimeout=" + statementTimeout
+				+ ", delegate=" + getDelegate() + "]";
+	}
+
+	/**
+	 * Connection which applies the statement defaults.
+	 */
+	private final class StatementDefaultsConnection extends DelegatingConnection {
+
+		StatementDefaultsConnection(Connection delegate) {
+			super(delegate);
+		}
+
+		/**
+		 * Apply the defaults to given statement.
+		 * @param <S> Statement type
+		 * @param statement The statement
+		 * @return The statement
+		 * @throws SQLException If an error occurred
+		 */
+		private <S extends Statement> S withDefaults(S statement) throws SQLException {
+			if (fetchSize > 0) {
+				statement.setFetchSize(fetchSize);
+			}
+			if (statementTimeout > 0) {
+				statement.setQueryTimeout(statementTimeout);
+			}
+			return statement;
+		}
+
+		@Override
+		public Statement createStatement() throws SQLException {
+			return withDefaults(super.createStatement());
+		}
+
+		@Override
+		public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+			return withDefaults(super.createStatement(resultSetType, resultSetConcurrency));
+		}
+
+		@Override
+		public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+				throws SQLException {
+			return withDefaults(super.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability));
+		}
+
+		@Override
+		public PreparedStatement prepareStatement(String sql) throws SQLException {
+			return withDefaults(super.prepareStatement(sql));
+		}
+
+		@Override
+		public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
+				throws SQLException {
+			return withDefaults(super.prepareStatement(sql, resultSetType, resultSetConcurrency));
+		}
+
+		@Override
+		public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency,
+				int resultSetHoldability) throws SQLException {
+			return withDefaults(
+					super.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+		}
+
+		@Override
+		public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+			return withDefaults(super.prepareStatement(sql, autoGeneratedKeys));
+		}
+
+		@Override
+		public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+			return withDefaults(super.prepareStatement(sql, columnIndexes));
+		}
+
+		@Override
+		public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+			return withDefaults(super.prepareStatement(sql, columnNames));
+		}
+
+		@Override
+		public CallableStatement prepareCall(String sql) throws SQLException {
+			return withDefaults(super.prepareCall(sql));
+		}
+
+		@Override
+		public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency)
+				throws SQLException {
+			return withDefaults(super.prepareCall(sql, resultSetType, resultSetConcurrency));
+		}
+
+		@Override
+		public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency,
+				int resultSetHoldability) throws SQLException {
+			return withDefaults(super.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+		}
+
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.workload;
+
+import jakarta.annotation.Priority;
+import javax.sql.DataSource;
+
+import com.holonplatform.core.config.ConfigPropertySet.ConfigurationException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.DataSourcePostProcessor;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+
+/**
+ * A {@link DataSourcePostProcessor} which decorates the DataSource with a {@link StatementDefaultsDataSource} when a
+ * statements default fetch size or query timeout is configured, either using the
+ * {@link DataSourceConfigProperties#FETCH_SIZE} and {@link DataSourceConfigProperties#STATEMENT_TIMEOUT} properties or
+ * through the {@link DataSourceConfigProperties#WORKLOAD_PROFILE}.
+ * <p>
+ * The decorator is installed right after the session state tracker, so that any other decorator, such as the
+ * deadline one, can further restrict the statements query timeout.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+@Priority(150)
+public class StatementDefaultsDataSourcePostProcessor implements DataSourcePostProcessor {
+
+	private static final long serialVersionUID = -3154902415046388247L;
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#postProcessDataSource(javax.sql.DataSource,
+	 * java.lang.String, com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public void postProcessDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		// nothing to do
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.DataSourcePostProcessor#decorateDataSource(javax.sql.DataSource, java.lang.String,
+	 * com.holonplatform.jdbc.DataSourceConfigProperties)
+	 */
+	@Override
+	public DataSource decorateDataSource(DataSource dataSource, String typeName,
+			DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+		final int fetchSize = configurationProperties.getFetchSize().orElse(0);
+		final int statementTimeout = configurationProperties.getStatementTimeout().orElse(0);
+		if (fetchSize <= 0 && statementTimeout <= 0) {
+			return dataSource;
+		}
+		LOGGER.debug(() -> "Installed statement defaults [fetch size: " + fetchSize + ", statement timeout: "
+				+ statementTimeout + "] on DataSource of type [" + typeName + "]");
+		return new StatementDefaultsDataSource(dataSource, fetchSize, statementTimeout);
+	}
+
+}
@@ -0,0 +1,690 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.internal.xa;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.StatementEventListener;
+import javax.sql.XAConnection;
+import javax.sql.XADataSource;
+import javax.transaction.xa.XAResource;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.PooledXADataSource;
+import com.holonplatform.jdbc.internal.DelegatingConnection;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+
+/**
+ * Default {@link PooledXADataSource} implementation.
+ * <p>
+ * The idle connections are kept in a LIFO stack, so that the most recently used connections are reused first and the
+ * least recently used ones can be evicted from the stack tail. The idle eviction is performed lazily each time a
+ * connection is obtained from or returned to the pool, without any background thread.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class DefaultPooledXADataSource implements PooledXADataSource {
+
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/**
+	 * Vendor XADataSource
+	 */
+	private final XADataSource xaDataSource;
+
+	/**
+	 * Pool name
+	 */
+	private final String name;
+
+	/**
+	 * Min idle connections
+	 */
+	private final int minPoolSize;
+
+	/**
+	 * Max connections
+	 */
+	private final int maxPoolSize;
+
+	/**
+	 * Idle timeout in nanoseconds, 0 if disabled
+	 */
+	private final long idleTimeout;
+
+	/**
+	 * Max wait time in milliseconds
+	 */
+	private final long maxWait;
+
+	/**
+	 * Connection permits
+	 */
+	private final Semaphore permits;
+
+	/**
+	 * Idle connections, the most recently used first
+	 */
+	private final Deque<PooledEntry> idle = new ArrayDeque<>();
+
+	/**
+	 * Active connections count
+	 */
+	private final AtomicInteger active = new AtomicInteger();
+
+	/**
+	 * Created connections count
+	 */
+	private final AtomicLong created = new AtomicLong();
+
+	/**
+	 * Whether the pool was closed
+	 */
+	private volatile boolean closed = false;
+
+	/**
+	 * Constructor.
+	 * @param xaDataSource Vendor XADataSource (not null)
+	 * @param name Pool name
+	 * @param minPoolSize Min idle connections
+	 * @param maxPoolSize Max connections (greater than 0)
+	 * @param idleTimeout Idle timeout in milliseconds, 0 to disable the idle eviction
+	 * @param maxWait Max wait time in milliseconds
+	 */
+	public DefaultPooledXADataSource(XADataSource xaDataSource, String name, int minPoolSize, int maxPoolSize,
+			long idleTimeout, long maxWait) {
+		super();
+		ObjectUtils.argumentNotNull(xaDataSource, "XADataSource must be not null");
+		if (maxPoolSize < 1) {
+			throw new IllegalArgumentException("Pool max size must be greater than 0");
+		}
+		this.xaDataSource = xaDataSource;
+		this.name = (name != null) ? name : xaDataSource.getClass().getSimpleName();
+		this.minPoolSize = Math.max(0, Math.min(minPoolSize, maxPoolSize));
+		this.maxPoolSize = maxPoolSize;
+		this.idleTimeout = (idleTimeout > 0) ? TimeUnit.MILLISECONDS.toNanos(idleTimeout) : 0L;
+		this.maxWait = Math.max(0L, maxWait);
+		this.permits = new Semaphore(maxPoolSize, true);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.PooledXADataSource#getXADataSource()
+	 */
+	@Override
+	public XADataSource getXADataSource() {
+		return xaDataSource;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.PooledXADataSource#getActiveCount()
+	 */
+	@Override
+	public int getActiveCount() {
+		return active.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.PooledXADataSource#getIdleCount()
+	 */
+	@Override
+	public int getIdleCount() {
+		synchronized (idle) {
+			return idle.size();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.PooledXADataSource#getCreatedCount()
+	 */
+	@Override
+	public long getCreatedCount() {
+		return created.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.sql.XADataSource#getXAConnection()
+	 */
+	@Override
+	public XAConnection getXAConnection() throws SQLException {
+		if (closed) {
+			throw new SQLException("The pooled XA DataSource [" + name + "] is closed");
+		}
+		try {
+			if (!permits.tryAcquire(maxWait, TimeUnit.MILLISECONDS)) {
+				throw new SQLTransientConnectionException("Pooled XA DataSource [" + name
+						+ "]: no connection available within " + maxWait + " ms [max pool size: " + maxPoolSize + "]");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for a pooled XA connection", e);
+		}
+		try {
+			evictIdleConnections();
+			PooledEntry entry;
+			synchronized (idle) {
+				entry = idle.pollFirst();
+			}
+			if (entry == null) {
+				entry = new PooledEntry(xaDataSource.getXAConnection());
+				final long count = created.incrementAndGet();
+				LOGGER.debug(() -> "Pooled XA DataSource [" + name + "]: created physical XA connection #" + count);
+			}
+			active.incrementAndGet();
+			return entry.lease();
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.sql.XADataSource#getXAConnection(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public XAConnection getXAConnection(String user, String password) throws SQLException {
+		throw new SQLFeatureNotSupportedException(
+				"The pooled XA DataSource does not support XA connections with explicit credentials");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.sql.DataSource#getConnection()
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		final XAConnection xaConnection = getXAConnection();
+		try {
+			return new PooledLogicalConnection(xaConnection.getConnection(), xaConnection);
+		} catch (SQLException | RuntimeException e) {
+			xaConnection.close();
+			throw e;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.sql.DataSource#getConnection(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		throw new SQLFeatureNotSupportedException(
+				"The pooled XA DataSource does not support connections with explicit credentials");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.PooledXADataSource#evictIdleConnections()
+	 */
+	@Override
+	public int evictIdleConnections() {
+		if (idleTimeout <= 0) {
+			return 0;
+		}
+		final long now = System.nanoTime();
+		List<PooledEntry> evicted = null;
+		synchronized (idle) {
+			while (idle.size() > minPoolSize && (now - idle.peekLast().lastUsed) > idleTimeout) {
+				if (evicted == null) {
+					evicted = new ArrayList<>(2);
+				}
+				evicted.add(idle.pollLast());
+			}
+		}
+		if (evicted == null) {
+			return 0;
+		}
+		for (PooledEntry entry : evicted) {
+			destroy(entry);
+		}
+		final int count = evicted.size();
+		LOGGER.debug(() -> "Pooled XA DataSource [" + name + "]: evicted " + count + " idle connections");
+		return count;
+	}
+
+	/**
+	 * Return a physical connection to the pool, or discard it if it is broken, it cannot be reset or the pool was
+	 * closed.
+	 * @param entry The pooled connection entry
+	 */
+	void release(PooledEntry entry) {
+		active.decrementAndGet();
+		try {
+			if (entry.broken || closed || !reset(entry)) {
+				destroy(entry);
+			} else {
+				entry.lastUsed = System.nanoTime();
+				synchronized (idle) {
+					idle.addFirst(entry);
+				}
+			}
+		} finally {
+			permits.release();
+		}
+		evictIdleConnections();
+	}
+
+	/**
+	 * Reset the physical connection of given entry before returning it to the pool, rolling back any pending local
+	 * transaction and restoring the auto-commit mode.
+	 * @param entry The pooled connection entry
+	 * @return <code>true</code> if the connection was reset, <code>false</code> if it must be discarded
+	 */
+	private boolean reset(PooledEntry entry) {
+		try (Connection connection = entry.physical.getConnection()) {
+			if (!connection.getAutoCommit()) {
+				connection.rollback();
+				connection.setAutoCommit(true);
+			}
+			return true;
+		} catch (SQLException | RuntimeException e) {
+			LOGGER.debug(() -> "Pooled XA DataSource [" + name + "]: failed to reset physical XA connection", e);
+			return false;
+		}
+	}
+
+	/**
+	 * Close the physical connection of given entry.
+	 * @param entry The pooled connection entry
+	 */
+	private void destroy(PooledEntry entry) {
+		entry.physical.removeConnectionEventListener(entry);
+		try {
+			entry.physical.close();
+		} catch (SQLException e) {
+			LOGGER.debug(() -> "Pooled XA DataSource [" + name + "]: failed to close physical XA connection", e);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		final List<PooledEntry> entries;
+		synchronized (idle) {
+			entries = new ArrayList<>(idle);
+			idle.clear();
+		}
+		for (PooledEntry entry : entries) {
+			destroy(entry);
+		}
+		LOGGER.debug(() -> "Pooled XA DataSource [" + name + "] closed");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.sql.CommonDataSource#getLogWriter()
+	 */
+	@Override
+	public PrintWriter getLogWriter() throws SQLException {
+		return xaDataSource.getLogWriter();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.sql.CommonDataSource#setLogWriter(java.io.PrintWriter)
+	 */
+	@Override
+	public void setLogWriter(PrintWriter out) throws SQLException {
+		xaDataSource.setLogWriter(out);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.sql.CommonDataSource#setLoginTimeout(int)
+	 */
+	@Override
+	public void setLoginTimeout(int seconds) throws SQLException {
+		xaDataSource.setLoginTimeout(seconds);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.sql.CommonDataSource#getLoginTimeout()
+	 */
+	@Override
+	public int getLoginTimeout() throws SQLException {
+		return xaDataSource.getLoginTimeout();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.sql.CommonDataSource#getParentLogger()
+	 */
+	@Override
+	public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+		return xaDataSource.getParentLogger();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Wrapper#unwrap(java.lang.Class)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(this)) {
+			return (T) this;
+		}
+		if (iface.isInstance(xaDataSource)) {
+			return (T) xaDataSource;
+		}
+		throw new SQLException("The pooled XA DataSource is not a wrapper for [" + iface + "]");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.sql.Wrapper#isWrapperFor(java.lang.Class)
+	 */
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(this) || iface.isInstance(xaDataSource);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultPooledXADataSource [name=" + name + ", xaDataSource=" + xaDataSource + ", maxPoolSize="
+				+ maxPoolSize + "]";
+	}
+
+	/**
+	 * A pooled physical XA connection.
+	 */
+	private final class PooledEntry implements ConnectionEventListener {
+
+		final XAConnection physical;
+
+		volatile long lastUsed;
+
+		volatile boolean broken = false;
+
+		private volatile PooledXAConnection lease;
+
+		PooledEntry(XAConnection physical) {
+			super();
+			this.physical = physical;
+			this.lastUsed = System.nanoTime();
+			physical.addConnectionEventListener(this);
+		}
+
+		/**
+		 * Lease the physical connection.
+		 * @return The pooled XA connection
+		 */
+		PooledXAConnection lease() {
+			final PooledXAConnection connection = new PooledXAConnection(this);
+			this.lease = connection;
+			return connection;
+		}
+
+		/**
+		 * Return the physical connection to the pool.
+		 */
+		void returnToPool() {
+			this.lease = null;
+			release(this);
+		}
+
+		@Override
+		public void connectionClosed(ConnectionEvent event) {
+			final PooledXAConnection current = lease;
+			if (current != null) {
+				current.fireConnectionClosed();
+			}
+		}
+
+		@Override
+		public void connectionErrorOccurred(ConnectionEvent event) {
+			broken = true;
+			LOGGER.debug(() -> "Pooled XA DataSource [" + name + "]: physical XA connection marked as broken",
+					event.getSQLException());
+			final PooledXAConnection current = lease;
+			if (current != null) {
+				current.fireConnectionErrorOccurred(event.getSQLException());
+			}
+		}
+
+	}
+
+	/**
+	 * The {@link XAConnection} leased to the pool clients, which returns the physical connection to the pool when
+	 * closed.
+	 */
+	private static final class PooledXAConnection implements XAConnection {
+
+		private final PooledEntry entry;
+
+		private final AtomicBoolean closed = new AtomicBoolean(false);
+
+		private final List<ConnectionEventListener> listeners = new CopyOnWriteArrayList<>();
+
+		PooledXAConnection(PooledEntry entry) {
+			super();
+			this.entry = entry;
+		}
+
+		private void checkOpen() throws SQLException {
+			if (closed.get()) {
+				throw new SQLException("The pooled XA connection is closed");
+			}
+		}
+
+		@Override
+		public XAResource getXAResource() throws SQLException {
+			checkOpen();
+			return entry.physical.getXAResource();
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			checkOpen();
+			return entry.physical.getConnection();
+		}
+
+		@Override
+		public void close() throws SQLException {
+			if (closed.compareAndSet(false, true)) {
+				listeners.clear();
+				entry.returnToPool();
+			}
+		}
+
+		@Override
+		public void addConnectionEventListener(ConnectionEventListener listener) {
+			if (listener != null) {
+				listeners.add(listener);
+			}
+		}
+
+		@Override
+		public void removeConnectionEventListener(ConnectionEventListener listener) {
+			listeners.remove(listener);
+		}
+
+		@Override
+		public void addStatementEventListener(StatementEventListener listener) {
+			entry.physical.addStatementEventListener(listener);
+		}
+
+		@Override
+		public void removeStatementEventListener(StatementEventListener listener) {
+			entry.physical.removeStatementEventListener(listener);
+		}
+
+		void fireConnectionClosed() {
+			final ConnectionEvent event = new ConnectionEvent(this);
+			for (ConnectionEventListener listener : listeners) {
+				listener.connectionClosed(event);
+			}
+		}
+
+		void fireConnectionErrorOccurred(SQLException error) {
+			final ConnectionEvent event = new ConnectionEvent(this, error);
+			for (ConnectionEventListener listener : listeners) {
+				listener.connectionErrorOccurred(event);
+			}
+		}
+
+	}
+
+	/**
+	 * Logical connection obtained through {@link DefaultPooledXADataSource#getConnection()}, which closes the pooled
+	 * XA connection when closed.
+	 */
+	private static final class PooledLogicalConnection extends DelegatingConnection {
+
+		private final XAConnection xaConnection;
+
+		PooledLogicalConnection(Connection delegate, XAConnection xaConnection) {
+			super(delegate);
+			this.xaConnection = xaConnection;
+		}
+
+		@Override
+		public void close() throws SQLException {
+			try {
+				super.close();
+			} finally {
+				xaConnection.close();
+			}
+		}
+
+	}
+
+	// Builder
+
+	/**
+	 * Default {@link PooledXADataSource} builder.
+	 */
+	public static class DefaultBuilder implements PooledXADataSource.Builder {
+
+		private XADataSource xaDataSource;
+		private String name;
+		private int minPoolSize = 0;
+		private int maxPoolSize = DataSourceConfigProperties.DEFAULT_MAX_POOL_SIZE;
+		private long idleTimeout = DataSourceConfigProperties.DEFAULT_XA_IDLE_TIMEOUT;
+		private long maxWait = DataSourceConfigProperties.DEFAULT_XA_MAX_WAIT;
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.PooledXADataSource.Builder#xaDataSource(javax.sql.XADataSource)
+		 */
+		@Override
+		public PooledXADataSource.Builder xaDataSource(XADataSource xaDataSource) {
+			ObjectUtils.argumentNotNull(xaDataSource, "XADataSource must be not null");
+			this.xaDataSource = xaDataSource;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.PooledXADataSource.Builder#name(java.lang.String)
+		 */
+		@Override
+		public PooledXADataSource.Builder name(String name) {
+			this.name = name;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.PooledXADataSource.Builder#minPoolSize(int)
+		 */
+		@Override
+		public PooledXADataSource.Builder minPoolSize(int minPoolSize) {
+			this.minPoolSize = minPoolSize;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.PooledXADataSource.Builder#maxPoolSize(int)
+		 */
+		@Override
+		public PooledXADataSource.Builder maxPoolSize(int maxPoolSize) {
+			if (maxPoolSize < 1) {
+				throw new IllegalArgumentException("Pool max size must be greater than 0");
+			}
+			this.maxPoolSize = maxPoolSize;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.PooledXADataSource.Builder#idleTimeout(long)
+		 */
+		@Override
+		public PooledXADataSource.Builder idleTimeout(long idleTimeout) {
+			this.idleTimeout = idleTimeout;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.PooledXADataSource.Builder#maxWait(long)
+		 */
+		@Override
+		public PooledXADataSource.Builder maxWait(long maxWait) {
+			this.maxWait = maxWait;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.PooledXADataSource.Builder#build()
+		 */
+		@Override
+		public PooledXADataSource build() {
+			if (xaDataSource == null) {
+				throw new IllegalStateException("Missing XADataSource");
+			}
+			return new DefaultPooledXADataSource(xaDataSource, name, minPoolSize, maxPoolSize, idleTimeout, maxWait);
+		}
+
+	}
+
+}
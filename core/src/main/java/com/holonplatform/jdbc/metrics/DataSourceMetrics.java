@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.metrics;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.Registration;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.internal.statistics.DefaultDataSourceMetrics;
+
+/**
+ * Latency metrics of a {@link DataSource}: the connection acquisition time, the connection lease time and the
+ * statement execution time.
+ * <p>
+ * Each {@link Metric} is recorded in a lock-free latency histogram, from which a {@link LatencySnapshot} of all the
+ * recorded values or of the values recorded since the previous interval snapshot can be obtained.
+ * </p>
+ * <p>
+ * The metrics are collected on a DataSource built using the default {@link com.holonplatform.jdbc.DataSourceBuilder}
+ * when the {@link DataSourceConfigProperties#METRICS_ENABLED} configuration property is <code>true</code>, and can be
+ * obtained using the {@link #get(DataSource)} method. For any other DataSource, the metrics can be collected using the
+ * connection handler returned by {@link com.holonplatform.jdbc.JdbcConnectionHandler#metered}.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface DataSourceMetrics {
+
+	/**
+	 * Latency metric.
+	 */
+	public enum Metric {
+
+		/**
+		 * The time spent to obtain a connection.
+		 */
+		ACQUISITION,
+
+		/**
+		 * The time from the connection acquisition to the connection release.
+		 */
+		LEASE,
+
+		/**
+		 * The statement execution time.
+		 */
+		STATEMENT;
+
+	}
+
+	/**
+	 * Get the metrics name, which by default is the data context id of the DataSource, if available.
+	 * @return The metrics name
+	 */
+	String getName();
+
+	/**
+	 * Record a latency event.
+	 * @param metric The measured metric (not null)
+	 * @param nanos The measured latency in nanoseconds
+	 */
+	void record(Metric metric, long nanos);
+
+	/**
+	 * Get a snapshot of all the values recorded for given metric.
+	 * @param metric The metric (not null)
+	 * @return The metric snapshot
+	 */
+	LatencySnapshot getSnapshot(Metric metric);
+
+	/**
+	 * Get a snapshot of the values recorded for given metric since the previous interval snapshot of the same metric.
+	 * <p>
+	 * This method is meant to be invoked periodically, for example by a metrics reporter, to obtain the latency
+	 * distribution of each reporting interval.
+	 * </p>
+	 * @param metric The metric (not null)
+	 * @return The metric interval snapshot
+	 */
+	LatencySnapshot getIntervalSnapshot(Metric metric);
+
+	/**
+	 * Add a {@link MetricsRecorder} to be notified of each recorded latency event.
+	 * @param recorder The recorder to add (not null)
+	 * @return The recorder registration, which can be used to remove the recorder
+	 */
+	Registration addRecorder(MetricsRecorder recorder);
+
+	/**
+	 * Get the {@link DataSourceMetrics} collected on given DataSource, if available.
+	 * @param dataSource The DataSource (not null)
+	 * @return Optional DataSource metrics
+	 */
+	static Optional<DataSourceMetrics> get(DataSource dataSource) {
+		try {
+			if (dataSource.isWrapperFor(DataSourceMetrics.class)) {
+				return Optional.of(dataSource.unwrap(DataSourceMetrics.class));
+			}
+		} catch (SQLException e) {
+			// not available
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Create a new {@link DataSourceMetrics}.
+	 * @param name The metrics name (not null)
+	 * @return A new {@link DataSourceMetrics} instance
+	 */
+	static DataSourceMetrics create(String name) {
+		return new DefaultDataSourceMetrics(name);
+	}
+
+}
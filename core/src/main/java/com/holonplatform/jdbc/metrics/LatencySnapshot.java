@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.metrics;
+
+/**
+ * A snapshot of a latency histogram, with values expressed in nanoseconds.
+ * 
+ * @since 6.0.3
+ */
+public interface LatencySnapshot {
+
+	/**
+	 * Get the recorded values count.
+	 * @return the values count
+	 */
+	long getCount();
+
+	/**
+	 * Get the max recorded value.
+	 * @return The max value in nanoseconds, <code>0</code> if no value was recorded
+	 */
+	long getMax();
+
+	/**
+	 * Get the mean of the recorded values.
+	 * @return The mean value in nanoseconds, <code>0</code> if no value was recorded
+	 */
+	double getMean();
+
+	/**
+	 * Get the value at given percentile. The values are approximated with a relative error lower than 12.5%.
+	 * @param percentile The percentile, between <code>0</code> and <code>100</code> (for example <code>99.9</code>)
+	 * @return The value in nanoseconds, <code>0</code> if no value was recorded
+	 * @throws IllegalArgumentException If the percentile is not between <code>0</code> and <code>100</code>
+	 */
+	long getValueAtPercentile(double percentile);
+
+}
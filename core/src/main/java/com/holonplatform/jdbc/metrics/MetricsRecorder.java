@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.metrics;
+
+/**
+ * A recorder of the {@link DataSourceMetrics} latency events, which can be used to bridge the metrics to an external
+ * metrics library.
+ * <p>
+ * The recorders can be registered using {@link DataSourceMetrics#addRecorder(MetricsRecorder)} or using default Java
+ * {@link java.util.ServiceLoader} extensions, through a <code>com.holonplatform.jdbc.metrics.MetricsRecorder</code>
+ * file under <code>META-INF/services</code>: in the latter case, the recorders are registered in any
+ * {@link DataSourceMetrics} created by the default {@link com.holonplatform.jdbc.DataSourceBuilder}.
+ * </p>
+ * <p>
+ * The recorders are invoked synchronously by the thread which performed the measured operation, so they should be
+ * fast and they should never block.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+@FunctionalInterface
+public interface MetricsRecorder {
+
+	/**
+	 * Record a latency event.
+	 * @param name The {@link DataSourceMetrics} name
+	 * @param metric The measured metric
+	 * @param nanos The measured latency in nanoseconds
+	 */
+	void record(String name, DataSourceMetrics.Metric metric, long nanos);
+
+}
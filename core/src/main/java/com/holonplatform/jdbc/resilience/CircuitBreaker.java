@@ -0,0 +1,155 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.resilience;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.Registration;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+
+/**
+ * A circuit breaker which guards the {@link DataSource} connection acquisition.
+ * <p>
+ * The circuit breaker tracks the connection acquisition failures and timeouts: when the configured failures threshold
+ * is reached, the circuit is opened and any further connection request fails fast, without waiting for the
+ * connection pool timeout. After the configured open state duration, a limited number of probe acquisitions is
+ * allowed ({@link State#HALF_OPEN} state): if the probes succeed the circuit is closed again, otherwise it is opened
+ * again.
+ * </p>
+ * <p>
+ * A circuit breaker is installed on a DataSource built using the default
+ * {@link com.holonplatform.jdbc.DataSourceBuilder} when the {@link DataSourceConfigProperties#CIRCUIT_BREAKER_ENABLED}
+ * configuration property is <code>true</code>, and can be obtained using the {@link #get(DataSource)} method.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface CircuitBreaker {
+
+	/**
+	 * Circuit breaker state.
+	 */
+	public enum State {
+
+		/**
+		 * The circuit is closed: connection requests are allowed.
+		 */
+		CLOSED,
+
+		/**
+		 * The circuit is open: connection requests fail fast.
+		 */
+		OPEN,
+
+		/**
+		 * A limited number of probe connection requests is allowed to check whether the database is healthy again.
+		 */
+		HALF_OPEN;
+
+	}
+
+	/**
+	 * Get the circuit breaker name, which by default is the data context id of the guarded DataSource, if available.
+	 * @return The circuit breaker name
+	 */
+	String getName();
+
+	/**
+	 * Get the current circuit breaker state.
+	 * @return the current state
+	 */
+	State getState();
+
+	/**
+	 * Reset the circuit breaker, transitioning it to the {@link State#CLOSED} state.
+	 */
+	void reset();
+
+	/**
+	 * Add a listener to be notified when the circuit breaker state changes.
+	 * <p>
+	 * The listeners are invoked synchronously by the thread which triggered the state change.
+	 * </p>
+	 * @param listener The listener to add (not null)
+	 * @return The listener registration, which can be used to remove the listener
+	 */
+	Registration addStateChangeListener(StateChangeListener listener);
+
+	/**
+	 * Get the {@link CircuitBreaker} which guards given DataSource, if available.
+	 * @param dataSource The DataSource (not null)
+	 * @return Optional DataSource circuit breaker
+	 */
+	static Optional<CircuitBreaker> get(DataSource dataSource) {
+		try {
+			if (dataSource.isWrapperFor(CircuitBreaker.class)) {
+				return Optional.of(dataSource.unwrap(CircuitBreaker.class));
+			}
+		} catch (SQLException e) {
+			// not available
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Circuit breaker state change event.
+	 */
+	public interface StateChangeEvent {
+
+		/**
+		 * Get the circuit breaker which triggered the event.
+		 * @return the circuit breaker
+		 */
+		CircuitBreaker getCircuitBreaker();
+
+		/**
+		 * Get the state before the transition.
+		 * @return the previous state
+		 */
+		State getFromState();
+
+		/**
+		 * Get the state after the transition.
+		 * @return the new state
+		 */
+		State getToState();
+
+		/**
+		 * Get the event timestamp, in milliseconds since the epoch.
+		 * @return the event timestamp
+		 */
+		long getTimestamp();
+
+	}
+
+	/**
+	 * Listener for circuit breaker state changes.
+	 */
+	@FunctionalInterface
+	public interface StateChangeListener {
+
+		/**
+		 * Invoked when the circuit breaker state changed.
+		 * @param event The state change event
+		 */
+		void onStateChange(StateChangeEvent event);
+
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.resilience;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+
+/**
+ * An adaptive limiter of the concurrent {@link DataSource} connection leases.
+ * <p>
+ * The limiter observes the latency of each connection lease, from the connection request to the connection release,
+ * and adjusts the number of admitted concurrent leases using the configured {@link Algorithm}: when the latency grows
+ * because the requests are queueing in the connection pool or in the database, the limit is decreased and the excess
+ * connection requests are rejected early, when the latency is stable the limit is increased.
+ * </p>
+ * <p>
+ * A concurrency limiter is installed on a DataSource built using the default
+ * {@link com.holonplatform.jdbc.DataSourceBuilder} when the
+ * {@link DataSourceConfigProperties#CONCURRENCY_LIMIT_ENABLED} configuration property is <code>true</code>, and can
+ * be obtained using the {@link #get(DataSource)} method.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface ConcurrencyLimiter {
+
+	/**
+	 * Limit adjustment algorithm.
+	 */
+	public enum Algorithm {
+
+		/**
+		 * Adjusts the limit using the gradient between the long term and the current lease latency.
+		 */
+		GRADIENT,
+
+		/**
+		 * Estimates the queue size from the difference between the minimum and the current lease latency, following the
+		 * TCP Vegas congestion control algorithm.
+		 */
+		VEGAS;
+
+	}
+
+	/**
+	 * Get the limiter name, which by default is the data context id of the limited DataSource, if available.
+	 * @return The limiter name
+	 */
+	String getName();
+
+	/**
+	 * Get the limit adjustment algorithm.
+	 * @return the limit algorithm
+	 */
+	Algorithm getAlgorithm();
+
+	/**
+	 * Get the current limit, i.e. the maximum number of concurrent connection leases which are admitted.
+	 * @return the current limit
+	 */
+	int getLimit();
+
+	/**
+	 * Get the number of the currently active connection leases.
+	 * @return the active leases count
+	 */
+	int getInFlight();
+
+	/**
+	 * Get the total number of the connection requests rejected since the limiter creation.
+	 * @return the rejected requests count
+	 */
+	long getRejectedCount();
+
+	/**
+	 * Get the {@link ConcurrencyLimiter} which limits given DataSource, if available.
+	 * @param dataSource The DataSource (not null)
+	 * @return Optional DataSource concurrency limiter
+	 */
+	static Optional<ConcurrencyLimiter> get(DataSource dataSource) {
+		try {
+			if (dataSource.isWrapperFor(ConcurrencyLimiter.class)) {
+				return Optional.of(dataSource.unwrap(ConcurrencyLimiter.class));
+			}
+		} catch (SQLException e) {
+			// not available
+		}
+		return Optional.empty();
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.resilience;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import com.holonplatform.core.Context;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.internal.resilience.DefaultDeadline;
+
+/**
+ * A point in time after which the result of an operation is no longer useful, for example because the upstream
+ * request which triggered it has already timed out.
+ * <p>
+ * The current deadline is obtained from the {@link Context} using the {@link #CONTEXT_KEY} resource key, so it can
+ * be bound to the current thread using the {@link #run(Deadline, Runnable)} or {@link #call(Deadline, Callable)}
+ * methods, or provided by any other context scope.
+ * </p>
+ * <p>
+ * When the {@link DataSourceConfigProperties#DEADLINE_ENABLED} configuration property is <code>true</code>, a
+ * DataSource built using the default {@link com.holonplatform.jdbc.DataSourceBuilder} rejects the connection requests
+ * made after the current deadline expiration, bounds the connection acquisition waits to the remaining time and uses
+ * it as query timeout of the statements created from the leased connections.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface Deadline {
+
+	/**
+	 * Default {@link Context} resource reference
+	 */
+	public static final String CONTEXT_KEY = Deadline.class.getName();
+
+	/**
+	 * Get the time remaining before the deadline expiration.
+	 * @param unit The time unit (not null)
+	 * @return The remaining time in given unit, <code>0</code> if the deadline is expired
+	 */
+	long getRemaining(TimeUnit unit);
+
+	/**
+	 * Get whether the deadline is expired.
+	 * @return <code>true</code> if the deadline is expired
+	 */
+	boolean isExpired();
+
+	/**
+	 * Create a new deadline which expires after given timeout, starting from now.
+	 * @param timeout The timeout
+	 * @param unit The timeout unit (not null)
+	 * @return A new deadline
+	 */
+	static Deadline after(long timeout, TimeUnit unit) {
+		return new DefaultDeadline(System.nanoTime() + unit.toNanos(timeout));
+	}
+
+	/**
+	 * Create a new deadline which expires after given timeout, starting from now.
+	 * @param timeout The timeout (not null)
+	 * @return A new deadline
+	 */
+	static Deadline after(Duration timeout) {
+		return after(timeout.toNanos(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Get the current deadline, if available, using the {@link #CONTEXT_KEY} {@link Context} resource key.
+	 * @return Optional current deadline
+	 */
+	static Optional<Deadline> getCurrent() {
+		return Context.get().resource(CONTEXT_KEY, Deadline.class);
+	}
+
+	/**
+	 * Execute given operation binding given deadline to the current thread.
+	 * @param deadline The deadline (not null)
+	 * @param operation The operation to execute (not null)
+	 */
+	static void run(Deadline deadline, Runnable operation) {
+		Context.get().executeThreadBound(CONTEXT_KEY, deadline, operation);
+	}
+
+	/**
+	 * Execute given operation binding given deadline to the current thread.
+	 * @param <V> Operation result type
+	 * @param deadline The deadline (not null)
+	 * @param operation The operation to execute (not null)
+	 * @return The operation result
+	 * @throws RuntimeException If the operation failed. Checked exceptions are wrapped in a {@link RuntimeException}
+	 */
+	static <V> V call(Deadline deadline, Callable<V> operation) {
+		return Context.get().executeThreadBound(CONTEXT_KEY, deadline, operation);
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.resilience;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.jdbc.ConnectionPriority;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+
+/**
+ * A wait queue in front of the {@link DataSource} connection pool, which serves the connection requests by
+ * {@link ConnectionPriority} lanes.
+ * <p>
+ * The number of concurrent connection leases is bounded by a number of permits, which by default is the connection
+ * pool size. When no permit is available, the connection requests wait in the lane of the {@link ConnectionPriority}
+ * bound to the requesting thread and, when a permit is released, the higher priority lanes are served first. Each
+ * lower priority lane can be configured with a reserved minimum share of the permits, which can only be used by the
+ * requests of that lane, so that they are not starved: the other lanes share the remaining permits.
+ * </p>
+ * <p>
+ * The priority lanes are installed on a DataSource built using the default
+ * {@link com.holonplatform.jdbc.DataSourceBuilder} when the {@link DataSourceConfigProperties#PRIORITY_LANES_ENABLED}
+ * configuration property is <code>true</code>, and can be obtained using the {@link #get(DataSource)} method.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface PriorityLanes {
+
+	/**
+	 * Get the name, which by default is the data context id of the DataSource, if available.
+	 * @return The name
+	 */
+	String getName();
+
+	/**
+	 * Get the total number of permits, i.e. the maximum number of concurrent connection leases.
+	 * @return the permits number
+	 */
+	int getPermits();
+
+	/**
+	 * Get the statistics of the lane of given priority.
+	 * @param priority The lane priority (not null)
+	 * @return The lane statistics
+	 */
+	LaneStatistics getStatistics(ConnectionPriority priority);
+
+	/**
+	 * Get the {@link PriorityLanes} of given DataSource, if available.
+	 * @param dataSource The DataSource (not null)
+	 * @return Optional DataSource priority lanes
+	 */
+	static Optional<PriorityLanes> get(DataSource dataSource) {
+		try {
+			if (dataSource.isWrapperFor(PriorityLanes.class)) {
+				return Optional.of(dataSource.unwrap(PriorityLanes.class));
+			}
+		} catch (SQLException e) {
+			// not available
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Priority lane statistics.
+	 */
+	public interface LaneStatistics {
+
+		/**
+		 * Get the lane priority.
+		 * @return the lane priority
+		 */
+		ConnectionPriority getPriority();
+
+		/**
+		 * Get the reserved minimum share of the lane, as a number of permits.
+		 * @return the reserved permits
+		 */
+		int getReservedPermits();
+
+		/**
+		 * Get the number of permits currently used by the lane.
+		 * @return the active leases count
+		 */
+		int getActive();
+
+		/**
+		 * Get the number of connection requests currently waiting in the lane.
+		 * @return the waiting requests count
+		 */
+		int getWaiting();
+
+		/**
+		 * Get the number of connection requests served by the lane.
+		 * @return the acquired leases count
+		 */
+		long getAcquiredCount();
+
+		/**
+		 * Get the number of connection requests of the lane which timed out while waiting for a permit.
+		 * @return the rejected requests count
+		 */
+		long getRejectedCount();
+
+		/**
+		 * Get the average time spent waiting for a permit by the served connection requests, in milliseconds.
+		 * @return the average wait time
+		 */
+		double getAverageWaitTime();
+
+		/**
+		 * Get the maximum time spent waiting for a permit by a served connection request, in milliseconds.
+		 * @return the maximum wait time
+		 */
+		long getMaxWaitTime();
+
+	}
+
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.resilience;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.internal.resilience.DefaultRateLimiterConfiguration;
+
+/**
+ * A token bucket rate limiter of the DataSource connection requests and statement executions.
+ * <p>
+ * Each limited operation consumes a token from the bucket, which is refilled at the configured rate (tokens per
+ * second) up to the configured burst size. When no token is available, according to the configured {@link Mode}, the
+ * operation is rejected or waits until a token becomes available.
+ * </p>
+ * <p>
+ * A rate limiter is installed on a DataSource built using the default {@link com.holonplatform.jdbc.DataSourceBuilder}
+ * when the {@link DataSourceConfigProperties#RATE_LIMIT_CONNECTIONS_PER_SECOND} and/or the
+ * {@link DataSourceConfigProperties#RATE_LIMIT_STATEMENTS_PER_SECOND} configuration properties are configured, and
+ * can be obtained using the {@link #get(DataSource)} method. A rate limiter for each tenant can be configured for a
+ * {@link com.holonplatform.jdbc.MultiTenantDataSource} using its builder.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface RateLimiter {
+
+	/**
+	 * Behaviour when no token is available.
+	 */
+	public enum Mode {
+
+		/**
+		 * Wait until a token becomes available, up to the configured max wait time.
+		 */
+		WAIT,
+
+		/**
+		 * Reject the operation immediately.
+		 */
+		FAIL_FAST;
+
+	}
+
+	/**
+	 * Get the rate limiter name, which by default is the data context id or the tenant id of the limited DataSource,
+	 * if available.
+	 * @return The rate limiter name
+	 */
+	String getName();
+
+	/**
+	 * Get the rate limiter configuration.
+	 * @return the rate limiter configuration
+	 */
+	Configuration getConfiguration();
+
+	/**
+	 * Get the token bucket of the connection requests, if connection requests are limited.
+	 * @return Optional connection requests token bucket
+	 */
+	Optional<TokenBucket> getConnectionBucket();
+
+	/**
+	 * Get the token bucket of the statement executions, if statement executions are limited.
+	 * @return Optional statement executions token bucket
+	 */
+	Optional<TokenBucket> getStatementBucket();
+
+	/**
+	 * Get the {@link RateLimiter} of given DataSource, if available.
+	 * @param dataSource The DataSource (not null)
+	 * @return Optional DataSource rate limiter
+	 */
+	static Optional<RateLimiter> get(DataSource dataSource) {
+		try {
+			if (dataSource.isWrapperFor(RateLimiter.class)) {
+				return Optional.of(dataSource.unwrap(RateLimiter.class));
+			}
+		} catch (SQLException e) {
+			// not available
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * A rate limiter token bucket.
+	 */
+	public interface TokenBucket {
+
+		/**
+		 * Get the refill rate, in tokens per second.
+		 * @return the refill rate
+		 */
+		double getRate();
+
+		/**
+		 * Get the bucket capacity, i.e. the number of operations which can be performed in a burst.
+		 * @return the burst size
+		 */
+		int getBurst();
+
+		/**
+		 * Get the number of operations which obtained a token without waiting.
+		 * @return the immediately permitted operations count
+		 */
+		long getPermittedCount();
+
+		/**
+		 * Get the number of operations which waited for a token.
+		 * @return the delayed operations count
+		 */
+		long getDelayedCount();
+
+		/**
+		 * Get the number of rejected operations.
+		 * @return the rejected operations count
+		 */
+		long getRejectedCount();
+
+	}
+
+	/**
+	 * Rate limiter configuration.
+	 */
+	public interface Configuration {
+
+		/**
+		 * Get the connection requests rate, in requests per second.
+		 * @return The connection requests rate, <code>0</code> if not limited
+		 */
+		double getConnectionsPerSecond();
+
+		/**
+		 * Get the connection requests burst size.
+		 * @return The connection requests burst size
+		 */
+		int getConnectionsBurst();
+
+		/**
+		 * Get the statement executions rate, in executions per second.
+		 * @return The statement executions rate, <code>0</code> if not limited
+		 */
+		double getStatementsPerSecond();
+
+		/**
+		 * Get the statement executions burst size.
+		 * @return The statement executions burst size
+		 */
+		int getStatementsBurst();
+
+		/**
+		 * Get the behaviour when no token is available.
+		 * @return the rate limiter mode
+		 */
+		Mode getMode();
+
+		/**
+		 * Get the max time to wait for a token in {@link Mode#WAIT} mode, in milliseconds.
+		 * @return the max wait time
+		 */
+		long getMaxWait();
+
+		/**
+		 * Get a builder to create a new {@link Configuration}.
+		 * @return A new configuration builder
+		 */
+		static Builder builder() {
+			return new DefaultRateLimiterConfiguration.DefaultBuilder();
+		}
+
+		/**
+		 * Create a {@link Configuration} using given DataSource configuration properties.
+		 * @param configurationProperties DataSource configuration properties (not null)
+		 * @return The rate limiter configuration, empty if neither the connection requests nor the statement
+		 *         executions rate is configured
+		 */
+		static Optional<Configuration> create(DataSourceConfigProperties configurationProperties) {
+			return DefaultRateLimiterConfiguration.create(configurationProperties);
+		}
+
+		/**
+		 * {@link Configuration} builder.
+		 */
+		public interface Builder {
+
+			/**
+			 * Set the connection requests rate.
+			 * @param permitsPerSecond The connection requests per second, <code>0</code> for no limit
+			 * @return this
+			 */
+			Builder connectionsPerSecond(double permitsPerSecond);
+
+			/**
+			 * Set the connection requests burst size. If not specified, the rate rounded up is used.
+			 * @param burst The burst size
+			 * @return this
+			 */
+			Builder connectionsBurst(int burst);
+
+			/**
+			 * Set the statement executions rate.
+			 * @param permitsPerSecond The statement executions per second, <code>0</code> for no limit
+			 * @return this
+			 */
+			Builder statementsPerSecond(double permitsPerSecond);
+
+			/**
+			 * Set the statement executions burst size. If not specified, the rate rounded up is used.
+			 * @param burst The burst size
+			 * @return this
+			 */
+			Builder statementsBurst(int burst);
+
+			/**
+			 * Set the behaviour when no token is available. Default is {@link Mode#WAIT}.
+			 * @param mode The rate limiter mode (not null)
+			 * @return this
+			 */
+			Builder mode(Mode mode);
+
+			/**
+			 * Set the max time to wait for a token in {@link Mode#WAIT} mode. Default is
+			 * {@link DataSourceConfigProperties#DEFAULT_RATE_LIMIT_MAX_WAIT}.
+			 * @param maxWait The max wait time in milliseconds
+			 * @return this
+			 */
+			Builder maxWait(long maxWait);
+
+			/**
+			 * Build the configuration.
+			 * @return The rate limiter configuration
+			 */
+			Configuration build();
+
+		}
+
+	}
+
+}
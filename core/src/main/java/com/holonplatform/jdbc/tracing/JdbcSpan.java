@@ -0,0 +1,138 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.tracing;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A traced JDBC operation, i.e. a connection acquisition or a statement execution.
+ * <p>
+ * The span attributes follow the OpenTelemetry database semantic conventions, when applicable.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface JdbcSpan {
+
+	/**
+	 * The database management system attribute name, derived from the DataSource
+	 * {@link com.holonplatform.jdbc.DatabasePlatform}.
+	 */
+	public static final String ATTRIBUTE_DB_SYSTEM = "db.system";
+
+	/**
+	 * The executed statement attribute name. The value is the statement SQL <em>fingerprint</em>, i.e. the SQL text
+	 * with the literals replaced by a <code>?</code> placeholder.
+	 */
+	public static final String ATTRIBUTE_DB_STATEMENT = "db.statement";
+
+	/**
+	 * The DataSource data context id attribute name.
+	 */
+	public static final String ATTRIBUTE_DATA_CONTEXT_ID = "holon.data_context_id";
+
+	/**
+	 * The current tenant id attribute name.
+	 */
+	public static final String ATTRIBUTE_TENANT_ID = "holon.tenant_id";
+
+	/**
+	 * Span kind.
+	 */
+	public enum Kind {
+
+		/**
+		 * A connection acquisition.
+		 */
+		CONNECTION_ACQUISITION("jdbc.connection.acquire"),
+
+		/**
+		 * A statement execution.
+		 */
+		STATEMENT("jdbc.statement.execute");
+
+		private final String spanName;
+
+		private Kind(String spanName) {
+			this.spanName = spanName;
+		}
+
+		/**
+		 * Get the name of the spans of this kind.
+		 * @return the span name
+		 */
+		public String getSpanName() {
+			return spanName;
+		}
+
+	}
+
+	/**
+	 * Get the span kind.
+	 * @return the span kind
+	 */
+	Kind getKind();
+
+	/**
+	 * Get the span name.
+	 * @return the span name
+	 */
+	String getName();
+
+	/**
+	 * Get the trace id, as a 32 characters lowercase hex string.
+	 * @return the trace id
+	 */
+	String getTraceId();
+
+	/**
+	 * Get the span id, as a 16 characters lowercase hex string.
+	 * @return the span id
+	 */
+	String getSpanId();
+
+	/**
+	 * Get the parent span id, if the span was created within a {@link TraceContext}.
+	 * @return Optional parent span id
+	 */
+	Optional<String> getParentSpanId();
+
+	/**
+	 * Get the span start timestamp.
+	 * @return the start timestamp, in microseconds since the epoch
+	 */
+	long getStartTimestamp();
+
+	/**
+	 * Get the span duration.
+	 * @return the duration in nanoseconds
+	 */
+	long getDuration();
+
+	/**
+	 * Get the span attributes.
+	 * @return the span attributes, by name
+	 */
+	Map<String, String> getAttributes();
+
+	/**
+	 * Get the error which made the operation fail, if any.
+	 * @return Optional operation error
+	 */
+	Optional<Throwable> getError();
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.tracing;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.Registration;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+
+/**
+ * The tracing of the JDBC operations of a {@link DataSource}: a {@link JdbcSpan} is created for each sampled
+ * connection acquisition and statement execution and it is notified to the registered {@link SpanExporter}s.
+ * <p>
+ * The operations performed within a {@link TraceContext} follow the context sampling decision, while any other
+ * operation is sampled according to the configured sample ratio. The spans are created only when sampled and when at
+ * least one exporter is registered, so an unsampled operation only costs the sampling decision.
+ * </p>
+ * <p>
+ * The tracing is enabled on a DataSource built using the default {@link com.holonplatform.jdbc.DataSourceBuilder}
+ * when the {@link DataSourceConfigProperties#TRACING_ENABLED} configuration property is <code>true</code>, and can be
+ * obtained using the {@link #get(DataSource)} method.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface JdbcTracing {
+
+	/**
+	 * Get the tracing name, which by default is the data context id of the DataSource, if available.
+	 * @return The tracing name
+	 */
+	String getName();
+
+	/**
+	 * Get the ratio of the operations performed outside a {@link TraceContext} which are sampled.
+	 * @return The sample ratio, from <code>0</code> to <code>1</code>
+	 */
+	double getSampleRatio();
+
+	/**
+	 * Add a {@link SpanExporter} to be notified of each sampled span.
+	 * @param exporter The exporter to add (not null)
+	 * @return The exporter registration, which can be used to remove the exporter
+	 */
+	Registration addExporter(SpanExporter exporter);
+
+	/**
+	 * Get the {@link JdbcTracing} of given DataSource, if available.
+	 * @param dataSource The DataSource (not null)
+	 * @return Optional DataSource tracing
+	 */
+	static Optional<JdbcTracing> get(DataSource dataSource) {
+		try {
+			if (dataSource.isWrapperFor(JdbcTracing.class)) {
+				return Optional.of(dataSource.unwrap(JdbcTracing.class));
+			}
+		} catch (SQLException e) {
+			// not available
+		}
+		return Optional.empty();
+	}
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.tracing;
+
+/**
+ * An exporter of the sampled {@link JdbcSpan}s, which can be used to bridge the JDBC spans to a tracing library, for
+ * example OpenTelemetry.
+ * <p>
+ * The exporters can be registered using {@link JdbcTracing#addExporter(SpanExporter)} or using default Java
+ * {@link java.util.ServiceLoader} extensions, through a <code>com.holonplatform.jdbc.tracing.SpanExporter</code> file
+ * under <code>META-INF/services</code>: in the latter case, the exporters are registered in any {@link JdbcTracing}
+ * created by the default {@link com.holonplatform.jdbc.DataSourceBuilder}.
+ * </p>
+ * <p>
+ * The exporters are invoked synchronously by the thread which performed the traced operation, when the operation is
+ * completed, so they should be fast and they should never block.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+@FunctionalInterface
+public interface SpanExporter {
+
+	/**
+	 * Export a completed span.
+	 * @param span The span to export
+	 */
+	void export(JdbcSpan span);
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.tracing;
+
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+import com.holonplatform.core.Context;
+import com.holonplatform.jdbc.internal.tracing.DefaultTraceContext;
+
+/**
+ * The context of the trace to which the JDBC spans belong: the JDBC spans created within a trace context use the
+ * context trace id and the context span id as parent span id, and follow the context sampling decision.
+ * <p>
+ * The current trace context is obtained from the {@link Context} using the {@link #CONTEXT_KEY} resource key, so it
+ * can be bound to the current thread using the {@link #run(TraceContext, Runnable)} or
+ * {@link #call(TraceContext, Callable)} methods, or provided by any other context scope, for example by a tracing
+ * library bridge.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface TraceContext {
+
+	/**
+	 * Default {@link Context} resource reference
+	 */
+	public static final String CONTEXT_KEY = TraceContext.class.getName();
+
+	/**
+	 * Get the trace id.
+	 * @return the trace id, as a 32 characters lowercase hex string
+	 */
+	String getTraceId();
+
+	/**
+	 * Get the id of the span which is the parent of the JDBC spans.
+	 * @return the span id, as a 16 characters lowercase hex string
+	 */
+	String getSpanId();
+
+	/**
+	 * Get whether the trace is sampled.
+	 * @return <code>true</code> if the JDBC spans created within this context must be sampled
+	 */
+	boolean isSampled();
+
+	/**
+	 * Create a new {@link TraceContext}.
+	 * @param traceId The trace id (not null)
+	 * @param spanId The parent span id (not null)
+	 * @param sampled Whether the trace is sampled
+	 * @return A new {@link TraceContext}
+	 */
+	static TraceContext create(String traceId, String spanId, boolean sampled) {
+		return new DefaultTraceContext(traceId, spanId, sampled);
+	}
+
+	/**
+	 * Get the current trace context, if available, using the {@link #CONTEXT_KEY} {@link Context} resource key.
+	 * @return Optional current trace context
+	 */
+	static Optional<TraceContext> getCurrent() {
+		return Context.get().resource(CONTEXT_KEY, TraceContext.class);
+	}
+
+	/**
+	 * Execute given operation binding given trace context to the current thread.
+	 * @param traceContext The trace context (not null)
+	 * @param operation The operation to execute (not null)
+	 */
+	static void run(TraceContext traceContext, Runnable operation) {
+		Context.get().executeThreadBound(CONTEXT_KEY, traceContext, operation);
+	}
+
+	/**
+	 * Execute given operation binding given trace context to the current thread.
+	 * @param <V> Operation result type
+	 * @param traceContext The trace context (not null)
+	 * @param operation The operation to execute (not null)
+	 * @return The operation result
+	 * @throws RuntimeException If the operation failed. Checked exceptions are wrapped in a {@link RuntimeException}
+	 */
+	static <V> V call(TraceContext traceContext, Callable<V> operation) {
+		return Context.get().executeThreadBound(CONTEXT_KEY, traceContext, operation);
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.transaction;
+
+import java.sql.Connection;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.datastore.transaction.Transaction;
+import com.holonplatform.core.datastore.transaction.TransactionConfiguration;
+import com.holonplatform.core.datastore.transaction.Transactional;
+import com.holonplatform.jdbc.internal.transaction.DefaultJdbcTransactionManager;
+import com.holonplatform.jdbc.internal.transaction.TransactionBoundConnection;
+
+/**
+ * A JDBC {@link Transaction} manager which does not depend on any external transaction infrastructure.
+ * <p>
+ * When a transaction is started, a connection is obtained from the {@link DataSource} and it is bound to the current
+ * thread (or virtual thread) until the transaction is completed, so that all the operations performed in the
+ * transaction scope use the same connection. The connection handler returned by
+ * {@link com.holonplatform.jdbc.JdbcConnectionHandler#create()} provides the bound connection, if any.
+ * </p>
+ * <p>
+ * The {@link JdbcTransactionOptions} of the transaction configuration are honored. When a transaction is started while
+ * another transaction is active for the same DataSource in the current thread, the new transaction participates in the
+ * active one or, if {@link JdbcTransactionOptions#isNested()} is <code>true</code>, it is a nested transaction backed
+ * by a JDBC savepoint.
+ * </p>
+ * <p>
+ * The {@link JdbcTransactionOptions#getRetryPolicy()} retry policy is applied by the {@link Transactional} methods
+ * when no other transaction is active: the whole transactional operation is re-run when it fails because of a
+ * serialization failure or a deadlock.
+ * </p>
+ * <p>
+ * A transaction started using {@link #begin(TransactionConfiguration)} must be completed, i.e. committed or rolled
+ * back, by the same thread. The {@link Transactional} methods take care of the transaction completion.
+ * </p>
+ *
+ * @since 6.0.3
+ */
+public interface JdbcTransactionManager extends Transactional {
+
+	/**
+	 * Get the DataSource of the managed transactions.
+	 * @return the DataSource
+	 */
+	DataSource getDataSource();
+
+	/**
+	 * Start a new transaction.
+	 * @param configuration The transaction configuration (not null)
+	 * @return The transaction
+	 * @throws com.holonplatform.core.datastore.transaction.TransactionStatus.TransactionException If the transaction
+	 *         cannot be started
+	 */
+	Transaction begin(TransactionConfiguration configuration);
+
+	/**
+	 * Start a new transaction using the default transaction configuration.
+	 * @return The transaction
+	 * @throws com.holonplatform.core.datastore.transaction.TransactionStatus.TransactionException If the transaction
+	 *         cannot be started
+	 */
+	default Transaction begin() {
+		return begin(TransactionConfiguration.getDefault());
+	}
+
+	/**
+	 * Gets whether a transaction is active for the DataSource in the current thread.
+	 * @return <code>true</code> if a transaction is active
+	 */
+	boolean isTransactionActive();
+
+	/**
+	 * Get the connection bound to the current thread for given DataSource, if a transaction is active.
+	 * <p>
+	 * The bound connection must not be closed by the caller: the {@link Connection#close()} method of the returned
+	 * connection has no effect, the connection is released when the transaction is completed.
+	 * </p>
+	 * @param dataSource The DataSource (not null)
+	 * @return Optional bound connection
+	 */
+	static Optional<Connection> getBoundConnection(DataSource dataSource) {
+		return TransactionBoundConnection.getConnection(dataSource);
+	}
+
+	/**
+	 * Create a new {@link JdbcTransactionManager} for given DataSource.
+	 * @param dataSource The DataSource (not null)
+	 * @return A new {@link JdbcTransactionManager}
+	 */
+	static JdbcTransactionManager create(DataSource dataSource) {
+		return new DefaultJdbcTransactionManager(dataSource);
+	}
+
+}
@@ -33,6 +33,54 @@ public interface JdbcTransactionOptions extends TransactionOptions {
 	 */
 	Optional<TransactionIsolation> getTransactionIsolation();
 
+	/**
+	 * Get whether the transaction is read-only.
+	 * <p>
+	 * A read-only transaction is mapped to {@link java.sql.Connection#setReadOnly(boolean)}, allowing the driver and the
+	 * database to perform read-only optimizations, and it is used as {@link com.holonplatform.jdbc.ReadOnlyHint} while
+	 * obtaining the transaction connection, so that replica-aware DataSources can route it to a read replica.
+	 * </p>
+	 * @return <code>true</code> if the transaction is read-only. Default is <code>false</code>
+	 * @since 6.0.3
+	 */
+	default boolean isReadOnly() {
+		return false;
+	}
+
+	/**
+	 * Get the transaction timeout.
+	 * @return Optional transaction timeout, in seconds
+	 * @since 6.0.3
+	 */
+	default Optional<Integer> getTimeout() {
+		return Optional.empty();
+	}
+
+	/**
+	 * Get whether the transaction, when started while another transaction is active, is a nested transaction backed
+	 * by a JDBC savepoint on the same connection.
+	 * <p>
+	 * The commit of a nested transaction releases the savepoint, while its rollback rolls back the work performed
+	 * after the savepoint, leaving the outer transaction active. When no transaction is active, a nested transaction
+	 * behaves like a new transaction.
+	 * </p>
+	 * @return <code>true</code> if the transaction is nested. Default is <code>false</code>
+	 * @since 6.0.3
+	 */
+	default boolean isNested() {
+		return false;
+	}
+
+	/**
+	 * Get the policy to use to re-run the transactional unit of work when it fails because of a serialization failure
+	 * or a deadlock.
+	 * @return Optional transaction retry policy
+	 * @since 6.0.3
+	 */
+	default Optional<TransactionRetryPolicy> getRetryPolicy() {
+		return Optional.empty();
+	}
+
 	/**
 	 * Create a new {@link JdbcTransactionOptions} specifying the transaction isolation level.
 	 * @param isolation The transaction isolation level
@@ -42,4 +90,83 @@ public interface JdbcTransactionOptions extends TransactionOptions {
 		return new DefaultJdbcTransactionOptions(isolation);
 	}
 
+	/**
+	 * Create a new read-only {@link JdbcTransactionOptions}.
+	 * @return A new read-only {@link JdbcTransactionOptions} instance
+	 * @since 6.0.3
+	 */
+	static JdbcTransactionOptions readOnly() {
+		return builder().readOnly(true).build();
+	}
+
+	/**
+	 * Create a new nested {@link JdbcTransactionOptions}.
+	 * @return A new nested {@link JdbcTransactionOptions} instance
+	 * @see #isNested()
+	 * @since 6.0.3
+	 */
+	static JdbcTransactionOptions nested() {
+		return builder().nested(true).build();
+	}
+
+	/**
+	 * Get a builder to create a new {@link JdbcTransactionOptions}.
+	 * @return A new {@link JdbcTransactionOptions} builder
+	 * @since 6.0.3
+	 */
+	static Builder builder() {
+		return new DefaultJdbcTransactionOptions.DefaultBuilder();
+	}
+
+	/**
+	 * {@link JdbcTransactionOptions} builder.
+	 * @since 6.0.3
+	 */
+	public interface Builder {
+
+		/**
+		 * Set the transaction isolation level.
+		 * @param isolation The transaction isolation level
+		 * @return this
+		 */
+		Builder isolation(TransactionIsolation isolation);
+
+		/**
+		 * Set whether the transaction is read-only.
+		 * @param readOnly <code>true</code> for a read-only transaction
+		 * @return this
+		 */
+		Builder readOnly(boolean readOnly);
+
+		/**
+		 * Set whether the transaction is a nested transaction backed by a JDBC savepoint, when another transaction is
+		 * active.
+		 * @param nested <code>true</code> for a nested transaction
+		 * @return this
+		 */
+		Builder nested(boolean nested);
+
+		/**
+		 * Set the transaction timeout.
+		 * @param timeout The transaction timeout in seconds, must be greater than 0
+		 * @return this
+		 */
+		Builder timeout(int timeout);
+
+		/**
+		 * Set the policy to use to re-run the transactional unit of work when it fails because of a serialization
+		 * failure or a deadlock.
+		 * @param retryPolicy The transaction retry policy
+		 * @return this
+		 */
+		Builder retryPolicy(TransactionRetryPolicy retryPolicy);
+
+		/**
+		 * Build the {@link JdbcTransactionOptions}.
+		 * @return A new {@link JdbcTransactionOptions} instance
+		 */
+		JdbcTransactionOptions build();
+
+	}
+
 }
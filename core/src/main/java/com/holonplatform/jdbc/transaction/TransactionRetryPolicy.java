@@ -0,0 +1,163 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.transaction;
+
+import java.util.function.Supplier;
+
+import com.holonplatform.jdbc.DatabasePlatform;
+import com.holonplatform.jdbc.internal.transaction.DefaultTransactionRetryPolicy;
+
+/**
+ * Policy to automatically re-run a transactional unit of work which failed because of a transient transaction
+ * conflict, such as a serialization failure or a deadlock.
+ * <p>
+ * An error is retryable when it is (or it is caused by) a {@link java.sql.SQLException} whose SQLState or vendor
+ * error code is registered as retryable for the {@link DatabasePlatform} of the transaction connection. By default,
+ * the well known serialization failure and deadlock codes of each platform are registered, and a
+ * {@link java.sql.SQLTransactionRollbackException} is retryable on any platform when its SQLState denotes a
+ * serialization failure (<code>40001</code>) or a deadlock (<code>40P01</code>). Other transaction rollback
+ * conditions, such as an integrity constraint violation (<code>40002</code>), are not retryable.
+ * </p>
+ * <p>
+ * Between two attempts, the policy waits for an exponential backoff time with a random jitter, to avoid that the
+ * conflicting transactions collide again.
+ * </p>
+ * <p>
+ * The retry policy is only applied to the outermost transaction, since the whole unit of work must be re-run: the
+ * retry policy of a transaction started while another transaction is active is ignored.
+ * </p>
+ * 
+ * @since 6.0.3
+ * @see JdbcTransactionOptions#getRetryPolicy()
+ */
+public interface TransactionRetryPolicy {
+
+	/**
+	 * Default max attempts
+	 */
+	static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+	/**
+	 * Default initial backoff time in milliseconds
+	 */
+	static final long DEFAULT_INITIAL_BACKOFF = 20L;
+
+	/**
+	 * Default max backoff time in milliseconds
+	 */
+	static final long DEFAULT_MAX_BACKOFF = 1000L;
+
+	/**
+	 * Get the max number of attempts, including the first execution.
+	 * @return the max number of attempts
+	 */
+	int getMaxAttempts();
+
+	/**
+	 * Get the backoff time to wait before given attempt, including the random jitter.
+	 * @param attempt The attempt number, starting from 2 for the first retry
+	 * @return The backoff time in milliseconds
+	 */
+	long getBackoff(int attempt);
+
+	/**
+	 * Checks whether given error is retryable.
+	 * @param error The error (not null)
+	 * @param platform The database platform, <code>null</code> if unknown
+	 * @return <code>true</code> if the error is retryable
+	 */
+	boolean isRetryable(Throwable error, DatabasePlatform platform);
+
+	/**
+	 * Execute given unit of work, re-running it when it fails with a retryable error, up to the max attempts.
+	 * @param <R> Result type
+	 * @param platform The database platform, <code>null</code> if unknown
+	 * @param unitOfWork The unit of work to execute (not null)
+	 * @return The unit of work result
+	 */
+	default <R> R execute(DatabasePlatform platform, Supplier<R> unitOfWork) {
+		return DefaultTransactionRetryPolicy.execute(this, () -> platform, unitOfWork);
+	}
+
+	/**
+	 * Create a {@link TransactionRetryPolicy} with the default settings.
+	 * @return A new {@link TransactionRetryPolicy}
+	 */
+	static TransactionRetryPolicy create() {
+		return builder().build();
+	}
+
+	/**
+	 * Get a builder to create a new {@link TransactionRetryPolicy}.
+	 * @return A new {@link TransactionRetryPolicy} builder
+	 */
+	static Builder builder() {
+		return new DefaultTransactionRetryPolicy.DefaultBuilder();
+	}
+
+	/**
+	 * {@link TransactionRetryPolicy} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Set the max number of attempts, including the first execution.
+		 * @param maxAttempts The max attempts, must be greater than 0. Default is {@link #DEFAULT_MAX_ATTEMPTS}
+		 * @return this
+		 */
+		Builder maxAttempts(int maxAttempts);
+
+		/**
+		 * Set the exponential backoff time bounds.
+		 * @param initialBackoff The backoff time before the first retry, in milliseconds. Default is
+		 *        {@link #DEFAULT_INITIAL_BACKOFF}
+		 * @param maxBackoff The max backoff time, in milliseconds. Default is {@link #DEFAULT_MAX_BACKOFF}
+		 * @return this
+		 */
+		Builder backoff(long initialBackoff, long maxBackoff);
+
+		/**
+		 * Register additional retryable SQLStates for given platform.
+		 * @param platform The database platform, {@link DatabasePlatform#NONE} for any platform (not null)
+		 * @param sqlStates The SQLStates
+		 * @return this
+		 */
+		Builder retryableSqlStates(DatabasePlatform platform, String... sqlStates);
+
+		/**
+		 * Register additional retryable vendor error codes for given platform.
+		 * @param platform The database platform, {@link DatabasePlatform#NONE} for any platform (not null)
+		 * @param errorCodes The vendor error codes
+		 * @return this
+		 */
+		Builder retryableErrorCodes(DatabasePlatform platform, int... errorCodes);
+
+		/**
+		 * Set whether to include the default serialization failure and deadlock codes of each platform.
+		 * @param includeDefaults Whether to include the default retryable codes. Default is <code>true</code>
+		 * @return this
+		 */
+		Builder includeDefaults(boolean includeDefaults);
+
+		/**
+		 * Build the {@link TransactionRetryPolicy}.
+		 * @return A new {@link TransactionRetryPolicy}
+		 */
+		TransactionRetryPolicy build();
+
+	}
+
+}
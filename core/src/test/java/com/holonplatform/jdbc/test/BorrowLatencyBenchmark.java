@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.ValidationStrategy;
+
+/**
+ * Connection borrow latency benchmark: a connection is borrowed from and returned to a pooling DataSource using each
+ * {@link ValidationStrategy}. DBCP 2 validates the connection at each borrow, while Tomcat JDBC skips the validation
+ * within its default 3 seconds validation interval (the <code>validation-bypass-window</code>). HikariCP is not
+ * included, since it always skips the validation of the connections used in the last 500 milliseconds.
+ * Run it with <code>mvn -Pjmh -pl core verify -Djmh.include=BorrowLatencyBenchmark</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BorrowLatencyBenchmark {
+
+	/**
+	 * DataSource type
+	 */
+	@Param({ DataSourceBuilder.TYPE_DBCP, DataSourceBuilder.TYPE_TOMCAT })
+	public String type;
+
+	/**
+	 * Validation strategy
+	 */
+	@Param({ "QUERY", "IS_VALID", "NONE" })
+	public ValidationStrategy strategy;
+
+	private DataSource dataSource;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		dataSource = TestDataSources.build("borrowbench", "type", type, "validation-strategy", strategy.name(),
+				"max-pool-size", "1");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		if (dataSource instanceof AutoCloseable) {
+			((AutoCloseable) dataSource).close();
+		} else if (dataSource instanceof org.apache.tomcat.jdbc.pool.DataSource) {
+			((org.apache.tomcat.jdbc.pool.DataSource) dataSource).close();
+		}
+	}
+
+	@Benchmark
+	public boolean borrow() throws SQLException {
+		try (Connection connection = dataSource.getConnection()) {
+			return connection.getAutoCommit();
+		}
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.holonplatform.jdbc.interceptor.StatementInterceptor;
+import com.holonplatform.jdbc.interceptor.StatementInvocation;
+import com.holonplatform.jdbc.internal.InterceptingDataSource;
+
+/**
+ * Statement interceptor chain overhead benchmark: a prepared query is executed against a raw H2 DataSource
+ * (<code>none</code>), against a DataSource with 3 pass-through interceptors (<code>chain</code>), whose score is
+ * expected to stay within 5% of the raw one, and against a DataSource with 3 built-in interceptors
+ * (<code>builtin</code>: metrics, slow query log and tracing) sharing a single interceptor chain.
+ * Run it with <code>mvn -Pjmh -pl core verify -Djmh.include=InterceptorOverheadBenchmark</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterceptorOverheadBenchmark {
+
+	/**
+	 * The installed interceptors
+	 */
+	@Param({ "none", "chain", "builtin" })
+	public String interceptors;
+
+	private DataSource dataSource;
+
+	private Connection connection;
+
+	@Setup(Level.Trial)
+	public void setup() throws SQLException {
+		switch (interceptors) {
+		case "chain":
+			dataSource = StatementInterceptor.install(TestDataSources.build("intbench2"), new PassThroughInterceptor(),
+					new PassThroughInterceptor(), new PassThroughInterceptor());
+			break;
+		case "builtin":
+			dataSource = TestDataSources.build("intbench3", "metrics.enabled", "true", "slow-query-log.enabled",
+					"true", "tracing.enabled", "true");
+			break;
+		default:
+			dataSource = TestDataSources.build("intbench1");
+			break;
+		}
+		if (!"none".equals(interceptors) && (!(dataSource instanceof InterceptingDataSource)
+				|| ((InterceptingDataSource) dataSource).getInterceptors().size() != 3)) {
+			throw new IllegalStateException("Expected a single chain of 3 interceptors: " + dataSource);
+		}
+		connection = dataSource.getConnection();
+		try (Statement s = connection.createStatement()) {
+			s.execute("CREATE TABLE IF NOT EXISTS BENCH (ID INT PRIMARY KEY, NAME VARCHAR(50))");
+			s.execute("MERGE INTO BENCH VALUES (1, 'one')");
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		connection.close();
+	}
+
+	@Benchmark
+	public String query() throws SQLException {
+		try (PreparedStatement ps = connection.prepareStatement("SELECT NAME FROM BENCH WHERE ID = ?")) {
+			ps.setInt(1, 1);
+			try (ResultSet rs = ps.executeQuery()) {
+				return rs.next() ? rs.getString(1) : null;
+			}
+		}
+	}
+
+	/**
+	 * An interceptor which only proceeds with the chain.
+	 */
+	private static final class PassThroughInterceptor implements StatementInterceptor {
+
+		@Override
+		public <T> T intercept(StatementInvocation<T> invocation) throws SQLException {
+			return invocation.proceed();
+		}
+
+	}
+
+}
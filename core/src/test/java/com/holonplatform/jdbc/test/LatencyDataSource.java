@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.jdbc.internal.DelegatingDataSource;
+
+/**
+ * A DataSource which counts the connection session state round-trips and injects a latency for each of them, to
+ * simulate a driver which sends a network round-trip for each session state call.
+ */
+final class LatencyDataSource extends DelegatingDataSource {
+
+	private static final Set<String> ROUND_TRIPS = new HashSet<>(
+			Arrays.asList("setAutoCommit", "getAutoCommit", "setTransactionIsolation", "getTransactionIsolation",
+					"setReadOnly", "isReadOnly", "setSchema", "getSchema", "commit", "rollback"));
+
+	private final AtomicLong roundTrips;
+	private final long latency;
+
+	/**
+	 * Constructor.
+	 * @param delegate Delegate DataSource
+	 * @param roundTrips The round-trips counter
+	 * @param latency The latency to inject for each round-trip, in nanoseconds
+	 */
+	LatencyDataSource(DataSource delegate, AtomicLong roundTrips, long latency) {
+		super(delegate);
+		this.roundTrips = roundTrips;
+		this.latency = latency;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		final Connection connection = super.getConnection();
+		return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+				(proxy, method, args) -> {
+					if (ROUND_TRIPS.contains(method.getName())) {
+						roundTrips.incrementAndGet();
+						if (latency > 0) {
+							LockSupport.parkNanos(latency);
+						}
+					}
+					try {
+						return method.invoke(connection, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+				});
+	}
+
+}
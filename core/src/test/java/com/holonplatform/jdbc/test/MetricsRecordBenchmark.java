@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.holonplatform.jdbc.metrics.DataSourceMetrics;
+import com.holonplatform.jdbc.metrics.DataSourceMetrics.Metric;
+
+/**
+ * Metrics recording benchmark: the cost of a single {@link DataSourceMetrics#record(Metric, long)} call, which is
+ * expected to stay under 50 ns, with and without a registered recorder and with concurrent recording threads. The
+ * concurrent score is measured per thread, so it includes the scheduling wait when the threads outnumber the cores.
+ * Run it with <code>mvn -Pjmh -pl core verify -Djmh.include=MetricsRecordBenchmark</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsRecordBenchmark {
+
+	/**
+	 * Number of registered recorders
+	 */
+	@Param({ "0", "1" })
+	public int recorders;
+
+	private DataSourceMetrics metrics;
+
+	@Setup
+	public void setup() {
+		metrics = DataSourceMetrics.create("benchmark");
+		for (int i = 0; i < recorders; i++) {
+			metrics.addRecorder((name, metric, value) -> Blackhole.consumeCPU(0));
+		}
+	}
+
+	@Benchmark
+	public void record(Latencies latencies) {
+		metrics.record(Metric.STATEMENT, latencies.next());
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void recordConcurrent(Latencies latencies) {
+		metrics.record(Metric.STATEMENT, latencies.next());
+	}
+
+	/**
+	 * Per thread latency values generator.
+	 */
+	@State(Scope.Thread)
+	public static class Latencies {
+
+		private long nanos;
+
+		long next() {
+			// latencies up to about 1 s, spread over the histogram buckets
+			return (nanos = (nanos * 31 + 1000) & 0x3FFFFFFFL);
+		}
+
+	}
+
+}
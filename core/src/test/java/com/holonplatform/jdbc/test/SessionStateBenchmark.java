@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.holonplatform.jdbc.internal.session.SessionStateDataSource;
+
+/**
+ * Session state tracking benchmark: a transaction configuring auto-commit, isolation, read-only and schema is
+ * executed against a plain DataSource and a session state tracking one, with a simulated round-trip latency.
+ * Run it with <code>mvn -Pjmh -pl core verify -Djmh.include=SessionStateBenchmark</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionStateBenchmark {
+
+	/**
+	 * Simulated latency of each session state round-trip, in microseconds
+	 */
+	@Param({ "0", "100" })
+	public long latency;
+
+	private final AtomicLong plainRoundTrips = new AtomicLong();
+	private final AtomicLong trackedRoundTrips = new AtomicLong();
+	private final AtomicLong plainTransactions = new AtomicLong();
+	private final AtomicLong trackedTransactions = new AtomicLong();
+
+	private DataSource plain;
+	private DataSource tracked;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		final long latencyNanos = TimeUnit.MICROSECONDS.toNanos(latency);
+		plain = new LatencyDataSource(TestDataSources.build("ssbench1"), plainRoundTrips, latencyNanos);
+		tracked = new SessionStateDataSource(
+				new LatencyDataSource(TestDataSources.build("ssbench2"), trackedRoundTrips, latencyNanos));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		report("plain", plainRoundTrips, plainTransactions);
+		report("tracked", trackedRoundTrips, trackedTransactions);
+	}
+
+	@Benchmark
+	public void plain() throws SQLException {
+		transaction(plain);
+		plainTransactions.incrementAndGet();
+	}
+
+	@Benchmark
+	public void tracked() throws SQLException {
+		transaction(tracked);
+		trackedTransactions.incrementAndGet();
+	}
+
+	private static void report(String name, AtomicLong roundTrips, AtomicLong transactions) {
+		if (transactions.get() > 0) {
+			System.out.println();
+			System.out.println("Round-trips per " + name + " transaction: "
+					+ (roundTrips.get() / (double) transactions.get()));
+		}
+	}
+
+	private static void transaction(DataSource dataSource) throws SQLException {
+		try (Connection c = dataSource.getConnection()) {
+			c.setAutoCommit(false);
+			c.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+			c.setReadOnly(false);
+			c.setSchema("PUBLIC");
+			c.commit();
+			c.setAutoCommit(true);
+		}
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.DataSourceType;
+import com.holonplatform.jdbc.exceptions.CircuitBreakerOpenException;
+import com.holonplatform.jdbc.resilience.CircuitBreaker;
+import com.holonplatform.jdbc.resilience.CircuitBreaker.State;
+
+public class TestCircuitBreaker {
+
+	@Test
+	public void testNotEnabled() {
+		DataSource ds = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("basic").withPropertySource("test_build.properties").build());
+		assertFalse(CircuitBreaker.get(ds).isPresent());
+	}
+
+	@Test
+	public void testCircuitBreaker() throws SQLException, InterruptedException {
+		Properties props = new Properties();
+		props.put("holon.datasource.cb.type", DataSourceBuilder.TYPE_BASIC);
+		props.put("holon.datasource.cb.url", "jdbc:h2:mem:testcb;IFEXISTS=TRUE");
+		props.put("holon.datasource.cb.username", "sa");
+		props.put("holon.datasource.cb.circuit-breaker.enabled", "true");
+		props.put("holon.datasource.cb.circuit-breaker.failure-threshold", "2");
+		props.put("holon.datasource.cb.circuit-breaker.open-duration", "200");
+
+		DataSource ds = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("cb").withPropertySource(props).build());
+
+		CircuitBreaker cb = CircuitBreaker.get(ds).orElse(null);
+		assertNotNull(cb);
+		assertEquals("cb", cb.getName());
+		assertEquals(State.CLOSED, cb.getState());
+
+		final List<State> transitions = new CopyOnWriteArrayList<>();
+		cb.addStateChangeListener(e -> transitions.add(e.getToState()));
+
+		// database not available
+		for (int i = 0; i < 2; i++) {
+			SQLException e = assertThrows(SQLException.class, () -> ds.getConnection());
+			assertFalse(e instanceof CircuitBreakerOpenException);
+		}
+		assertEquals(State.OPEN, cb.getState());
+
+		// fail fast
+		assertThrows(CircuitBreakerOpenException.class, () -> ds.getConnection());
+
+		// half-open probe fails
+		Thread.sleep(250L);
+		SQLException e = assertThrows(SQLException.class, () -> ds.getConnection());
+		assertFalse(e instanceof CircuitBreakerOpenException);
+		assertEquals(State.OPEN, cb.getState());
+
+		// database available
+		try (Connection c = DataSourceBuilder.builder().type(DataSourceType.BASIC).url("jdbc:h2:mem:testcb;DB_CLOSE_DELAY=-1").username("sa")
+				.build().getConnection()) {
+			assertNotNull(c);
+		}
+
+		Thread.sleep(250L);
+		try (Connection c = ds.getConnection()) {
+			assertNotNull(c);
+		}
+		assertEquals(State.CLOSED, cb.getState());
+
+		assertEquals(5, transitions.size());
+		assertEquals(State.OPEN, transitions.get(0));
+		assertEquals(State.HALF_OPEN, transitions.get(1));
+		assertEquals(State.OPEN, transitions.get(2));
+		assertEquals(State.HALF_OPEN, transitions.get(3));
+		assertEquals(State.CLOSED, transitions.get(4));
+	}
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.exceptions.ConcurrencyLimitExceededException;
+import com.holonplatform.jdbc.internal.resilience.GradientLimitAlgorithm;
+import com.holonplatform.jdbc.internal.resilience.LimitAlgorithm;
+import com.holonplatform.jdbc.internal.resilience.VegasLimitAlgorithm;
+import com.holonplatform.jdbc.resilience.ConcurrencyLimiter;
+import com.holonplatform.jdbc.resilience.ConcurrencyLimiter.Algorithm;
+
+public class TestConcurrencyLimiter {
+
+	@Test
+	public void testNotEnabled() {
+		DataSource ds = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("basic").withPropertySource("test_build.properties").build());
+		assertFalse(ConcurrencyLimiter.get(ds).isPresent());
+	}
+
+	@Test
+	public void testLimit() throws SQLException {
+		Properties props = new Properties();
+		props.put("holon.datasource.cl.type", DataSourceBuilder.TYPE_BASIC);
+		props.put("holon.datasource.cl.url", "jdbc:h2:mem:testcl");
+		props.put("holon.datasource.cl.username", "sa");
+		props.put("holon.datasource.cl.concurrency-limit.enabled", "true");
+		props.put("holon.datasource.cl.concurrency-limit.algorithm", "VEGAS");
+		props.put("holon.datasource.cl.concurrency-limit.initial-limit", "2");
+		props.put("holon.datasource.cl.concurrency-limit.max-limit", "2");
+
+		DataSource ds = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("cl").withPropertySource(props).build());
+
+		ConcurrencyLimiter limiter = ConcurrencyLimiter.get(ds).orElse(null);
+		assertNotNull(limiter);
+		assertEquals("cl", limiter.getName());
+		assertEquals(Algorithm.VEGAS, limiter.getAlgorithm());
+		assertEquals(2, limiter.getLimit());
+
+		try (Connection c1 = ds.getConnection(); Connection c2 = ds.getConnection()) {
+			assertEquals(2, limiter.getInFlight());
+			assertThrows(ConcurrencyLimitExceededException.class, () -> ds.getConnection());
+			assertEquals(1, limiter.getRejectedCount());
+			c2.close();
+			// close is idempotent
+			c2.close();
+			assertEquals(1, limiter.getInFlight());
+			try (Connection c3 = ds.getConnection()) {
+				assertNotNull(c3);
+			}
+		}
+		assertEquals(0, limiter.getInFlight());
+	}
+
+	@Test
+	public void testMaxWait() throws Exception {
+		Properties props = new Properties();
+		props.put("holon.datasource.clw.type", DataSourceBuilder.TYPE_BASIC);
+		props.put("holon.datasource.clw.url", "jdbc:h2:mem:testclw");
+		props.put("holon.datasource.clw.username", "sa");
+		props.put("holon.datasource.clw.concurrency-limit.enabled", "true");
+		props.put("holon.datasource.clw.concurrency-limit.initial-limit", "1");
+		props.put("holon.datasource.clw.concurrency-limit.max-limit", "1");
+		props.put("holon.datasource.clw.concurrency-limit.max-wait", "5000");
+
+		DataSource ds = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("clw").withPropertySource(props).build());
+
+		Connection c1 = ds.getConnection();
+		Thread releaser = new Thread(() -> {
+			try {
+				Thread.sleep(100L);
+				c1.close();
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		});
+		releaser.start();
+		try (Connection c2 = ds.getConnection()) {
+			assertNotNull(c2);
+		}
+		releaser.join();
+		assertEquals(0, ConcurrencyLimiter.get(ds).get().getRejectedCount());
+	}
+
+	@Test
+	public void testGradientAlgorithm() {
+		final LimitAlgorithm algorithm = new GradientLimitAlgorithm(20, 1, 100);
+		final long baseline = TimeUnit.MILLISECONDS.toNanos(5);
+
+		for (int i = 0; i < 100; i++) {
+			algorithm.update(baseline, algorithm.getLimit(), false);
+		}
+		final int grown = algorithm.getLimit();
+		assertTrue(grown > 20);
+
+		// application limited: no growth
+		for (int i = 0; i < 100; i++) {
+			algorithm.update(baseline, 1, false);
+		}
+		assertEquals(grown, algorithm.getLimit());
+
+		// queueing
+		for (int i = 0; i < 20; i++) {
+			algorithm.update(baseline * 10, algorithm.getLimit(), false);
+		}
+		assertTrue(algorithm.getLimit() < grown / 2);
+
+		// drops
+		final int limit = algorithm.getLimit();
+		algorithm.update(0, limit, true);
+		assertTrue(algorithm.getLimit() < limit);
+	}
+
+	@Test
+	public void testVegasAlgorithm() {
+		final LimitAlgorithm algorithm = new VegasLimitAlgorithm(20, 1, 100);
+		final long baseline = TimeUnit.MILLISECONDS.toNanos(5);
+
+		for (int i = 0; i < 20; i++) {
+			algorithm.update(baseline, algorithm.getLimit(), false);
+		}
+		final int grown = algorithm.getLimit();
+		assertTrue(grown > 20);
+
+		// queueing
+		for (int i = 0; i < 20; i++) {
+			algorithm.update(baseline * 10, algorithm.getLimit(), false);
+		}
+		assertTrue(algorithm.getLimit() < grown);
+
+		// drops
+		for (int i = 0; i < 200; i++) {
+			algorithm.update(0, algorithm.getLimit(), true);
+		}
+		assertEquals(1, algorithm.getLimit());
+	}
+
+}
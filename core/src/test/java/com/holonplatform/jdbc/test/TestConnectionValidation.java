@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.DataSourceType;
+import com.holonplatform.jdbc.DatabasePlatform;
+import com.holonplatform.jdbc.ValidationStrategy;
+import com.zaxxer.hikari.HikariDataSource;
+
+public class TestConnectionValidation {
+
+	@Test
+	public void testStrategyResolution() {
+		assertEquals(ValidationStrategy.IS_VALID, DatabasePlatform.H2.getDefaultValidationStrategy());
+		assertEquals(ValidationStrategy.PING, DatabasePlatform.MYSQL.getDefaultValidationStrategy());
+		assertNotNull(DatabasePlatform.MYSQL.getPingQuery());
+		assertNull(DatabasePlatform.POSTGRESQL.getPingQuery());
+
+		assertEquals(ValidationStrategy.IS_VALID, DataSourceConfigProperties.builder()
+				.withProperty(DataSourceConfigProperties.URL, "jdbc:h2:mem:testdbv").build()
+				.getConnectionValidationStrategy());
+		assertEquals(ValidationStrategy.PING, DataSourceConfigProperties.builder()
+				.withProperty(DataSourceConfigProperties.URL, "jdbc:mysql://localhost/test").build()
+				.getConnectionValidationStrategy());
+		assertEquals(ValidationStrategy.QUERY,
+				DataSourceConfigProperties.builder()
+						.withProperty(DataSourceConfigProperties.URL, "jdbc:mysql://localhost/test")
+						.withProperty(DataSourceConfigProperties.VALIDATION_QUERY, "SELECT 1").build()
+						.getConnectionValidationStrategy());
+		assertEquals(ValidationStrategy.NONE,
+				DataSourceConfigProperties.builder()
+						.withProperty(DataSourceConfigProperties.URL, "jdbc:h2:mem:testdbv")
+						.withProperty(DataSourceConfigProperties.VALIDATION_STRATEGY, ValidationStrategy.NONE).build()
+						.getConnectionValidationStrategy());
+	}
+
+	@Test
+	public void testHikariCP() throws SQLException {
+		try (HikariDataSource ds = (HikariDataSource) DataSourceBuilder.builder().type(DataSourceType.HIKARICP)
+				.url("jdbc:h2:mem:testdbv1").username("sa").build()) {
+			assertNull(ds.getConnectionTestQuery());
+			try (Connection c = ds.getConnection()) {
+				assertNotNull(c);
+			}
+		}
+		try (HikariDataSource ds = (HikariDataSource) DataSourceBuilder.builder().type(DataSourceType.HIKARICP)
+				.url("jdbc:h2:mem:testdbv2").username("sa").validationStrategy(ValidationStrategy.QUERY).build()) {
+			assertEquals("SELECT 1", ds.getConnectionTestQuery());
+			try (Connection c = ds.getConnection()) {
+				assertNotNull(c);
+			}
+		}
+	}
+
+	@Test
+	public void testDBCP() throws SQLException {
+		try (BasicDataSource ds = (BasicDataSource) DataSourceBuilder.builder().type(DataSourceType.DBCP)
+				.url("jdbc:h2:mem:testdbv3").username("sa").build()) {
+			assertTrue(ds.getTestOnBorrow());
+			assertNull(ds.getValidationQuery());
+			try (Connection c = ds.getConnection()) {
+				assertNotNull(c);
+			}
+		}
+		try (BasicDataSource ds = (BasicDataSource) DataSourceBuilder.builder().type(DataSourceType.DBCP)
+				.url("jdbc:h2:mem:testdbv4").username("sa").validationQuery("SELECT 2").build()) {
+			assertTrue(ds.getTestOnBorrow());
+			assertEquals("SELECT 2", ds.getValidationQuery());
+		}
+		try (BasicDataSource ds = (BasicDataSource) DataSourceBuilder.builder().type(DataSourceType.DBCP)
+				.url("jdbc:h2:mem:testdbv5").username("sa").validationStrategy(ValidationStrategy.NONE).build()) {
+			assertFalse(ds.getTestOnBorrow());
+		}
+	}
+
+	@Test
+	public void testTomcat() throws SQLException {
+		org.apache.tomcat.jdbc.pool.DataSource ds = (org.apache.tomcat.jdbc.pool.DataSource) DataSourceBuilder
+				.builder().type(DataSourceType.TOMCAT).url("jdbc:h2:mem:testdbv6").username("sa")
+				.validationStrategy(ValidationStrategy.PING).validationBypassWindow(10000L).build();
+		try {
+			// no ping query for H2: falls back to Connection.isValid()
+			assertTrue(ds.isTestOnBorrow());
+			assertNull(ds.getValidationQuery());
+			assertEquals(10000L, ds.getValidationInterval());
+			try (Connection c = ds.getConnection()) {
+				assertNotNull(c);
+			}
+		} finally {
+			ds.close();
+		}
+	}
+
+}
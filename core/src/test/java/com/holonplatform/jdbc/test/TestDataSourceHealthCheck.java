@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.jdbc.BasicDataSource;
+import com.holonplatform.jdbc.MultiTenantDataSource;
+import com.holonplatform.jdbc.health.DataSourceHealthCheck;
+import com.holonplatform.jdbc.health.DataSourceHealthCheck.Status;
+
+public class TestDataSourceHealthCheck {
+
+	@Test
+	public void testCheck() {
+		final DataSource ds = BasicDataSource.builder().url("jdbc:h2:mem:testhc1;DB_CLOSE_DELAY=-1").username("sa")
+				.build();
+		final DataSourceHealthCheck check = DataSourceHealthCheck.create("testhc1", ds);
+		assertEquals("testhc1", check.getName());
+
+		final DataSourceHealthCheck.Result result = check.check();
+		assertEquals(Status.UP, result.getStatus());
+		assertTrue(result.getTimestamp() > 0);
+		assertTrue(!result.getError().isPresent());
+
+		final DataSource down = BasicDataSource.builder().url("jdbc:h2:mem:testhc2;IFEXISTS=TRUE").username("sa")
+				.build();
+		final DataSourceHealthCheck.Result downResult = DataSourceHealthCheck.create("testhc2", down).check();
+		assertEquals(Status.DOWN, downResult.getStatus());
+		assertTrue(downResult.getError().isPresent());
+	}
+
+	@Test
+	public void testCachedResult() {
+		final DataSource ds = BasicDataSource.builder().url("jdbc:h2:mem:testhc3;DB_CLOSE_DELAY=-1").username("sa")
+				.build();
+
+		// an executor which defers the refreshes
+		final List<Runnable> refreshes = new ArrayList<>();
+		final DataSourceHealthCheck check = DataSourceHealthCheck.create("testhc3", ds, 60000L, 1,
+				r -> refreshes.add(r));
+
+		// never blocks: the refresh is only scheduled once
+		assertEquals(Status.UNKNOWN, check.getResult().getStatus());
+		assertEquals(Status.UNKNOWN, check.getResult().getStatus());
+		assertEquals(1, refreshes.size());
+
+		refreshes.get(0).run();
+		assertEquals(Status.UP, check.getResult().getStatus());
+		// not expired
+		assertEquals(1, refreshes.size());
+
+		// expired
+		final DataSourceHealthCheck expiring = DataSourceHealthCheck.create("testhc3", ds, 0L, 1, r -> r.run());
+		assertEquals(Status.UNKNOWN, expiring.getResult().getStatus());
+		assertEquals(Status.UP, expiring.getResult().getStatus());
+	}
+
+	@Test
+	public void testTenantDataSources() throws Exception {
+		final MultiTenantDataSource ds = MultiTenantDataSource.builder().resolver(() -> java.util.Optional.of("t1"))
+				.provider(tenantId -> BasicDataSource.builder()
+						.url("jdbc:h2:mem:testhc_" + tenantId + ";DB_CLOSE_DELAY=-1").username("sa").build())
+				.build();
+		assertEquals(Collections.emptyMap(), ds.getTenantDataSources());
+		ds.getConnection().close();
+		final Map<String, DataSource> tenants = ds.getTenantDataSources();
+		assertEquals(1, tenants.size());
+		assertEquals(Status.UP, DataSourceHealthCheck.create("t1", tenants.get("t1")).check().getStatus());
+	}
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.Registration;
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.JdbcConnectionHandler;
+import com.holonplatform.jdbc.JdbcConnectionHandler.ConnectionType;
+import com.holonplatform.jdbc.metrics.DataSourceMetrics;
+import com.holonplatform.jdbc.metrics.DataSourceMetrics.Metric;
+import com.holonplatform.jdbc.metrics.LatencySnapshot;
+
+public class TestDataSourceMetrics {
+
+	@Test
+	public void testNotEnabled() {
+		DataSource ds = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("basic").withPropertySource("test_build.properties").build());
+		assertFalse(DataSourceMetrics.get(ds).isPresent());
+	}
+
+	@Test
+	public void testMetrics() throws Exception {
+		DataSource ds = TestDataSources.build("testmtr", "metrics.enabled", "true", "metrics.statement-timing", "true");
+		DataSourceMetrics metrics = DataSourceMetrics.get(ds).orElse(null);
+		assertNotNull(metrics);
+		assertEquals("testmtr", metrics.getName());
+
+		final AtomicInteger recorded = new AtomicInteger();
+		Registration registration = metrics.addRecorder((name, metric, nanos) -> recorded.incrementAndGet());
+
+		try (Connection c = ds.getConnection()) {
+			try (Statement s = c.createStatement(); ResultSet rs = s.executeQuery("SELECT 1")) {
+				assertTrue(rs.next());
+			}
+			try (PreparedStatement ps = c.prepareStatement("SELECT ?")) {
+				ps.setInt(1, 1);
+				ps.execute();
+			}
+		}
+
+		assertEquals(1, metrics.getSnapshot(Metric.ACQUISITION).getCount());
+		assertEquals(1, metrics.getSnapshot(Metric.LEASE).getCount());
+		assertEquals(2, metrics.getSnapshot(Metric.STATEMENT).getCount());
+		assertEquals(4, recorded.get());
+
+		LatencySnapshot lease = metrics.getSnapshot(Metric.LEASE);
+		assertTrue(lease.getMax() > 0);
+		assertTrue(lease.getValueAtPercentile(99.9) <= lease.getMax());
+
+		registration.remove();
+		try (Connection c = ds.getConnection()) {
+			assertNotNull(c);
+		}
+		assertEquals(4, recorded.get());
+		assertEquals(2, metrics.getSnapshot(Metric.ACQUISITION).getCount());
+	}
+
+	@Test
+	public void testNoStatementTiming() throws Exception {
+		DataSource ds = TestDataSources.build("testmtrns", "metrics.enabled", "true", "metrics.statement-timing",
+				"false");
+		DataSourceMetrics metrics = DataSourceMetrics.get(ds).orElse(null);
+		assertNotNull(metrics);
+		try (Connection c = ds.getConnection(); Statement s = c.createStatement()) {
+			s.execute("SELECT 1");
+		}
+		assertEquals(1, metrics.getSnapshot(Metric.LEASE).getCount());
+		assertEquals(0, metrics.getSnapshot(Metric.STATEMENT).getCount());
+	}
+
+	@Test
+	public void testIntervalSnapshot() {
+		DataSourceMetrics metrics = DataSourceMetrics.create("test");
+		for (int i = 1; i <= 1000; i++) {
+			metrics.record(Metric.STATEMENT, i * 1000L);
+		}
+		LatencySnapshot first = metrics.getIntervalSnapshot(Metric.STATEMENT);
+		assertEquals(1000, first.getCount());
+		assertEquals(1000000L, first.getMax());
+		assertEquals(500500d, first.getMean(), 0.1d);
+		final long p50 = first.getValueAtPercentile(50);
+		assertTrue(p50 > 440000L && p50 < 560000L);
+
+		metrics.record(Metric.STATEMENT, 10L);
+		LatencySnapshot second = metrics.getIntervalSnapshot(Metric.STATEMENT);
+		assertEquals(1, second.getCount());
+		assertEquals(10L, second.getMax());
+		assertEquals(10L, second.getValueAtPercentile(99));
+
+		assertEquals(0, metrics.getIntervalSnapshot(Metric.STATEMENT).getCount());
+		assertEquals(1001, metrics.getSnapshot(Metric.STATEMENT).getCount());
+	}
+
+	@Test
+	public void testConnectionHandler() throws Exception {
+		DataSource ds = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("basic").withPropertySource("test_build.properties").build());
+		DataSourceMetrics metrics = DataSourceMetrics.create("handler");
+		JdbcConnectionHandler handler = JdbcConnectionHandler.metered(JdbcConnectionHandler.create(), metrics);
+		Connection c = handler.getConnection(ds, ConnectionType.DEFAULT);
+		assertEquals(1, metrics.getSnapshot(Metric.ACQUISITION).getCount());
+		assertEquals(0, metrics.getSnapshot(Metric.LEASE).getCount());
+		handler.releaseConnection(c, ds, ConnectionType.DEFAULT);
+		assertEquals(1, metrics.getSnapshot(Metric.LEASE).getCount());
+	}
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Closeable;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.tenancy.TenantResolver;
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.DataSourceStatistics;
+import com.holonplatform.jdbc.DataSourceStatistics.StatementStatistics;
+import com.holonplatform.jdbc.MultiTenantDataSource;
+import com.holonplatform.jdbc.internal.statistics.StatementProfiler;
+
+public class TestDataSourceStatistics {
+
+	@Test
+	public void testNotEnabled() {
+		DataSource ds = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("basic").withPropertySource("test_build.properties").build());
+		assertFalse(DataSourceStatistics.get(ds).isPresent());
+	}
+
+	@Test
+	public void testBasic() throws Exception {
+		DataSource ds = TestDataSources.build("teststb", "type", DataSourceBuilder.TYPE_BASIC, "max-pool-size", "3",
+				"statistics.enabled", "true", "statistics.jmx-enabled", "true");
+		DataSourceStatistics statistics = DataSourceStatistics.get(ds).orElse(null);
+		assertNotNull(statistics);
+		assertEquals("teststb", statistics.getName());
+		assertTrue(statistics.getCreationTimestamp() > 0);
+
+		try (Connection c1 = ds.getConnection(); Connection c2 = ds.getConnection()) {
+			assertEquals(2, statistics.getActiveConnections());
+			assertEquals(0, statistics.getIdleConnections());
+			assertEquals(0, statistics.getPendingRequests());
+			assertEquals(2, statistics.getTotalConnections());
+		}
+		assertEquals(0, statistics.getActiveConnections());
+		assertEquals(2, statistics.getAcquisitionCount());
+		assertEquals(0, statistics.getFailedAcquisitionCount());
+		assertTrue(statistics.getWaitTimePercentile(50) > 0);
+		assertTrue(statistics.getWaitTimePercentile(99) <= statistics.getMaxWaitTime());
+
+		// JMX
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		final ObjectName name = new ObjectName("com.holonplatform.jdbc:type=DataSource,name=\"teststb\"");
+		assertTrue(server.isRegistered(name));
+		assertEquals(2L, server.getAttribute(name, "AcquisitionCount"));
+		assertEquals(0, server.getAttribute(name, "ActiveConnections"));
+
+		((Closeable) ds).close();
+		assertFalse(server.isRegistered(name));
+	}
+
+	@Test
+	public void testHikari() throws Exception {
+		DataSource ds = TestDataSources.build("teststh", "type", DataSourceBuilder.TYPE_HIKARICP, "max-pool-size", "3",
+				"statistics.enabled", "true", "statistics.jmx-enabled", "false");
+		DataSourceStatistics statistics = DataSourceStatistics.get(ds).orElse(null);
+		assertNotNull(statistics);
+		try {
+			try (Connection c1 = ds.getConnection()) {
+				assertEquals(1, statistics.getActiveConnections());
+				assertTrue(statistics.getTotalConnections() >= 1);
+				assertEquals(statistics.getTotalConnections(),
+						statistics.getActiveConnections() + statistics.getIdleConnections());
+			}
+			assertEquals(0, statistics.getActiveConnections());
+			assertEquals(1, statistics.getAcquisitionCount());
+		} finally {
+			((Closeable) ds).close();
+		}
+	}
+
+	@Test
+	public void testTenantStatistics() throws Exception {
+		try (MultiTenantDataSource ds = MultiTenantDataSource.builder()
+				.resolver(TenantResolver.staticTenantResolver("T1"))
+				.provider(tenantId -> TestDataSources.build("testst" + tenantId, "max-pool-size", "3",
+						"statistics.enabled", "true", "statistics.jmx-enabled", "false"))
+				.build()) {
+			try (Connection c = ds.getConnection()) {
+				assertEquals(1, DataSourceStatistics.get(ds).map(s -> s.getActiveConnections()).orElse(-1));
+			}
+			Map<String, DataSourceStatistics> statistics = ds.getTenantStatistics();
+			assertEquals(1, statistics.size());
+			assertEquals("teststT1", statistics.get("T1").getName());
+			assertEquals(1, statistics.get("T1").getAcquisitionCount());
+		}
+	}
+
+	@Test
+	public void testTopStatements() throws Exception {
+		DataSource ds = TestDataSources.build("teststs", "statistics.enabled", "true", "statistics.jmx-enabled", "false",
+				"statistics.statements.enabled", "true");
+		DataSourceStatistics statistics = DataSourceStatistics.get(ds).orElse(null);
+		assertNotNull(statistics);
+
+		try (Connection c = ds.getConnection()) {
+			try (Statement s = c.createStatement()) {
+				s.execute("CREATE TABLE STST (ID INTEGER)");
+				for (int i = 0; i < 5; i++) {
+					s.executeUpdate("INSERT INTO STST VALUES (" + i + ")");
+				}
+			}
+			try (PreparedStatement ps = c.prepareStatement("SELECT ID FROM STST WHERE ID IN (?, ?)")) {
+				ps.setInt(1, 1);
+				ps.setInt(2, 2);
+				ps.executeQuery().close();
+			}
+		}
+
+		List<StatementStatistics> top = statistics.getTopStatements(10);
+		assertEquals(3, top.size());
+		StatementStatistics insert = top.stream().filter(s -> s.getFingerprint().startsWith("INSERT")).findFirst()
+				.orElse(null);
+		assertNotNull(insert);
+		assertEquals("INSERT INTO STST VALUES (?)", insert.getFingerprint());
+		assertEquals(5, insert.getExecutionCount());
+		assertTrue(insert.getTotalTime() > 0);
+		assertTrue(insert.getMaxTime() <= insert.getTotalTime());
+		assertTrue(top.stream().anyMatch(s -> s.getFingerprint().equals("SELECT ID FROM STST WHERE ID IN (?)")));
+		for (int i = 1; i < top.size(); i++) {
+			assertTrue(top.get(i - 1).getTotalTime() >= top.get(i).getTotalTime() - 0.001d);
+		}
+		assertEquals(1, statistics.getTopStatements(1).size());
+	}
+
+	@Test
+	public void testStatementProfilerEviction() {
+		StatementProfiler profiler = new StatementProfiler("test", 2, 0);
+		profiler.record("SELECT A FROM T WHERE B = 1", 1000000L);
+		profiler.record("SELECT A FROM T WHERE B = 2", 1000000L);
+		profiler.record("SELECT C FROM T", 10L);
+		assertEquals(2, profiler.size());
+		profiler.record("SELECT D FROM T", 20L);
+		assertEquals(2, profiler.size());
+
+		List<StatementStatistics> top = profiler.getTopStatements(2);
+		assertEquals("SELECT A FROM T WHERE B = ?", top.get(0).getFingerprint());
+		assertEquals(2, top.get(0).getExecutionCount());
+		assertEquals(2d, top.get(0).getTotalTime(), 0.001d);
+		// the new fingerprint replaced the lowest weight one, reporting only its own executions
+		assertEquals("SELECT D FROM T", top.get(1).getFingerprint());
+		assertEquals(1, top.get(1).getExecutionCount());
+		assertEquals(0.00002d, top.get(1).getTotalTime(), 0.000001d);
+	}
+
+}
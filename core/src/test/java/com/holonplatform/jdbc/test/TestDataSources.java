@@ -0,0 +1,77 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import java.util.Properties;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+
+/**
+ * Test DataSources builder, which configures a basic H2 in-memory DataSource named as the data context id.
+ */
+final class TestDataSources {
+
+	private TestDataSources() {
+	}
+
+	/**
+	 * Get the configuration properties of a basic H2 in-memory DataSource.
+	 * @param name The DataSource data context id
+	 * @param properties Additional configuration properties, as property name (without the
+	 *        <code>holon.datasource.[name].</code> prefix) and value pairs, which override the default ones
+	 * @return The configuration properties
+	 */
+	static Properties properties(String name, String... properties) {
+		if (properties.length % 2 != 0) {
+			throw new IllegalArgumentException("Properties must be provided as name and value pairs");
+		}
+		final String prefix = "holon.datasource." + name + ".";
+		final Properties props = new Properties();
+		props.put(prefix + "type", DataSourceBuilder.TYPE_BASIC);
+		props.put(prefix + "url", "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+		props.put(prefix + "username", "sa");
+		for (int i = 0; i < properties.length; i += 2) {
+			props.put(prefix + properties[i], properties[i + 1]);
+		}
+		return props;
+	}
+
+	/**
+	 * Build a basic H2 in-memory DataSource.
+	 * @param name The DataSource data context id
+	 * @param properties Additional configuration properties, as property name (without the
+	 *        <code>holon.datasource.[name].</code> prefix) and value pairs, which override the default ones
+	 * @return The DataSource
+	 */
+	static DataSource build(String name, String... properties) {
+		return build(name, properties(name, properties));
+	}
+
+	/**
+	 * Build a DataSource using given configuration properties.
+	 * @param name The DataSource data context id
+	 * @param properties The configuration properties
+	 * @return The DataSource
+	 */
+	static DataSource build(String name, Properties properties) {
+		return DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder(name).withPropertySource(properties).build());
+	}
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.jdbc.exceptions.DeadlineExceededException;
+import com.holonplatform.jdbc.exceptions.PriorityLaneTimeoutException;
+import com.holonplatform.jdbc.internal.DelegatingDataSource;
+import com.holonplatform.jdbc.internal.resilience.AcquisitionDeadline;
+import com.holonplatform.jdbc.internal.resilience.DeadlineDataSource;
+import com.holonplatform.jdbc.resilience.Deadline;
+
+public class TestDeadline {
+
+	@Test
+	public void testDeadline() throws SQLException {
+		final DataSource ds = TestDataSources.build("testdl", "deadline.enabled", "true");
+
+		assertFalse(Deadline.getCurrent().isPresent());
+
+		// no deadline
+		try (Connection c = ds.getConnection(); Statement s = c.createStatement()) {
+			assertEquals(0, s.getQueryTimeout());
+		}
+
+		// query timeout
+		Deadline.run(Deadline.after(10, TimeUnit.SECONDS), () -> {
+			assertTrue(Deadline.getCurrent().isPresent());
+			try (Connection c = ds.getConnection(); Statement s = c.createStatement()) {
+				assertTrue(s.getQueryTimeout() > 0);
+				assertTrue(s.getQueryTimeout() <= 10);
+			} catch (SQLException e) {
+				throw new RuntimeException(e);
+			}
+		});
+
+		// expired
+		final Deadline expired = Deadline.after(0, TimeUnit.MILLISECONDS);
+		assertTrue(expired.isExpired());
+		assertEquals(0, expired.getRemaining(TimeUnit.MILLISECONDS));
+		Deadline.run(expired, () -> assertThrows(DeadlineExceededException.class, () -> ds.getConnection()));
+
+		assertFalse(Deadline.getCurrent().isPresent());
+	}
+
+	@Test
+	public void testExecutionTimeout() throws SQLException {
+		final DataSource ds = TestDataSources.build("testdlx", "deadline.enabled", "true");
+
+		Deadline.run(Deadline.after(10, TimeUnit.SECONDS), () -> {
+			try (Connection c = ds.getConnection(); Statement s = c.createStatement()) {
+				// a lower statement query timeout is honored
+				s.setQueryTimeout(2);
+				assertEquals(2, s.getQueryTimeout());
+				s.setQueryTimeout(60);
+				assertTrue(s.getQueryTimeout() <= 10);
+				assertTrue(s.execute("SELECT 1"));
+			} catch (SQLException e) {
+				throw new RuntimeException(e);
+			}
+		});
+
+		// the remaining time is checked at execution time
+		Deadline.run(Deadline.after(200, TimeUnit.MILLISECONDS), () -> {
+			try (Connection c = ds.getConnection(); Statement s = c.createStatement()) {
+				assertEquals(1, s.getQueryTimeout());
+				TimeUnit.MILLISECONDS.sleep(300);
+				assertThrows(SQLTimeoutException.class, () -> s.execute("SELECT 1"));
+			} catch (SQLException | InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+		});
+	}
+
+	@Test
+	public void testNestedAcquisition() throws SQLException {
+		final DeadlineDataSource inner = new DeadlineDataSource(TestDataSources.build("testdln"));
+		final AtomicLong bound = new AtomicLong();
+		final DataSource ds = new DeadlineDataSource(new DelegatingDataSource(inner) {
+
+			@Override
+			public Connection getConnection() throws SQLException {
+				final Connection connection = super.getConnection();
+				// the outer acquisition deadline is still bound
+				bound.set(AcquisitionDeadline.bound(Long.MAX_VALUE));
+				return connection;
+			}
+
+		});
+
+		Deadline.run(Deadline.after(10, TimeUnit.SECONDS), () -> {
+			try (Connection c = ds.getConnection()) {
+				assertNotNull(c);
+			} catch (SQLException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		assertTrue(bound.get() <= TimeUnit.SECONDS.toNanos(10));
+		assertEquals(Long.MAX_VALUE, AcquisitionDeadline.bound(Long.MAX_VALUE));
+	}
+
+	@Test
+	public void testAcquisitionWait() throws SQLException {
+		final DataSource ds = TestDataSources.build("testdlw", "deadline.enabled", "true",
+				"priority-lanes.enabled", "true", "priority-lanes.permits", "1", "priority-lanes.max-wait", "30000");
+
+		try (Connection c = ds.getConnection()) {
+			assertNotNull(c);
+			final long start = System.currentTimeMillis();
+			Deadline.run(Deadline.after(200, TimeUnit.MILLISECONDS),
+					() -> assertThrows(PriorityLaneTimeoutException.class, () -> ds.getConnection()));
+			assertTrue(System.currentTimeMillis() - start < 10000L);
+		}
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.internal.SQLFingerprint;
+import com.holonplatform.jdbc.internal.SQLScriptUtils;
+import com.holonplatform.jdbc.internal.jfr.JdbcEventContext;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class TestJdbcEvents {
+
+	@Test
+	public void testNotEnabled() throws Exception {
+		DataSource ds = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("basic").withPropertySource("test_build.properties").build());
+		try (Connection c = ds.getConnection()) {
+			assertNull(JdbcEventContext.of(c));
+		}
+	}
+
+	@Test
+	public void testEvents() throws Exception {
+		final DataSource ds = TestDataSources.build("testjfr", "jfr.enabled", "true");
+
+		final Path file = Files.createTempFile("holon-jdbc", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable("com.holonplatform.jdbc.ConnectionAcquire");
+			recording.enable("com.holonplatform.jdbc.ConnectionLease");
+			recording.enable("com.holonplatform.jdbc.ConnectionRelease");
+			recording.enable("com.holonplatform.jdbc.StatementExecute");
+			recording.enable("com.holonplatform.jdbc.ScriptExecute");
+			recording.start();
+
+			try (Connection c = ds.getConnection()) {
+				assertEquals("testjfr", JdbcEventContext.of(c).getDataContextId());
+				SQLScriptUtils.executeSqlScript(c, "CREATE TABLE JFRT (ID INTEGER); INSERT INTO JFRT VALUES (1)");
+				try (PreparedStatement ps = c.prepareStatement("SELECT ID FROM JFRT WHERE ID IN (?, ?, ?)")) {
+					ps.setInt(1, 1);
+					ps.setInt(2, 2);
+					ps.setInt(3, 3);
+					ps.executeQuery().close();
+				}
+				try (Statement s = c.createStatement()) {
+					s.executeQuery("SELECT ID FROM JFRT WHERE ID = 1 AND 'a' <> 'b'").close();
+				}
+			}
+
+			recording.stop();
+			recording.dump(file);
+		}
+
+		final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+		Files.deleteIfExists(file);
+
+		assertEquals(1, count(events, "ConnectionAcquire"));
+		assertEquals(1, count(events, "ConnectionLease"));
+		assertEquals(1, count(events, "ConnectionRelease"));
+		assertEquals(1, count(events, "ScriptExecute"));
+
+		final List<String> fingerprints = events.stream()
+				.filter(e -> e.getEventType().getName().endsWith("StatementExecute"))
+				.map(e -> e.getString("sql")).collect(Collectors.toList());
+		assertTrue(fingerprints.contains("SELECT ID FROM JFRT WHERE ID IN (?)"));
+		assertTrue(fingerprints.contains("SELECT ID FROM JFRT WHERE ID = ? AND ? <> ?"));
+		assertTrue(fingerprints.contains("INSERT INTO JFRT VALUES (?)"));
+
+		final RecordedEvent script = events.stream().filter(e -> e.getEventType().getName().endsWith("ScriptExecute"))
+				.findFirst().get();
+		assertEquals(2, script.getInt("statements"));
+		assertEquals("testjfr", script.getString("dataContextId"));
+		assertEquals(DataSourceBuilder.TYPE_BASIC, script.getString("dataSourceType"));
+	}
+
+	@Test
+	public void testFingerprint() {
+		assertNull(SQLFingerprint.of(null));
+		assertEquals("SELECT * FROM T1 WHERE A = ? AND B = ?",
+				SQLFingerprint.of("SELECT  *\n FROM T1 WHERE A = 'it''s' AND B = 12.5e3"));
+		assertEquals("SELECT \"COL 1\" FROM T WHERE X IN (?)",
+				SQLFingerprint.of("SELECT \"COL 1\" FROM T /* comment */ WHERE X in (1, 2,3) -- end"));
+		assertEquals("SELECT A FROM T WHERE B IN (?)", SQLFingerprint.of("SELECT A FROM T WHERE B IN (?,?)"));
+		assertEquals("SELECT A FROM T", SQLFingerprint.of("SELECT A FROM T"));
+	}
+
+	private static long count(List<RecordedEvent> events, String name) {
+		return events.stream().filter(e -> e.getEventType().getName().equals("com.holonplatform.jdbc." + name))
+				.count();
+	}
+
+}
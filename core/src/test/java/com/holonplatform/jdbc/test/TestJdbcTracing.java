@@ -0,0 +1,144 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.Registration;
+import com.holonplatform.core.config.ConfigPropertySet.ConfigurationException;
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.tracing.JdbcSpan;
+import com.holonplatform.jdbc.tracing.JdbcSpan.Kind;
+import com.holonplatform.jdbc.tracing.JdbcTracing;
+import com.holonplatform.jdbc.tracing.TraceContext;
+
+public class TestJdbcTracing {
+
+	@Test
+	public void testNotEnabled() {
+		DataSource ds = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("basic").withPropertySource("test_build.properties").build());
+		assertFalse(JdbcTracing.get(ds).isPresent());
+	}
+
+	@Test
+	public void testSpans() throws Exception {
+		final DataSource ds = TestDataSources.build("testtrc1", "tracing.enabled", "true");
+		final JdbcTracing tracing = JdbcTracing.get(ds).orElseThrow(() -> new AssertionError("Missing tracing"));
+		assertEquals("testtrc1", tracing.getName());
+
+		final List<JdbcSpan> spans = new CopyOnWriteArrayList<>();
+		final Registration registration = tracing.addExporter(span -> spans.add(span));
+
+		try (Connection c = ds.getConnection()) {
+			try (Statement s = c.createStatement()) {
+				s.execute("CREATE TABLE TRC1 (ID INT PRIMARY KEY, NAME VARCHAR(100))");
+			}
+			try (PreparedStatement ps = c.prepareStatement("INSERT INTO TRC1 VALUES (?, ?)")) {
+				ps.setInt(1, 1);
+				ps.setString(2, "one");
+				ps.executeUpdate();
+			}
+			try (Statement s = c.createStatement()) {
+				assertThrows(SQLException.class, () -> s.executeQuery("SELECT * FROM XXX WHERE ID = 1"));
+			}
+		}
+
+		assertEquals(4, spans.size());
+		assertEquals(Kind.CONNECTION_ACQUISITION, spans.get(0).getKind());
+		assertEquals("h2", spans.get(0).getAttributes().get(JdbcSpan.ATTRIBUTE_DB_SYSTEM));
+		assertEquals("testtrc1", spans.get(0).getAttributes().get(JdbcSpan.ATTRIBUTE_DATA_CONTEXT_ID));
+		assertEquals(32, spans.get(0).getTraceId().length());
+		assertEquals(16, spans.get(0).getSpanId().length());
+		assertFalse(spans.get(0).getParentSpanId().isPresent());
+
+		assertEquals(Kind.STATEMENT, spans.get(2).getKind());
+		assertEquals("INSERT INTO TRC1 VALUES (?, ?)",
+				spans.get(2).getAttributes().get(JdbcSpan.ATTRIBUTE_DB_STATEMENT));
+		assertFalse(spans.get(2).getError().isPresent());
+		assertEquals("SELECT * FROM XXX WHERE ID = ?",
+				spans.get(3).getAttributes().get(JdbcSpan.ATTRIBUTE_DB_STATEMENT));
+		assertTrue(spans.get(3).getError().isPresent());
+
+		registration.remove();
+		try (Connection c = ds.getConnection()) {
+			// not traced
+		}
+		assertEquals(4, spans.size());
+	}
+
+	@Test
+	public void testSampling() throws Exception {
+		final DataSource ds = TestDataSources.build("testtrc2", "tracing.enabled", "true", "tracing.sample-ratio", "0");
+		final JdbcTracing tracing = JdbcTracing.get(ds).orElseThrow(() -> new AssertionError("Missing tracing"));
+
+		final List<JdbcSpan> spans = new CopyOnWriteArrayList<>();
+		tracing.addExporter(span -> spans.add(span));
+
+		try (Connection c = ds.getConnection(); Statement s = c.createStatement()) {
+			s.execute("SELECT 1");
+		}
+		assertTrue(spans.isEmpty());
+
+		// sampled trace context
+		final TraceContext sampled = TraceContext.create("0af7651916cd43dd8448eb211c80319c", "b7ad6b7169203331", true);
+		TraceContext.call(sampled, () -> {
+			try (Connection c = ds.getConnection(); Statement s = c.createStatement()) {
+				s.execute("SELECT 1");
+			}
+			return null;
+		});
+		assertEquals(2, spans.size());
+		for (JdbcSpan span : spans) {
+			assertEquals("0af7651916cd43dd8448eb211c80319c", span.getTraceId());
+			assertEquals("b7ad6b7169203331", span.getParentSpanId().orElse(null));
+		}
+
+		// not sampled trace context
+		spans.clear();
+		final TraceContext notSampled = TraceContext.create("0af7651916cd43dd8448eb211c80319c", "b7ad6b7169203331",
+				false);
+		TraceContext.call(notSampled, () -> {
+			try (Connection c = ds.getConnection(); Statement s = c.createStatement()) {
+				s.execute("SELECT 1");
+			}
+			return null;
+		});
+		assertTrue(spans.isEmpty());
+	}
+
+	@Test
+	public void testInvalidConfiguration() {
+		assertThrows(ConfigurationException.class,
+				() -> TestDataSources.build("testtrc3", "tracing.enabled", "true", "tracing.sample-ratio", "2"));
+	}
+
+}
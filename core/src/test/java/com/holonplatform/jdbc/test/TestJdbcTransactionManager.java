@@ -0,0 +1,246 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.datastore.transaction.Transaction;
+import com.holonplatform.core.datastore.transaction.TransactionConfiguration;
+import com.holonplatform.core.datastore.transaction.TransactionStatus.IllegalTransactionStatusException;
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.JdbcConnectionHandler;
+import com.holonplatform.jdbc.JdbcConnectionHandler.ConnectionType;
+import com.holonplatform.jdbc.transaction.JdbcTransactionManager;
+import com.holonplatform.jdbc.transaction.JdbcTransactionOptions;
+
+public class TestJdbcTransactionManager {
+
+	private static DataSource dataSource;
+
+	@BeforeAll
+	static void setupDataSource() throws SQLException {
+		Properties props = new Properties();
+		props.put("holon.datasource.txm.type", DataSourceBuilder.TYPE_BASIC);
+		props.put("holon.datasource.txm.url", "jdbc:h2:mem:testtxm;DB_CLOSE_DELAY=-1");
+		props.put("holon.datasource.txm.username", "sa");
+		dataSource = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("txm").withPropertySource(props).build());
+		try (Connection c = dataSource.getConnection(); Statement s = c.createStatement()) {
+			s.executeUpdate("CREATE TABLE txm_test (id INT PRIMARY KEY)");
+		}
+	}
+
+	@BeforeEach
+	void clear() throws SQLException {
+		try (Connection c = dataSource.getConnection(); Statement s = c.createStatement()) {
+			s.executeUpdate("DELETE FROM txm_test");
+		}
+	}
+
+	@Test
+	public void testBoundConnection() throws SQLException {
+		final JdbcTransactionManager manager = JdbcTransactionManager.create(dataSource);
+		final JdbcConnectionHandler handler = JdbcConnectionHandler.create();
+
+		assertFalse(manager.isTransactionActive());
+		assertFalse(JdbcTransactionManager.getBoundConnection(dataSource).isPresent());
+
+		manager.withTransaction(tx -> {
+			assertTrue(tx.isNew());
+			assertTrue(manager.isTransactionActive());
+			try {
+				final Connection bound = JdbcTransactionManager.getBoundConnection(dataSource).orElse(null);
+				final Connection c1 = handler.getConnection(dataSource, ConnectionType.DEFAULT);
+				final Connection c2 = handler.getConnection(dataSource, ConnectionType.DEFAULT);
+				assertSame(bound, c1);
+				assertSame(bound, c2);
+				assertFalse(c1.getAutoCommit());
+				insert(c1, 1);
+				handler.releaseConnection(c1, dataSource, ConnectionType.DEFAULT);
+				assertFalse(c2.isClosed());
+				insert(c2, 2);
+				handler.releaseConnection(c2, dataSource, ConnectionType.DEFAULT);
+			} catch (SQLException e) {
+				throw new RuntimeException(e);
+			}
+		}, TransactionConfiguration.withAutoCommit());
+
+		assertFalse(manager.isTransactionActive());
+		assertEquals(2, count());
+
+		// not bound in other threads
+		final Transaction tx = manager.begin();
+		try {
+			final boolean[] active = new boolean[1];
+			Thread t = new Thread(() -> active[0] = manager.isTransactionActive());
+			t.start();
+			t.join();
+			assertFalse(active[0]);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			tx.rollback();
+		}
+		assertFalse(manager.isTransactionActive());
+	}
+
+	@Test
+	public void testCommitRollback() throws SQLException {
+		final JdbcTransactionManager manager = JdbcTransactionManager.create(dataSource);
+
+		Transaction tx = manager.begin();
+		insert(bound(), 1);
+		tx.rollback();
+		assertTrue(tx.isCompleted());
+		assertEquals(0, count());
+
+		tx = manager.begin();
+		insert(bound(), 1);
+		assertTrue(tx.commit());
+		assertEquals(1, count());
+
+		// not auto commit
+		manager.withTransaction(t -> {
+			insert(bound(), 2);
+		});
+		assertEquals(1, count());
+
+		// rollback on error
+		assertThrows(IllegalStateException.class, () -> manager.withTransaction(t -> {
+			insert(bound(), 3);
+			throw new IllegalStateException("test");
+		}, TransactionConfiguration.withAutoCommit()));
+		assertEquals(1, count());
+		assertFalse(manager.isTransactionActive());
+	}
+
+	@Test
+	public void testNested() throws SQLException {
+		final JdbcTransactionManager manager = JdbcTransactionManager.create(dataSource);
+		final TransactionConfiguration nested = TransactionConfiguration.create(true, true,
+				JdbcTransactionOptions.nested());
+
+		manager.withTransaction(tx -> {
+			insert(bound(), 1);
+			assertThrows(IllegalStateException.class, () -> manager.withTransaction(ntx -> {
+				assertFalse(ntx.isNew());
+				insert(bound(), 2);
+				throw new IllegalStateException("test");
+			}, nested));
+			manager.withTransaction(ntx -> {
+				insert(bound(), 3);
+			}, nested);
+			assertFalse(tx.isRollbackOnly());
+		}, TransactionConfiguration.withAutoCommit());
+
+		assertEquals(2, count());
+
+		// completion order
+		final Transaction outer = manager.begin();
+		final Transaction inner = manager.begin(nested);
+		assertThrows(IllegalTransactionStatusException.class, () -> outer.commit());
+		inner.rollback();
+		outer.rollback();
+		assertFalse(manager.isTransactionActive());
+	}
+
+	@Test
+	public void testParticipating() throws SQLException {
+		final JdbcTransactionManager manager = JdbcTransactionManager.create(dataSource);
+
+		final boolean committed = manager.withTransaction(tx -> {
+			insert(bound(), 1);
+			assertThrows(IllegalStateException.class, () -> manager.withTransaction(ptx -> {
+				assertFalse(ptx.isNew());
+				throw new IllegalStateException("test");
+			}, TransactionConfiguration.withAutoCommit()));
+			return tx.commit();
+		});
+
+		assertFalse(committed);
+		assertEquals(0, count());
+	}
+
+	@Test
+	public void testParticipatingNoRollbackOnError() throws SQLException {
+		final JdbcTransactionManager manager = JdbcTransactionManager.create(dataSource);
+
+		final boolean committed = manager.withTransaction(tx -> {
+			insert(bound(), 1);
+			assertThrows(IllegalStateException.class, () -> manager.withTransaction(ptx -> {
+				assertFalse(ptx.isNew());
+				throw new IllegalStateException("test");
+			}, TransactionConfiguration.create(false, true)));
+			return tx.commit();
+		});
+
+		assertTrue(committed);
+		assertEquals(1, count());
+	}
+
+	@Test
+	public void testNoRollbackOnError() throws SQLException {
+		final JdbcTransactionManager manager = JdbcTransactionManager.create(dataSource);
+
+		assertThrows(IllegalStateException.class, () -> manager.withTransaction(tx -> {
+			insert(bound(), 1);
+			throw new IllegalStateException("test");
+		}, TransactionConfiguration.create(false, false)));
+
+		// not auto commit: the failed work is not committed
+		assertEquals(0, count());
+		assertFalse(manager.isTransactionActive());
+	}
+
+	private static Connection bound() {
+		return JdbcTransactionManager.getBoundConnection(dataSource)
+				.orElseThrow(() -> new IllegalStateException("Missing bound connection"));
+	}
+
+	private static void insert(Connection connection, int id) {
+		try (Statement s = connection.createStatement()) {
+			s.executeUpdate("INSERT INTO txm_test VALUES (" + id + ")");
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static int count() throws SQLException {
+		try (Connection c = dataSource.getConnection(); Statement s = c.createStatement();
+				ResultSet rs = s.executeQuery("SELECT COUNT(*) FROM txm_test")) {
+			rs.next();
+			return rs.getInt(1);
+		}
+	}
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.Registration;
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.ReadOnlyHint;
+import com.holonplatform.jdbc.internal.DelegatingConnection;
+import com.holonplatform.jdbc.internal.transaction.JdbcTransactionUtils;
+import com.holonplatform.jdbc.internal.transaction.JdbcTransactionUtils.ConnectionState;
+import com.holonplatform.jdbc.transaction.JdbcTransactionOptions;
+import com.holonplatform.jdbc.transaction.TransactionIsolation;
+
+public class TestJdbcTransactionOptions {
+
+	@Test
+	public void testOptions() {
+		JdbcTransactionOptions options = JdbcTransactionOptions.using(TransactionIsolation.READ_COMMITTED);
+		assertFalse(options.isReadOnly());
+		assertFalse(options.getTimeout().isPresent());
+
+		options = JdbcTransactionOptions.builder().isolation(TransactionIsolation.SERIALIZABLE).readOnly(true)
+				.timeout(30).build();
+		assertEquals(TransactionIsolation.SERIALIZABLE, options.getTransactionIsolation().orElse(null));
+		assertTrue(options.isReadOnly());
+		assertEquals(Integer.valueOf(30), options.getTimeout().orElse(null));
+
+		assertTrue(JdbcTransactionOptions.readOnly().isReadOnly());
+
+		assertThrows(IllegalArgumentException.class, () -> JdbcTransactionOptions.builder().timeout(0));
+	}
+
+	@Test
+	public void testPrepareConnection() throws Exception {
+		DataSource ds = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("basic").withPropertySource("test_build.properties").build());
+
+		try (Connection c = new ReadOnlyConnection(ds.getConnection())) {
+			final int isolation = c.getTransactionIsolation();
+			assertFalse(c.isReadOnly());
+
+			ConnectionState state = JdbcTransactionUtils.prepareConnection(c, JdbcTransactionOptions.builder()
+					.isolation(TransactionIsolation.SERIALIZABLE).readOnly(true).build());
+			assertTrue(c.isReadOnly());
+			assertEquals(TransactionIsolation.SERIALIZABLE.getLevel(), c.getTransactionIsolation());
+
+			JdbcTransactionUtils.resetConnection(c, state);
+			assertFalse(c.isReadOnly());
+			assertEquals(isolation, c.getTransactionIsolation());
+		}
+	}
+
+	@Test
+	public void testPrepareConnectionFailure() throws Exception {
+		DataSource ds = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("basic").withPropertySource("test_build.properties").build());
+
+		try (ReadOnlyConnection c = new ReadOnlyConnection(ds.getConnection())) {
+			c.failIsolation = true;
+			assertThrows(SQLException.class, () -> JdbcTransactionUtils.prepareConnection(c, JdbcTransactionOptions
+					.builder().isolation(TransactionIsolation.SERIALIZABLE).readOnly(true).build()));
+			assertFalse(c.isReadOnly());
+		}
+	}
+
+	@Test
+	public void testReadOnlyHint() throws Exception {
+		assertFalse(ReadOnlyHint.isReadOnly());
+		ReadOnlyHint.run(() -> {
+			assertTrue(ReadOnlyHint.isReadOnly());
+			Registration r = ReadOnlyHint.bind(false);
+			assertFalse(ReadOnlyHint.isReadOnly());
+			r.remove();
+			assertTrue(ReadOnlyHint.isReadOnly());
+		});
+		assertFalse(ReadOnlyHint.isReadOnly());
+		assertTrue(ReadOnlyHint.call(() -> ReadOnlyHint.isReadOnly()));
+	}
+
+	// H2 ignores the read-only flag
+	private static final class ReadOnlyConnection extends DelegatingConnection {
+
+		private boolean readOnly;
+
+		boolean failIsolation;
+
+		ReadOnlyConnection(Connection delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public void setReadOnly(boolean readOnly) throws SQLException {
+			super.setReadOnly(readOnly);
+			this.readOnly = readOnly;
+		}
+
+		@Override
+		public boolean isReadOnly() throws SQLException {
+			return readOnly;
+		}
+
+		@Override
+		public void setTransactionIsolation(int level) throws SQLException {
+			if (failIsolation) {
+				throw new SQLException("Isolation level not supported");
+			}
+			super.setTransactionIsolation(level);
+		}
+
+	}
+
+}
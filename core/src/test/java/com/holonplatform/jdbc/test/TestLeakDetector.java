@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.diagnostics.LeakDetector;
+import com.holonplatform.jdbc.diagnostics.LeakDetector.ConnectionLease;
+
+public class TestLeakDetector {
+
+	@Test
+	public void testNotEnabled() {
+		DataSource ds = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("basic").withPropertySource("test_build.properties").build());
+		assertFalse(LeakDetector.get(ds).isPresent());
+	}
+
+	@Test
+	public void testLeakDetection() throws Exception {
+		DataSource ds = TestDataSources.build("testld", "leak-detection.enabled", "true",
+				"leak-detection.threshold", "50", "leak-detection.stack-sample-rate", "1",
+				"leak-detection.reclaim", "false");
+		LeakDetector detector = LeakDetector.get(ds).orElse(null);
+		assertNotNull(detector);
+		assertEquals("testld", detector.getName());
+		assertEquals(50, detector.getThreshold());
+
+		try (Connection c = ds.getConnection()) {
+			assertEquals(1, detector.getActiveLeases().size());
+			assertTrue(detector.checkLeaks().isEmpty());
+
+			Thread.sleep(100);
+
+			List<ConnectionLease> leaked = detector.checkLeaks();
+			assertEquals(1, leaked.size());
+			ConnectionLease lease = leaked.get(0);
+			assertEquals("testld", lease.getDataContextId().orElse(null));
+			assertEquals(Thread.currentThread().getName(), lease.getThreadName());
+			assertTrue(lease.getLeaseDuration() >= 50);
+			assertTrue(lease.getAcquisitionStackTrace().isPresent());
+			assertFalse(lease.isReclaimed());
+			assertFalse(c.isClosed());
+
+			// reported once
+			assertTrue(detector.checkLeaks().isEmpty());
+			assertEquals(1, detector.getLeakCount());
+		}
+		assertTrue(detector.getActiveLeases().isEmpty());
+	}
+
+	@Test
+	public void testReclaim() throws Exception {
+		DataSource ds = TestDataSources.build("testldr", "leak-detection.enabled", "true",
+				"leak-detection.threshold", "50", "leak-detection.stack-sample-rate", "0",
+				"leak-detection.reclaim", "true");
+		LeakDetector detector = LeakDetector.get(ds).orElse(null);
+		assertNotNull(detector);
+
+		final AtomicInteger notified = new AtomicInteger();
+		detector.addLeakListener(lease -> notified.incrementAndGet());
+
+		Connection c = ds.getConnection();
+		Thread.sleep(100);
+
+		List<ConnectionLease> leaked = detector.checkLeaks();
+		assertEquals(1, leaked.size());
+		assertTrue(leaked.get(0).isReclaimed());
+		assertFalse(leaked.get(0).getAcquisitionStackTrace().isPresent());
+		assertEquals(1, notified.get());
+		assertTrue(c.isClosed());
+		assertTrue(detector.getActiveLeases().isEmpty());
+
+		// no effect
+		c.close();
+	}
+
+}
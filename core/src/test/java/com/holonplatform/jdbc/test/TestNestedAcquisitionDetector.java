@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.JdbcConnectionHandler;
+import com.holonplatform.jdbc.JdbcConnectionHandler.ConnectionType;
+import com.holonplatform.jdbc.diagnostics.NestedAcquisitionDetector;
+import com.holonplatform.jdbc.diagnostics.NestedAcquisitionDetector.Mode;
+import com.holonplatform.jdbc.exceptions.NestedConnectionAcquisitionException;
+import com.holonplatform.jdbc.transaction.JdbcTransactionManager;
+
+public class TestNestedAcquisitionDetector {
+
+	@Test
+	public void testNotEnabled() {
+		DataSource ds = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("basic").withPropertySource("test_build.properties").build());
+		assertFalse(NestedAcquisitionDetector.get(ds).isPresent());
+	}
+
+	@Test
+	public void testWarn() throws Exception {
+		DataSource ds = TestDataSources.build("testnaw", "nested-acquisition.enabled", "true",
+				"nested-acquisition.mode", Mode.WARN.name());
+		NestedAcquisitionDetector detector = NestedAcquisitionDetector.get(ds).orElse(null);
+		assertNotNull(detector);
+		assertEquals(Mode.WARN, detector.getMode());
+
+		try (Connection c1 = ds.getConnection()) {
+			assertEquals(1, detector.getHeldCount());
+			assertEquals(0, detector.getNestedAcquisitionCount());
+			try (Connection c2 = ds.getConnection()) {
+				assertEquals(2, detector.getHeldCount());
+				assertEquals(1, detector.getNestedAcquisitionCount());
+			}
+			assertEquals(1, detector.getHeldCount());
+		}
+		assertEquals(0, detector.getHeldCount());
+		assertEquals(0, detector.getHoldingThreadCount());
+		assertEquals(2, detector.getMaxHeldCount());
+	}
+
+	@Test
+	public void testFail() throws Exception {
+		DataSource ds = TestDataSources.build("testnaf", "nested-acquisition.enabled", "true",
+				"nested-acquisition.mode", Mode.FAIL.name());
+		NestedAcquisitionDetector detector = NestedAcquisitionDetector.get(ds).orElse(null);
+		assertNotNull(detector);
+
+		try (Connection c1 = ds.getConnection()) {
+			assertThrows(NestedConnectionAcquisitionException.class, () -> ds.getConnection());
+			assertEquals(1, detector.getNestedAcquisitionCount());
+			assertEquals(1, detector.getHeldCount());
+
+			// other threads are not affected
+			final AtomicInteger held = new AtomicInteger(-1);
+			final Thread thread = new Thread(() -> {
+				try (Connection c = ds.getConnection()) {
+					held.set(detector.getHeldCount());
+				} catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+			});
+			thread.start();
+			thread.join();
+			assertEquals(1, held.get());
+			assertEquals(1, detector.getHoldingThreadCount());
+		}
+		assertEquals(0, detector.getHeldCount());
+	}
+
+	@Test
+	public void testTransactionBoundConnection() throws Exception {
+		DataSource ds = TestDataSources.build("testnat", "nested-acquisition.enabled", "true",
+				"nested-acquisition.mode", Mode.FAIL.name());
+		NestedAcquisitionDetector detector = NestedAcquisitionDetector.get(ds).orElse(null);
+		assertNotNull(detector);
+
+		final JdbcConnectionHandler handler = JdbcConnectionHandler.create();
+		JdbcTransactionManager.create(ds).withTransaction(tx -> {
+			try {
+				Connection c = handler.getConnection(ds, ConnectionType.DEFAULT);
+				handler.releaseConnection(c, ds, ConnectionType.DEFAULT);
+				assertEquals(1, detector.getHeldCount());
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+			return null;
+		});
+		assertEquals(0, detector.getNestedAcquisitionCount());
+		assertEquals(0, detector.getHeldCount());
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.DatabasePlatform;
+import com.holonplatform.jdbc.PerformanceProfile;
+
+public class TestPerformanceProfile {
+
+	@Test
+	public void testPlatformProperties() {
+		assertTrue(DatabasePlatform.MYSQL.getDriverProperties(PerformanceProfile.NONE).isEmpty());
+		assertTrue(DatabasePlatform.H2.getDriverProperties(PerformanceProfile.THROUGHPUT).isEmpty());
+
+		Map<String, String> throughput = DatabasePlatform.MYSQL.getDriverProperties(PerformanceProfile.THROUGHPUT);
+		assertEquals("true", throughput.get("cachePrepStmts"));
+		assertEquals("true", throughput.get("rewriteBatchedStatements"));
+
+		Map<String, String> latency = DatabasePlatform.MYSQL.getDriverProperties(PerformanceProfile.LATENCY);
+		assertEquals("true", latency.get("cachePrepStmts"));
+		assertFalse(latency.containsKey("rewriteBatchedStatements"));
+
+		assertEquals("true",
+				DatabasePlatform.POSTGRESQL.getDriverProperties(PerformanceProfile.THROUGHPUT).get("reWriteBatchedInserts"));
+	}
+
+	@Test
+	public void testConfiguration() {
+		Properties props = new Properties();
+		props.put("holon.datasource.url", "jdbc:mysql://localhost:3306/test");
+		props.put("holon.datasource.performance-profile", "THROUGHPUT");
+		props.put("holon.datasource.connection-properties.useServerPrepStmts", "false");
+		props.put("holon.datasource.connection-properties.connectTimeout", "3000");
+
+		Map<String, String> properties = DataSourceConfigProperties.builder().withPropertySource(props).build()
+				.getConnectionProperties();
+		assertEquals("true", properties.get("cachePrepStmts"));
+		assertEquals("false", properties.get("useServerPrepStmts"));
+		assertEquals("3000", properties.get("connectTimeout"));
+
+		props.remove("holon.datasource.performance-profile");
+		properties = DataSourceConfigProperties.builder().withPropertySource(props).build().getConnectionProperties();
+		assertEquals(2, properties.size());
+	}
+
+	@Test
+	public void testDataSources() throws SQLException {
+		for (String type : new String[] { DataSourceBuilder.TYPE_BASIC, DataSourceBuilder.TYPE_HIKARICP,
+				DataSourceBuilder.TYPE_DBCP, DataSourceBuilder.TYPE_TOMCAT }) {
+			Properties props = new Properties();
+			props.put("holon.datasource.type", type);
+			props.put("holon.datasource.url", "jdbc:h2:mem:testdbpp");
+			props.put("holon.datasource.username", "sa");
+			props.put("holon.datasource.performance-profile", "LATENCY");
+			// H2 applies the setting to the connection
+			props.put("holon.datasource.connection-properties.MODE", "MySQL");
+
+			DataSource ds = DataSourceBuilder.create()
+					.build(DataSourceConfigProperties.builder().withPropertySource(props).build());
+			try (Connection c = ds.getConnection()) {
+				assertNotNull(c);
+				// MySQL mode specific syntax
+				c.createStatement().execute("CREATE TABLE IF NOT EXISTS pp (id INT) ENGINE=InnoDB");
+			} finally {
+				if (ds instanceof AutoCloseable) {
+					try {
+						((AutoCloseable) ds).close();
+					} catch (Exception e) {
+						// ignore
+					}
+				}
+			}
+		}
+	}
+
+}
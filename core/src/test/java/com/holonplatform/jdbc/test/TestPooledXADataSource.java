@@ -0,0 +1,212 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.Properties;
+
+import javax.sql.DataSource;
+import javax.sql.XAConnection;
+import javax.sql.XADataSource;
+import javax.transaction.xa.XAResource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.config.ConfigPropertySet.ConfigurationException;
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.PooledXADataSource;
+
+public class TestPooledXADataSource {
+
+	private static JdbcDataSource h2(String name) {
+		JdbcDataSource xa = new JdbcDataSource();
+		xa.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+		xa.setUser("sa");
+		return xa;
+	}
+
+	/**
+	 * XADataSource whose physical connections do not reset the local transaction state when a logical connection is
+	 * closed.
+	 */
+	private static XADataSource nonResetting(String name) {
+		final ClassLoader cl = TestPooledXADataSource.class.getClassLoader();
+		return (XADataSource) Proxy.newProxyInstance(cl, new Class<?>[] { XADataSource.class }, (ds, dm, da) -> {
+			if (!"getXAConnection".equals(dm.getName())) {
+				throw new UnsupportedOperationException(dm.getName());
+			}
+			final Connection physical = DriverManager.getConnection("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+					"sa", "");
+			final Connection handle = (Connection) Proxy.newProxyInstance(cl, new Class<?>[] { Connection.class },
+					(c, m, a) -> {
+						if ("close".equals(m.getName())) {
+							return null;
+						}
+						try {
+							return m.invoke(physical, a);
+						} catch (InvocationTargetException e) {
+							throw e.getCause();
+						}
+					});
+			return Proxy.newProxyInstance(cl, new Class<?>[] { XAConnection.class }, (x, m, a) -> {
+				if ("getConnection".equals(m.getName())) {
+					return handle;
+				}
+				if ("close".equals(m.getName())) {
+					physical.close();
+				}
+				return null;
+			});
+		});
+	}
+
+	@Test
+	public void testReuse() throws SQLException {
+		try (PooledXADataSource ds = PooledXADataSource.builder().xaDataSource(h2("testxap1")).maxPoolSize(2)
+				.build()) {
+			XAConnection xc = ds.getXAConnection();
+			XAResource resource = xc.getXAResource();
+			assertNotNull(resource);
+			assertEquals(1, ds.getActiveCount());
+			xc.close();
+			// close is idempotent
+			xc.close();
+			assertEquals(0, ds.getActiveCount());
+			assertEquals(1, ds.getIdleCount());
+
+			for (int i = 0; i < 5; i++) {
+				XAConnection c = ds.getXAConnection();
+				try (Connection connection = c.getConnection(); Statement st = connection.createStatement();
+						ResultSet rs = st.executeQuery("SELECT 1")) {
+					assertTrue(rs.next());
+				}
+				c.close();
+			}
+			assertEquals(1, ds.getCreatedCount());
+
+			try (Connection c = ds.getConnection()) {
+				assertEquals(1, ds.getActiveCount());
+			}
+			assertEquals(0, ds.getActiveCount());
+			assertEquals(1, ds.getCreatedCount());
+		}
+	}
+
+	@Test
+	public void testReset() throws SQLException {
+		try (PooledXADataSource ds = PooledXADataSource.builder().xaDataSource(nonResetting("testxap5"))
+				.maxPoolSize(1).build()) {
+			try (Connection c = ds.getConnection(); Statement st = c.createStatement()) {
+				st.executeUpdate("CREATE TABLE xap_test (id INT PRIMARY KEY)");
+			}
+
+			// pending local transaction, logical connection left open
+			XAConnection xc = ds.getXAConnection();
+			Connection connection = xc.getConnection();
+			connection.setAutoCommit(false);
+			try (Statement st = connection.createStatement()) {
+				st.executeUpdate("INSERT INTO xap_test VALUES (1)");
+			}
+			xc.close();
+
+			XAConnection xc2 = ds.getXAConnection();
+			try (Connection c = xc2.getConnection(); Statement st = c.createStatement();
+					ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM xap_test")) {
+				assertTrue(c.getAutoCommit());
+				assertTrue(rs.next());
+				assertEquals(0, rs.getInt(1));
+			}
+			xc2.close();
+			assertEquals(1, ds.getCreatedCount());
+
+			assertThrows(SQLFeatureNotSupportedException.class, () -> ds.getXAConnection("sa", ""));
+		}
+	}
+
+	@Test
+	public void testExhausted() throws SQLException {
+		try (PooledXADataSource ds = PooledXADataSource.builder().xaDataSource(h2("testxap2")).maxPoolSize(1)
+				.maxWait(50).build()) {
+			XAConnection xc = ds.getXAConnection();
+			assertThrows(SQLTransientConnectionException.class, () -> ds.getXAConnection());
+			xc.close();
+			ds.getXAConnection().close();
+		}
+	}
+
+	@Test
+	public void testIdleEviction() throws Exception {
+		try (PooledXADataSource ds = PooledXADataSource.builder().xaDataSource(h2("testxap3")).minPoolSize(1)
+				.maxPoolSize(3).idleTimeout(20).build()) {
+			XAConnection c1 = ds.getXAConnection();
+			XAConnection c2 = ds.getXAConnection();
+			XAConnection c3 = ds.getXAConnection();
+			c1.close();
+			c2.close();
+			c3.close();
+			assertEquals(3, ds.getIdleCount());
+			Thread.sleep(50);
+			assertEquals(2, ds.evictIdleConnections());
+			assertEquals(1, ds.getIdleCount());
+		}
+	}
+
+	@Test
+	public void testBuilder() throws SQLException {
+		Properties props = new Properties();
+		props.put("holon.datasource.xap.type", DataSourceBuilder.TYPE_XA_POOLED);
+		props.put("holon.datasource.xap.url", "jdbc:h2:mem:testxap4;DB_CLOSE_DELAY=-1");
+		props.put("holon.datasource.xap.username", "sa");
+		props.put("holon.datasource.xap.max-pool-size", "3");
+
+		DataSource ds = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("xap").withPropertySource(props).build());
+
+		PooledXADataSource xads = PooledXADataSource.get(ds).orElse(null);
+		assertNotNull(xads);
+		assertTrue(xads.getXADataSource() instanceof JdbcDataSource);
+
+		try (Connection c = ds.getConnection()) {
+			assertNotNull(c);
+		}
+		try (Connection c = ds.getConnection()) {
+			assertNotNull(c);
+		}
+		assertEquals(1, xads.getCreatedCount());
+
+		Properties props2 = new Properties();
+		props2.put("holon.datasource.xapu.type", DataSourceBuilder.TYPE_XA_POOLED);
+		props2.put("holon.datasource.xapu.url", "jdbc:unknown:test");
+		assertThrows(ConfigurationException.class, () -> DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("xapu").withPropertySource(props2).build()));
+	}
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.jdbc.ConnectionPriority;
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.JdbcConnectionHandler;
+import com.holonplatform.jdbc.JdbcConnectionHandler.ConnectionType;
+import com.holonplatform.jdbc.exceptions.PriorityLaneTimeoutException;
+import com.holonplatform.jdbc.internal.resilience.DefaultPriorityLanes;
+import com.holonplatform.jdbc.resilience.PriorityLanes;
+
+public class TestPriorityLanes {
+
+	@Test
+	public void testNotEnabled() {
+		DataSource ds = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("basic").withPropertySource("test_build.properties").build());
+		assertFalse(PriorityLanes.get(ds).isPresent());
+	}
+
+	@Test
+	public void testPriority() throws Exception {
+		final DataSource ds = TestDataSources.build("testpl", "priority-lanes.enabled", "true",
+				"priority-lanes.permits", "1", "priority-lanes.max-wait", "5000");
+		final PriorityLanes lanes = PriorityLanes.get(ds).orElse(null);
+		assertNotNull(lanes);
+		assertEquals(1, lanes.getPermits());
+
+		final List<ConnectionPriority> served = new CopyOnWriteArrayList<>();
+
+		Connection connection = ds.getConnection();
+		assertEquals(1, lanes.getStatistics(ConnectionPriority.DEFAULT).getActive());
+
+		Thread batch = request(ds, ConnectionPriority.BATCH, served);
+		awaitWaiting(lanes, ConnectionPriority.BATCH);
+		Thread critical = request(ds, ConnectionPriority.CRITICAL, served);
+		awaitWaiting(lanes, ConnectionPriority.CRITICAL);
+
+		connection.close();
+		batch.join();
+		critical.join();
+
+		assertEquals(2, served.size());
+		assertEquals(ConnectionPriority.CRITICAL, served.get(0));
+		assertEquals(ConnectionPriority.BATCH, served.get(1));
+
+		assertEquals(1, lanes.getStatistics(ConnectionPriority.BATCH).getAcquiredCount());
+		assertTrue(lanes.getStatistics(ConnectionPriority.BATCH).getMaxWaitTime() > 0);
+		assertEquals(0, lanes.getStatistics(ConnectionPriority.BATCH).getActive());
+	}
+
+	@Test
+	public void testReservedShare() throws Exception {
+		final Map<ConnectionPriority, Integer> reserved = new EnumMap<>(ConnectionPriority.class);
+		reserved.put(ConnectionPriority.BATCH, 1);
+		final DefaultPriorityLanes lanes = new DefaultPriorityLanes("test", 2, 5000L, reserved);
+
+		assertTrue(lanes.acquire(ConnectionPriority.CRITICAL));
+
+		// the batch reserved permit is not available to the other lanes
+		final List<ConnectionPriority> served = new CopyOnWriteArrayList<>();
+		Thread critical = acquire(lanes, ConnectionPriority.CRITICAL, served);
+		awaitWaiting(lanes, ConnectionPriority.CRITICAL);
+
+		assertTrue(lanes.acquire(ConnectionPriority.BATCH));
+		assertEquals(1, lanes.getStatistics(ConnectionPriority.BATCH).getActive());
+
+		// the released batch permit refills the batch reserved share
+		lanes.release(ConnectionPriority.BATCH);
+		assertEquals(1, lanes.getStatistics(ConnectionPriority.CRITICAL).getWaiting());
+		assertTrue(served.isEmpty());
+
+		lanes.release(ConnectionPriority.CRITICAL);
+		critical.join();
+		assertEquals(1, served.size());
+		assertEquals(ConnectionPriority.CRITICAL, served.get(0));
+
+		// all permits reserved
+		final DefaultPriorityLanes all = new DefaultPriorityLanes("test", 1, 50L, reserved);
+		assertFalse(all.acquire(ConnectionPriority.CRITICAL));
+		assertTrue(all.acquire(ConnectionPriority.BATCH));
+		all.release(ConnectionPriority.BATCH);
+		assertTrue(all.acquire(ConnectionPriority.BATCH));
+	}
+
+	@Test
+	public void testMaxWait() throws SQLException {
+		final DataSource ds = TestDataSources.build("testplw", "priority-lanes.enabled", "true",
+				"priority-lanes.permits", "1", "priority-lanes.max-wait", "100");
+		try (Connection c = ds.getConnection()) {
+			assertThrows(PriorityLaneTimeoutException.class, () -> ds.getConnection());
+		}
+		assertEquals(1, PriorityLanes.get(ds).get().getStatistics(ConnectionPriority.DEFAULT).getRejectedCount());
+	}
+
+	@Test
+	public void testConnectionType() throws SQLException {
+		final DataSource ds = TestDataSources.build("testplt", "priority-lanes.enabled", "true",
+				"priority-lanes.permits", "2", "priority-lanes.max-wait", "100");
+		final JdbcConnectionHandler handler = JdbcConnectionHandler.create();
+
+		final Connection init = handler.getConnection(ds, ConnectionType.INIT);
+		handler.releaseConnection(init, ds, ConnectionType.INIT);
+		final Connection batch = ConnectionPriority.call(ConnectionPriority.BATCH,
+				() -> handler.getConnection(ds, ConnectionType.DEFAULT));
+		handler.releaseConnection(batch, ds, ConnectionType.DEFAULT);
+
+		final PriorityLanes lanes = PriorityLanes.get(ds).get();
+		assertEquals(1, lanes.getStatistics(ConnectionPriority.CRITICAL).getAcquiredCount());
+		assertEquals(1, lanes.getStatistics(ConnectionPriority.BATCH).getAcquiredCount());
+		assertEquals(0, lanes.getStatistics(ConnectionPriority.DEFAULT).getAcquiredCount());
+		assertEquals(ConnectionPriority.DEFAULT, ConnectionPriority.getCurrent());
+	}
+
+	private static Thread request(DataSource ds, ConnectionPriority priority, List<ConnectionPriority> served) {
+		Thread thread = new Thread(() -> ConnectionPriority.run(priority, () -> {
+			try (Connection c = ds.getConnection()) {
+				served.add(priority);
+				Thread.sleep(50L);
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		}));
+		thread.start();
+		return thread;
+	}
+
+	private static Thread acquire(DefaultPriorityLanes lanes, ConnectionPriority priority,
+			List<ConnectionPriority> served) {
+		Thread thread = new Thread(() -> {
+			try {
+				if (lanes.acquire(priority)) {
+					served.add(priority);
+				}
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		thread.start();
+		return thread;
+	}
+
+	private static void awaitWaiting(PriorityLanes lanes, ConnectionPriority priority) throws InterruptedException {
+		for (int i = 0; i < 500 && lanes.getStatistics(priority).getWaiting() == 0; i++) {
+			Thread.sleep(10L);
+		}
+		assertEquals(1, lanes.getStatistics(priority).getWaiting());
+	}
+
+}
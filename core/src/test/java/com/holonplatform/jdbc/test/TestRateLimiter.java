@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.tenancy.TenantResolver;
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.MultiTenantDataSource;
+import com.holonplatform.jdbc.exceptions.RateLimitExceededException;
+import com.holonplatform.jdbc.exceptions.StatementRateLimitExceededException;
+import com.holonplatform.jdbc.internal.resilience.GcraTokenBucket;
+import com.holonplatform.jdbc.resilience.RateLimiter;
+import com.holonplatform.jdbc.resilience.RateLimiter.Mode;
+
+public class TestRateLimiter {
+
+	@Test
+	public void testNotEnabled() {
+		DataSource ds = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("basic").withPropertySource("test_build.properties").build());
+		assertFalse(RateLimiter.get(ds).isPresent());
+	}
+
+	@Test
+	public void testTokenBucket() {
+		final GcraTokenBucket bucket = new GcraTokenBucket(10, 3);
+		// burst
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0L, bucket.reserve(0L));
+		}
+		assertEquals(GcraTokenBucket.REJECTED, bucket.reserve(0L));
+		// next token in about 100 ms
+		final long wait = bucket.reserve(TimeUnit.SECONDS.toNanos(1));
+		assertTrue(wait > 0 && wait <= TimeUnit.MILLISECONDS.toNanos(100));
+		assertEquals(3, bucket.getPermittedCount());
+		assertEquals(1, bucket.getDelayedCount());
+		assertEquals(1, bucket.getRejectedCount());
+	}
+
+	@Test
+	public void testConnections() throws SQLException {
+		Properties props = new Properties();
+		props.put("holon.datasource.rl.type", DataSourceBuilder.TYPE_BASIC);
+		props.put("holon.datasource.rl.url", "jdbc:h2:mem:testrl");
+		props.put("holon.datasource.rl.username", "sa");
+		props.put("holon.datasource.rl.rate-limit.connections-per-second", "0.5");
+		props.put("holon.datasource.rl.rate-limit.connections-burst", "2");
+		props.put("holon.datasource.rl.rate-limit.mode", "FAIL_FAST");
+
+		DataSource ds = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("rl").withPropertySource(props).build());
+
+		RateLimiter limiter = RateLimiter.get(ds).orElse(null);
+		assertNotNull(limiter);
+		assertEquals("rl", limiter.getName());
+		assertEquals(Mode.FAIL_FAST, limiter.getConfiguration().getMode());
+		assertTrue(limiter.getConnectionBucket().isPresent());
+		assertFalse(limiter.getStatementBucket().isPresent());
+
+		try (Connection c1 = ds.getConnection(); Connection c2 = ds.getConnection()) {
+			assertThrows(RateLimitExceededException.class, () -> ds.getConnection());
+		}
+		assertEquals(1, limiter.getConnectionBucket().get().getRejectedCount());
+	}
+
+	@Test
+	public void testStatements() throws Exception {
+		Properties props = new Properties();
+		props.put("holon.datasource.rls.type", DataSourceBuilder.TYPE_BASIC);
+		props.put("holon.datasource.rls.url", "jdbc:h2:mem:testrls");
+		props.put("holon.datasource.rls.username", "sa");
+		props.put("holon.datasource.rls.rate-limit.statements-per-second", "20");
+		props.put("holon.datasource.rls.rate-limit.statements-burst", "1");
+		props.put("holon.datasource.rls.rate-limit.max-wait", "1000");
+
+		DataSource ds = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("rls").withPropertySource(props).build());
+
+		RateLimiter limiter = RateLimiter.get(ds).orElse(null);
+		assertNotNull(limiter);
+		assertEquals(Mode.WAIT, limiter.getConfiguration().getMode());
+
+		try (Connection c = ds.getConnection()) {
+			try (Statement s = c.createStatement()) {
+				assertEquals(c, s.getConnection());
+				s.execute("CREATE TABLE rlt (id INT)");
+			}
+			try (PreparedStatement ps = c.prepareStatement("INSERT INTO rlt VALUES (?)")) {
+				ps.setInt(1, 1);
+				ps.executeUpdate();
+				ps.setInt(1, 2);
+				ps.executeUpdate();
+			}
+		}
+		assertTrue(limiter.getStatementBucket().get().getDelayedCount() >= 1);
+		assertEquals(0, limiter.getStatementBucket().get().getRejectedCount());
+
+		// fail fast
+		RateLimiter.Configuration configuration = RateLimiter.Configuration.builder().statementsPerSecond(0.1)
+				.statementsBurst(1).mode(Mode.FAIL_FAST).build();
+		DataSource mds = MultiTenantDataSource.builder().resolver(TenantResolver.staticTenantResolver("t1"))
+				.provider(tenantId -> ds).tenantRateLimit(configuration).build();
+
+		RateLimiter tenantLimiter = RateLimiter.get(mds).orElse(null);
+		assertNotNull(tenantLimiter);
+		assertEquals("t1", tenantLimiter.getName());
+
+		try (Connection c = mds.getConnection(); Statement s = c.createStatement()) {
+			s.executeQuery("SELECT 1").close();
+			final StatementRateLimitExceededException e = assertThrows(StatementRateLimitExceededException.class,
+					() -> s.executeQuery("SELECT 1"));
+			assertNull(e.getSQLState());
+		}
+	}
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.SessionStateTracker;
+import com.holonplatform.jdbc.internal.DelegatingDataSource;
+import com.holonplatform.jdbc.internal.session.SessionStateDataSource;
+
+public class TestSessionStateTracker {
+
+	private static final int TRANSACTIONS = 20;
+
+	private static final long LATENCY = TimeUnit.MILLISECONDS.toNanos(1);
+
+	@Test
+	public void testNotEnabled() {
+		DataSource ds = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("basic").withPropertySource("test_build.properties").build());
+		assertFalse(SessionStateTracker.get(ds).isPresent());
+	}
+
+	@Test
+	public void testEnabled() throws SQLException {
+		DataSource ds = TestDataSources.build("testsst", "session-state-tracking.enabled", "true");
+
+		SessionStateTracker tracker = SessionStateTracker.get(ds).orElse(null);
+		assertTrue(tracker != null);
+
+		try (Connection c = ds.getConnection()) {
+			assertTrue(c.getAutoCommit());
+			c.setAutoCommit(true);
+			c.setAutoCommit(false);
+			assertFalse(c.getAutoCommit());
+		}
+		assertEquals(3, tracker.getSkippedCount());
+		assertEquals(1, tracker.getExecutedCount());
+		assertEquals(1, tracker.getRestoredCount());
+
+		try (Connection c = ds.getConnection()) {
+			assertTrue(c.getAutoCommit());
+		}
+	}
+
+	@Test
+	public void testRoundTrips() throws SQLException {
+		final AtomicLong plainRoundTrips = new AtomicLong();
+		final DataSource plain = new LatencyDataSource(TestDataSources.build("sstrt1"), plainRoundTrips, LATENCY);
+		final long plainElapsed = runTransactions(plain);
+
+		final AtomicLong trackedRoundTrips = new AtomicLong();
+		final SessionStateDataSource tracked = new SessionStateDataSource(
+				new LatencyDataSource(TestDataSources.build("sstrt2"), trackedRoundTrips, LATENCY));
+		final long trackedElapsed = runTransactions(tracked);
+
+		// the baseline session state is read once
+		final long baselineRoundTrips = 4;
+		final double savedPerTransaction = (plainRoundTrips.get() - (trackedRoundTrips.get() - baselineRoundTrips))
+				/ (double) TRANSACTIONS;
+
+		// isolation, read-only and schema setters skipped, auto-commit setters and commit executed
+		assertEquals(6 * TRANSACTIONS, plainRoundTrips.get());
+		assertEquals(3 * TRANSACTIONS + baselineRoundTrips, trackedRoundTrips.get());
+		assertEquals(3d, savedPerTransaction);
+		assertEquals(3 * TRANSACTIONS, tracked.getSkippedCount());
+		assertEquals(0, tracked.getRestoredCount());
+		assertTrue(trackedElapsed < plainElapsed);
+	}
+
+	@Test
+	public void testRestoreFailure() throws SQLException {
+		final AtomicBoolean aborted = new AtomicBoolean();
+		final DataSource failing = new DelegatingDataSource(TestDataSources.build("sstrf")) {
+
+			@Override
+			public Connection getConnection() throws SQLException {
+				final Connection connection = super.getConnection();
+				return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+						new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+							if ("setReadOnly".equals(method.getName()) && !((Boolean) args[0])) {
+								throw new SQLException("Restore failure");
+							}
+							if ("abort".equals(method.getName())) {
+								aborted.set(true);
+							}
+							try {
+								return method.invoke(connection, args);
+							} catch (InvocationTargetException e) {
+								throw e.getCause();
+							}
+						});
+			}
+
+		};
+		final SessionStateDataSource tracked = new SessionStateDataSource(failing);
+		try (Connection c = tracked.getConnection()) {
+			c.setReadOnly(true);
+		}
+		// the connection with a dirty session state must not be returned to the pool
+		assertTrue(aborted.get());
+		assertEquals(0, tracked.getRestoredCount());
+	}
+
+	/**
+	 * Run the transactions, unconditionally setting the session state as many frameworks do.
+	 * @param dataSource DataSource
+	 * @return The elapsed time in nanoseconds
+	 */
+	private static long runTransactions(DataSource dataSource) throws SQLException {
+		final long start = System.nanoTime();
+		for (int i = 0; i < TRANSACTIONS; i++) {
+			try (Connection c = dataSource.getConnection()) {
+				c.setAutoCommit(false);
+				c.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+				c.setReadOnly(false);
+				c.setSchema("PUBLIC");
+				c.commit();
+				c.setAutoCommit(true);
+			}
+		}
+		return System.nanoTime() - start;
+	}
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.config.ConfigPropertySet.ConfigurationException;
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.internal.diagnostics.SlowQueryLog;
+
+public class TestSlowQueryLog {
+
+	@Test
+	public void testNotEnabled() throws Exception {
+		DataSource ds = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("basic").withPropertySource("test_build.properties").build());
+		assertFalse(ds.isWrapperFor(SlowQueryLog.class));
+	}
+
+	@Test
+	public void testThreshold() throws Exception {
+		final DataSource ds = TestDataSources.build("testsql1", "slow-query-log.enabled", "true");
+		assertTrue(ds.isWrapperFor(SlowQueryLog.class));
+		final SlowQueryLog log = ds.unwrap(SlowQueryLog.class);
+		assertFalse(log.isSlow(0L));
+
+		try (Connection c = ds.getConnection(); Statement s = c.createStatement()) {
+			s.execute("CREATE TABLE SQL1 (ID INT PRIMARY KEY, NAME VARCHAR(100))");
+		}
+		assertEquals(0, log.getLoggedCount());
+	}
+
+	@Test
+	public void testLog() throws Exception {
+		final DataSource ds = TestDataSources.build("testsql2", "slow-query-log.enabled", "true",
+				"slow-query-log.threshold", "0", "slow-query-log.redact-pattern", "(?i)secret");
+		final SlowQueryLog log = ds.unwrap(SlowQueryLog.class);
+
+		try (Connection c = ds.getConnection()) {
+			try (Statement s = c.createStatement()) {
+				s.execute("CREATE TABLE SQL2 (ID INT PRIMARY KEY, NAME VARCHAR(100))");
+			}
+			try (PreparedStatement ps = c.prepareStatement("INSERT INTO SQL2 VALUES (?, ?)")) {
+				ps.setInt(1, 1);
+				ps.setString(2, "my secret");
+				ps.executeUpdate();
+				ps.clearParameters();
+				ps.setInt(1, 2);
+				ps.setNull(2, java.sql.Types.VARCHAR);
+				ps.executeUpdate();
+				ps.setInt(1, 3);
+				ps.setString(2, "three");
+				ps.addBatch();
+				ps.setInt(1, 4);
+				ps.setString(2, "four");
+				ps.addBatch();
+				ps.executeBatch();
+			}
+			try (PreparedStatement ps = c.prepareStatement("SELECT COUNT(*) FROM SQL2");
+					ResultSet rs = ps.executeQuery()) {
+				rs.next();
+				assertEquals(4, rs.getInt(1));
+			}
+		}
+		assertEquals(5, log.getLoggedCount() + log.getSuppressedCount());
+		assertTrue(log.getLoggedCount() > 0);
+	}
+
+	@Test
+	public void testRateLimit() throws Exception {
+		final DataSource ds = TestDataSources.build("testsql3", "slow-query-log.enabled", "true",
+				"slow-query-log.threshold", "0", "slow-query-log.max-rate", "0.01");
+		final SlowQueryLog log = ds.unwrap(SlowQueryLog.class);
+
+		try (Connection c = ds.getConnection(); Statement s = c.createStatement()) {
+			for (int i = 0; i < 10; i++) {
+				s.execute("SELECT 1");
+			}
+		}
+		assertEquals(1, log.getLoggedCount());
+		assertEquals(9, log.getSuppressedCount());
+	}
+
+	@Test
+	public void testInvalidConfiguration() {
+		assertThrows(ConfigurationException.class, () -> TestDataSources.build("testsql4", "slow-query-log.enabled",
+				"true", "slow-query-log.redact-pattern", "([a-z"));
+	}
+
+}
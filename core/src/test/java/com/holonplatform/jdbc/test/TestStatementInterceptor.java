@@ -0,0 +1,288 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.jdbc.BasicDataSource;
+import com.holonplatform.jdbc.DataSourceStatistics;
+import com.holonplatform.jdbc.interceptor.StatementInterceptor;
+import com.holonplatform.jdbc.interceptor.StatementInvocation;
+import com.holonplatform.jdbc.internal.InterceptingDataSource;
+import com.holonplatform.jdbc.metrics.DataSourceMetrics;
+import com.holonplatform.jdbc.resilience.RateLimiter;
+import com.holonplatform.jdbc.tracing.JdbcTracing;
+
+public class TestStatementInterceptor {
+
+	private static final class RecordingInterceptor implements StatementInterceptor {
+
+		private final String name;
+		private final List<String> trace;
+
+		RecordingInterceptor(String name, List<String> trace) {
+			super();
+			this.name = name;
+			this.trace = trace;
+		}
+
+		@Override
+		public <T> T intercept(StatementInvocation<T> invocation) throws SQLException {
+			trace.add(name + ":" + invocation.getSql());
+			return invocation.proceed();
+		}
+
+	}
+
+	@Test
+	public void testChain() throws Exception {
+		final List<String> trace = new ArrayList<>();
+		final DataSource basic = TestDataSources.build("testint1");
+
+		DataSource ds = StatementInterceptor.install(basic, new RecordingInterceptor("a", trace));
+		ds = StatementInterceptor.install(ds, new RecordingInterceptor("b", trace),
+				new RecordingInterceptor("c", trace));
+
+		// single decoration layer
+		assertTrue(ds instanceof InterceptingDataSource);
+		assertSame(basic, ((InterceptingDataSource) ds).getDelegate());
+		assertEquals(3, ((InterceptingDataSource) ds).getInterceptors().size());
+
+		try (Connection c = ds.getConnection()) {
+			try (Statement s = c.createStatement()) {
+				s.execute("CREATE TABLE INT1 (ID INT PRIMARY KEY)");
+			}
+			assertEquals(Arrays.asList("b:CREATE TABLE INT1 (ID INT PRIMARY KEY)",
+					"c:CREATE TABLE INT1 (ID INT PRIMARY KEY)", "a:CREATE TABLE INT1 (ID INT PRIMARY KEY)"), trace);
+			trace.clear();
+
+			try (PreparedStatement ps = c.prepareStatement("INSERT INTO INT1 VALUES (?)")) {
+				ps.setInt(1, 1);
+				assertEquals(1, ps.executeUpdate());
+			}
+			assertEquals(3, trace.size());
+			assertTrue(trace.stream().allMatch(t -> t.endsWith(":INSERT INTO INT1 VALUES (?)")));
+		}
+	}
+
+	@Test
+	public void testInvocation() throws Exception {
+		final List<Statement> statements = new ArrayList<>();
+		final List<Connection> connections = new ArrayList<>();
+		final DataSource basic = TestDataSources.build("testint2");
+		final DataSource ds = StatementInterceptor.install(basic, new StatementInterceptor() {
+
+			@Override
+			public <T> T intercept(StatementInvocation<T> invocation) throws SQLException {
+				statements.add(invocation.getStatement());
+				connections.add(invocation.getConnection());
+				if (invocation.getSql() != null && invocation.getSql().startsWith("DROP")) {
+					throw new SQLException("Prevented");
+				}
+				return invocation.proceed();
+			}
+
+		});
+
+		try (Connection c = ds.getConnection(); Statement s = c.createStatement()) {
+			try (ResultSet rs = s.executeQuery("SELECT 1")) {
+				assertTrue(rs.next());
+				assertEquals(1, rs.getInt(1));
+				assertSame(s, rs.getStatement());
+			}
+			assertTrue(s.execute("SELECT 2"));
+			try (ResultSet rs = s.getResultSet()) {
+				assertSame(s, rs.getStatement());
+			}
+			assertSame(s, statements.get(0));
+			assertSame(c, connections.get(0));
+			assertSame(c, s.getConnection());
+
+			assertThrows(SQLException.class, () -> s.execute("DROP ALL OBJECTS"));
+		}
+	}
+
+	@Test
+	public void testExecutionTime() throws Exception {
+		final List<Long> before = new ArrayList<>();
+		final List<Long> after = new ArrayList<>();
+		final DataSource ds = StatementInterceptor.install(TestDataSources.build("testintt"),
+				new StatementInterceptor() {
+
+					@Override
+					public boolean isExecutionTimeRequired() {
+						return true;
+					}
+
+					@Override
+					public <T> T intercept(StatementInvocation<T> invocation) throws SQLException {
+						before.add(invocation.getExecutionTime());
+						try {
+							return invocation.proceed();
+						} finally {
+							after.add(invocation.getExecutionTime());
+						}
+					}
+
+				});
+
+		try (Connection c = ds.getConnection(); Statement s = c.createStatement()) {
+			s.execute("SELECT 1");
+			assertThrows(SQLException.class, () -> s.execute("SELECT * FROM NOT_EXISTING"));
+		}
+		assertEquals(2, after.size());
+		assertTrue(before.stream().allMatch(t -> t == -1L));
+		assertTrue(after.stream().allMatch(t -> t >= 0L));
+
+		final List<Long> notRequired = new ArrayList<>();
+		final DataSource ds2 = StatementInterceptor.install(TestDataSources.build("testintt2"),
+				new StatementInterceptor() {
+
+					@Override
+					public <T> T intercept(StatementInvocation<T> invocation) throws SQLException {
+						try {
+							return invocation.proceed();
+						} finally {
+							notRequired.add(invocation.getExecutionTime());
+						}
+					}
+
+				});
+		try (Connection c = ds2.getConnection(); Statement s = c.createStatement()) {
+			s.execute("SELECT 1");
+		}
+		assertEquals(Arrays.asList(-1L), notRequired);
+	}
+
+	@Test
+	public void testUnwrap() throws Exception {
+		final DataSource basic = TestDataSources.build("testint3");
+		final DataSource ds = StatementInterceptor.install(basic, new StatementInterceptor() {
+
+			@Override
+			public <T> T intercept(StatementInvocation<T> invocation) throws SQLException {
+				return invocation.proceed();
+			}
+
+		});
+		assertTrue(ds.isWrapperFor(BasicDataSource.class));
+		assertFalse(ds.isWrapperFor(String.class));
+
+		try (Connection c = ds.getConnection(); Statement s = c.createStatement()) {
+			assertTrue(c.isWrapperFor(org.h2.jdbc.JdbcConnection.class));
+			assertTrue(c.unwrap(org.h2.jdbc.JdbcConnection.class) instanceof org.h2.jdbc.JdbcConnection);
+			assertTrue(s.isWrapperFor(org.h2.jdbc.JdbcStatement.class));
+			assertTrue(s.unwrap(org.h2.jdbc.JdbcStatement.class) instanceof org.h2.jdbc.JdbcStatement);
+		}
+	}
+
+	@Test
+	public void testParameters() throws Exception {
+		final List<Object[]> parameters = new ArrayList<>();
+		DataSource ds = StatementInterceptor.install(TestDataSources.build("testint4"), new StatementInterceptor() {
+
+			@Override
+			public <T> T intercept(StatementInvocation<T> invocation) throws SQLException {
+				parameters.add(invocation.getParameters());
+				return invocation.proceed();
+			}
+
+		});
+
+		try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement("SELECT ?, ?")) {
+			ps.setInt(1, 1);
+			ps.setString(2, "a");
+			ps.executeQuery().close();
+		}
+		// not captured when not required
+		assertNull(parameters.get(0));
+		parameters.clear();
+
+		ds = StatementInterceptor.install(ds, new StatementInterceptor() {
+
+			@Override
+			public boolean isParametersCaptureRequired() {
+				return true;
+			}
+
+			@Override
+			public <T> T intercept(StatementInvocation<T> invocation) throws SQLException {
+				return invocation.proceed();
+			}
+
+		});
+
+		try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement("SELECT ?, ?")) {
+			ps.setInt(1, 1);
+			ps.setString(2, "a");
+			ps.executeQuery().close();
+			ps.clearParameters();
+			ps.setInt(1, 2);
+			ps.setNull(2, java.sql.Types.VARCHAR);
+			ps.executeQuery().close();
+		}
+		assertArrayEquals(new Object[] { 1, "a" }, parameters.get(0));
+		assertArrayEquals(new Object[] { 2, null }, parameters.get(1));
+	}
+
+	@Test
+	public void testSingleChain() throws Exception {
+		final DataSource ds = TestDataSources.build("testintc", "statistics.enabled", "true", "statistics.jmx-enabled",
+				"false", "statistics.statements.enabled", "true", "metrics.enabled", "true", "jfr.enabled", "true",
+				"slow-query-log.enabled", "true", "tracing.enabled", "true", "concurrency-limit.enabled", "true",
+				"rate-limit.statements-per-second", "1000");
+
+		// a single connection and statement decoration layer
+		assertTrue(ds instanceof InterceptingDataSource);
+		final InterceptingDataSource intercepting = (InterceptingDataSource) ds;
+		assertEquals(6, intercepting.getInterceptors().size());
+		assertFalse(intercepting.getDelegate().isWrapperFor(InterceptingDataSource.class));
+
+		assertTrue(DataSourceStatistics.get(ds).isPresent());
+		assertTrue(DataSourceMetrics.get(ds).isPresent());
+		assertTrue(JdbcTracing.get(ds).isPresent());
+		assertTrue(RateLimiter.get(ds).isPresent());
+
+		try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement("SELECT ?")) {
+			ps.setInt(1, 1);
+			try (ResultSet rs = ps.executeQuery()) {
+				assertTrue(rs.next());
+				assertSame(ps, rs.getStatement());
+			}
+		}
+		assertEquals(1, DataSourceMetrics.get(ds).get().getSnapshot(DataSourceMetrics.Metric.STATEMENT).getCount());
+	}
+
+}
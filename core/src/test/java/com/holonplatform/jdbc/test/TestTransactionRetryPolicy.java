@@ -0,0 +1,156 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.datastore.transaction.TransactionConfiguration;
+import com.holonplatform.core.datastore.transaction.TransactionStatus.TransactionException;
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.DatabasePlatform;
+import com.holonplatform.jdbc.transaction.JdbcTransactionManager;
+import com.holonplatform.jdbc.transaction.JdbcTransactionOptions;
+import com.holonplatform.jdbc.transaction.TransactionRetryPolicy;
+
+public class TestTransactionRetryPolicy {
+
+	@Test
+	public void testRetryable() {
+		final TransactionRetryPolicy policy = TransactionRetryPolicy.create();
+
+		assertTrue(policy.isRetryable(new SQLException("serialization", "40001"), null));
+		assertTrue(policy.isRetryable(new SQLTransactionRollbackException("deadlock", "40P01"), DatabasePlatform.H2));
+		assertFalse(policy.isRetryable(new SQLTransactionRollbackException("integrity", "40002"), DatabasePlatform.H2));
+		assertFalse(policy.isRetryable(new SQLTransactionRollbackException("rollback"), DatabasePlatform.H2));
+		assertTrue(policy.isRetryable(new SQLException("deadlock", "40P01"), DatabasePlatform.POSTGRESQL));
+		assertFalse(policy.isRetryable(new SQLException("deadlock", "40P01"), DatabasePlatform.ORACLE));
+		assertTrue(policy.isRetryable(new SQLException("deadlock", "HY000", 1213), DatabasePlatform.MYSQL));
+		assertFalse(policy.isRetryable(new SQLException("deadlock", "HY000", 1213), DatabasePlatform.ORACLE));
+		assertTrue(policy.isRetryable(new SQLException("deadlock", "61000", 60), DatabasePlatform.ORACLE));
+		assertFalse(policy.isRetryable(new SQLException("constraint", "23505"), DatabasePlatform.POSTGRESQL));
+		assertFalse(policy.isRetryable(new IllegalStateException("test"), DatabasePlatform.POSTGRESQL));
+
+		// causes
+		assertTrue(policy.isRetryable(
+				new TransactionException("failed", new RuntimeException(new SQLException("serialization", "40001"))),
+				null));
+		final SQLException chained = new SQLException("batch", "HY000");
+		chained.setNextException(new SQLException("deadlock", "HY000", 1205));
+		assertTrue(policy.isRetryable(chained, DatabasePlatform.SQL_SERVER));
+
+		// custom
+		final TransactionRetryPolicy custom = TransactionRetryPolicy.builder().includeDefaults(false)
+				.retryableSqlStates(DatabasePlatform.NONE, "57014")
+				.retryableErrorCodes(DatabasePlatform.POSTGRESQL, 123).build();
+		assertFalse(custom.isRetryable(new SQLException("serialization", "40001"), DatabasePlatform.POSTGRESQL));
+		assertFalse(custom.isRetryable(new SQLTransactionRollbackException("deadlock", "40P01"), DatabasePlatform.H2));
+		assertTrue(custom.isRetryable(new SQLException("cancel", "57014"), DatabasePlatform.H2));
+		assertTrue(custom.isRetryable(new SQLException("custom", "HY000", 123), DatabasePlatform.POSTGRESQL));
+	}
+
+	@Test
+	public void testBackoff() {
+		final TransactionRetryPolicy policy = TransactionRetryPolicy.builder().maxAttempts(5).backoff(100, 300)
+				.build();
+		assertEquals(5, policy.getMaxAttempts());
+		for (int i = 0; i < 20; i++) {
+			long backoff = policy.getBackoff(2);
+			assertTrue(backoff >= 50 && backoff <= 100);
+			backoff = policy.getBackoff(3);
+			assertTrue(backoff >= 100 && backoff <= 200);
+			backoff = policy.getBackoff(10);
+			assertTrue(backoff >= 150 && backoff <= 300);
+		}
+		assertThrows(IllegalArgumentException.class, () -> TransactionRetryPolicy.builder().maxAttempts(0));
+		assertThrows(IllegalArgumentException.class, () -> TransactionRetryPolicy.builder().backoff(10, 5));
+	}
+
+	@Test
+	public void testExecute() {
+		final TransactionRetryPolicy policy = TransactionRetryPolicy.builder().maxAttempts(3).backoff(1, 2).build();
+
+		final AtomicInteger attempts = new AtomicInteger();
+		assertEquals("done", policy.execute(DatabasePlatform.H2, () -> {
+			if (attempts.incrementAndGet() < 3) {
+				throw new TransactionException("failed", new SQLException("serialization", "40001"));
+			}
+			return "done";
+		}));
+		assertEquals(3, attempts.get());
+
+		attempts.set(0);
+		assertThrows(TransactionException.class, () -> policy.execute(DatabasePlatform.H2, () -> {
+			attempts.incrementAndGet();
+			throw new TransactionException("failed", new SQLException("serialization", "40001"));
+		}));
+		assertEquals(3, attempts.get());
+
+		attempts.set(0);
+		assertThrows(IllegalStateException.class, () -> policy.execute(DatabasePlatform.H2, () -> {
+			attempts.incrementAndGet();
+			throw new IllegalStateException("not retryable");
+		}));
+		assertEquals(1, attempts.get());
+	}
+
+	@Test
+	public void testTransactionManager() {
+		Properties props = new Properties();
+		props.put("holon.datasource.trp.type", DataSourceBuilder.TYPE_BASIC);
+		props.put("holon.datasource.trp.url", "jdbc:h2:mem:testtrp");
+		props.put("holon.datasource.trp.username", "sa");
+		final DataSource dataSource = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("trp").withPropertySource(props).build());
+
+		final JdbcTransactionManager manager = JdbcTransactionManager.create(dataSource);
+		final TransactionConfiguration configuration = TransactionConfiguration.create(true, true,
+				JdbcTransactionOptions.builder()
+						.retryPolicy(TransactionRetryPolicy.builder().maxAttempts(2).backoff(1, 1).build()).build());
+
+		final AtomicInteger attempts = new AtomicInteger();
+		final AtomicInteger innerAttempts = new AtomicInteger();
+		final Integer result = manager.withTransaction(tx -> {
+			// the inner transaction retry policy is not applied
+			assertThrows(TransactionException.class, () -> manager.withTransaction(inner -> {
+				innerAttempts.incrementAndGet();
+				throw new TransactionException("failed", new SQLException("deadlock", "40001"));
+			}, configuration));
+			tx.setRollbackOnly();
+			if (attempts.incrementAndGet() < 2) {
+				throw new TransactionException("failed", new SQLException("deadlock", "40001"));
+			}
+			return attempts.get();
+		}, configuration);
+
+		assertEquals(Integer.valueOf(2), result);
+		assertEquals(2, innerAttempts.get());
+		assertFalse(manager.isTransactionActive());
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Properties;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.WorkloadProfile;
+import com.zaxxer.hikari.HikariDataSource;
+
+public class TestWorkloadProfile {
+
+	private static DataSourceConfigProperties config(String type, String db, String profile, String... properties) {
+		Properties props = new Properties();
+		props.put("holon.datasource.type", type);
+		props.put("holon.datasource.url", "jdbc:h2:mem:" + db);
+		props.put("holon.datasource.username", "sa");
+		if (profile != null) {
+			props.put("holon.datasource.workload-profile", profile);
+		}
+		for (int i = 0; i < properties.length; i += 2) {
+			props.put("holon.datasource." + properties[i], properties[i + 1]);
+		}
+		return DataSourceConfigProperties.builder().withPropertySource(props).build();
+	}
+
+	@Test
+	public void testConfiguration() {
+		DataSourceConfigProperties cfg = config(DataSourceBuilder.TYPE_HIKARICP, "testdbwp", "OLTP", "max-pool-size",
+				"20", "statement-timeout", "3");
+		assertEquals(WorkloadProfile.OLTP, cfg.getWorkloadProfile().orElse(null));
+		assertEquals(20, cfg.getMaxPoolSize());
+		assertEquals(WorkloadProfile.OLTP.getMinPoolSize(), cfg.getMinPoolSize().orElse(null));
+		assertEquals(WorkloadProfile.OLTP.getAcquisitionTimeout(), cfg.getAcquisitionTimeout().orElse(null));
+		assertEquals(WorkloadProfile.OLTP.getFetchSize(), cfg.getFetchSize().orElse(null));
+		assertEquals(3, cfg.getStatementTimeout().orElse(null));
+
+		cfg = config(DataSourceBuilder.TYPE_HIKARICP, "testdbwp", null);
+		assertEquals(DataSourceConfigProperties.DEFAULT_MAX_POOL_SIZE, cfg.getMaxPoolSize());
+		assertFalse(cfg.getAcquisitionTimeout().isPresent());
+		assertFalse(cfg.getFetchSize().isPresent());
+	}
+
+	@Test
+	public void testPools() throws Exception {
+		final WorkloadProfile batch = WorkloadProfile.BATCH;
+
+		try (HikariDataSource ds = DataSourceBuilder.create()
+				.build(config(DataSourceBuilder.TYPE_HIKARICP, "testdbwp1", "BATCH")).unwrap(HikariDataSource.class)) {
+			assertEquals(batch.getMaxPoolSize(), ds.getMaximumPoolSize());
+			assertEquals(batch.getAcquisitionTimeout(), ds.getConnectionTimeout());
+			assertEquals(batch.getIdleTimeout(), ds.getIdleTimeout());
+			assertEquals(batch.getMaxLifetime(), ds.getMaxLifetime());
+		}
+
+		try (BasicDataSource ds = DataSourceBuilder.create()
+				.build(config(DataSourceBuilder.TYPE_DBCP, "testdbwp2", "BATCH")).unwrap(BasicDataSource.class)) {
+			assertEquals(batch.getMaxPoolSize(), ds.getMaxTotal());
+			assertEquals(Duration.ofMillis(batch.getAcquisitionTimeout()), ds.getMaxWaitDuration());
+			assertEquals(Duration.ofMillis(batch.getIdleTimeout()), ds.getMinEvictableIdleDuration());
+			assertEquals(Duration.ofMillis(batch.getMaxLifetime()), ds.getMaxConnDuration());
+		}
+
+		org.apache.tomcat.jdbc.pool.DataSource ds = DataSourceBuilder.create()
+				.build(config(DataSourceBuilder.TYPE_TOMCAT, "testdbwp3", "BATCH", "acquisition-timeout", "1500"))
+				.unwrap(org.apache.tomcat.jdbc.pool.DataSource.class);
+		try {
+			assertEquals(batch.getMaxPoolSize(), ds.getMaxActive());
+			assertEquals(1500, ds.getMaxWait());
+			assertEquals(batch.getIdleTimeout(), ds.getMinEvictableIdleTimeMillis());
+			assertEquals(batch.getMaxLifetime(), ds.getMaxAge());
+		} finally {
+			ds.close();
+		}
+	}
+
+	@Test
+	public void testStatementDefaults() throws SQLException {
+		final DataSource ds = DataSourceBuilder.create()
+				.build(config(DataSourceBuilder.TYPE_BASIC, "testdbwp4", "REPORTING", "fetch-size", "77"));
+		try (Connection c = ds.getConnection()) {
+			try (Statement s = c.createStatement()) {
+				assertEquals(77, s.getFetchSize());
+				assertEquals(WorkloadProfile.REPORTING.getStatementTimeout(), s.getQueryTimeout());
+			}
+			try (PreparedStatement s = c.prepareStatement("SELECT 1")) {
+				assertEquals(77, s.getFetchSize());
+				assertEquals(WorkloadProfile.REPORTING.getStatementTimeout(), s.getQueryTimeout());
+			}
+		}
+	}
+
+}
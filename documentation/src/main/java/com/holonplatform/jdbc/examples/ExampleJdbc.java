@@ -16,19 +16,37 @@
 package com.holonplatform.jdbc.examples;
 
 import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 import javax.sql.DataSource;
 
 import com.holonplatform.core.config.ConfigPropertySet.ConfigurationException;
+import com.holonplatform.core.datastore.transaction.TransactionConfiguration;
+import com.holonplatform.jdbc.ConnectionPriority;
 import com.holonplatform.jdbc.DataSourceBuilder;
 import com.holonplatform.jdbc.DataSourceConfigProperties;
 import com.holonplatform.jdbc.DataSourceFactory;
 import com.holonplatform.jdbc.DataSourcePostProcessor;
 import com.holonplatform.jdbc.DataSourceType;
+import com.holonplatform.jdbc.JdbcConnectionHandler;
+import com.holonplatform.jdbc.JdbcConnectionHandler.ConnectionType;
 import com.holonplatform.jdbc.MultiTenantDataSource;
+import com.holonplatform.jdbc.interceptor.StatementInterceptor;
+import com.holonplatform.jdbc.interceptor.StatementInvocation;
 import com.holonplatform.jdbc.internal.DefaultBasicDataSource;
+import com.holonplatform.jdbc.metrics.DataSourceMetrics;
+import com.holonplatform.jdbc.metrics.DataSourceMetrics.Metric;
+import com.holonplatform.jdbc.resilience.CircuitBreaker;
+import com.holonplatform.jdbc.resilience.CircuitBreaker.State;
+import com.holonplatform.jdbc.resilience.Deadline;
+import com.holonplatform.jdbc.resilience.RateLimiter;
+import com.holonplatform.jdbc.transaction.JdbcTransactionManager;
+import com.holonplatform.jdbc.transaction.JdbcTransactionOptions;
 
 @SuppressWarnings("unused")
 public class ExampleJdbc {
@@ -121,6 +139,112 @@ public class ExampleJdbc {
 		// end::postprocessor[]
 	}
 
+	public void circuitBreaker() {
+		// tag::circuitbreaker[]
+		DataSource dataSource = DataSourceBuilder.create().build(getDataSourceConfigProperties());
+
+		Optional<CircuitBreaker> circuitBreaker = CircuitBreaker.get(dataSource); // <1>
+		circuitBreaker.ifPresent(cb -> cb.addStateChangeListener(event -> { // <2>
+			if (event.getToState() == State.OPEN) {
+				// the circuit is open
+			}
+		}));
+		// end::circuitbreaker[]
+	}
+
+	public void priority() throws SQLException {
+		// tag::priority[]
+		DataSource dataSource = DataSourceBuilder.create().build(getDataSourceConfigProperties());
+
+		ConnectionPriority.call(ConnectionPriority.BATCH, () -> { // <1>
+			try (Connection connection = dataSource.getConnection()) {
+				// batch operations
+			}
+			return null;
+		});
+		// end::priority[]
+	}
+
+	public void deadline() {
+		// tag::deadline[]
+		DataSource dataSource = DataSourceBuilder.create().build(getDataSourceConfigProperties());
+
+		Deadline.run(Deadline.after(2, TimeUnit.SECONDS), () -> { // <1>
+			try (Connection connection = dataSource.getConnection(); // <2>
+					Statement statement = connection.createStatement()) {
+				// ...
+			} catch (SQLException e) {
+				// ...
+			}
+		});
+		// end::deadline[]
+	}
+
+	@SuppressWarnings("resource")
+	public void rateLimit() {
+		// tag::ratelimit[]
+		MultiTenantDataSource dataSource = MultiTenantDataSource.builder().resolver(() -> Optional.of("test"))
+				.provider(tenantId -> new DefaultBasicDataSource())
+				.tenantRateLimit(RateLimiter.Configuration.builder().statementsPerSecond(100) // <1>
+						.mode(RateLimiter.Mode.WAIT).maxWait(1000) // <2>
+						.build())
+				.build();
+		// end::ratelimit[]
+	}
+
+	@SuppressWarnings("serial")
+	// tag::interceptor[]
+	class TimingPostProcessor implements DataSourcePostProcessor {
+
+		private final DataSourceMetrics metrics = DataSourceMetrics.create("timing");
+
+		@Override
+		public void postProcessDataSource(DataSource dataSource, String typeName,
+				DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+			// nothing to do
+		}
+
+		@Override
+		public DataSource decorateDataSource(DataSource dataSource, String typeName,
+				DataSourceConfigProperties configurationProperties) throws ConfigurationException {
+			return StatementInterceptor.install(dataSource, new StatementInterceptor() { // <1>
+
+				@Override
+				public <T> T intercept(StatementInvocation<T> invocation) throws SQLException {
+					final long start = System.nanoTime();
+					try {
+						return invocation.proceed(); // <2>
+					} finally {
+						metrics.record(Metric.STATEMENT, System.nanoTime() - start); // <3>
+					}
+				}
+
+			});
+		}
+
+	}
+	// end::interceptor[]
+
+	public void transactionManager() {
+		// tag::txmanager[]
+		DataSource dataSource = buildTheDataSourceInstance();
+		JdbcTransactionManager transactionManager = JdbcTransactionManager.create(dataSource); // <1>
+		JdbcConnectionHandler connectionHandler = JdbcConnectionHandler.create();
+
+		transactionManager.withTransaction(tx -> { // <2>
+			try {
+				Connection connection = connectionHandler.getConnection(dataSource, ConnectionType.DEFAULT); // <3>
+				// ...
+				transactionManager.withTransaction(nested -> { // <4>
+					// ...
+				}, TransactionConfiguration.create(true, true, JdbcTransactionOptions.nested()));
+			} catch (SQLException e) {
+				throw new RuntimeException(e);
+			}
+		}, TransactionConfiguration.withAutoCommit());
+		// end::txmanager[]
+	}
+
 	private static DataSource buildTheDataSourceInstance() {
 		return null;
 	}
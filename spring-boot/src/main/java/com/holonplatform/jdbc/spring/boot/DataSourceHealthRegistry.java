@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.spring.boot;
+
+import java.util.Map;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.jdbc.MultiTenantDataSource;
+import com.holonplatform.jdbc.health.DataSourceHealthCheck;
+import com.holonplatform.jdbc.health.DataSourceHealthCheck.Result;
+
+/**
+ * Registry of the cached {@link DataSourceHealthCheck}s of the {@link DataSource} beans, registered by the
+ * {@link DataSourcesHealthAutoConfiguration} auto-configuration.
+ * <p>
+ * A health check is registered for each DataSource bean, using the bean name as health check name. For a
+ * {@link MultiTenantDataSource}, a health check is registered for each tenant DataSource resolved so far, using the
+ * <code>[bean name]/[tenant id]</code> name.
+ * </p>
+ * <p>
+ * The registry is meant to back the health endpoint or the probes of the application: the health results are cached
+ * and refreshed asynchronously, so querying the registry never accesses the database. The health checks probe the
+ * undecorated DataSources, bypassing the DataSource decorators such as the rate limiter, the circuit breaker and the
+ * concurrency limiter.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface DataSourceHealthRegistry {
+
+	/**
+	 * Get the last available health check results of all the registered DataSources, triggering the asynchronous
+	 * refresh of the expired ones.
+	 * @return The health check results, keyed by health check name
+	 */
+	Map<String, Result> getHealth();
+
+	/**
+	 * Get the health check with given name, if available.
+	 * @param name The health check name (not null)
+	 * @return Optional health check
+	 */
+	Optional<DataSourceHealthCheck> getHealthCheck(String name);
+
+}
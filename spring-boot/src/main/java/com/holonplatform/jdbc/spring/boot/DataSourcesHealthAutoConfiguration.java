@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.spring.boot;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.holonplatform.jdbc.health.DataSourceHealthCheck;
+import com.holonplatform.jdbc.spring.boot.internal.DataSourcesHealthContributor;
+import com.holonplatform.jdbc.spring.boot.internal.DefaultDataSourceHealthRegistry;
+
+/**
+ * Spring boot auto-configuration to register a {@link DataSourceHealthRegistry} bean, which provides the cached health
+ * checks of the {@link DataSource} beans.
+ * <p>
+ * The following configuration properties are supported:
+ * <ul>
+ * <li><code>holon.jdbc.health.enabled</code>: whether to register the health registry. Default is
+ * <code>true</code>.</li>
+ * <li><code>holon.jdbc.health.refresh-interval</code>: the health check results refresh interval in milliseconds.
+ * Default is {@link DataSourceHealthCheck#DEFAULT_REFRESH_INTERVAL}.</li>
+ * <li><code>holon.jdbc.health.validation-timeout</code>: the connection validation timeout in seconds. Default is
+ * {@link DataSourceHealthCheck#DEFAULT_VALIDATION_TIMEOUT}.</li>
+ * </ul>
+ * <p>
+ * When the Spring Boot actuator is available in classpath, a {@link CompositeHealthContributor} backed by the
+ * registry health checks is registered as <code>dbHealthContributor</code>, replacing the default Spring Boot
+ * DataSources health contributor, so that the health endpoint reports the cached results of the health checks, which
+ * probe the undecorated DataSources.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+@AutoConfiguration
+@AutoConfigureAfter(DataSourcesAutoConfiguration.class)
+@AutoConfigureBefore(name = "org.springframework.boot.actuate.autoconfigure.jdbc."
+		+ "DataSourceHealthContributorAutoConfiguration")
+@ConditionalOnBean(DataSource.class)
+@ConditionalOnProperty(prefix = "holon.jdbc.health", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourcesHealthAutoConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean
+	public DataSourceHealthRegistry dataSourceHealthRegistry(Map<String, DataSource> dataSources,
+			Environment environment) {
+		return new DefaultDataSourceHealthRegistry(dataSources,
+				environment.getProperty("holon.jdbc.health.refresh-interval", Long.class,
+						DataSourceHealthCheck.DEFAULT_REFRESH_INTERVAL),
+				environment.getProperty("holon.jdbc.health.validation-timeout", Integer.class,
+						DataSourceHealthCheck.DEFAULT_VALIDATION_TIMEOUT));
+	}
+
+	@ConditionalOnClass(CompositeHealthContributor.class)
+	@Configuration
+	static class HealthContributorConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean(name = "dbHealthContributor")
+		public CompositeHealthContributor dbHealthContributor(DataSourceHealthRegistry dataSourceHealthRegistry) {
+			return new DataSourcesHealthContributor(dataSourceHealthRegistry);
+		}
+
+	}
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.spring.boot;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+import com.holonplatform.jdbc.spring.boot.internal.DataSourcesMeterBinder;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Spring boot auto-configuration to register a Micrometer {@link MeterBinder} bean, which binds the pool statistics
+ * and the latency metrics of the {@link DataSource} beans for which the statistics or the metrics collection is
+ * enabled. The auto-configuration is enabled only when Micrometer is available in classpath.
+ * <p>
+ * The following configuration properties are supported:
+ * <ul>
+ * <li><code>holon.jdbc.micrometer.enabled</code>: whether to register the meter binder. Default is
+ * <code>true</code>.</li>
+ * </ul>
+ * 
+ * @since 6.0.3
+ */
+@AutoConfiguration
+@AutoConfigureAfter(DataSourcesAutoConfiguration.class)
+@ConditionalOnClass(MeterBinder.class)
+@ConditionalOnBean(DataSource.class)
+@ConditionalOnProperty(prefix = "holon.jdbc.micrometer", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourcesMetricsAutoConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean(name = "dataSourcesMeterBinder")
+	public MeterBinder dataSourcesMeterBinder(Map<String, DataSource> dataSources) {
+		return new DataSourcesMeterBinder(dataSources);
+	}
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.spring.boot.internal;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.NamedContributor;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.health.DataSourceHealthCheck.Result;
+import com.holonplatform.jdbc.health.DataSourceHealthCheck.Status;
+import com.holonplatform.jdbc.spring.boot.DataSourceHealthRegistry;
+
+/**
+ * A Spring Boot actuator {@link CompositeHealthContributor} backed by the cached health checks of a
+ * {@link DataSourceHealthRegistry}.
+ * <p>
+ * A {@link HealthIndicator} is provided for each DataSource bean, using the bean name. For a multi tenant DataSource, a
+ * nested composite contributor provides a {@link HealthIndicator} for each tenant DataSource resolved so far, using the
+ * tenant id. The health indicators return the last available health check results, so the health endpoint never
+ * accesses the database.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class DataSourcesHealthContributor implements CompositeHealthContributor {
+
+	/**
+	 * Health registry
+	 */
+	private final DataSourceHealthRegistry registry;
+
+	/**
+	 * Health check names prefix, empty for the DataSource beans
+	 */
+	private final String prefix;
+
+	/**
+	 * Constructor.
+	 * @param registry Health registry (not null)
+	 */
+	public DataSourcesHealthContributor(DataSourceHealthRegistry registry) {
+		this(registry, "");
+	}
+
+	/**
+	 * Constructor.
+	 * @param registry Health registry (not null)
+	 * @param prefix Health check names prefix
+	 */
+	private DataSourcesHealthContributor(DataSourceHealthRegistry registry, String prefix) {
+		super();
+		ObjectUtils.argumentNotNull(registry, "Health registry must be not null");
+		this.registry = registry;
+		this.prefix = prefix;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.boot.actuate.health.NamedContributors#getContributor(java.lang.String)
+	 */
+	@Override
+	public HealthContributor getContributor(String name) {
+		return getContributors().get(name);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Iterable#iterator()
+	 */
+	@Override
+	public Iterator<NamedContributor<HealthContributor>> iterator() {
+		final List<NamedContributor<HealthContributor>> contributors = new ArrayList<>();
+		getContributors().forEach((name, contributor) -> contributors.add(NamedContributor.of(name, contributor)));
+		return contributors.iterator();
+	}
+
+	/**
+	 * Get the contributors of the health checks with the names prefix of this contributor: a health indicator for each
+	 * health check and a nested composite contributor for each multi tenant DataSource.
+	 * @return The contributors by name
+	 */
+	private Map<String, HealthContributor> getContributors() {
+		final Map<String, HealthContributor> contributors = new LinkedHashMap<>();
+		registry.getHealth().keySet().forEach(healthCheckName -> {
+			if (healthCheckName.startsWith(prefix)) {
+				final String name = healthCheckName.substring(prefix.length());
+				final int separator = name.indexOf('/');
+				if (separator < 0) {
+					contributors.put(name, new DataSourceHealthIndicator(registry, healthCheckName));
+				} else {
+					final String group = name.substring(0, separator);
+					contributors.computeIfAbsent(group,
+							g -> new DataSourcesHealthContributor(registry, prefix + g + "/"));
+				}
+			}
+		});
+		return contributors;
+	}
+
+	/**
+	 * A {@link HealthIndicator} which reports the last available result of a health check.
+	 */
+	private static final class DataSourceHealthIndicator implements HealthIndicator {
+
+		private final DataSourceHealthRegistry registry;
+		private final String name;
+
+		DataSourceHealthIndicator(DataSourceHealthRegistry registry, String name) {
+			super();
+			this.registry = registry;
+			this.name = name;
+		}
+
+		@Override
+		public Health health() {
+			return registry.getHealthCheck(name).map(c -> toHealth(c.getResult())).orElseGet(() -> Health.unknown()
+					.withDetail("error", "Health check not available").build());
+		}
+
+		private static Health toHealth(Result result) {
+			final Health.Builder builder;
+			if (result.getStatus() == Status.UP) {
+				builder = Health.up();
+			} else if (result.getStatus() == Status.DOWN) {
+				builder = Health.down();
+			} else {
+				return Health.unknown().build();
+			}
+			builder.withDetail("responseTime", result.getResponseTime());
+			builder.withDetail("timestamp", result.getTimestamp());
+			result.getError().ifPresent(e -> builder.withDetail("error", e));
+			return builder.build();
+		}
+
+	}
+
+}
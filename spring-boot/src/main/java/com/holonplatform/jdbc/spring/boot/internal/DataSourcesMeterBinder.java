@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.spring.boot.internal;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.DataSourceStatistics;
+import com.holonplatform.jdbc.metrics.DataSourceMetrics;
+import com.holonplatform.jdbc.metrics.DataSourceMetrics.Metric;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * A Micrometer {@link MeterBinder} which binds the pool statistics and the latency metrics of the DataSource beans.
+ * <p>
+ * For each DataSource with the {@link DataSourceStatistics} enabled, the connections count gauges and the acquisition
+ * counters are registered. For each DataSource with the {@link DataSourceMetrics} enabled, a timer is registered for
+ * each {@link Metric}, recorded through a {@link com.holonplatform.jdbc.metrics.MetricsRecorder}. All the meters are
+ * tagged with the DataSource bean name, using the <code>name</code> tag.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class DataSourcesMeterBinder implements MeterBinder {
+
+	/**
+	 * Meter names prefix
+	 */
+	private static final String PREFIX = "holon.jdbc.";
+
+	/**
+	 * DataSources by name
+	 */
+	private final Map<String, DataSource> dataSources;
+
+	/**
+	 * Constructor.
+	 * @param dataSources DataSources by name (not null)
+	 */
+	public DataSourcesMeterBinder(Map<String, DataSource> dataSources) {
+		super();
+		ObjectUtils.argumentNotNull(dataSources, "DataSources must be not null");
+		this.dataSources = new TreeMap<>(dataSources);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see io.micrometer.core.instrument.binder.MeterBinder#bindTo(io.micrometer.core.instrument.MeterRegistry)
+	 */
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		dataSources.forEach((name, dataSource) -> {
+			final Tags tags = Tags.of("name", name);
+			DataSourceStatistics.get(dataSource).ifPresent(statistics -> bindStatistics(registry, statistics, tags));
+			DataSourceMetrics.get(dataSource).ifPresent(metrics -> bindMetrics(registry, metrics, tags));
+		});
+	}
+
+	/**
+	 * Bind the pool statistics.
+	 * @param registry Meter registry
+	 * @param statistics DataSource statistics
+	 * @param tags Meter tags
+	 */
+	private static void bindStatistics(MeterRegistry registry, DataSourceStatistics statistics, Tags tags) {
+		Gauge.builder(PREFIX + "connections.active", statistics, s -> s.getActiveConnections()).tags(tags)
+				.description("The number of connections in use").register(registry);
+		Gauge.builder(PREFIX + "connections.idle", statistics, s -> s.getIdleConnections()).tags(tags)
+				.description("The number of idle connections").register(registry);
+		Gauge.builder(PREFIX + "connections.pending", statistics, s -> s.getPendingRequests()).tags(tags)
+				.description("The number of threads waiting for a connection").register(registry);
+		Gauge.builder(PREFIX + "connections.total", statistics, s -> s.getTotalConnections()).tags(tags)
+				.description("The total number of connections").register(registry);
+		FunctionCounter.builder(PREFIX + "connections.acquired", statistics, s -> s.getAcquisitionCount())
+				.tags(tags).description("The number of connections acquired").register(registry);
+		FunctionCounter.builder(PREFIX + "connections.failed", statistics, s -> s.getFailedAcquisitionCount())
+				.tags(tags).description("The number of failed connection acquisitions").register(registry);
+	}
+
+	/**
+	 * Bind the latency metrics, registering a timer for each metric.
+	 * @param registry Meter registry
+	 * @param metrics DataSource metrics
+	 * @param tags Meter tags
+	 */
+	private static void bindMetrics(MeterRegistry registry, DataSourceMetrics metrics, Tags tags) {
+		final Map<Metric, Timer> timers = new EnumMap<>(Metric.class);
+		timers.put(Metric.ACQUISITION, Timer.builder(PREFIX + "connections.acquire").tags(tags)
+				.description("The time spent to obtain a connection").register(registry));
+		timers.put(Metric.LEASE, Timer.builder(PREFIX + "connections.usage").tags(tags)
+				.description("The time from the connection acquisition to the connection release").register(registry));
+		timers.put(Metric.STATEMENT, Timer.builder(PREFIX + "statements").tags(tags)
+				.description("The statement execution time").register(registry));
+		metrics.addRecorder((name, metric, nanos) -> timers.get(metric).record(nanos, TimeUnit.NANOSECONDS));
+	}
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.spring.boot.internal;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.MultiTenantDataSource;
+import com.holonplatform.jdbc.health.DataSourceHealthCheck;
+import com.holonplatform.jdbc.health.DataSourceHealthCheck.Result;
+import com.holonplatform.jdbc.internal.DelegatingDataSource;
+import com.holonplatform.jdbc.spring.boot.DataSourceHealthRegistry;
+
+/**
+ * Default {@link DataSourceHealthRegistry} implementation.
+ * <p>
+ * The health checks probe the undecorated DataSource, obtained walking the {@link DelegatingDataSource} decorators
+ * chain, so that a health probe does not consume the rate limiter, circuit breaker or concurrency limiter permits of
+ * the application and it is not accounted in the DataSource statistics and metrics.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public class DefaultDataSourceHealthRegistry implements DataSourceHealthRegistry {
+
+	/**
+	 * DataSources by name
+	 */
+	private final Map<String, DataSource> dataSources;
+
+	/**
+	 * Refresh interval in milliseconds
+	 */
+	private final long refreshInterval;
+
+	/**
+	 * Validation timeout in seconds
+	 */
+	private final int validationTimeout;
+
+	/**
+	 * Health checks by name
+	 */
+	private final ConcurrentMap<String, DataSourceHealthCheck> healthChecks = new ConcurrentHashMap<>();
+
+	/**
+	 * Tenant DataSources by health check name, to detect the tenant DataSource resets
+	 */
+	private final ConcurrentMap<String, DataSource> tenantDataSources = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor.
+	 * @param dataSources DataSources by name (not null)
+	 * @param refreshInterval Refresh interval in milliseconds
+	 * @param validationTimeout Validation timeout in seconds
+	 */
+	public DefaultDataSourceHealthRegistry(Map<String, DataSource> dataSources, long refreshInterval,
+			int validationTimeout) {
+		super();
+		ObjectUtils.argumentNotNull(dataSources, "DataSources must be not null");
+		this.dataSources = new TreeMap<>(dataSources);
+		this.refreshInterval = refreshInterval;
+		this.validationTimeout = validationTimeout;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.spring.boot.DataSourceHealthRegistry#getHealth()
+	 */
+	@Override
+	public Map<String, Result> getHealth() {
+		final Map<String, Result> health = new TreeMap<>();
+		dataSources.forEach((name, dataSource) -> {
+			final Optional<MultiTenantDataSource> multiTenant = getMultiTenantDataSource(dataSource);
+			if (multiTenant.isPresent()) {
+				final Map<String, DataSource> tenants = multiTenant.get().getTenantDataSources();
+				// remove the health checks of the reset tenants
+				final String prefix = name + "/";
+				tenantDataSources.forEach((tenantName, tenantDataSource) -> {
+					if (tenantName.startsWith(prefix)
+							&& tenants.get(tenantName.substring(prefix.length())) != tenantDataSource) {
+						tenantDataSources.remove(tenantName, tenantDataSource);
+						healthChecks.remove(tenantName);
+					}
+				});
+				tenants.forEach((tenantId, tenantDataSource) -> {
+					final String tenantName = prefix + tenantId;
+					tenantDataSources.put(tenantName, tenantDataSource);
+					health.put(tenantName, getOrCreate(tenantName, tenantDataSource).getResult());
+				});
+			} else {
+				health.put(name, getOrCreate(name, dataSource).getResult());
+			}
+		});
+		return Collections.unmodifiableMap(health);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.spring.boot.DataSourceHealthRegistry#getHealthCheck(java.lang.String)
+	 */
+	@Override
+	public Optional<DataSourceHealthCheck> getHealthCheck(String name) {
+		ObjectUtils.argumentNotNull(name, "Health check name must be not null");
+		final DataSource dataSource = dataSources.get(name);
+		if (dataSource != null && !getMultiTenantDataSource(dataSource).isPresent()) {
+			return Optional.of(getOrCreate(name, dataSource));
+		}
+		return Optional.ofNullable(healthChecks.get(name));
+	}
+
+	/**
+	 * Get the health check with given name, creating it if not available.
+	 * @param name Health check name
+	 * @param dataSource DataSource
+	 * @return The health check
+	 */
+	private DataSourceHealthCheck getOrCreate(String name, DataSource dataSource) {
+		return healthChecks.computeIfAbsent(name,
+				n -> DataSourceHealthCheck.create(n, getUndecorated(dataSource), refreshInterval, validationTimeout,
+						null));
+	}
+
+	/**
+	 * Get the undecorated DataSource of given DataSource, walking the {@link DelegatingDataSource} decorators chain.
+	 * @param dataSource The DataSource
+	 * @return The undecorated DataSource, given DataSource itself if it is not a decorator
+	 */
+	private static DataSource getUndecorated(DataSource dataSource) {
+		DataSource undecorated = dataSource;
+		while (undecorated instanceof DelegatingDataSource) {
+			undecorated = ((DelegatingDataSource) undecorated).getDelegate();
+		}
+		return undecorated;
+	}
+
+	/**
+	 * Get the {@link MultiTenantDataSource} represented by given DataSource, if any.
+	 * @param dataSource The DataSource
+	 * @return Optional MultiTenantDataSource
+	 */
+	private static Optional<MultiTenantDataSource> getMultiTenantDataSource(DataSource dataSource) {
+		if (dataSource instanceof MultiTenantDataSource) {
+			return Optional.of((MultiTenantDataSource) dataSource);
+		}
+		try {
+			if (dataSource.isWrapperFor(MultiTenantDataSource.class)) {
+				return Optional.of(dataSource.unwrap(MultiTenantDataSource.class));
+			}
+		} catch (SQLException e) {
+			// ignore
+		}
+		return Optional.empty();
+	}
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.spring.boot.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.holonplatform.jdbc.DataSourceStatistics;
+import com.holonplatform.jdbc.exceptions.RateLimitExceededException;
+import com.holonplatform.jdbc.health.DataSourceHealthCheck.Result;
+import com.holonplatform.jdbc.health.DataSourceHealthCheck.Status;
+import com.holonplatform.jdbc.metrics.DataSourceMetrics;
+import com.holonplatform.jdbc.metrics.DataSourceMetrics.Metric;
+import com.holonplatform.jdbc.spring.boot.DataSourceHealthRegistry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+@ActiveProfiles("health")
+public class TestDataSourceHealth {
+
+	@Configuration
+	@EnableAutoConfiguration
+	static class Config {
+
+	}
+
+	@Autowired
+	private DataSourceHealthRegistry healthRegistry;
+
+	@Autowired
+	@Qualifier("dbHealthContributor")
+	private CompositeHealthContributor healthContributor;
+
+	@Autowired
+	private MeterBinder meterBinder;
+
+	@Autowired
+	@Qualifier("two")
+	private DataSource dataSource;
+
+	@Test
+	public void testHealth() {
+		assertNotNull(healthRegistry);
+
+		final Map<String, Result> health = healthRegistry.getHealth();
+		assertEquals(2, health.size());
+
+		for (String name : health.keySet()) {
+			assertTrue(healthRegistry.getHealthCheck(name).isPresent());
+			assertEquals(Status.UP, healthRegistry.getHealthCheck(name).get().check().getStatus());
+		}
+	}
+
+	@Test
+	public void testUndecoratedProbe() throws SQLException {
+		// exhaust the rate limiter of the decorated DataSource
+		assertThrows(RateLimitExceededException.class, () -> {
+			for (int i = 0; i < 3; i++) {
+				dataSource.getConnection().close();
+			}
+		});
+		final long acquisitions = DataSourceStatistics.get(dataSource).get().getAcquisitionCount();
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(Status.UP, healthRegistry.getHealthCheck("dataSource_two").get().check().getStatus());
+		}
+		assertEquals(acquisitions, DataSourceStatistics.get(dataSource).get().getAcquisitionCount());
+	}
+
+	@Test
+	public void testHealthContributor() {
+		assertNotNull(healthContributor);
+		assertEquals(2, healthContributor.stream().count());
+
+		healthRegistry.getHealthCheck("dataSource_one").get().check();
+		final HealthIndicator indicator = (HealthIndicator) healthContributor.getContributor("dataSource_one");
+		assertNotNull(indicator);
+		assertEquals(org.springframework.boot.actuate.health.Status.UP, indicator.health().getStatus());
+		assertTrue(indicator.health().getDetails().containsKey("responseTime"));
+	}
+
+	@Test
+	public void testMeterBinder() {
+		final MeterRegistry registry = new SimpleMeterRegistry();
+		meterBinder.bindTo(registry);
+
+		assertNotNull(registry.find("holon.jdbc.connections.active").tag("name", "dataSource_two").gauge());
+		assertNull(registry.find("holon.jdbc.connections.active").tag("name", "dataSource_one").gauge());
+
+		DataSourceMetrics.get(dataSource).get().record(Metric.STATEMENT, 1000000L);
+		assertEquals(1, registry.get("holon.jdbc.statements").tag("name", "dataSource_two").timer().count());
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.spring;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.holonplatform.jdbc.spring.internal.DefaultChainedTransactionManager;
+
+/**
+ * A Spring {@link PlatformTransactionManager} which coordinates the transactions of multiple {@link DataSource}s,
+ * typically bound to different data contexts, using a <em>best-effort one-phase commit</em> strategy, without XA.
+ * <p>
+ * The DataSources are enlisted lazily: a connection is obtained from a DataSource and its JDBC transaction is started
+ * only when the connection is first requested in the transaction scope, for example using the
+ * {@link org.springframework.jdbc.datasource.DataSourceUtils} or the {@link SpringJdbcConnectionHandler} APIs. At
+ * commit time, the enlisted DataSources are committed in the reverse enlistment order.
+ * </p>
+ * <p>
+ * Since the commits are not atomic, a failure after one or more successful commits leaves the transaction partially
+ * committed: the remaining DataSources are rolled back, a
+ * {@link org.springframework.transaction.HeuristicCompletionException} is thrown and a
+ * {@link ChainedTransactionOutcomeLog.Outcome#PARTIALLY_COMMITTED} outcome record is provided to the configured
+ * {@link ChainedTransactionOutcomeLog}, which can be used to recover or compensate the partial commit.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface ChainedTransactionManager extends PlatformTransactionManager {
+
+	/**
+	 * Get the names of the coordinated DataSources, in the registration order.
+	 * @return The DataSource names
+	 */
+	List<String> getDataSourceNames();
+
+	/**
+	 * Get a builder to create a {@link ChainedTransactionManager}.
+	 * @return A new {@link ChainedTransactionManager} builder
+	 */
+	static Builder builder() {
+		return new DefaultChainedTransactionManager.DefaultBuilder();
+	}
+
+	/**
+	 * {@link ChainedTransactionManager} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Add a DataSource to coordinate.
+		 * @param name The DataSource name, for example the data context id, used in the outcome records (not null)
+		 * @param dataSource The DataSource (not null)
+		 * @return this
+		 */
+		Builder dataSource(String name, DataSource dataSource);
+
+		/**
+		 * Set the transaction outcome log. By default, the outcome records are logged using the JDBC logger.
+		 * @param outcomeLog The outcome log (not null)
+		 * @return this
+		 */
+		Builder outcomeLog(ChainedTransactionOutcomeLog outcomeLog);
+
+		/**
+		 * Build the {@link ChainedTransactionManager}.
+		 * @return A new {@link ChainedTransactionManager}
+		 */
+		ChainedTransactionManager build();
+
+	}
+
+}
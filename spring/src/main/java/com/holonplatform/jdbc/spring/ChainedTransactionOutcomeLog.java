@@ -0,0 +1,127 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.spring;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Outcome log of the {@link ChainedTransactionManager} transactions.
+ * <p>
+ * For each transaction which enlisted at least one DataSource, a {@link Outcome#COMMITTING} record is provided before
+ * the first commit, followed by the completion record. A {@link Outcome#COMMITTING} record without a matching
+ * completion record denotes a transaction whose outcome is unknown, for example because the application stopped
+ * during the commit.
+ * </p>
+ * <p>
+ * The records are provided synchronously by the thread which completes the transaction: implementations should
+ * persist them durably if they are used for recovery, and any exception thrown by the log is ignored.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+@FunctionalInterface
+public interface ChainedTransactionOutcomeLog {
+
+	/**
+	 * Record a transaction outcome.
+	 * @param record The outcome record
+	 */
+	void record(OutcomeRecord record);
+
+	/**
+	 * Transaction outcome.
+	 */
+	public enum Outcome {
+
+		/**
+		 * The commit of the enlisted DataSources is starting.
+		 */
+		COMMITTING,
+
+		/**
+		 * All the enlisted DataSources were committed.
+		 */
+		COMMITTED,
+
+		/**
+		 * All the enlisted DataSources were rolled back.
+		 */
+		ROLLED_BACK,
+
+		/**
+		 * Some of the enlisted DataSources were committed, while the others failed or were rolled back.
+		 */
+		PARTIALLY_COMMITTED;
+
+	}
+
+	/**
+	 * A transaction outcome record.
+	 */
+	public interface OutcomeRecord {
+
+		/**
+		 * Get the transaction id, shared by all the records of the same transaction.
+		 * @return the transaction id
+		 */
+		String getTransactionId();
+
+		/**
+		 * Get the record timestamp, in milliseconds since the epoch.
+		 * @return the record timestamp
+		 */
+		long getTimestamp();
+
+		/**
+		 * Get the transaction outcome.
+		 * @return the outcome
+		 */
+		Outcome getOutcome();
+
+		/**
+		 * Get the names of the enlisted DataSources, in the enlistment order.
+		 * @return the enlisted DataSource names
+		 */
+		List<String> getEnlisted();
+
+		/**
+		 * Get the names of the committed DataSources.
+		 * @return the committed DataSource names
+		 */
+		List<String> getCommitted();
+
+		/**
+		 * Get the names of the rolled back DataSources.
+		 * @return the rolled back DataSource names
+		 */
+		List<String> getRolledBack();
+
+		/**
+		 * Get the names of the DataSources whose commit or rollback failed.
+		 * @return the failed DataSource names
+		 */
+		List<String> getFailed();
+
+		/**
+		 * Get the error which caused the failure, if any.
+		 * @return Optional error
+		 */
+		Optional<Throwable> getError();
+
+	}
+
+}
@@ -0,0 +1,654 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.spring.internal;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.ConnectionHandle;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.HeuristicCompletionException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.ReadOnlyHint;
+import com.holonplatform.jdbc.internal.JdbcLogger;
+import com.holonplatform.jdbc.spring.ChainedTransactionManager;
+import com.holonplatform.jdbc.spring.ChainedTransactionOutcomeLog;
+import com.holonplatform.jdbc.spring.ChainedTransactionOutcomeLog.Outcome;
+import com.holonplatform.jdbc.spring.ChainedTransactionOutcomeLog.OutcomeRecord;
+
+/**
+ * Default {@link ChainedTransactionManager} implementation.
+ * <p>
+ * A lazy {@link ConnectionHolder} is bound to each coordinated DataSource when the transaction begins, so that the
+ * {@link DataSourceUtils} connection lookup enlists the DataSource only when a connection is first requested.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+@SuppressWarnings("serial")
+public class DefaultChainedTransactionManager extends AbstractPlatformTransactionManager
+		implements ChainedTransactionManager {
+
+	private static final Logger LOGGER = JdbcLogger.create();
+
+	/**
+	 * Default outcome log, which uses the JDBC logger
+	 */
+	private static final ChainedTransactionOutcomeLog DEFAULT_OUTCOME_LOG = record -> {
+		if (record.getOutcome() == Outcome.PARTIALLY_COMMITTED) {
+			LOGGER.warn("Chained transaction partially committed: " + record);
+		} else {
+			LOGGER.debug(() -> "Chained transaction outcome: " + record);
+		}
+	};
+
+	/**
+	 * DataSources by name
+	 */
+	private final Map<String, DataSource> dataSources = new LinkedHashMap<>();
+
+	private ChainedTransactionOutcomeLog outcomeLog = DEFAULT_OUTCOME_LOG;
+
+	/**
+	 * Constructor.
+	 */
+	public DefaultChainedTransactionManager() {
+		super();
+	}
+
+	/**
+	 * Add a DataSource to coordinate.
+	 * @param name The DataSource name (not null)
+	 * @param dataSource The DataSource (not null)
+	 */
+	protected void addDataSource(String name, DataSource dataSource) {
+		ObjectUtils.argumentNotNull(name, "DataSource name must be not null");
+		ObjectUtils.argumentNotNull(dataSource, "DataSource must be not null");
+		if (dataSources.containsKey(name)) {
+			throw new IllegalArgumentException("Duplicate DataSource name [" + name + "]");
+		}
+		if (dataSources.containsValue(dataSource)) {
+			throw new IllegalArgumentException("DataSource [" + name + "] is already registered");
+		}
+		dataSources.put(name, dataSource);
+	}
+
+	/**
+	 * Set the transaction outcome log.
+	 * @param outcomeLog The outcome log (not null)
+	 */
+	protected void setOutcomeLog(ChainedTransactionOutcomeLog outcomeLog) {
+		ObjectUtils.argumentNotNull(outcomeLog, "Outcome log must be not null");
+		this.outcomeLog = outcomeLog;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.jdbc.spring.ChainedTransactionManager#getDataSourceNames()
+	 */
+	@Override
+	public List<String> getDataSourceNames() {
+		return Collections.unmodifiableList(new ArrayList<>(dataSources.keySet()));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.transaction.support.AbstractPlatformTransactionManager#doGetTransaction()
+	 */
+	@Override
+	protected Object doGetTransaction() {
+		final Object bound = TransactionSynchronizationManager.getResource(dataSources.values().iterator().next());
+		return new ChainedTransactionObject(
+				(bound instanceof ChainedConnectionHolder) ? ((ChainedConnectionHolder) bound).context : null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * org.springframework.transaction.support.AbstractPlatformTransactionManager#isExistingTransaction(java.lang.Object)
+	 */
+	@Override
+	protected boolean isExistingTransaction(Object transaction) {
+		return ((ChainedTransactionObject) transaction).context != null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.transaction.support.AbstractPlatformTransactionManager#doBegin(java.lang.Object,
+	 * org.springframework.transaction.TransactionDefinition)
+	 */
+	@Override
+	protected void doBegin(Object transaction, TransactionDefinition definition) {
+		final ChainedTransactionContext context = new ChainedTransactionContext(definition);
+		final int timeout = determineTimeout(definition);
+		try {
+			for (Map.Entry<String, DataSource> entry : dataSources.entrySet()) {
+				final ChainedConnectionHolder holder = new ChainedConnectionHolder(context, entry.getKey(),
+						entry.getValue());
+				holder.setSynchronizedWithTransaction(true);
+				if (timeout != TransactionDefinition.TIMEOUT_DEFAULT) {
+					holder.setTimeoutInSeconds(timeout);
+				}
+				TransactionSynchronizationManager.bindResource(entry.getValue(), holder);
+				context.holders.add(holder);
+			}
+		} catch (RuntimeException e) {
+			unbind(context);
+			throw new CannotCreateTransactionException("Failed to begin the chained transaction", e);
+		}
+		((ChainedTransactionObject) transaction).context = context;
+		LOGGER.debug(() -> "Started chained transaction [" + context.id + "]");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.transaction.support.AbstractPlatformTransactionManager#doSuspend(java.lang.Object)
+	 */
+	@Override
+	protected Object doSuspend(Object transaction) {
+		((ChainedTransactionObject) transaction).context = null;
+		final Map<DataSource, Object> suspended = new LinkedHashMap<>();
+		for (DataSource dataSource : dataSources.values()) {
+			final Object resource = TransactionSynchronizationManager.unbindResourceIfPossible(dataSource);
+			if (resource != null) {
+				suspended.put(dataSource, resource);
+			}
+		}
+		return suspended;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.transaction.support.AbstractPlatformTransactionManager#doResume(java.lang.Object,
+	 * java.lang.Object)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	protected void doResume(Object transaction, Object suspendedResources) {
+		((Map<DataSource, Object>) suspendedResources)
+				.forEach((dataSource, resource) -> TransactionSynchronizationManager.bindResource(dataSource, resource));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.transaction.support.AbstractPlatformTransactionManager#doCommit(org.springframework.
+	 * transaction.support.DefaultTransactionStatus)
+	 */
+	@Override
+	protected void doCommit(DefaultTransactionStatus status) {
+		final ChainedTransactionContext context = ((ChainedTransactionObject) status.getTransaction()).context;
+		final List<ChainedConnectionHolder> enlisted = context.getEnlisted();
+		if (enlisted.isEmpty()) {
+			return;
+		}
+		record(context, Outcome.COMMITTING, Collections.emptyList(), Collections.emptyList(),
+				Collections.emptyList(), null);
+
+		final List<String> committed = new ArrayList<>(enlisted.size());
+		// reverse enlistment order
+		for (int i = enlisted.size() - 1; i >= 0; i--) {
+			final ChainedConnectionHolder holder = enlisted.get(i);
+			try {
+				holder.getConnection().commit();
+				committed.add(holder.name);
+			} catch (SQLException | RuntimeException e) {
+				final List<String> failed = new ArrayList<>(2);
+				final List<String> rolledBack = new ArrayList<>(i + 1);
+				if (committed.isEmpty()) {
+					// nothing committed yet: the whole transaction can be rolled back
+					rollback(holder, rolledBack, failed, e);
+				} else {
+					failed.add(holder.name);
+					rollback(holder, new ArrayList<>(1), new ArrayList<>(1), e);
+				}
+				for (int j = i - 1; j >= 0; j--) {
+					rollback(enlisted.get(j), rolledBack, failed, e);
+				}
+				if (committed.isEmpty()) {
+					record(context, Outcome.ROLLED_BACK, committed, rolledBack, failed, e);
+					throw new TransactionSystemException(
+							"Failed to commit the chained transaction DataSource [" + holder.name + "]", e);
+				}
+				record(context, Outcome.PARTIALLY_COMMITTED, committed, rolledBack, failed, e);
+				throw new HeuristicCompletionException(HeuristicCompletionException.STATE_MIXED, e);
+			}
+		}
+		record(context, Outcome.COMMITTED, committed, Collections.emptyList(), Collections.emptyList(), null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.transaction.support.AbstractPlatformTransactionManager#doRollback(org.springframework.
+	 * transaction.support.DefaultTransactionStatus)
+	 */
+	@Override
+	protected void doRollback(DefaultTransactionStatus status) {
+		final ChainedTransactionContext context = ((ChainedTransactionObject) status.getTransaction()).context;
+		final List<ChainedConnectionHolder> enlisted = context.getEnlisted();
+		if (enlisted.isEmpty()) {
+			return;
+		}
+		final List<String> rolledBack = new ArrayList<>(enlisted.size());
+		final List<String> failed = new ArrayList<>(1);
+		Exception error = null;
+		for (int i = enlisted.size() - 1; i >= 0; i--) {
+			final ChainedConnectionHolder holder = enlisted.get(i);
+			try {
+				holder.getConnection().rollback();
+				rolledBack.add(holder.name);
+			} catch (SQLException | RuntimeException e) {
+				failed.add(holder.name);
+				if (error == null) {
+					error = e;
+				} else {
+					error.addSuppressed(e);
+				}
+			}
+		}
+		record(context, Outcome.ROLLED_BACK, Collections.emptyList(), rolledBack, failed, error);
+		if (error != null) {
+			throw new TransactionSystemException("Failed to rollback the chained transaction DataSources " + failed,
+					error);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * org.springframework.transaction.support.AbstractPlatformTransactionManager#doSetRollbackOnly(org.springframework.
+	 * transaction.support.DefaultTransactionStatus)
+	 */
+	@Override
+	protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+		((ChainedTransactionObject) status.getTransaction()).context.holders.forEach(h -> h.setRollbackOnly());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * org.springframework.transaction.support.AbstractPlatformTransactionManager#doCleanupAfterCompletion(java.lang.
+	 * Object)
+	 */
+	@Override
+	protected void doCleanupAfterCompletion(Object transaction) {
+		final ChainedTransactionContext context = ((ChainedTransactionObject) transaction).context;
+		unbind(context);
+		for (ChainedConnectionHolder holder : context.getEnlisted()) {
+			holder.handle.release();
+		}
+		context.holders.forEach(h -> h.clear());
+		LOGGER.debug(() -> "Completed chained transaction [" + context.id + "]");
+	}
+
+	/**
+	 * Rollback the transaction of given connection holder after a commit failure.
+	 * @param holder The connection holder
+	 * @param rolledBack Rolled back DataSource names
+	 * @param failed Failed DataSource names
+	 * @param error The commit failure, to which the rollback failure is added as suppressed exception
+	 */
+	private static void rollback(ChainedConnectionHolder holder, List<String> rolledBack, List<String> failed,
+			Exception error) {
+		try {
+			holder.getConnection().rollback();
+			rolledBack.add(holder.name);
+		} catch (SQLException | RuntimeException e) {
+			failed.add(holder.name);
+			error.addSuppressed(e);
+		}
+	}
+
+	/**
+	 * Unbind the connection holders of given transaction context.
+	 * @param context The transaction context
+	 */
+	private static void unbind(ChainedTransactionContext context) {
+		for (ChainedConnectionHolder holder : context.holders) {
+			if (TransactionSynchronizationManager.getResource(holder.handle.dataSource) == holder) {
+				TransactionSynchronizationManager.unbindResource(holder.handle.dataSource);
+			}
+		}
+	}
+
+	/**
+	 * Provide an outcome record to the outcome log.
+	 * @param context Transaction context
+	 * @param outcome Outcome
+	 * @param committed Committed DataSource names
+	 * @param rolledBack Rolled back DataSource names
+	 * @param failed Failed DataSource names
+	 * @param error Error, may be null
+	 */
+	private void record(ChainedTransactionContext context, Outcome outcome, List<String> committed,
+			List<String> rolledBack, List<String> failed, Throwable error) {
+		final List<String> enlisted = new ArrayList<>(context.enlisted.size());
+		context.enlisted.forEach(h -> enlisted.add(h.name));
+		final OutcomeRecord record = new DefaultOutcomeRecord(context.id, System.currentTimeMillis(), outcome,
+				enlisted, committed, rolledBack, failed, error);
+		try {
+			outcomeLog.record(record);
+		} catch (Exception e) {
+			LOGGER.warn("Failed to record the chained transaction outcome: " + record, e);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultChainedTransactionManager [dataSources=" + dataSources.keySet() + "]";
+	}
+
+	/**
+	 * Chained transaction state, shared by the connection holders.
+	 */
+	private static final class ChainedTransactionContext {
+
+		final String id = UUID.randomUUID().toString();
+
+		final TransactionDefinition definition;
+
+		final List<ChainedConnectionHolder> holders = new ArrayList<>(4);
+
+		/**
+		 * Enlisted holders, in the enlistment order
+		 */
+		final List<ChainedConnectionHolder> enlisted = new ArrayList<>(4);
+
+		ChainedTransactionContext(TransactionDefinition definition) {
+			super();
+			this.definition = definition;
+		}
+
+		List<ChainedConnectionHolder> getEnlisted() {
+			return enlisted;
+		}
+
+	}
+
+	/**
+	 * Chained transaction object.
+	 */
+	private static final class ChainedTransactionObject implements SmartTransactionObject {
+
+		ChainedTransactionContext context;
+
+		ChainedTransactionObject(ChainedTransactionContext context) {
+			super();
+			this.context = context;
+		}
+
+		@Override
+		public boolean isRollbackOnly() {
+			return context != null && context.holders.stream().anyMatch(h -> h.isRollbackOnly());
+		}
+
+		@Override
+		public void flush() {
+			// nothing to flush
+		}
+
+	}
+
+	/**
+	 * Connection holder which enlists the DataSource when the connection is first requested.
+	 */
+	private static final class ChainedConnectionHolder extends ConnectionHolder {
+
+		final ChainedTransactionContext context;
+
+		final String name;
+
+		final LazyConnectionHandle handle;
+
+		ChainedConnectionHolder(ChainedTransactionContext context, String name, DataSource dataSource) {
+			this(context, name, new LazyConnectionHandle(dataSource));
+		}
+
+		private ChainedConnectionHolder(ChainedTransactionContext context, String name, LazyConnectionHandle handle) {
+			super(handle);
+			this.context = context;
+			this.name = name;
+			this.handle = handle;
+			handle.holder = this;
+		}
+
+	}
+
+	/**
+	 * Connection handle which obtains and prepares the transaction connection when it is first requested.
+	 */
+	private static final class LazyConnectionHandle implements ConnectionHandle {
+
+		final DataSource dataSource;
+
+		ChainedConnectionHolder holder;
+
+		private Connection connection;
+		private Integer previousIsolation;
+		private boolean resetAutoCommit;
+
+		LazyConnectionHandle(DataSource dataSource) {
+			super();
+			this.dataSource = dataSource;
+		}
+
+		@Override
+		public Connection getConnection() {
+			if (connection == null) {
+				enlist();
+			}
+			return connection;
+		}
+
+		@Override
+		public void releaseConnection(Connection con) {
+			// released when the transaction is completed
+		}
+
+		/**
+		 * Obtain the connection and start the JDBC transaction.
+		 */
+		private void enlist() {
+			final TransactionDefinition definition = holder.context.definition;
+			Connection con = null;
+			try {
+				con = definition.isReadOnly() ? ReadOnlyHint.call(() -> dataSource.getConnection())
+						: dataSource.getConnection();
+				previousIsolation = DataSourceUtils.prepareConnectionForTransaction(con, definition);
+				if (con.getAutoCommit()) {
+					con.setAutoCommit(false);
+					resetAutoCommit = true;
+				}
+			} catch (SQLException | RuntimeException e) {
+				if (con != null) {
+					DataSourceUtils.releaseConnection(con, null);
+				}
+				throw new CannotCreateTransactionException(
+						"Failed to enlist the chained transaction DataSource [" + holder.name + "]", e);
+			}
+			connection = con;
+			holder.context.enlisted.add(holder);
+			LOGGER.debug(() -> "Chained transaction [" + holder.context.id + "]: enlisted DataSource ["
+					+ holder.name + "]");
+		}
+
+		/**
+		 * Reset and close the connection.
+		 */
+		void release() {
+			if (connection != null) {
+				try {
+					if (resetAutoCommit) {
+						// discard any pending work of a failed completion before restoring the auto-commit mode
+						connection.rollback();
+						connection.setAutoCommit(true);
+					}
+				} catch (SQLException | RuntimeException e) {
+					LOGGER.debug(() -> "Failed to reset the connection auto-commit mode", e);
+				}
+				DataSourceUtils.resetConnectionAfterTransaction(connection, previousIsolation,
+						holder.context.definition.isReadOnly());
+				DataSourceUtils.releaseConnection(connection, null);
+				connection = null;
+			}
+		}
+
+	}
+
+	/**
+	 * Default {@link OutcomeRecord} implementation.
+	 */
+	private static final class DefaultOutcomeRecord implements OutcomeRecord {
+
+		private final String transactionId;
+		private final long timestamp;
+		private final Outcome outcome;
+		private final List<String> enlisted;
+		private final List<String> committed;
+		private final List<String> rolledBack;
+		private final List<String> failed;
+		private final Throwable error;
+
+		DefaultOutcomeRecord(String transactionId, long timestamp, Outcome outcome, List<String> enlisted,
+				List<String> committed, List<String> rolledBack, List<String> failed, Throwable error) {
+			super();
+			this.transactionId = transactionId;
+			this.timestamp = timestamp;
+			this.outcome = outcome;
+			this.enlisted = Collections.unmodifiableList(enlisted);
+			this.committed = Collections.unmodifiableList(new ArrayList<>(committed));
+			this.rolledBack = Collections.unmodifiableList(new ArrayList<>(rolledBack));
+			this.failed = Collections.unmodifiableList(new ArrayList<>(failed));
+			this.error = error;
+		}
+
+		@Override
+		public String getTransactionId() {
+			return transactionId;
+		}
+
+		@Override
+		public long getTimestamp() {
+			return timestamp;
+		}
+
+		@Override
+		public Outcome getOutcome() {
+			return outcome;
+		}
+
+		@Override
+		public List<String> getEnlisted() {
+			return enlisted;
+		}
+
+		@Override
+		public List<String> getCommitted() {
+			return committed;
+		}
+
+		@Override
+		public List<String> getRolledBack() {
+			return rolledBack;
+		}
+
+		@Override
+		public List<String> getFailed() {
+			return failed;
+		}
+
+		@Override
+		public Optional<Throwable> getError() {
+			return Optional.ofNullable(error);
+		}
+
+		@Override
+		public String toString() {
+			return "OutcomeRecord [transactionId=" + transactionId + ", outcome=" + outcome + ", enlisted=" + enlisted
+					+ ", committed=" + committed + ", rolledBack=" + rolledBack + ", failed=" + failed + ", error="
+					+ error + "]";
+		}
+
+	}
+
+	// Builder
+
+	/**
+	 * Default {@link ChainedTransactionManager} builder.
+	 */
+	public static class DefaultBuilder implements Builder {
+
+		private final DefaultChainedTransactionManager instance = new DefaultChainedTransactionManager();
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.spring.ChainedTransactionManager.Builder#dataSource(java.lang.String,
+		 * javax.sql.DataSource)
+		 */
+		@Override
+		public Builder dataSource(String name, DataSource dataSource) {
+			instance.addDataSource(name, dataSource);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.spring.ChainedTransactionManager.Builder#outcomeLog(com.holonplatform.jdbc.spring.
+		 * ChainedTransactionOutcomeLog)
+		 */
+		@Override
+		public Builder outcomeLog(ChainedTransactionOutcomeLog outcomeLog) {
+			instance.setOutcomeLog(outcomeLog);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.jdbc.spring.ChainedTransactionManager.Builder#build()
+		 */
+		@Override
+		public ChainedTransactionManager build() {
+			if (instance.dataSources.isEmpty()) {
+				throw new IllegalStateException("At least one DataSource must be provided");
+			}
+			return instance;
+		}
+
+	}
+
+}
@@ -23,6 +23,7 @@ import javax.sql.DataSource;
 import org.springframework.jdbc.datasource.DataSourceUtils;
 
 import com.holonplatform.core.internal.Logger;
+import com.holonplatform.jdbc.ConnectionPriority;
 import com.holonplatform.jdbc.internal.JdbcLogger;
 import com.holonplatform.jdbc.spring.SpringJdbcConnectionHandler;
 
@@ -43,7 +44,8 @@ public class DefaultSpringJdbcConnectionHandler implements SpringJdbcConnectionH
 	 */
 	@Override
 	public Connection getConnection(DataSource dataSource, ConnectionType connectionType) throws SQLException {
-		Connection connection = DataSourceUtils.doGetConnection(dataSource);
+		Connection connection = ConnectionPriority.call(connectionType.getPriority(),
+				() -> DataSourceUtils.doGetConnection(dataSource));
 		LOGGER.debug(() -> "Obtained a Spring-managed connection: [" + connection + "]");
 		return connection;
 	}
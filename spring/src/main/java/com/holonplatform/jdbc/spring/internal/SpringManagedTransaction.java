@@ -17,14 +17,17 @@ package com.holonplatform.jdbc.spring.internal;
 
 import java.util.Optional;
 
+import org.springframework.transaction.NestedTransactionNotSupportedException;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
 
+import com.holonplatform.core.Registration;
 import com.holonplatform.core.datastore.transaction.Transaction;
 import com.holonplatform.core.datastore.transaction.TransactionConfiguration;
 import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.jdbc.ReadOnlyHint;
 import com.holonplatform.jdbc.transaction.JdbcTransactionOptions;
 
 /**
@@ -33,6 +36,13 @@ import com.holonplatform.jdbc.transaction.JdbcTransactionOptions;
  * 
  * {@link #startTransaction()} and {@link #endTransaction()} methods should be
  * used to handle transaction lifecycle.
+ * <p>
+ * When the {@link JdbcTransactionOptions#isNested()} option is enabled, the
+ * transaction is started using the {@link TransactionDefinition#PROPAGATION_NESTED}
+ * propagation: if a transaction is already active, the nested transaction uses
+ * a savepoint on the same connection, and its commit and rollback are mapped to
+ * the savepoint release and to the rollback to the savepoint.
+ * </p>
  *
  * @since 5.1.0
  */
@@ -107,9 +117,23 @@ public abstract class SpringManagedTransaction implements Transaction {
 		// transaction definition
 		DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
 		getIsolationLevel(getConfiguration()).ifPresent(i -> definition.setIsolationLevel(i));
+		final Optional<JdbcTransactionOptions> options = getJdbcTransactionOptions(getConfiguration());
+		options.flatMap(o -> o.getTimeout()).ifPresent(t -> definition.setTimeout(t));
+		final boolean readOnly = options.map(o -> o.isReadOnly()).orElse(false);
+		definition.setReadOnly(readOnly);
+		if (options.map(o -> o.isNested()).orElse(false)) {
+			definition.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+		}
 
-		// start transaction
-		transactionStatus = getTransactionManager().getTransaction(definition);
+		// start transaction, using the read-only routing hint while obtaining the connection
+		final Registration hint = ReadOnlyHint.bind(readOnly);
+		try {
+			transactionStatus = getTransactionManager().getTransaction(definition);
+		} catch (NestedTransactionNotSupportedException e) {
+			throw new TransactionException("The transaction manager does not support nested transactions", e);
+		} finally {
+			hint.remove();
+		}
 	}
 
 	/**
@@ -181,6 +205,15 @@ public abstract class SpringManagedTransaction implements Transaction {
 		}
 	}
 
+	/**
+	 * Gets whether the transaction is a nested transaction backed by a savepoint.
+	 * @return <code>true</code> if the transaction has been started and it is
+	 *         backed by a savepoint
+	 */
+	public boolean isNested() {
+		return getTransactionStatus().map(tx -> tx.hasSavepoint()).orElse(false);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -218,33 +251,43 @@ public abstract class SpringManagedTransaction implements Transaction {
 	}
 
 	/**
-	 * Get the transaction isolation level according to given
-	 * {@link TransactionConfiguration}.
+	 * Get the {@link JdbcTransactionOptions} of given {@link TransactionConfiguration}, if available.
 	 * @param transactionConfiguration transaction configuration
-	 * @return Optional isolation level
+	 * @return Optional JDBC transaction options
 	 */
-	private static Optional<Integer> getIsolationLevel(TransactionConfiguration transactionConfiguration) {
+	private static Optional<JdbcTransactionOptions> getJdbcTransactionOptions(
+			TransactionConfiguration transactionConfiguration) {
 		if (transactionConfiguration == null) {
 			return Optional.empty();
 		}
 		return transactionConfiguration.getTransactionOptions().filter(o -> o instanceof JdbcTransactionOptions)
-				.map(o -> (JdbcTransactionOptions) o).flatMap(o -> o.getTransactionIsolation()).map(i -> {
-					switch (i) {
-					case NONE:
-						return TransactionDefinition.ISOLATION_DEFAULT;
-					case READ_COMMITTED:
-						return TransactionDefinition.ISOLATION_READ_COMMITTED;
-					case READ_UNCOMMITTED:
-						return TransactionDefinition.ISOLATION_READ_UNCOMMITTED;
-					case REPEATABLE_READ:
-						return TransactionDefinition.ISOLATION_REPEATABLE_READ;
-					case SERIALIZABLE:
-						return TransactionDefinition.ISOLATION_SERIALIZABLE;
-					default:
-						break;
-					}
-					return null;
-				});
+				.map(o -> (JdbcTransactionOptions) o);
+	}
+
+	/**
+	 * Get the transaction isolation level according to given
+	 * {@link TransactionConfiguration}.
+	 * @param transactionConfiguration transaction configuration
+	 * @return Optional isolation level
+	 */
+	private static Optional<Integer> getIsolationLevel(TransactionConfiguration transactionConfiguration) {
+		return getJdbcTransactionOptions(transactionConfiguration).flatMap(o -> o.getTransactionIsolation()).map(i -> {
+			switch (i) {
+			case NONE:
+				return TransactionDefinition.ISOLATION_DEFAULT;
+			case READ_COMMITTED:
+				return TransactionDefinition.ISOLATION_READ_COMMITTED;
+			case READ_UNCOMMITTED:
+				return TransactionDefinition.ISOLATION_READ_UNCOMMITTED;
+			case REPEATABLE_READ:
+				return TransactionDefinition.ISOLATION_REPEATABLE_READ;
+			case SERIALIZABLE:
+				return TransactionDefinition.ISOLATION_SERIALIZABLE;
+			default:
+				break;
+			}
+			return null;
+		});
 	}
 
 }
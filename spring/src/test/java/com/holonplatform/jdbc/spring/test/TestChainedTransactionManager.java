@@ -0,0 +1,198 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.spring.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.HeuristicCompletionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.internal.DelegatingConnection;
+import com.holonplatform.jdbc.spring.ChainedTransactionManager;
+import com.holonplatform.jdbc.spring.ChainedTransactionOutcomeLog.Outcome;
+import com.holonplatform.jdbc.spring.ChainedTransactionOutcomeLog.OutcomeRecord;
+
+public class TestChainedTransactionManager {
+
+	private DataSource dataSource1;
+	private DataSource dataSource2;
+
+	private final AtomicBoolean failCommit = new AtomicBoolean(false);
+
+	private final List<OutcomeRecord> records = new CopyOnWriteArrayList<>();
+
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	public void setup() throws SQLException {
+		dataSource1 = new DelegatingDataSource(buildDataSource("ctm1")) {
+
+			@Override
+			public Connection getConnection() throws SQLException {
+				return new DelegatingConnection(super.getConnection()) {
+
+					@Override
+					public void commit() throws SQLException {
+						if (failCommit.get()) {
+							throw new SQLException("Commit failed");
+						}
+						super.commit();
+					}
+
+				};
+			}
+
+		};
+		dataSource2 = buildDataSource("ctm2");
+		for (DataSource dataSource : Arrays.asList(dataSource1, dataSource2)) {
+			try (Connection c = dataSource.getConnection(); Statement s = c.createStatement()) {
+				s.executeUpdate("CREATE TABLE IF NOT EXISTS ctm_test (id INT PRIMARY KEY)");
+				s.executeUpdate("DELETE FROM ctm_test");
+			}
+		}
+		failCommit.set(false);
+		records.clear();
+
+		final ChainedTransactionManager transactionManager = ChainedTransactionManager.builder()
+				.dataSource("ds1", dataSource1).dataSource("ds2", dataSource2).outcomeLog(r -> records.add(r)).build();
+		assertEquals(Arrays.asList("ds1", "ds2"), transactionManager.getDataSourceNames());
+		transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@Test
+	public void testLazyEnlistment() throws SQLException {
+		transactionTemplate.executeWithoutResult(status -> {
+			final Connection connection = DataSourceUtils.getConnection(dataSource2);
+			insert(connection, 1);
+			DataSourceUtils.releaseConnection(connection, dataSource2);
+			final Connection same = DataSourceUtils.getConnection(dataSource2);
+			assertSame(connection, same);
+			DataSourceUtils.releaseConnection(same, dataSource2);
+		});
+
+		assertEquals(0, count(dataSource1));
+		assertEquals(1, count(dataSource2));
+		assertEquals(2, records.size());
+		assertEquals(Outcome.COMMITTING, records.get(0).getOutcome());
+		assertEquals(Outcome.COMMITTED, records.get(1).getOutcome());
+		assertEquals(Collections.singletonList("ds2"), records.get(1).getEnlisted());
+		assertEquals(records.get(0).getTransactionId(), records.get(1).getTransactionId());
+
+		// no enlisted DataSources
+		records.clear();
+		transactionTemplate.executeWithoutResult(status -> {
+		});
+		assertTrue(records.isEmpty());
+	}
+
+	@Test
+	public void testCommitRollback() throws SQLException {
+		transactionTemplate.executeWithoutResult(status -> {
+			insert(dataSource1, 1);
+			insert(dataSource2, 1);
+		});
+		assertEquals(1, count(dataSource1));
+		assertEquals(1, count(dataSource2));
+		assertEquals(Outcome.COMMITTED, records.get(1).getOutcome());
+		assertEquals(Arrays.asList("ds1", "ds2"), records.get(1).getEnlisted());
+		// reverse enlistment order
+		assertEquals(Arrays.asList("ds2", "ds1"), records.get(1).getCommitted());
+
+		records.clear();
+		assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+			insert(dataSource1, 2);
+			insert(dataSource2, 2);
+			throw new IllegalStateException("test");
+		}));
+		assertEquals(1, count(dataSource1));
+		assertEquals(1, count(dataSource2));
+		assertEquals(1, records.size());
+		assertEquals(Outcome.ROLLED_BACK, records.get(0).getOutcome());
+	}
+
+	@Test
+	public void testPartialCommit() throws SQLException {
+		failCommit.set(true);
+		assertThrows(HeuristicCompletionException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+			insert(dataSource1, 1);
+			insert(dataSource2, 1);
+		}));
+		assertEquals(0, count(dataSource1));
+		assertEquals(1, count(dataSource2));
+
+		final OutcomeRecord record = records.get(records.size() - 1);
+		assertEquals(Outcome.PARTIALLY_COMMITTED, record.getOutcome());
+		assertEquals(Collections.singletonList("ds2"), record.getCommitted());
+		assertEquals(Collections.singletonList("ds1"), record.getFailed());
+		assertTrue(record.getError().isPresent());
+	}
+
+	private static DataSource buildDataSource(String name) {
+		final Properties props = new Properties();
+		props.put("holon.datasource." + name + ".url", "jdbc:h2:mem:test" + name + ";DB_CLOSE_DELAY=-1");
+		props.put("holon.datasource." + name + ".username", "sa");
+		return DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder(name).withPropertySource(props).build());
+	}
+
+	private static void insert(DataSource dataSource, int id) {
+		final Connection connection = DataSourceUtils.getConnection(dataSource);
+		try {
+			insert(connection, id);
+		} finally {
+			DataSourceUtils.releaseConnection(connection, dataSource);
+		}
+	}
+
+	private static void insert(Connection connection, int id) {
+		try (Statement s = connection.createStatement()) {
+			s.executeUpdate("INSERT INTO ctm_test VALUES (" + id + ")");
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static int count(DataSource dataSource) throws SQLException {
+		try (Connection c = dataSource.getConnection(); Statement s = c.createStatement();
+				ResultSet rs = s.executeQuery("SELECT COUNT(*) FROM ctm_test")) {
+			rs.next();
+			return rs.getInt(1);
+		}
+	}
+
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.jdbc.spring.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.holonplatform.core.datastore.transaction.TransactionConfiguration;
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+import com.holonplatform.jdbc.ReadOnlyHint;
+import com.holonplatform.jdbc.internal.DelegatingConnection;
+import com.holonplatform.jdbc.spring.internal.SpringManagedTransaction;
+import com.holonplatform.jdbc.transaction.JdbcTransactionOptions;
+
+public class TestSpringManagedTransaction {
+
+	@Test
+	public void testReadOnlyTransaction() throws SQLException {
+		final Properties props = new Properties();
+		props.put("holon.datasource.smt.url", "jdbc:h2:mem:testsmt");
+		props.put("holon.datasource.smt.username", "sa");
+		final DataSource dataSource = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("smt").withPropertySource(props).build());
+
+		final AtomicBoolean routedReadOnly = new AtomicBoolean(false);
+		final AtomicBoolean connectionReadOnly = new AtomicBoolean(false);
+		final DataSource routing = new DelegatingDataSource(dataSource) {
+
+			@Override
+			public Connection getConnection() throws SQLException {
+				routedReadOnly.set(ReadOnlyHint.isReadOnly());
+				return new DelegatingConnection(super.getConnection()) {
+
+					@Override
+					public void setReadOnly(boolean readOnly) throws SQLException {
+						connectionReadOnly.set(readOnly);
+						super.setReadOnly(readOnly);
+					}
+
+				};
+			}
+
+		};
+
+		final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+
+		final TestTransaction tx = new TestTransaction(transactionManager, TransactionConfiguration
+				.create(JdbcTransactionOptions.builder().readOnly(true).timeout(10).build()));
+		tx.start();
+		try {
+			assertTrue(routedReadOnly.get());
+			assertFalse(ReadOnlyHint.isReadOnly());
+			assertTrue(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+
+			assertTrue(connectionReadOnly.get());
+
+			final Connection connection = DataSourceUtils.getConnection(routing);
+			DataSourceUtils.releaseConnection(connection, routing);
+
+			assertEquals(Boolean.TRUE, tx.commit());
+		} finally {
+			tx.end();
+		}
+	}
+
+	@Test
+	public void testNestedTransaction() throws SQLException {
+		final Properties props = new Properties();
+		props.put("holon.datasource.smtn.url", "jdbc:h2:mem:testsmtn;DB_CLOSE_DELAY=-1");
+		props.put("holon.datasource.smtn.username", "sa");
+		final DataSource dataSource = DataSourceBuilder.create()
+				.build(DataSourceConfigProperties.builder("smtn").withPropertySource(props).build());
+		execute(dataSource, "CREATE TABLE smtn_test (id INT PRIMARY KEY)");
+
+		final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		final TransactionConfiguration nested = TransactionConfiguration.create(true, true,
+				JdbcTransactionOptions.nested());
+
+		final TestTransaction outer = new TestTransaction(transactionManager, TransactionConfiguration.getDefault());
+		outer.start();
+		try {
+			final Connection connection = DataSourceUtils.getConnection(dataSource);
+			execute(connection, "INSERT INTO smtn_test VALUES (1)");
+
+			final TestTransaction inner1 = new TestTransaction(transactionManager, nested);
+			inner1.start();
+			assertTrue(inner1.isNested());
+			final Connection nestedConnection = DataSourceUtils.getConnection(dataSource);
+			assertSame(connection, nestedConnection);
+			DataSourceUtils.releaseConnection(nestedConnection, dataSource);
+			execute(connection, "INSERT INTO smtn_test VALUES (2)");
+			inner1.rollback();
+
+			final TestTransaction inner2 = new TestTransaction(transactionManager, nested);
+			inner2.start();
+			assertTrue(inner2.isNested());
+			execute(connection, "INSERT INTO smtn_test VALUES (3)");
+			assertTrue(inner2.commit());
+
+			assertEquals(2, count(connection));
+			DataSourceUtils.releaseConnection(connection, dataSource);
+
+			assertFalse(outer.isNested());
+			assertTrue(outer.commit());
+		} finally {
+			outer.end();
+		}
+
+		try (Connection connection = dataSource.getConnection()) {
+			assertEquals(2, count(connection));
+		}
+	}
+
+	private static void execute(DataSource dataSource, String sql) throws SQLException {
+		try (Connection connection = dataSource.getConnection()) {
+			execute(connection, sql);
+		}
+	}
+
+	private static void execute(Connection connection, String sql) throws SQLException {
+		try (Statement s = connection.createStatement()) {
+			s.executeUpdate(sql);
+		}
+	}
+
+	private static int count(Connection connection) throws SQLException {
+		try (Statement s = connection.createStatement();
+				ResultSet rs = s.executeQuery("SELECT COUNT(*) FROM smtn_test")) {
+			rs.next();
+			return rs.getInt(1);
+		}
+	}
+
+	private static final class TestTransaction extends SpringManagedTransaction {
+
+		TestTransaction(DataSourceTransactionManager transactionManager, TransactionConfiguration configuration) {
+			super(transactionManager, configuration);
+		}
+
+		@Override
+		public boolean isNew() {
+			return true;
+		}
+
+		@Override
+		public boolean isActive() {
+			return getTransactionStatus().isPresent() && !isCompleted();
+		}
+
+		void start() {
+			startTransaction();
+		}
+
+		void end() {
+			endTransaction();
+		}
+
+	}
+
+}